@@ -20,6 +20,10 @@ CREATE TABLE IF NOT EXISTS velocity_records (
   velocity_m_s DOUBLE PRECISION NOT NULL,
   velocity_km_h DOUBLE PRECISION NOT NULL,
   sample_count INTEGER NOT NULL,
+  velocity_p50_m_s DOUBLE PRECISION,
+  velocity_p85_m_s DOUBLE PRECISION,
+  velocity_p95_m_s DOUBLE PRECISION,
+  speed_sketch TEXT,
   test_label VARCHAR(200),
   datagram_count BIGINT,
   processing_time_ms BIGINT,
@@ -148,10 +152,20 @@ CREATE TABLE IF NOT EXISTS velocity_by_arc (
   arc_id TEXT NOT NULL,
   avg_velocity DOUBLE PRECISION NOT NULL,
   sample_count BIGINT NOT NULL,
+  velocity_p50 DOUBLE PRECISION,
+  velocity_p85 DOUBLE PRECISION,
+  velocity_p95 DOUBLE PRECISION,
+  speed_sketch TEXT,
   updated_at TIMESTAMPTZ DEFAULT now(),
   UNIQUE (year_month, line_id, arc_id)
 );
 
+-- Existing databases: percentile columns (median, p85, p95) and the encoded quantile sketch
+ALTER TABLE velocity_by_arc ADD COLUMN IF NOT EXISTS velocity_p50 DOUBLE PRECISION;
+ALTER TABLE velocity_by_arc ADD COLUMN IF NOT EXISTS velocity_p85 DOUBLE PRECISION;
+ALTER TABLE velocity_by_arc ADD COLUMN IF NOT EXISTS velocity_p95 DOUBLE PRECISION;
+ALTER TABLE velocity_by_arc ADD COLUMN IF NOT EXISTS speed_sketch TEXT;
+
 -- Table: hourly rollups (materialized or job-updated)
 CREATE TABLE IF NOT EXISTS velocity_hourly (
   id BIGSERIAL PRIMARY KEY,
@@ -280,6 +294,10 @@ CREATE TABLE IF NOT EXISTS velocity_by_arc (
   arc_id TEXT NOT NULL,
   avg_velocity DOUBLE PRECISION NOT NULL,
   sample_count BIGINT NOT NULL,
+  velocity_p50 DOUBLE PRECISION,
+  velocity_p85 DOUBLE PRECISION,
+  velocity_p95 DOUBLE PRECISION,
+  speed_sketch TEXT,
   updated_at TIMESTAMPTZ DEFAULT now(),
   UNIQUE (year_month, line_id, arc_id)
 );
@@ -0,0 +1,768 @@
+package com.sitm.mio.client;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import com.sitm.mio.master.DistributedMaster;
+import com.sitm.mio.persistence.VelocityFileManager;
+import com.sitm.mio.util.ArcStatsTable;
+import com.sitm.mio.util.ColumnarDatagramFile;
+import com.sitm.mio.util.ColumnarDatagramReader;
+import com.sitm.mio.util.DatagramBatchSource;
+import com.sitm.mio.util.DatagramBlocks;
+import com.sitm.mio.util.DatagramCsvParser;
+import com.sitm.mio.util.LongIntHashMap;
+import com.sitm.mio.util.MetricsCollector;
+import com.sitm.mio.util.ParallelDatagramReader;
+import com.sitm.mio.util.StreamingDatagramReader;
+import com.sitm.mio.util.TripGrouper;
+import com.sitm.mio.worker.VelocityWorker;
+
+import Ice.Communicator;
+import Ice.Current;
+import Ice.ObjectAdapter;
+import SITM.MIO.AggregateResult;
+import SITM.MIO.BlockTask;
+import SITM.MIO.BusDatagram;
+import SITM.MIO.DatagramBlock;
+import SITM.MIO.MasterPrx;
+import SITM.MIO.MasterPrxHelper;
+import SITM.MIO.VelocityResult;
+import SITM.MIO.WorkerPrxHelper;
+
+/**
+ * Micro-benchmarks de ingesta / procesamiento (main de línea de comandos)
+ *
+ * Uso:
+ *   BenchmarkClient generate <archivo.csv> <lineas>   genera un CSV sintético con el formato real
+ *   BenchmarkClient parse <archivo.csv>               split/regex (legacy) vs DatagramCsvParser
+ *   BenchmarkClient ingest <archivo.csv> [hilos]      lector secuencial vs ParallelDatagramReader
+ *   BenchmarkClient worker <archivo.csv> [registros]  núcleo del worker (agrupar, ordenar, velocidades)
+ *   BenchmarkClient forkjoin <archivo.csv> [registros] [hilos]
+ *                                                     una tarea fija repartida por viajes en 1..hilos hilos
+ *   BenchmarkClient grouping <archivo.csv> [registros,...]
+ *                                                     agrupación por viaje: HashMap + sort vs TripGrouper
+ *   BenchmarkClient columnar <archivo.csv> [hilos]    carga desde CSV vs formato columnar (+ rango de tiempo)
+ *   BenchmarkClient schedule <archivo.csv> [registros] [workers] [lentitud]
+ *                                                     planificación push vs pull con un worker lento
+ *   BenchmarkClient failover <archivo.csv> [registros] [workers]
+ *                                                     un worker se cae a mitad del job (reintentos)
+ *
+ * Ejemplo:
+ *   mvn -q exec:java -Dexec.mainClass=com.sitm.mio.client.BenchmarkClient -Dexec.args="parse ./data/datagrams_10M.csv"
+ */
+public class BenchmarkClient {
+
+    private static final String HEADER =
+        "eventType,registerdate,stopId,odometer,latitude,longitude,taskId,lineId,tripId,unknown1,datagramDate,busId";
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 2) {
+            System.out.println("Uso: BenchmarkClient <generate|parse|ingest|worker|forkjoin|grouping|columnar|schedule|failover> <archivo.csv> [lineas|hilos|registros]");
+            return;
+        }
+
+        switch (args[0]) {
+            case "generate":
+                generate(args[1], args.length > 2 ? Long.parseLong(args[2]) : 1_000_000L);
+                break;
+            case "parse":
+                benchmarkParse(args[1]);
+                break;
+            case "ingest":
+                benchmarkIngest(args[1], args.length > 2 ? Integer.parseInt(args[2])
+                    : Runtime.getRuntime().availableProcessors());
+                break;
+            case "worker":
+                benchmarkWorker(args[1], args.length > 2 ? Integer.parseInt(args[2]) : 1_000_000);
+                break;
+            case "forkjoin":
+                benchmarkForkJoin(args[1], args.length > 2 ? Integer.parseInt(args[2]) : 1_000_000,
+                    args.length > 3 ? Integer.parseInt(args[3]) : Runtime.getRuntime().availableProcessors());
+                break;
+            case "grouping":
+                benchmarkGrouping(args[1], args.length > 2 ? args[2] : "1000000,10000000");
+                break;
+            case "columnar":
+                benchmarkColumnar(args[1], args.length > 2 ? Integer.parseInt(args[2])
+                    : Runtime.getRuntime().availableProcessors());
+                break;
+            case "schedule":
+                benchmarkScheduling(args[1], args.length > 2 ? Integer.parseInt(args[2]) : 500_000,
+                    args.length > 3 ? Integer.parseInt(args[3]) : 4,
+                    args.length > 4 ? Integer.parseInt(args[4]) : 4);
+                break;
+            case "failover":
+                benchmarkFailover(args[1], args.length > 2 ? Integer.parseInt(args[2]) : 500_000,
+                    args.length > 3 ? Integer.parseInt(args[3]) : 4);
+                break;
+            default:
+                System.out.println("❌ Modo desconocido: " + args[0]);
+        }
+    }
+
+    // ========== generate ==========
+
+    /**
+     * CSV sintético: viajes de buses en orden temporal, coordenadas dentro de Cali.
+     * Cada línea recorre una ruta fija de 40 paradas (una parada cada ~500 m de
+     * odómetro), así los mismos arcos se repiten entre buses y tareas.
+     */
+    static void generate(String filePath, long lines) throws IOException {
+        System.out.println("📝 Generando " + lines + " datagramas en " + filePath);
+        Random random = new Random(42);
+        int buses = 1000;
+        long[] odometer = new long[buses];
+        long start = 1558987200L; // 2019-05-27 20:00:00
+        int busLines = 120;
+        int routeLength = 40;
+        int[][] routes = new int[busLines][routeLength];
+        for (int[] route : routes) {
+            for (int s = 0; s < routeLength; s++) {
+                route[s] = 500000 + random.nextInt(2000);
+            }
+        }
+
+        try (BufferedWriter writer = Files.newBufferedWriter(Paths.get(filePath))) {
+            writer.write(HEADER);
+            writer.newLine();
+            StringBuilder sb = new StringBuilder(128);
+            for (long i = 0; i < lines; i++) {
+                int bus = random.nextInt(buses);
+                odometer[bus] += 20 + random.nextInt(200);
+                long epoch = start + i / 50;
+                int line = 100 + bus % busLines;
+                int stop = routes[bus % busLines][(int) (odometer[bus] / 500 % routeLength)];
+                int lat = 33_500_000 + random.nextInt(2_000_000);
+                int lon = -765_500_000 + random.nextInt(2_000_000);
+
+                sb.setLength(0);
+                sb.append(random.nextInt(10) == 0 ? 1 : 0).append(",28-MAY-19,")
+                  .append(stop).append(',')
+                  .append(odometer[bus]).append(',')
+                  .append(lat).append(',').append(lon).append(',')
+                  .append(700 + random.nextInt(100)).append(',')
+                  .append(line).append(',')
+                  .append(bus * 10 + (int) (odometer[bus] / 30000)).append(',')
+                  .append(1365).append(',')
+                  .append(formatDate(epoch)).append(',')
+                  .append(1000 + bus);
+                writer.write(sb.toString());
+                writer.newLine();
+            }
+        }
+        System.out.printf("✅ Archivo generado: %.1f MB%n", Files.size(Paths.get(filePath)) / 1024.0 / 1024.0);
+    }
+
+    private static String formatDate(long epochSeconds) {
+        return java.time.LocalDateTime.ofEpochSecond(epochSeconds, 0, java.time.ZoneOffset.UTC)
+            .format(java.time.format.DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"));
+    }
+
+    // ========== parse ==========
+
+    static void benchmarkParse(String filePath) throws IOException {
+        long bytes = Files.size(Paths.get(filePath));
+        System.out.printf("📊 Benchmark de parseo: %s (%.1f MB)%n", filePath, bytes / 1024.0 / 1024.0);
+
+        // Calentamiento corto para que el JIT compile ambos caminos
+        parseLegacy(filePath, 200_000);
+        parseBytes(filePath, 200_000);
+
+        for (int round = 1; round <= 2; round++) {
+            long t0 = System.nanoTime();
+            long legacy = parseLegacy(filePath, Long.MAX_VALUE);
+            long t1 = System.nanoTime();
+            long fast = parseBytes(filePath, Long.MAX_VALUE);
+            long t2 = System.nanoTime();
+
+            report("legacy split/regex", legacy, bytes, t1 - t0);
+            report("DatagramCsvParser ", fast, bytes, t2 - t1);
+            System.out.printf("   Ronda %d speedup: %.2fx%n", round, (double) (t1 - t0) / (t2 - t1));
+        }
+    }
+
+    // ========== ingest ==========
+
+    static void benchmarkIngest(String filePath, int threads) throws IOException {
+        long bytes = Files.size(Paths.get(filePath));
+        System.out.printf("📊 Benchmark de ingesta: %s (%.1f MB), %d hilos, %d núcleos%n",
+            filePath, bytes / 1024.0 / 1024.0, threads, Runtime.getRuntime().availableProcessors());
+
+        for (int round = 1; round <= 2; round++) {
+            long t0 = System.nanoTime();
+            long sequential = drain(new StreamingDatagramReader(filePath, 10000));
+            long t1 = System.nanoTime();
+            long ordered = drain(new ParallelDatagramReader(filePath, threads, 10000, true, true));
+            long t2 = System.nanoTime();
+            long unordered = drain(new ParallelDatagramReader(filePath, threads, 10000, false, true));
+            long t3 = System.nanoTime();
+
+            System.out.printf("   Ronda %d%n", round);
+            report("secuencial         ", sequential, bytes, t1 - t0);
+            report("paralelo ordenado  ", ordered, bytes, t2 - t1);
+            report("paralelo sin orden ", unordered, bytes, t3 - t2);
+        }
+    }
+
+    // ========== worker ==========
+
+    /**
+     * Mide VelocityWorker.calculateArcVelocities sobre tareas de 100k datagramas
+     * (el tamaño típico de una partición del Master), con BusDatagram[] y con DatagramBlock
+     */
+    static void benchmarkWorker(String filePath, int records) throws IOException {
+        BusDatagram[] all = ParallelDatagramReader.loadAll(filePath, Runtime.getRuntime().availableProcessors());
+        if (all.length > records) {
+            all = Arrays.copyOf(all, records);
+        }
+        int taskSize = 100_000;
+        System.out.printf("📊 Benchmark del worker: %,d datagramas en tareas de %,d%n", all.length, taskSize);
+
+        List<DatagramBlock> blocks = new ArrayList<>();
+        for (int i = 0; i < all.length; i += taskSize) {
+            blocks.add(DatagramBlocks.fromDatagrams(all, i, Math.min(i + taskSize, all.length)));
+        }
+
+        VelocityWorker worker = new VelocityWorker("bench");
+        for (int round = 0; round <= 3; round++) {
+            long arcs = 0;
+            long samples = 0;
+            long t0 = System.nanoTime();
+            for (int i = 0; i < all.length; i += taskSize) {
+                BusDatagram[] task = Arrays.copyOfRange(all, i, Math.min(i + taskSize, all.length));
+                ArcStatsTable stats = worker.calculateArcVelocities(task);
+                arcs += stats.size();
+                samples += stats.totalCount();
+            }
+            long t1 = System.nanoTime();
+            for (DatagramBlock block : blocks) {
+                worker.calculateArcVelocities(block);
+            }
+            long t2 = System.nanoTime();
+            if (round == 0) {
+                continue; // Calentamiento
+            }
+            System.out.printf("   Ronda %d: BusDatagram %.2f s -> %,.0f dgm/s, DatagramBlock %.2f s -> %,.0f dgm/s"
+                + " (%,d arcos, %,d muestras)%n", round, (t1 - t0) / 1e9, all.length / ((t1 - t0) / 1e9),
+                (t2 - t1) / 1e9, all.length / ((t2 - t1) / 1e9), arcs, samples);
+        }
+    }
+
+    // ========== forkjoin ==========
+
+    /**
+     * Curva de escalado del worker: la misma tarea de "registros" datagramas
+     * (un solo DatagramBlock / BusDatagram[]) con el pool de viajes en 1..hilos
+     * hilos. Mejor de 3 rondas por punto, tras una de calentamiento.
+     */
+    static void benchmarkForkJoin(String filePath, int records, int maxThreads) throws IOException {
+        BusDatagram[] all = ParallelDatagramReader.loadAll(filePath, Runtime.getRuntime().availableProcessors());
+        if (all.length > records) {
+            all = Arrays.copyOf(all, records);
+        }
+        DatagramBlock block = DatagramBlocks.fromDatagrams(all, 0, all.length);
+        System.out.printf("📊 Benchmark fork-join: tarea de %,d datagramas, 1..%d hilos, %d núcleos%n",
+            all.length, maxThreads, Runtime.getRuntime().availableProcessors());
+
+        double baseBlock = 0;
+        double baseObjects = 0;
+        for (int threads = 1; threads <= Math.max(1, maxThreads); threads++) {
+            VelocityWorker worker = new VelocityWorker("bench-fj-" + threads, threads);
+            long bestBlock = Long.MAX_VALUE;
+            long bestObjects = Long.MAX_VALUE;
+            long samples = 0;
+            for (int round = 0; round <= 3; round++) {
+                long t0 = System.nanoTime();
+                ArcStatsTable stats = worker.calculateArcVelocities(block);
+                long t1 = System.nanoTime();
+                worker.calculateArcVelocities(all);
+                long t2 = System.nanoTime();
+                if (round == 0) {
+                    continue; // Calentamiento
+                }
+                bestBlock = Math.min(bestBlock, t1 - t0);
+                bestObjects = Math.min(bestObjects, t2 - t1);
+                samples = stats.totalCount();
+            }
+            if (threads == 1) {
+                baseBlock = bestBlock;
+                baseObjects = bestObjects;
+            }
+            System.out.printf("   %2d hilos: DatagramBlock %.3f s (%,.0f dgm/s, %.2fx), BusDatagram %.3f s (%,.0f dgm/s, %.2fx)"
+                + " - %,d muestras%n", threads,
+                bestBlock / 1e9, all.length / (bestBlock / 1e9), baseBlock / bestBlock,
+                bestObjects / 1e9, all.length / (bestObjects / 1e9), baseObjects / bestObjects, samples);
+        }
+    }
+
+    // ========== grouping ==========
+
+    /**
+     * Agrupación por viaje del worker para cada tamaño de tarea (los primeros
+     * "registros" datagramas del archivo): el camino anterior (HashMap de
+     * listas con clave String + sort por viaje; counting sort + Arrays.sort por
+     * viaje en bloques) contra TripGrouper, en el orden del archivo y con las
+     * filas barajadas (viajes desordenados). Mejor de 3 rondas tras calentar.
+     * Para 10M datagramas conviene -Xmx4g.
+     */
+    static void benchmarkGrouping(String filePath, String sizes) throws IOException {
+        for (String sizeArg : sizes.split(",")) {
+            int records = Integer.parseInt(sizeArg.trim());
+            BusDatagram[] all = loadFirst(filePath, records);
+            benchmarkGrouping(all, "orden del archivo");
+            Random random = new Random(42);
+            for (int i = all.length - 1; i > 0; i--) {
+                int j = random.nextInt(i + 1);
+                BusDatagram swap = all[i];
+                all[i] = all[j];
+                all[j] = swap;
+            }
+            benchmarkGrouping(all, "filas barajadas");
+        }
+    }
+
+    private static void benchmarkGrouping(BusDatagram[] all, String order) {
+        DatagramBlock block = DatagramBlocks.fromDatagrams(all, 0, all.length);
+        System.out.printf("📊 Benchmark de agrupación: %,d datagramas, %s%n", all.length, order);
+
+        long[] best = {Long.MAX_VALUE, Long.MAX_VALUE, Long.MAX_VALUE, Long.MAX_VALUE};
+        int trips = 0;
+        for (int round = 0; round <= 3; round++) {
+            long t0 = System.nanoTime();
+            trips = groupLegacy(all);
+            long t1 = System.nanoTime();
+            TripGrouper.group(all);
+            long t2 = System.nanoTime();
+            groupLegacy(block);
+            long t3 = System.nanoTime();
+            TripGrouper.group(block);
+            long t4 = System.nanoTime();
+            if (round == 0) {
+                continue; // Calentamiento
+            }
+            best[0] = Math.min(best[0], t1 - t0);
+            best[1] = Math.min(best[1], t2 - t1);
+            best[2] = Math.min(best[2], t3 - t2);
+            best[3] = Math.min(best[3], t4 - t3);
+        }
+        System.out.printf("   %,d viajes%n", trips);
+        System.out.printf("   BusDatagram   HashMap+sort %.3f s, TripGrouper %.3f s -> %.2fx%n",
+            best[0] / 1e9, best[1] / 1e9, (double) best[0] / best[1]);
+        System.out.printf("   DatagramBlock count+sort   %.3f s, TripGrouper %.3f s -> %.2fx%n",
+            best[2] / 1e9, best[3] / 1e9, (double) best[2] / best[3]);
+    }
+
+    private static BusDatagram[] loadFirst(String filePath, int records) throws IOException {
+        List<BusDatagram[]> batches = new ArrayList<>();
+        int total = 0;
+        try (ParallelDatagramReader reader = new ParallelDatagramReader(filePath,
+                Runtime.getRuntime().availableProcessors(), 65536, true, false)) {
+            BusDatagram[] batch;
+            while (total < records && (batch = reader.readNextBatch()) != null) {
+                batches.add(batch);
+                total += batch.length;
+            }
+        }
+        BusDatagram[] all = new BusDatagram[Math.min(total, records)];
+        int at = 0;
+        for (BusDatagram[] batch : batches) {
+            int n = Math.min(batch.length, all.length - at);
+            System.arraycopy(batch, 0, all, at, n);
+            at += n;
+        }
+        return all;
+    }
+
+    /**
+     * Agrupación anterior del worker sobre BusDatagram[]: listas por clave
+     * "busId-tripId-lineId" ordenadas con comparador. Devuelve los viajes
+     */
+    private static int groupLegacy(BusDatagram[] datagrams) {
+        Map<String, List<BusDatagram>> grouped = new HashMap<>();
+        for (BusDatagram dgram : datagrams) {
+            String tripKey = dgram.busId + "-" + dgram.tripId + "-" + dgram.lineId;
+            grouped.computeIfAbsent(tripKey, k -> new ArrayList<>()).add(dgram);
+        }
+        for (List<BusDatagram> tripData : grouped.values()) {
+            tripData.sort((d1, d2) -> Long.compare(d1.epochSeconds, d2.epochSeconds));
+        }
+        return grouped.size();
+    }
+
+    /**
+     * Agrupación anterior del worker sobre DatagramBlock: counting sort por
+     * viaje y Arrays.sort de (epoch relativo << 32 | fila) dentro de cada viaje
+     */
+    private static int groupLegacy(DatagramBlock block) {
+        int size = DatagramBlocks.size(block);
+        int[] tripOf = new int[size];
+        LongIntHashMap trips = new LongIntHashMap(1024);
+        for (int i = 0; i < size; i++) {
+            long key = ((long) block.busIdx[i] << 42) | ((long) block.tripIdx[i] << 21) | block.lineIdx[i];
+            int trip = trips.get(key);
+            if (trip < 0) {
+                trip = trips.size();
+                trips.put(key, trip);
+            }
+            tripOf[i] = trip;
+        }
+        int tripCount = trips.size();
+        int[] tripStart = new int[tripCount + 1];
+        long[] minEpoch = new long[tripCount];
+        Arrays.fill(minEpoch, Long.MAX_VALUE);
+        for (int i = 0; i < size; i++) {
+            tripStart[tripOf[i] + 1]++;
+            minEpoch[tripOf[i]] = Math.min(minEpoch[tripOf[i]], block.epochSeconds[i]);
+        }
+        for (int t = 0; t < tripCount; t++) {
+            tripStart[t + 1] += tripStart[t];
+        }
+        int[] rows = new int[size];
+        int[] fill = Arrays.copyOf(tripStart, tripCount);
+        for (int i = 0; i < size; i++) {
+            rows[fill[tripOf[i]]++] = i;
+        }
+        long[] keys = new long[size];
+        for (int t = 0; t < tripCount; t++) {
+            for (int k = tripStart[t]; k < tripStart[t + 1]; k++) {
+                keys[k] = ((block.epochSeconds[rows[k]] - minEpoch[t]) << 32) | rows[k];
+            }
+            Arrays.sort(keys, tripStart[t], tripStart[t + 1]);
+            for (int k = tripStart[t]; k < tripStart[t + 1]; k++) {
+                rows[k] = (int) keys[k];
+            }
+        }
+        return tripCount;
+    }
+
+    // ========== columnar ==========
+
+    /**
+     * Convierte el CSV (una vez) y compara la carga completa desde CSV, desde
+     * el formato columnar y desde el formato columnar con un rango de 1 hora
+     */
+    static void benchmarkColumnar(String filePath, int threads) throws IOException {
+        String columnarPath = filePath.replaceAll("\\.csv$", "") + ".mioc";
+        if (!Files.exists(Paths.get(columnarPath))) {
+            ColumnarDatagramFile.convert(filePath, columnarPath, threads);
+        }
+        long csvBytes = Files.size(Paths.get(filePath));
+        long columnarBytes = Files.size(Paths.get(columnarPath));
+        System.out.printf("📊 Benchmark columnar: CSV %.1f MB, columnar %.1f MB%n",
+            csvBytes / 1024.0 / 1024.0, columnarBytes / 1024.0 / 1024.0);
+
+        long fromEpoch;
+        try (ColumnarDatagramReader reader = new ColumnarDatagramReader(columnarPath)) {
+            fromEpoch = reader.getMinEpoch() + (reader.getMaxEpoch() - reader.getMinEpoch()) / 2;
+        }
+        long toEpoch = fromEpoch + 3600;
+
+        for (int round = 1; round <= 2; round++) {
+            long t0 = System.nanoTime();
+            long csv = drain(new ParallelDatagramReader(filePath, threads, 65536, true, false));
+            long t1 = System.nanoTime();
+            long columnar = drain(new ColumnarDatagramReader(columnarPath));
+            long t2 = System.nanoTime();
+            long range = drain(new ColumnarDatagramReader(columnarPath, 65536, fromEpoch, toEpoch, false));
+            long t3 = System.nanoTime();
+
+            System.out.printf("   Ronda %d%n", round);
+            report("CSV (paralelo)     ", csv, csvBytes, t1 - t0);
+            report("columnar           ", columnar, columnarBytes, t2 - t1);
+            report("columnar 1 hora    ", range, columnarBytes, t3 - t2);
+        }
+    }
+
+    // ========== schedule ==========
+
+    /**
+     * Master y workers Ice reales en este proceso (loopback). Cada worker
+     * simula un nodo aparte: además del cálculo real espera ~1 µs por fila
+     * (el costo medido del worker), y el worker 0 espera "lentitud" veces más.
+     * Compara el tiempo hasta la última tarea con scheduler.mode=PUSH (una
+     * partición por worker) y PULL (cola de tareas pequeñas con robo). Cada
+     * corrida se guarda en results/cutoff_analysis.csv.
+     */
+    static void benchmarkScheduling(String filePath, int records, int workerCount, int slowFactor) throws Exception {
+        BusDatagram[] all = ParallelDatagramReader.loadAll(filePath, Runtime.getRuntime().availableProcessors());
+        if (all.length > records) {
+            all = Arrays.copyOf(all, records);
+        }
+        System.out.printf("📊 Benchmark de planificación: %,d datagramas, %d workers, worker-0 %dx más lento%n",
+            all.length, workerCount, slowFactor);
+
+        Map<String, Long> lastFinish = new ConcurrentHashMap<>();
+        try (BenchCluster cluster = new BenchCluster(workerCount, slowFactor, lastFinish)) {
+            DistributedMaster master = cluster.master;
+            MetricsCollector metrics = MetricsCollector.getInstance();
+            DistributedMaster.SchedulingMode[] modes = {
+                DistributedMaster.SchedulingMode.PUSH, DistributedMaster.SchedulingMode.PULL
+            };
+            for (int round = 0; round <= 2; round++) {
+                for (DistributedMaster.SchedulingMode mode : modes) {
+                    master.setSchedulingMode(mode);
+                    lastFinish.clear();
+                    long launched = metrics.getSpeculativeLaunched();
+                    long won = metrics.getSpeculativeWon();
+                    long t0 = System.nanoTime();
+                    master.processHistoricalBatch(all);
+                    long elapsed = System.nanoTime() - t0;
+                    if (round == 0) {
+                        continue; // Calentamiento
+                    }
+
+                    long firstIdle = Long.MAX_VALUE;
+                    for (long finish : lastFinish.values()) {
+                        firstIdle = Math.min(firstIdle, finish - t0);
+                    }
+                    long totalMs = elapsed / 1_000_000;
+                    double throughput = all.length / (elapsed / 1e9);
+                    System.out.printf("   Ronda %d %-4s: %,d ms hasta la última tarea, primer worker libre a los %,d ms"
+                        + " (%,.0f dgm/s), especulativas %d (%d ganaron)%n", round, mode, totalMs,
+                        firstIdle / 1_000_000, throughput, metrics.getSpeculativeLaunched() - launched,
+                        metrics.getSpeculativeWon() - won);
+                    VelocityFileManager.saveCutoffPointData(
+                        String.format("%dK_%s_SLOW%dX", all.length / 1000, mode, slowFactor),
+                        workerCount, 1, totalMs, throughput);
+                }
+            }
+        }
+    }
+
+    // ========== failover ==========
+
+    /**
+     * Mismo cluster en loopback que schedule, con workers de igual velocidad.
+     * Tras una corrida sana, el worker 0 se cae con una tarea en curso (cierra
+     * su conexión y su adaptador). El job debe terminar en los demás workers
+     * con los mismos arcos: en PUSH por reintento, en PULL por copia
+     * especulativa o reintento de la tarea que quedó en vuelo.
+     */
+    static void benchmarkFailover(String filePath, int records, int workerCount) throws Exception {
+        BusDatagram[] all = ParallelDatagramReader.loadAll(filePath, Runtime.getRuntime().availableProcessors());
+        if (all.length > records) {
+            all = Arrays.copyOf(all, records);
+        }
+        System.out.printf("📊 Benchmark de caída de worker: %,d datagramas, %d workers%n", all.length, workerCount);
+
+        MetricsCollector metrics = MetricsCollector.getInstance();
+        DistributedMaster.SchedulingMode[] modes = {
+            DistributedMaster.SchedulingMode.PUSH, DistributedMaster.SchedulingMode.PULL
+        };
+        for (DistributedMaster.SchedulingMode mode : modes) {
+            try (BenchCluster cluster = new BenchCluster(workerCount, 1, new ConcurrentHashMap<>())) {
+                DistributedMaster master = cluster.master;
+                master.setSchedulingMode(mode);
+                master.processHistoricalBatch(all); // Calentamiento
+
+                long t0 = System.nanoTime();
+                int healthyArcs = master.processHistoricalBatch(all).length;
+                long healthyMs = (System.nanoTime() - t0) / 1_000_000;
+
+                long retried = metrics.getTasksRetried();
+                long launched = metrics.getSpeculativeLaunched();
+                cluster.workers.get(0).armCrash();
+                t0 = System.nanoTime();
+                VelocityResult[] results = master.processHistoricalBatch(all);
+                long failoverMs = (System.nanoTime() - t0) / 1_000_000;
+
+                System.out.printf("   %-4s: sano %,d ms (%,d arcos), con caída %,d ms (%,d arcos),"
+                    + " reintentos %d, especulativas %d%n", mode, healthyMs, healthyArcs, failoverMs,
+                    results.length, metrics.getTasksRetried() - retried,
+                    metrics.getSpeculativeLaunched() - launched);
+                VelocityFileManager.saveCutoffPointData(
+                    String.format("%dK_%s_FAILOVER", all.length / 1000, mode),
+                    workerCount, 1, failoverMs, all.length / (failoverMs / 1000.0));
+            }
+        }
+    }
+
+    /**
+     * Master y workers simulados en este proceso, cada uno con su communicator
+     */
+    private static class BenchCluster implements AutoCloseable {
+        final DistributedMaster master;
+        final List<SimulatedWorker> workers = new ArrayList<>();
+        private final Communicator masterCommunicator;
+        private final List<Communicator> workerCommunicators = new ArrayList<>();
+
+        BenchCluster(int workerCount, int slowFactor, Map<String, Long> lastFinish) {
+            masterCommunicator = Ice.Util.initialize(new String[]{
+                "--Ice.ThreadPool.Server.Size=10",
+                "--Ice.ThreadPool.Server.SizeMax=100",
+                "--Ice.MessageSizeMax=0"
+            });
+            ObjectAdapter masterAdapter = masterCommunicator.createObjectAdapterWithEndpoints(
+                "MasterAdapter", "tcp -h 127.0.0.1 -p 0");
+            master = new DistributedMaster(".");
+            masterAdapter.add(master, Ice.Util.stringToIdentity("Master"));
+            masterAdapter.activate();
+            String masterProxy = masterCommunicator.proxyToString(
+                masterAdapter.createProxy(Ice.Util.stringToIdentity("Master")));
+
+            for (int i = 0; i < workerCount; i++) {
+                Communicator communicator = Ice.Util.initialize(new String[]{
+                    "--Ice.ThreadPool.Server.Size=4",
+                    "--Ice.ThreadPool.Server.SizeMax=4",
+                    "--Ice.MessageSizeMax=0"
+                });
+                workerCommunicators.add(communicator);
+                ObjectAdapter adapter = communicator.createObjectAdapterWithEndpoints(
+                    "WorkerAdapter", "tcp -h 127.0.0.1 -p 0");
+                SimulatedWorker worker = new SimulatedWorker("bench-worker-" + i, i == 0 ? slowFactor : 1,
+                    lastFinish, adapter);
+                Ice.ObjectPrx workerPrx = adapter.add(worker, Ice.Util.stringToIdentity(worker.getWorkerId()));
+                adapter.activate();
+                MasterPrx masterPrx = MasterPrxHelper.checkedCast(communicator.stringToProxy(masterProxy));
+                worker.setMaster(masterPrx);
+                masterPrx.registerWorker(WorkerPrxHelper.uncheckedCast(workerPrx), worker.getThreads());
+                workers.add(worker);
+            }
+        }
+
+        @Override
+        public void close() {
+            master.shutdown();
+            for (Communicator communicator : workerCommunicators) {
+                communicator.destroy();
+            }
+            masterCommunicator.destroy();
+        }
+    }
+
+    /**
+     * Worker del benchmark: mismo cálculo que VelocityWorker sin persistir a la
+     * DB, más una espera de lentitud × ROW_COST_NANOS por fila. La espera no
+     * usa CPU, así los workers se comportan como nodos separados aunque
+     * compartan la máquina. armCrash() simula la caída del nodo en su
+     * siguiente tarea.
+     */
+    private static class SimulatedWorker extends VelocityWorker {
+        private static final long ROW_COST_NANOS = 1_000;
+
+        private final int slowFactor;
+        private final Map<String, Long> lastFinish;
+        private final ObjectAdapter adapter;
+        private final AtomicBoolean crashArmed = new AtomicBoolean(false);
+        private volatile boolean crashed;
+
+        SimulatedWorker(String workerId, int slowFactor, Map<String, Long> lastFinish, ObjectAdapter adapter) {
+            super(workerId);
+            this.slowFactor = slowFactor;
+            this.lastFinish = lastFinish;
+            this.adapter = adapter;
+        }
+
+        void armCrash() {
+            crashArmed.set(true);
+        }
+
+        @Override
+        public AggregateResult processBlockTaskAggregates(BlockTask task, Current current) {
+            if (crashed || crashArmed.compareAndSet(true, false)) {
+                crash(task, current);
+            }
+            long t0 = System.nanoTime();
+            ArcStatsTable stats = calculateArcVelocities(task.block);
+            long waitNanos = DatagramBlocks.size(task.block) * ROW_COST_NANOS * slowFactor;
+            try {
+                Thread.sleep(waitNanos / 1_000_000, (int) (waitNanos % 1_000_000));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            lastFinish.put(getWorkerId(), System.nanoTime());
+            return new AggregateResult(task.taskId, stats.toAggregates(), (System.nanoTime() - t0) / 1_000_000, "");
+        }
+
+        /**
+         * Corta la conexión sin responder (el Master ve ConnectionLostException
+         * en push) y deja de atender; en pull el ciclo de fetchTask se detiene
+         * con la tarea en vuelo
+         */
+        private void crash(BlockTask task, Current current) {
+            if (!crashed) {
+                crashed = true;
+                System.out.println("💥 " + getWorkerId() + " se cae con la tarea " + task.taskId + " en curso");
+                if (current != null && current.con != null) {
+                    current.con.close(true);
+                }
+                new Thread(adapter::destroy).start();
+            }
+            throw new IllegalStateException(getWorkerId() + " crashed");
+        }
+    }
+
+    private static long drain(DatagramBatchSource source) throws IOException {
+        long count = 0;
+        try (DatagramBatchSource reader = source) {
+            BusDatagram[] batch;
+            while ((batch = reader.readNextBatch()) != null) {
+                count += batch.length;
+            }
+        }
+        return count;
+    }
+
+    private static void report(String label, long count, long bytes, long nanos) {
+        double seconds = nanos / 1e9;
+        System.out.printf("   %s: %,d datagramas en %.2f s -> %,.0f dgm/s, %.1f MB/s%n",
+            label, count, seconds, count / seconds, bytes / 1024.0 / 1024.0 / seconds);
+    }
+
+    /**
+     * Camino anterior (StreamingDatagramReader.parseDatagram): replace + split + trim + regex
+     */
+    private static long parseLegacy(String filePath, long max) throws IOException {
+        long valid = 0;
+        try (BufferedReader reader = Files.newBufferedReader(Paths.get(filePath))) {
+            reader.readLine();
+            String line;
+            long n = 0;
+            while (n++ < max && (line = reader.readLine()) != null) {
+                line = line.replace("\"", "");
+                String[] parts = line.split(",");
+                if (parts.length < 12) continue;
+                BusDatagram d = new BusDatagram();
+                d.eventType = Integer.parseInt(parts[0].trim());
+                d.stopId = parts[2].trim();
+                d.odometer = Double.parseDouble(parts[3].trim());
+                d.latitude = Double.parseDouble(parts[4].trim()) / 10000000.0;
+                d.longitude = Double.parseDouble(parts[5].trim()) / 10000000.0;
+                d.lineId = parts[7].trim();
+                d.tripId = parts[8].trim();
+                d.datagramDate = parts[10].trim();
+                d.busId = parts[11].trim();
+                if (d.datagramDate.matches("\\d{4}-\\d{2}-\\d{2} \\d{2}:\\d{2}:\\d{2}")) {
+                    valid++;
+                }
+            }
+        }
+        return valid;
+    }
+
+    private static long parseBytes(String filePath, long max) throws IOException {
+        long valid = 0;
+        try (DatagramCsvParser parser = DatagramCsvParser.open(filePath, true)) {
+            long n = 0;
+            while (n++ < max && parser.advance()) {
+                BusDatagram d = parser.parseLine();
+                if (d != null && parser.isDateWellFormed()) {
+                    valid++;
+                }
+            }
+        }
+        return valid;
+    }
+}
@@ -0,0 +1,24 @@
+package com.sitm.mio.client;
+
+import com.sitm.mio.util.ColumnarDatagramFile;
+
+/**
+ * Conversión única de un CSV de datagramas al formato columnar
+ *
+ * Uso:
+ *   ColumnarConverter <entrada.csv> <salida.mioc> [hilos]
+ *
+ * Ejemplo:
+ *   mvn -q exec:java -Dexec.mainClass=com.sitm.mio.client.ColumnarConverter -Dexec.args="./data/datagrams4history.csv ./data/datagrams4history.mioc"
+ */
+public class ColumnarConverter {
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 2) {
+            System.out.println("Uso: ColumnarConverter <entrada.csv> <salida.mioc> [hilos]");
+            return;
+        }
+        int threads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+        ColumnarDatagramFile.convert(args[0], args[1], threads);
+    }
+}
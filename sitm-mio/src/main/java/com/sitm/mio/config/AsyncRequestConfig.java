@@ -0,0 +1,26 @@
+package com.sitm.mio.config;
+
+import com.sitm.mio.service.HistoricalJobManager;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Límite de las respuestas asíncronas (las que esperan un job histórico):
+ * task.timeout.seconds más un margen, para que antes responda el
+ * controlador con el id del job en vez de un 503 de Spring
+ */
+@Configuration
+public class AsyncRequestConfig implements WebMvcConfigurer {
+    
+    private static final long MARGIN_MS = 5000;
+    
+    @Autowired
+    private HistoricalJobManager jobManager;
+    
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setDefaultTimeout(jobManager.getRequestTimeoutSeconds() * 1000 + MARGIN_MS);
+    }
+}
@@ -55,8 +55,13 @@ public class WorkerAutoStarter {
                 final String workerId = "worker" + i;
                 Thread t = new Thread(() -> {
                     try {
-                        // Lightweight ICE client thread for the worker
-                        new WorkerServer(workerId).start(new String[]{"--Ice.ThreadPool.Client.Size=2"}, endpoint);
+                        // Lightweight ICE client pool; the server pool keeps cancelTask/isAlive
+                        // reachable while a task is running
+                        new WorkerServer(workerId).start(new String[]{
+                            "--Ice.ThreadPool.Client.Size=2",
+                            "--Ice.ThreadPool.Server.Size=4",
+                            "--Ice.ThreadPool.Server.SizeMax=4"
+                        }, endpoint);
                     } catch (Exception e) {
                         System.err.println("[Workers] Failed to start " + workerId + ": " + e.getMessage());
                     }
@@ -1,19 +1,30 @@
 package com.sitm.mio.controller;
 
 import com.sitm.mio.dto.ApiResponse;
+import com.sitm.mio.dto.ArcPercentilesDTO;
 import com.sitm.mio.dto.SystemStatsDTO;
 import com.sitm.mio.dto.VelocityResponseDTO;
 import com.sitm.mio.entity.VelocityRecord;
 import com.sitm.mio.repository.VelocityRecordRepository;
 import com.sitm.mio.service.IceMasterService;
-import com.sitm.mio.service.DataProcessingService;
+import com.sitm.mio.service.HistoricalJob;
+import com.sitm.mio.service.HistoricalJobManager;
+import com.sitm.mio.util.QuantileSketch;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.web.bind.annotation.*;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 /**
@@ -31,7 +42,7 @@ public class DataQueryController {
     private IceMasterService masterService;
     
     @Autowired
-    private DataProcessingService processingService;
+    private HistoricalJobManager jobManager;
     
     /**
      * GET /api/data/velocities
@@ -71,9 +82,12 @@ public class DataQueryController {
      * Procesa datos históricos Y retorna datos actualizados de la base de datos
      * PASO 1: Ejecuta procesamiento distribuido con Ice Master + Workers
      * PASO 2: Consulta y retorna datos actualizados de PostgreSQL
+     * El paso 1 corre como job en HistoricalJobManager; la respuesta se
+     * completa al terminar sin ocupar el hilo del servlet (o con el id del
+     * job si pasa de task.timeout.seconds)
      */
     @GetMapping("/velocities/historical")
-    public ApiResponse<List<VelocityResponseDTO>> getHistoricalData(
+    public CompletableFuture<ApiResponse<List<VelocityResponseDTO>>> getHistoricalData(
             @RequestParam(required = false) String dataFilePath,
             @RequestParam(required = false) String testLabel,
             @RequestParam(required = false) String lineId,
@@ -84,27 +98,48 @@ public class DataQueryController {
             // PASO 1: Si se proporciona archivo, procesarlo primero
             if (dataFilePath != null && !dataFilePath.isEmpty()) {
                 if (testLabel == null || testLabel.isEmpty()) {
-                    return ApiResponse.error("testLabel is required when processing a file");
+                    return CompletableFuture.completedFuture(
+                        ApiResponse.error("testLabel is required when processing a file"));
                 }
                 
                 System.out.println("🔄 PASO 1: Procesando datos históricos con Ice Master...");
                 
                 // Procesar archivo con Ice Master + Workers distribuidos
-                DataProcessingService.ProcessingResult result = processingService.processHistorical(
+                HistoricalJob job = jobManager.submit(
                     dataFilePath,
                     testLabel,
                     batchSize,
-                    maxRecords
+                    maxRecords,
+                    Long.MIN_VALUE,
+                    Long.MAX_VALUE
                 );
                 
-                if (!result.isSuccess()) {
-                    return ApiResponse.error("Processing failed: " + result.getError());
-                }
-                
-                System.out.printf("✅ Procesamiento completado: %d registros procesados en %.2f segundos%n",
-                    result.getTotalRecords(), result.getElapsedTimeMs() / 1000.0);
+                return job.getCompletion().thenApply(result -> {
+                    if (result == null || !result.isSuccess()) {
+                        return ApiResponse.<List<VelocityResponseDTO>>error("Processing failed: "
+                            + (result != null ? result.getError() : job.getError()));
+                    }
+                    
+                    System.out.printf("✅ Procesamiento completado: %d registros procesados en %.2f segundos%n",
+                        result.getTotalRecords(), result.getElapsedTimeMs() / 1000.0);
+                    return queryHistorical(testLabel, lineId, limit);
+                }).completeOnTimeout(ApiResponse.error("Job " + job.getId() + " still running after "
+                    + jobManager.getRequestTimeoutSeconds() + "s; follow it at /api/historical/jobs/" + job.getId()),
+                    jobManager.getRequestTimeoutSeconds(), TimeUnit.SECONDS);
             }
             
+            return CompletableFuture.completedFuture(queryHistorical(testLabel, lineId, limit));
+        } catch (Exception e) {
+            return CompletableFuture.completedFuture(
+                ApiResponse.error("Error in historical data processing: " + e.getMessage()));
+        }
+    }
+    
+    /**
+     * PASO 2 de getHistoricalData: datos actualizados de la BD
+     */
+    private ApiResponse<List<VelocityResponseDTO>> queryHistorical(String testLabel, String lineId, int limit) {
+        try {
             // PASO 2: Consultar datos actualizados de la BD
             System.out.println("📊 PASO 2: Consultando datos actualizados de PostgreSQL...");
             
@@ -221,6 +256,98 @@ public class DataQueryController {
         }
     }
     
+    /**
+     * GET /api/data/velocities/percentiles
+     * Percentiles de velocidad por arco (por defecto mediana, p85 y p95),
+     * combinando los sketches guardados de los registros que cumplen el
+     * filtro. La memoria es un sketch por arco, sin importar las muestras.
+     */
+    @GetMapping("/velocities/percentiles")
+    public ApiResponse<List<ArcPercentilesDTO>> getPercentiles(
+            @RequestParam(required = false) String testLabel,
+            @RequestParam(required = false) String lineId,
+            @RequestParam(required = false) String arcId,
+            @RequestParam(defaultValue = "0.5,0.85,0.95") String q,
+            @RequestParam(defaultValue = "100") int limit) {
+        try {
+            double[] quantiles = Arrays.stream(q.split(","))
+                .mapToDouble(value -> Double.parseDouble(value.trim()))
+                .toArray();
+            for (double quantile : quantiles) {
+                if (!(quantile > 0 && quantile < 1)) {
+                    return ApiResponse.error("Percentiles must be between 0 and 1 (exclusive): " + q);
+                }
+            }
+            
+            boolean hasLabel = testLabel != null && !testLabel.isEmpty();
+            List<VelocityRecord> records;
+            if (arcId != null && !arcId.isEmpty()) {
+                records = hasLabel ? velocityRepository.findByTestLabelAndArcId(testLabel, arcId)
+                    : velocityRepository.findByArcId(arcId);
+            } else if (lineId != null && !lineId.isEmpty()) {
+                records = hasLabel ? velocityRepository.findByTestLabelAndLineId(testLabel, lineId)
+                    : velocityRepository.findByLineId(lineId);
+            } else if (hasLabel) {
+                records = velocityRepository.findByTestLabel(testLabel);
+            } else {
+                return ApiResponse.error("testLabel, lineId or arcId is required");
+            }
+            
+            // Un sketch por arco: los registros del mismo arco se combinan
+            Map<String, QuantileSketch> sketches = new LinkedHashMap<>();
+            Map<String, VelocityRecord> firstRecord = new HashMap<>();
+            Map<String, Integer> recordCount = new HashMap<>();
+            for (VelocityRecord record : records) {
+                if (record.getSpeedSketch() == null || record.getSpeedSketch().isEmpty()) {
+                    continue;   // Registros anteriores a los sketches
+                }
+                if (!sketches.containsKey(record.getArcId()) && sketches.size() >= limit) {
+                    continue;
+                }
+                sketches.computeIfAbsent(record.getArcId(), id -> new QuantileSketch())
+                    .merge(QuantileSketch.decode(record.getSpeedSketch()));
+                firstRecord.putIfAbsent(record.getArcId(), record);
+                recordCount.merge(record.getArcId(), 1, Integer::sum);
+            }
+            
+            if (sketches.isEmpty() && !records.isEmpty()) {
+                // Hay registros pero ninguno trae sketch: se dice, en vez de devolver una lista vacía
+                return ApiResponse.error("Percentiles not available: the " + records.size()
+                    + " matching records were saved without a quantile sketch");
+            }
+            
+            List<ArcPercentilesDTO> dtos = new ArrayList<>();
+            for (Map.Entry<String, QuantileSketch> entry : sketches.entrySet()) {
+                QuantileSketch sketch = entry.getValue();
+                VelocityRecord record = firstRecord.get(entry.getKey());
+                Map<String, Double> percentilesMs = new LinkedHashMap<>();
+                Map<String, Double> percentilesKmh = new LinkedHashMap<>();
+                for (double quantile : quantiles) {
+                    String key = "p" + BigDecimal.valueOf(quantile).movePointRight(2)
+                        .stripTrailingZeros().toPlainString();
+                    double velocity = sketch.quantile(quantile);
+                    percentilesMs.put(key, velocity);
+                    percentilesKmh.put(key, velocity * 3.6);
+                }
+                dtos.add(ArcPercentilesDTO.builder()
+                    .arcId(entry.getKey())
+                    .lineId(record.getLineId())
+                    .testLabel(hasLabel ? testLabel : null)
+                    .sampleCount(sketch.count())
+                    .records(recordCount.get(entry.getKey()))
+                    .percentilesMs(percentilesMs)
+                    .percentilesKmh(percentilesKmh)
+                    .build());
+            }
+            
+            return ApiResponse.success(dtos);
+        } catch (NumberFormatException e) {
+            return ApiResponse.error("Invalid percentile list: " + q);
+        } catch (Exception e) {
+            return ApiResponse.error("Error retrieving percentiles: " + e.getMessage());
+        }
+    }
+    
     /**
      * GET /api/data/stats
      * Obtiene estadísticas del sistema
@@ -293,11 +420,18 @@ public class DataQueryController {
             .velocityMs(record.getVelocityMs())
             .velocityKmh(record.getVelocityKmh())
             .sampleCount(record.getSampleCount())
+            .velocityP50Kmh(toKmh(record.getVelocityP50Ms()))
+            .velocityP85Kmh(toKmh(record.getVelocityP85Ms()))
+            .velocityP95Kmh(toKmh(record.getVelocityP95Ms()))
             .testLabel(record.getTestLabel())
             .timestamp(record.getTimestamp())
             .build();
     }
     
+    private static Double toKmh(Double velocityMs) {
+        return velocityMs != null ? velocityMs * 3.6 : null;
+    }
+    
     private int extractWorkerCount(String status) {
         try {
             if (status != null && status.contains("Workers:")) {
@@ -2,13 +2,29 @@ package com.sitm.mio.controller;
 
 import com.sitm.mio.dto.ApiResponse;
 import com.sitm.mio.dto.HistoricalProcessRequestDTO;
+import com.sitm.mio.dto.JobStatusDTO;
 import com.sitm.mio.service.DataProcessingService;
+import com.sitm.mio.service.HistoricalJob;
+import com.sitm.mio.service.HistoricalJobManager;
 import com.sitm.mio.service.IceMasterService;
+import com.sitm.mio.util.DatagramCsvParser;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.*;
+import SITM.MIO.VelocityResult;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 /**
  * Controller para procesamiento de datos históricos
+ *
+ * El procesamiento corre como job en HistoricalJobManager: /jobs devuelve el
+ * id al instante para consultar progreso, resultados parciales o cancelar;
+ * /process espera el resultado sin ocupar el hilo del servlet.
  */
 @RestController
 @RequestMapping("/api/historical")
@@ -16,50 +32,112 @@ import org.springframework.web.bind.annotation.*;
 public class HistoricalDataController {
     
     @Autowired
-    private DataProcessingService processingService;
+    private IceMasterService masterService;
     
     @Autowired
-    private IceMasterService masterService;
+    private HistoricalJobManager jobManager;
     
     /**
      * POST /api/historical/process
-     * Procesa un archivo de datos históricos
+     * Procesa un archivo de datos históricos y responde al terminar. Si el job
+     * pasa de task.timeout.seconds responde con su id para seguirlo en
+     * /api/historical/jobs/{id} (el job no se corta)
      */
     @PostMapping("/process")
-    public ApiResponse<DataProcessingService.ProcessingResult> processHistorical(
+    public CompletableFuture<ApiResponse<DataProcessingService.ProcessingResult>> processHistorical(
             @RequestBody HistoricalProcessRequestDTO request) {
         try {
-            // Validar request
-            if (request.getDataFilePath() == null || request.getDataFilePath().isEmpty()) {
-                return ApiResponse.error("Data file path is required");
-            }
-            
-            if (request.getTestLabel() == null || request.getTestLabel().isEmpty()) {
-                return ApiResponse.error("Test label is required");
-            }
-            
-            // Verificar que el Master esté corriendo
-            if (!masterService.isRunning()) {
-                return ApiResponse.error("Ice Master is not running. Please start it first.");
-            }
-            
-            // Procesar datos
-            DataProcessingService.ProcessingResult result = processingService.processHistorical(
-                request.getDataFilePath(),
-                request.getTestLabel(),
-                request.getBatchSize(),
-                request.getMaxRecords()
-            );
-            
-            if (result.isSuccess()) {
-                return ApiResponse.success("Processing completed successfully", result);
-            } else {
-                return ApiResponse.error(result.getError());
-            }
-            
+            HistoricalJob job = submit(request);
+            long timeout = jobManager.getRequestTimeoutSeconds();
+            return job.getCompletion().thenApply(result -> {
+                if (result != null && result.isSuccess()) {
+                    return ApiResponse.success("Processing completed successfully", result);
+                }
+                return ApiResponse.<DataProcessingService.ProcessingResult>error(
+                    result != null ? result.getError() : job.getError());
+            }).completeOnTimeout(ApiResponse.error("Job " + job.getId() + " still running after " + timeout
+                + "s; follow it at /api/historical/jobs/" + job.getId()), timeout, TimeUnit.SECONDS);
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            return CompletableFuture.completedFuture(ApiResponse.error(e.getMessage()));
+        } catch (Exception e) {
+            return CompletableFuture.completedFuture(
+                ApiResponse.error("Error processing historical data: " + e.getMessage()));
+        }
+    }
+    
+    /**
+     * POST /api/historical/jobs
+     * Encola un procesamiento y devuelve el job sin esperar a que termine
+     */
+    @PostMapping("/jobs")
+    public ApiResponse<JobStatusDTO> submitJob(@RequestBody HistoricalProcessRequestDTO request) {
+        try {
+            HistoricalJob job = submit(request);
+            return ApiResponse.success("Job queued", toDTO(job));
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            return ApiResponse.error(e.getMessage());
         } catch (Exception e) {
-            return ApiResponse.error("Error processing historical data: " + e.getMessage());
+            return ApiResponse.error("Error submitting job: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * GET /api/historical/jobs
+     * Lista los jobs en cola, en curso y terminados recientes
+     */
+    @GetMapping("/jobs")
+    public ApiResponse<List<JobStatusDTO>> listJobs() {
+        return ApiResponse.success(jobManager.list().stream()
+            .map(this::toDTO)
+            .collect(Collectors.toList()));
+    }
+    
+    /**
+     * GET /api/historical/jobs/{id}
+     * Progreso de un job: lotes, datagramas/s y tiempo estimado
+     */
+    @GetMapping("/jobs/{id}")
+    public ApiResponse<JobStatusDTO> getJob(@PathVariable String id) {
+        HistoricalJob job = jobManager.get(id);
+        if (job == null) {
+            return ApiResponse.error("Job not found: " + id);
         }
+        return ApiResponse.success(toDTO(job));
+    }
+    
+    /**
+     * GET /api/historical/jobs/{id}/results
+     * Resultados por arco combinados hasta ahora (los de más muestras primero)
+     */
+    @GetMapping("/jobs/{id}/results")
+    public ApiResponse<List<VelocityResult>> getJobResults(
+            @PathVariable String id,
+            @RequestParam(defaultValue = "1000") int limit) {
+        HistoricalJob job = jobManager.get(id);
+        if (job == null) {
+            return ApiResponse.error("Job not found: " + id);
+        }
+        List<VelocityResult> results = Arrays.stream(job.getPartialResults())
+            .sorted(Comparator.comparingInt((VelocityResult r) -> r.sampleCount).reversed())
+            .limit(Math.max(0, limit))
+            .collect(Collectors.toList());
+        return ApiResponse.success(job.isFinished() ? "Final results" : "Partial results", results);
+    }
+    
+    /**
+     * POST /api/historical/jobs/{id}/cancel
+     * Cancela un job en cola o en curso (también sus tareas en los workers)
+     */
+    @PostMapping("/jobs/{id}/cancel")
+    public ApiResponse<JobStatusDTO> cancelJob(@PathVariable String id) {
+        HistoricalJob job = jobManager.get(id);
+        if (job == null) {
+            return ApiResponse.error("Job not found: " + id);
+        }
+        if (!jobManager.cancel(id)) {
+            return ApiResponse.error("Job already finished: " + job.getStatus());
+        }
+        return ApiResponse.success("Cancellation requested", toDTO(job));
     }
     
     /**
@@ -75,4 +153,66 @@ public class HistoricalDataController {
             return ApiResponse.error("Error getting status: " + e.getMessage());
         }
     }
+    
+    /**
+     * Valida el request y encola el job
+     * @throws IllegalArgumentException si falta un dato o el rango no es válido
+     * @throws IllegalStateException si el Master no corre o la cola está llena
+     */
+    private HistoricalJob submit(HistoricalProcessRequestDTO request) {
+        // Validar request
+        if (request.getDataFilePath() == null || request.getDataFilePath().isEmpty()) {
+            throw new IllegalArgumentException("Data file path is required");
+        }
+        
+        if (request.getTestLabel() == null || request.getTestLabel().isEmpty()) {
+            throw new IllegalArgumentException("Test label is required");
+        }
+        
+        // Rango de tiempo opcional
+        long fromEpoch = Long.MIN_VALUE;
+        long toEpoch = Long.MAX_VALUE;
+        if (request.getStartTime() != null && !request.getStartTime().isEmpty()) {
+            fromEpoch = DatagramCsvParser.parseEpochSeconds(request.getStartTime());
+            if (fromEpoch == 0) {
+                throw new IllegalArgumentException("Invalid startTime, expected yyyy-MM-dd HH:mm:ss");
+            }
+        }
+        if (request.getEndTime() != null && !request.getEndTime().isEmpty()) {
+            toEpoch = DatagramCsvParser.parseEpochSeconds(request.getEndTime());
+            if (toEpoch == 0) {
+                throw new IllegalArgumentException("Invalid endTime, expected yyyy-MM-dd HH:mm:ss");
+            }
+        }
+        
+        // Verificar que el Master esté corriendo
+        if (!masterService.isRunning()) {
+            throw new IllegalStateException("Ice Master is not running. Please start it first.");
+        }
+        
+        return jobManager.submit(request.getDataFilePath(), request.getTestLabel(),
+            request.getBatchSize(), request.getMaxRecords(), fromEpoch, toEpoch);
+    }
+    
+    private JobStatusDTO toDTO(HistoricalJob job) {
+        int total = job.getTotalRecords();
+        return JobStatusDTO.builder()
+            .jobId(job.getId())
+            .status(job.getStatus().name())
+            .testLabel(job.getTestLabel())
+            .dataFilePath(job.getFilePath())
+            .batchesDone(job.getBatchesDone())
+            .totalBatches(job.getTotalBatches())
+            .processedRecords(job.getProcessedRecords())
+            .totalRecords(total)
+            .progressPercent(total > 0 ? 100.0 * job.getProcessedRecords() / total : 0.0)
+            .datagramsPerSecond(job.getDatagramsPerSecond())
+            .etaSeconds(job.getEtaSeconds())
+            .partialArcs(job.getPartialArcCount())
+            .error(job.getError())
+            .submittedAt(job.getSubmittedAt())
+            .startedAt(job.getStartedAt())
+            .finishedAt(job.getFinishedAt())
+            .build();
+    }
 }
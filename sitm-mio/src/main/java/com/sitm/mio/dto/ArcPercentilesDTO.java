@@ -0,0 +1,26 @@
+package com.sitm.mio.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * DTO con los percentiles de velocidad de un arco (sketches de sus
+ * registros combinados)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArcPercentilesDTO {
+    private String arcId;
+    private String lineId;
+    private String testLabel;
+    private Long sampleCount;
+    private Integer records;
+    private Map<String, Double> percentilesMs;
+    private Map<String, Double> percentilesKmh;
+}
@@ -17,4 +17,6 @@ public class HistoricalProcessRequestDTO {
     private String testLabel;
     private Integer batchSize;
     private Integer maxRecords;
+    private String startTime;  // Opcional, "yyyy-MM-dd HH:mm:ss"
+    private String endTime;    // Opcional, "yyyy-MM-dd HH:mm:ss"
 }
@@ -0,0 +1,34 @@
+package com.sitm.mio.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO para el estado y progreso de un job histórico
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobStatusDTO {
+    private String jobId;
+    private String status;
+    private String testLabel;
+    private String dataFilePath;
+    private Integer batchesDone;
+    private Integer totalBatches;
+    private Integer processedRecords;
+    private Integer totalRecords;
+    private Double progressPercent;
+    private Double datagramsPerSecond;
+    private Long etaSeconds;
+    private Integer partialArcs;
+    private String error;
+    private LocalDateTime submittedAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+}
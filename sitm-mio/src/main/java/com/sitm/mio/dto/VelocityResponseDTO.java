@@ -20,6 +20,9 @@ public class VelocityResponseDTO {
     private Double velocityMs;
     private Double velocityKmh;
     private Integer sampleCount;
+    private Double velocityP50Kmh;
+    private Double velocityP85Kmh;
+    private Double velocityP95Kmh;
     private String testLabel;
     private LocalDateTime timestamp;
 }
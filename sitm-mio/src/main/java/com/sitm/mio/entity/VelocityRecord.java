@@ -39,6 +39,20 @@ public class VelocityRecord {
     @Column(name = "sample_count", nullable = false)
     private Integer sampleCount;
     
+    // Percentiles de velocidad del arco (m/s), del sketch de cuantiles
+    @Column(name = "velocity_p50_m_s")
+    private Double velocityP50Ms;
+    
+    @Column(name = "velocity_p85_m_s")
+    private Double velocityP85Ms;
+    
+    @Column(name = "velocity_p95_m_s")
+    private Double velocityP95Ms;
+    
+    // QuantileSketch.encode(): permite pedir otros percentiles y combinar corridas
+    @Column(name = "speed_sketch", columnDefinition = "TEXT")
+    private String speedSketch;
+    
     @Column(name = "test_label", length = 200)
     private String testLabel;
     
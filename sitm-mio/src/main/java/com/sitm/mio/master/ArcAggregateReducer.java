@@ -0,0 +1,153 @@
+package com.sitm.mio.master;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.sitm.mio.util.ArcStatsTable;
+import com.sitm.mio.util.QuantileSketch;
+
+import SITM.MIO.ArcAggregate;
+import SITM.MIO.VelocityResult;
+
+/**
+ * Etapa de reduce del Master: combina los acumuladores parciales por arco
+ * que llegan de cada tarea en un único resultado por arco (promedio
+ * ponderado por número de muestras y sketch de cuantiles combinado).
+ *
+ * Los arcos se reparten por hash en particiones, cada una con su propia
+ * ArcStatsTable y su propio lock. accept() se llama desde el hilo que recibe
+ * la respuesta de cada worker, así que el merge ocurre en paralelo mientras
+ * llegan las respuestas, no después de que terminen todas.
+ */
+public class ArcAggregateReducer {
+    private final ArcStatsTable[] partitions;
+    private final AtomicLong partialCount = new AtomicLong(0);
+
+    public ArcAggregateReducer(int partitionCount) {
+        this.partitions = new ArcStatsTable[Math.max(1, partitionCount)];
+        for (int i = 0; i < partitions.length; i++) {
+            partitions[i] = new ArcStatsTable();
+        }
+    }
+
+    /**
+     * Suma los acumuladores de una respuesta de worker
+     */
+    public void accept(ArcAggregate[] aggregates) {
+        if (aggregates == null || aggregates.length == 0) {
+            return;
+        }
+        partialCount.addAndGet(aggregates.length);
+
+        // Agrupar por partición para tomar cada lock una sola vez
+        int[] partitionOf = new int[aggregates.length];
+        int[] perPartition = new int[partitions.length];
+        for (int i = 0; i < aggregates.length; i++) {
+            partitionOf[i] = partitionOf(aggregates[i].arcId);
+            perPartition[partitionOf[i]]++;
+        }
+
+        for (int p = 0; p < partitions.length; p++) {
+            if (perPartition[p] == 0) {
+                continue;
+            }
+            ArcStatsTable table = partitions[p];
+            synchronized (table) {
+                for (int i = 0; i < aggregates.length; i++) {
+                    if (partitionOf[i] == p) {
+                        ArcAggregate arc = aggregates[i];
+                        table.merge(table.entryFor(arc.arcId), arc.count, arc.sum,
+                            arc.sumSquares, arc.min, arc.max, arc.sketchMeans, arc.sketchWeights);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Un VelocityResult por arco con el promedio ponderado y su sketch
+     * (sampleCount es int: un conteo mayor queda en Integer.MAX_VALUE)
+     */
+    public VelocityResult[] toResults(long processingTime) {
+        int total = getArcCount();
+        VelocityResult[] results = new VelocityResult[total];
+        int k = 0;
+        for (ArcStatsTable table : partitions) {
+            synchronized (table) {
+                for (int i = 0; i < table.size(); i++) {
+                    QuantileSketch sketch = table.sketch(i);
+                    results[k++] = new VelocityResult(table.arcId(i), table.mean(i), clampCount(table.count(i)),
+                        processingTime, "", "",
+                        sketch != null ? sketch.centroidMeans() : new double[0],
+                        sketch != null ? sketch.centroidWeights() : new long[0]);
+                }
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Expande acumuladores ya combinados (p. ej. la respuesta de
+     * processHistoricalAggregates) a un VelocityResult por arco, como toResults
+     */
+    public static VelocityResult[] toResults(ArcAggregate[] aggregates, long processingTime) {
+        VelocityResult[] results = new VelocityResult[aggregates.length];
+        for (int i = 0; i < aggregates.length; i++) {
+            ArcAggregate arc = aggregates[i];
+            results[i] = new VelocityResult(arc.arcId, arc.count > 0 ? arc.sum / arc.count : 0.0,
+                clampCount(arc.count), processingTime, "", "", arc.sketchMeans, arc.sketchWeights);
+        }
+        return results;
+    }
+
+    private static int clampCount(long count) {
+        return (int) Math.min(count, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Acumuladores combinados por arco (conteo, suma, cuadrados, min y max),
+     * p. ej. para persistir un checkpoint y restaurarlo con accept()
+     */
+    public ArcAggregate[] toAggregates() {
+        ArcAggregate[][] perPartition = new ArcAggregate[partitions.length][];
+        int total = 0;
+        for (int p = 0; p < partitions.length; p++) {
+            synchronized (partitions[p]) {
+                perPartition[p] = partitions[p].toAggregates();
+            }
+            total += perPartition[p].length;
+        }
+        ArcAggregate[] all = new ArcAggregate[total];
+        int k = 0;
+        for (ArcAggregate[] aggregates : perPartition) {
+            System.arraycopy(aggregates, 0, all, k, aggregates.length);
+            k += aggregates.length;
+        }
+        return all;
+    }
+
+    /**
+     * Acumuladores parciales recibidos (antes del merge)
+     */
+    public long getPartialCount() {
+        return partialCount.get();
+    }
+
+    /**
+     * Arcos distintos después del merge
+     */
+    public int getArcCount() {
+        int total = 0;
+        for (ArcStatsTable table : partitions) {
+            synchronized (table) {
+                total += table.size();
+            }
+        }
+        return total;
+    }
+
+    private int partitionOf(String arcId) {
+        int h = arcId.hashCode();
+        h ^= h >>> 16;
+        return (h & 0x7fffffff) % partitions.length;
+    }
+}
@@ -0,0 +1,108 @@
+package com.sitm.mio.master;
+
+import java.util.Arrays;
+
+import SITM.MIO.BusDatagram;
+
+/**
+ * Reparto de un lote de datagramas en particiones (tareas)
+ *
+ * Modos (partition.mode en cluster.properties):
+ * - CONTIGUOUS: trozos contiguos por índice (comportamiento original). Un viaje
+ *   que cruza el borde de dos trozos pierde el par de datagramas del borde.
+ * - TRIP: hash(busId, tripId). Cada tarea recibe viajes completos.
+ * - LINE: hash(lineId). Segundo nivel del modelo time-first de
+ *   doc/partition_tree.md (el lote ya viene acotado en tiempo); también
+ *   conserva viajes completos y concentra los arcos de una ruta en una tarea.
+ *
+ * En TRIP y LINE cada partición conserva el orden de llegada de sus filas.
+ */
+public class DatagramPartitioner {
+
+    public enum Mode {
+        CONTIGUOUS,
+        TRIP,
+        LINE
+    }
+
+    private final Mode mode;
+
+    public DatagramPartitioner(Mode mode) {
+        this.mode = mode;
+    }
+
+    public static Mode parseMode(String value) {
+        try {
+            return Mode.valueOf(value.trim().toUpperCase());
+        } catch (Exception e) {
+            System.err.println("Unknown partition.mode '" + value + "', using CONTIGUOUS");
+            return Mode.CONTIGUOUS;
+        }
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    /**
+     * Filas de cada partición (índices al arreglo de entrada); las particiones
+     * vacías se omiten
+     */
+    public int[][] assign(BusDatagram[] datagrams, int numPartitions) {
+        if (numPartitions <= 0) numPartitions = 1;
+        int n = datagrams.length;
+
+        int[] partitionOf = new int[n];
+        if (mode == Mode.CONTIGUOUS) {
+            int chunkSize = Math.max(1, n / numPartitions);
+            for (int i = 0; i < n; i++) {
+                partitionOf[i] = Math.min(i / chunkSize, numPartitions - 1);
+            }
+        } else {
+            for (int i = 0; i < n; i++) {
+                partitionOf[i] = Math.floorMod(mix(hashKey(datagrams[i])), numPartitions);
+            }
+        }
+
+        // Counting sort estable por partición
+        int[] start = new int[numPartitions + 1];
+        for (int p : partitionOf) {
+            start[p + 1]++;
+        }
+        for (int p = 0; p < numPartitions; p++) {
+            start[p + 1] += start[p];
+        }
+        int[] rows = new int[n];
+        int[] fill = Arrays.copyOf(start, numPartitions);
+        for (int i = 0; i < n; i++) {
+            rows[fill[partitionOf[i]]++] = i;
+        }
+
+        int nonEmpty = 0;
+        for (int p = 0; p < numPartitions; p++) {
+            if (start[p + 1] > start[p]) nonEmpty++;
+        }
+        int[][] partitions = new int[nonEmpty][];
+        int k = 0;
+        for (int p = 0; p < numPartitions; p++) {
+            if (start[p + 1] > start[p]) {
+                partitions[k++] = Arrays.copyOfRange(rows, start[p], start[p + 1]);
+            }
+        }
+        return partitions;
+    }
+
+    private int hashKey(BusDatagram dgram) {
+        if (mode == Mode.LINE) {
+            return String.valueOf(dgram.lineId).hashCode();
+        }
+        return 31 * String.valueOf(dgram.busId).hashCode() + String.valueOf(dgram.tripId).hashCode();
+    }
+
+    private static int mix(int h) {
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        return h;
+    }
+}
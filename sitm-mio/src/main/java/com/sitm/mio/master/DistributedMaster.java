@@ -1,11 +1,15 @@
 package com.sitm.mio.master;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutorService;
@@ -13,53 +17,176 @@ import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntSupplier;
+import java.util.function.Supplier;
 
 import com.sitm.mio.persistence.DBConnection;
 import com.sitm.mio.util.CSVDataLoader;
+import com.sitm.mio.util.ColumnarDatagramFile;
+import com.sitm.mio.util.ColumnarDatagramReader;
 import com.sitm.mio.util.ConfigManager;
+import com.sitm.mio.util.DatagramBatchSource;
+import com.sitm.mio.util.DatagramBlocks;
+import com.sitm.mio.util.ParallelDatagramReader;
 import com.sitm.mio.util.MetricsCollector;
 
 import Ice.Current;
+import SITM.MIO.AMD_Master_processHistoricalAggregates;
+import SITM.MIO.AMD_Master_processHistoricalData;
+import SITM.MIO.AMD_Master_processHistoricalFile;
+import SITM.MIO.AMD_Master_processStreamingData;
+import SITM.MIO.AggregateResult;
 import SITM.MIO.Arc;
+import SITM.MIO.ArcAggregate;
+import SITM.MIO.BlockTask;
 import SITM.MIO.BusDatagram;
+import SITM.MIO.FileRangeTask;
 import SITM.MIO.LineStop;
-import SITM.MIO.ProcessingTask;
 import SITM.MIO.Stop;
 import SITM.MIO.StreamingWindow;
+import SITM.MIO.TaskAssignment;
+import SITM.MIO.TopologySnapshot;
 import SITM.MIO.VelocityResult;
 import SITM.MIO.WorkerPrx;
+import SITM.MIO.WorkerPrxHelper;
 import SITM.MIO._MasterDisp;
 
 public class DistributedMaster extends _MasterDisp {
+
+    /**
+     * PUSH: una partición por worker enviada por el Master (original).
+     * PULL: tareas pequeñas en cola que los workers piden (PullTaskScheduler).
+     */
+    public enum SchedulingMode {
+        PUSH,
+        PULL
+    }
+
     private final List<WorkerPrx> workers = new CopyOnWriteArrayList<>();
     private final Map<WorkerPrx, String> workerIds = new ConcurrentHashMap<>();
+    // Hilos de cálculo que cada worker informó al registrarse
+    private final Map<WorkerPrx, Integer> workerCores = new ConcurrentHashMap<>();
     private final int maxWorkers;
     private final AtomicInteger taskCounter = new AtomicInteger(0);
     private Stop[] stops;
     private Arc[] arcs;
+    // Lo que piden los workers con fetchTopology; las tareas llevan solo la versión
+    private volatile TopologySnapshot topology = new TopologySnapshot("", new Arc[0], new Stop[0]);
     private final LoadBalancer loadBalancer;
     private final MetricsCollector metricsCollector;
     private final ScheduledExecutorService healthCheckExecutor;
     private final ExecutorService taskExecutor;
     private final long taskTimeout;
+    private final int fileBatchSize;
+    private final int readerThreads;
+    private final int reducePartitions;
+    private final DatagramPartitioner partitioner;
+    private final int partitionCount;
+    private final long fileTaskBytes;
+    private final StreamingShardRouter shardRouter;
+    private final PullTaskScheduler scheduler;
+    private volatile SchedulingMode schedulingMode;
+    private final int taskRows;
+    private final SpeculationPolicy speculation;
+    private final ScheduledExecutorService speculationExecutor;
+    private final Set<PushJob> activePushJobs = ConcurrentHashMap.newKeySet();
+    private final RetryPolicy retry;
+    private final ScheduledExecutorService retryExecutor;
+    // Lotes en curso por id de job del cliente (contexto Ice "jobId"), para cancelJob
+    private final Map<String, Set<CompletableFuture<AggregateResult>>> clientJobs = new ConcurrentHashMap<>();
+    // Jobs cancelados y la hora del aviso: un lote que llega después se rechaza
+    private final Map<String, Long> cancelledClientJobs = new ConcurrentHashMap<>();
+    private static final long CANCELLED_JOB_RETENTION_MS = 10 * 60 * 1000;
+
+    /** Clave del contexto Ice con la que el cliente identifica sus lotes */
+    public static final String JOB_ID_CONTEXT = "jobId";
+
+    /**
+     * Tarea push en curso: el primer intento que termina gana; el de la copia
+     * especulativa (o el original, si la copia ganó) se ignora al llegar. Si
+     * fallan todos los intentos en curso, la tarea se reintenta en otro worker.
+     * Lleva un BlockTask (datagramas enviados por el Master) o un
+     * FileRangeTask (el worker lee su rango del archivo compartido).
+     */
+    private static class PushTask {
+        final String taskId;
+        final BlockTask task;
+        final FileRangeTask rangeTask;
+        final int rows;
+        final long startedAt = System.currentTimeMillis();
+        final CompletableFuture<AggregateResult> winner = new CompletableFuture<>();
+        final Set<WorkerPrx> running = ConcurrentHashMap.newKeySet();     // workers con un intento en curso
+        final Set<WorkerPrx> failedOn = ConcurrentHashMap.newKeySet();
+        int failures;                                                    // protegido por synchronized(this)
+        volatile WorkerPrx primary;
+        volatile WorkerPrx backup;
+
+        PushTask(BlockTask task, int rows) {
+            this.taskId = task.taskId;
+            this.task = task;
+            this.rangeTask = null;
+            this.rows = rows;
+        }
+
+        PushTask(FileRangeTask rangeTask, int rows) {
+            this.taskId = rangeTask.taskId;
+            this.task = null;
+            this.rangeTask = rangeTask;
+            this.rows = rows;
+        }
+    }
+
+    private static class PushJob {
+        final List<PushTask> tasks = new ArrayList<>();
+        final SpeculationPolicy.Durations durations = new SpeculationPolicy.Durations();
+        volatile boolean finished;
+    }
 
     public DistributedMaster(String dataPath) {
         ConfigManager config = ConfigManager.getInstance();
         this.maxWorkers = config.getInt("cluster.max.workers", 10);
         this.taskTimeout = config.getLong("processing.timeout.minutes", 10) * 60 * 1000;
-        this.loadBalancer = new LoadBalancer(LoadBalancer.Strategy.ROUND_ROBIN);
+        this.fileBatchSize = config.getInt("processing.batch.size", 10000);
+        this.readerThreads = config.getInt("ingest.reader.threads", Runtime.getRuntime().availableProcessors());
+        this.reducePartitions = config.getInt("reduce.partitions", 16);
+        this.partitioner = new DatagramPartitioner(
+            DatagramPartitioner.parseMode(config.getString("partition.mode", "CONTIGUOUS")));
+        this.partitionCount = config.getInt("partition.count", 0);
+        this.fileTaskBytes = Math.max(1, config.getLong("file.task.mb", 64)) << 20;
+        this.shardRouter = new StreamingShardRouter(
+            StreamingShardRouter.parseKey(config.getString("streaming.shard.key", "LINE")));
+        this.schedulingMode = parseSchedulingMode(config.getString("scheduler.mode", "PUSH"));
+        this.taskRows = Math.max(1, config.getInt("scheduler.task.rows", 5000));
+        this.speculation = SpeculationPolicy.fromConfig(config);
+        this.retry = RetryPolicy.fromConfig(config);
+        this.retryExecutor = Executors.newSingleThreadScheduledExecutor();
+        this.scheduler = new PullTaskScheduler(speculation, retry, retryExecutor, this::notifyAllWorkers);
+        this.loadBalancer = new LoadBalancer(
+            LoadBalancer.parseStrategy(config.getString("loadbalancer.strategy", "ROUND_ROBIN")));
         this.metricsCollector = MetricsCollector.getInstance();
         this.healthCheckExecutor = Executors.newScheduledThreadPool(1);
         this.taskExecutor = Executors.newCachedThreadPool();
+        this.speculationExecutor = Executors.newSingleThreadScheduledExecutor();
         loadStaticData(dataPath);
         startHealthChecks();
+        if (speculation.isEnabled()) {
+            speculationExecutor.scheduleAtFixedRate(this::speculateStragglers,
+                speculation.getCheckIntervalMillis(), speculation.getCheckIntervalMillis(), TimeUnit.MILLISECONDS);
+        }
+        if (retry.getTaskTimeoutMillis() > 0) {
+            long interval = Math.max(100, retry.getTaskTimeoutMillis() / 4);
+            retryExecutor.scheduleAtFixedRate(() -> scheduler.expireLeases(System.currentTimeMillis()),
+                interval, interval, TimeUnit.MILLISECONDS);
+        }
         try {
             DBConnection.getConnection().close();
         } catch (Exception e) {
             System.err.println("Warning: DB connection not available: " + e.getMessage());
         }
-        System.out.println("Distributed Master initialized - Max workers: " + maxWorkers);
+        System.out.println("Distributed Master initialized - Max workers: " + maxWorkers
+            + " - Speculation: " + speculation + " - Retry: " + retry);
     }
 
     private void loadStaticData(String dataPath) {
@@ -68,15 +195,36 @@ public class DistributedMaster extends _MasterDisp {
             this.stops = CSVDataLoader.loadStops(dataPath + "/stops.csv");
             LineStop[] lineStops = CSVDataLoader.loadLineStops(dataPath + "/linestops.csv");
             this.arcs = CSVDataLoader.buildArcs(lineStops, stops);
-            System.out.println("Static data loaded - Stops: " + stops.length + ", Arcs: " + arcs.length);
+            this.topology = new TopologySnapshot(CSVDataLoader.topologyVersion(
+                CSVDataLoader.loadPlanVersion(dataPath + "/linestops.csv"), arcs, stops), arcs, stops);
+            System.out.println("Static data loaded - Stops: " + stops.length + ", Arcs: " + arcs.length
+                + " - Topology version " + topology.version);
         } catch (Exception e) {
             System.err.println("Error loading static data: " + e.getMessage());
         }
     }
 
+    private static SchedulingMode parseSchedulingMode(String value) {
+        try {
+            return SchedulingMode.valueOf(value.trim().toUpperCase());
+        } catch (Exception e) {
+            System.err.println("Unknown scheduler.mode '" + value + "', using PUSH");
+            return SchedulingMode.PUSH;
+        }
+    }
+
+    public void setSchedulingMode(SchedulingMode schedulingMode) {
+        this.schedulingMode = schedulingMode;
+    }
+
+    public SchedulingMode getSchedulingMode() {
+        return schedulingMode;
+    }
+
     @Override
-    public synchronized void registerWorker(WorkerPrx worker, Current current) {
-        String workerId = current.id.name;
+    public synchronized void registerWorker(WorkerPrx worker, int cores, Current current) {
+        // current.id es la identidad del Master; el id del worker viaja en su proxy
+        String workerId = worker.ice_getIdentity().name;
 
         if (workers.size() >= maxWorkers) {
             System.out.println("Worker limit reached. Rejecting: " + workerId);
@@ -86,169 +234,818 @@ public class DistributedMaster extends _MasterDisp {
         if (!workers.contains(worker)) {
             workers.add(worker);
             workerIds.put(worker, workerId);
+            workerCores.put(worker, Math.max(1, cores));
             metricsCollector.workerRegistered(workerId);
-            System.out.println("Worker registered: " + workerId + " - Total: " + workers.size());
+            System.out.println("Worker registered: " + workerId + " (" + Math.max(1, cores) + " cores) - Total: "
+                    + workers.size() + " workers, " + getTotalCores() + " cores");
+
+            // Un worker que llega con un job en curso roba tareas de la cola
+            if (scheduler.hasQueuedTasks()) {
+                notifyWorker(worker, "pending");
+            }
         }
     }
 
     @Override
     public synchronized void unregisterWorker(WorkerPrx worker, Current current) {
-        String workerId = current.id.name;
-        workers.remove(worker);
+        String workerId = worker.ice_getIdentity().name;
+        dropWorker(worker, workerId);
+        System.out.println("Worker unregistered: " + workerId + " - Remaining: " + workers.size());
+    }
+
+    /**
+     * Saca al worker del cluster y reintenta en otros las tareas que tenía en vuelo
+     */
+    private void dropWorker(WorkerPrx worker, String workerId) {
+        if (!workers.remove(worker)) {
+            return;
+        }
         workerIds.remove(worker);
+        workerCores.remove(worker);
+        loadBalancer.removeWorker(worker);
         metricsCollector.workerUnregistered(workerId);
-        System.out.println("Worker unregistered: " + workerId + " - Remaining: " + workers.size());
+        scheduler.removeWorker(workerId);
+        for (PushJob job : activePushJobs) {
+            for (PushTask pushTask : job.tasks) {
+                if (pushTask.running.contains(worker)) {
+                    attemptFailed(job, pushTask, worker, "worker " + workerId + " removed");
+                }
+            }
+        }
     }
 
+    /**
+     * Despacho asíncrono (AMD): el hilo del adaptador queda libre en cuanto se
+     * reparten las tareas; la respuesta sale desde el callback de la última
+     */
     @Override
-    public VelocityResult[] processHistoricalData(BusDatagram[] datagrams, Arc[] arcs, Stop[] stops, Current current) {
+    public void processHistoricalData_async(AMD_Master_processHistoricalData cb, BusDatagram[] datagrams,
+                                            Current current) {
+        String clientJobId = current != null && current.ctx != null ? current.ctx.get(JOB_ID_CONTEXT) : null;
+        processHistoricalBatchAsync(datagrams, clientJobId).whenComplete((reduced, error) -> {
+            if (error != null) {
+                cb.ice_exception(unwrap(error));
+            } else {
+                cb.ice_response(toResults(reduced));
+            }
+        });
+    }
+
+    /**
+     * Como processHistoricalData, respondiendo los acumuladores combinados:
+     * el cliente los suma entre lotes sin reconstruir momentos a partir de
+     * promedios
+     */
+    @Override
+    public void processHistoricalAggregates_async(AMD_Master_processHistoricalAggregates cb,
+                                                  BusDatagram[] datagrams, Current current) {
+        String clientJobId = current != null && current.ctx != null ? current.ctx.get(JOB_ID_CONTEXT) : null;
+        processHistoricalBatchAsync(datagrams, clientJobId).whenComplete((reduced, error) -> {
+            if (error != null) {
+                cb.ice_exception(unwrap(error));
+            } else {
+                cb.ice_response(reduced);
+            }
+        });
+    }
+
+    /**
+     * Versión bloqueante para uso local (benchmarks)
+     */
+    public VelocityResult[] processHistoricalBatch(BusDatagram[] datagrams) {
+        return toResults(processHistoricalBatchAggregates(datagrams));
+    }
+
+    /**
+     * Versión bloqueante con los acumuladores combinados (processHistoricalFile)
+     */
+    public AggregateResult processHistoricalBatchAggregates(BusDatagram[] datagrams) {
+        try {
+            return processHistoricalBatchAsync(datagrams).join();
+        } catch (CompletionException e) {
+            throw unwrap(e);
+        }
+    }
+
+    public CompletableFuture<AggregateResult> processHistoricalBatchAsync(BusDatagram[] datagrams) {
+        return processHistoricalBatchAsync(datagrams, null);
+    }
+
+    /**
+     * @param clientJobId Job del cliente al que pertenece el lote (para cancelJob), o null
+     */
+    public CompletableFuture<AggregateResult> processHistoricalBatchAsync(BusDatagram[] datagrams,
+                                                                        String clientJobId) {
         System.out.println("Processing historical data: " + datagrams.length + " datagrams");
+        return runJob(clientJobId, () -> datagrams.length,
+            () -> schedulingMode == SchedulingMode.PULL ? processPulled(datagrams) : processPushed(datagrams));
+    }
+
+    /**
+     * Lanza un job (lote o archivo) y le agrega cancelación por clientJobId,
+     * timeout, traducción de errores y métricas
+     * @param rows Datagramas del job, para las métricas (se consulta al terminar)
+     */
+    private CompletableFuture<AggregateResult> runJob(String clientJobId, IntSupplier rows,
+                                                      Supplier<CompletableFuture<AggregateResult>> launch) {
+        if (clientJobId != null && cancelledClientJobs.containsKey(clientJobId)) {
+            System.out.println("Rejecting batch of cancelled job " + clientJobId);
+            return CompletableFuture.failedFuture(new RuntimeException("Processing cancelled"));
+        }
 
         if (workers.isEmpty()) {
-            throw new RuntimeException("No workers available for processing");
+            return CompletableFuture.failedFuture(new RuntimeException("No workers available for processing"));
         }
 
         long startTime = System.currentTimeMillis();
 
+        CompletableFuture<AggregateResult> job;
         try {
-            List<ProcessingTask> tasks = partitionData(datagrams, workers.size());
-            List<CompletableFuture<VelocityResult>> futures = new ArrayList<>();
-
-            System.out.println("Distributing " + tasks.size() + " tasks to " + workers.size() + " workers");
-
-            for (ProcessingTask task : tasks) {
-                WorkerPrx worker = loadBalancer.selectWorker(workers);
-                if (worker != null) {
-                    CompletableFuture<VelocityResult> future = CompletableFuture.supplyAsync(() -> {
-                        try {
-                            VelocityResult result = worker.processTask(task);
-                            String wid = workerIds.getOrDefault(worker, "unknown");
-                            metricsCollector.taskCompleted(wid);
-                            return result;
-                        } catch (Exception e) {
-                            System.err.println("Task " + task.taskId + " failed: " + e.getMessage());
-                            VelocityResult errorResult = new VelocityResult();
-                            errorResult.arcId = "error-" + task.taskId;
-                            errorResult.averageVelocity = 0.0;
-                            errorResult.sampleCount = 0;
-                            errorResult.processingTime = 0;
-                            errorResult.periodStart = "";
-                            errorResult.periodEnd = "";
-                            return errorResult;
-                        }
-                    }, taskExecutor);
-                    futures.add(future);
+            job = launch.get();
+        } catch (Exception e) {
+            job = CompletableFuture.failedFuture(e);
+        }
+        if (clientJobId != null) {
+            CompletableFuture<AggregateResult> batch = job;
+            clientJobs.computeIfAbsent(clientJobId, k -> ConcurrentHashMap.newKeySet()).add(batch);
+            batch.whenComplete((results, error) -> clientJobs.computeIfPresent(clientJobId, (k, batches) -> {
+                batches.remove(batch);
+                return batches.isEmpty() ? null : batches;
+            }));
+            // cancelJob pudo llegar entre la revisión de arriba y el registro
+            if (cancelledClientJobs.containsKey(clientJobId)) {
+                batch.completeExceptionally(new CancellationException("Job " + clientJobId + " cancelled"));
+            }
+        }
+
+        return job.orTimeout(taskTimeout, TimeUnit.MILLISECONDS).handle((results, error) -> {
+            if (error != null) {
+                Throwable cause = error instanceof CompletionException && error.getCause() != null
+                    ? error.getCause() : error;
+                if (cause instanceof CancellationException) {
+                    System.out.println("Processing cancelled: " + cause.getMessage());
+                    throw new CompletionException(new RuntimeException("Processing cancelled"));
+                }
+                if (cause instanceof TimeoutException) {
+                    System.err.println("Processing timeout after " + taskTimeout + "ms");
+                    throw new CompletionException(new RuntimeException("Processing timeout"));
                 }
+                System.err.println("Error in distributed processing: " + cause.getMessage());
+                cause.printStackTrace();
+                throw new CompletionException(new RuntimeException("Processing failed: " + cause.getMessage()));
             }
 
-            CompletableFuture<Void> allFutures = CompletableFuture.allOf(
-                futures.toArray(new CompletableFuture[0])
-            );
-            
-            VelocityResult[] aggregatedResults = allFutures.thenApply(v -> 
-                futures.stream()
-                    .map(CompletableFuture::join)
-                    .toArray(VelocityResult[]::new)
-            ).get(taskTimeout, TimeUnit.MILLISECONDS);
-
-            // CRÍTICO: Expandir resultados agregados en resultados individuales por arco
-            List<VelocityResult> expandedResults = new ArrayList<>();
-            
-            for (VelocityResult aggregated : aggregatedResults) {
-                if (aggregated.periodStart != null && !aggregated.periodStart.isEmpty()) {
-                    // Parsear el formato: "arcId1:velocity1:samples1|arcId2:velocity2:samples2|..."
-                    String[] arcData = aggregated.periodStart.split("\\|");
-                    
-                    for (String data : arcData) {
-                        String[] parts = data.split(":");
-                        if (parts.length == 3) {
-                            try {
-                                VelocityResult individual = new VelocityResult();
-                                individual.arcId = parts[0];
-                                individual.averageVelocity = Double.parseDouble(parts[1]);
-                                individual.sampleCount = Integer.parseInt(parts[2]);
-                                individual.processingTime = aggregated.processingTime;
-                                individual.periodStart = "";
-                                individual.periodEnd = "";
-                                
-                                expandedResults.add(individual);
-                            } catch (NumberFormatException e) {
-                                System.err.println("Error parsing arc data: " + data);
-                            }
-                        }
+            long endTime = System.currentTimeMillis();
+            metricsCollector.recordProcessing(rows.getAsInt(), endTime - startTime);
+            System.out.println("Distributed processing completed in " + (endTime - startTime) + "ms");
+            return results;
+        });
+    }
+
+    /**
+     * Planificación push: una partición por worker (o partition.count), cada
+     * una enviada con una invocación asíncrona
+     */
+    private CompletableFuture<AggregateResult> processPushed(BusDatagram[] datagrams) {
+        // partition.count = 0 -> una partición por worker
+        List<BlockTask> tasks = partitionData(datagrams, partitionCount > 0 ? partitionCount : workers.size());
+        List<PushTask> pushTasks = new ArrayList<>();
+        for (BlockTask task : tasks) {
+            pushTasks.add(new PushTask(task, DatagramBlocks.size(task.block)));
+        }
+        return runPushed(pushTasks);
+    }
+
+    /**
+     * Lanza cada tarea en el worker que elige el balanceador y combina los
+     * acumuladores a medida que llegan (con reintentos y copias especulativas)
+     */
+    private CompletableFuture<AggregateResult> runPushed(List<PushTask> pushTasks) {
+        List<CompletableFuture<AggregateResult>> futures = new ArrayList<>();
+        ArcAggregateReducer reducer = new ArcAggregateReducer(reducePartitions);
+        PushJob job = new PushJob();
+
+        System.out.println("Distributing " + pushTasks.size() + " tasks to " + workers.size()
+            + " workers (" + loadBalancer.getStrategy() + ")");
+
+        for (PushTask pushTask : pushTasks) {
+            // acquire() reserva al worker antes de lanzar la siguiente tarea
+            WorkerPrx worker = loadBalancer.acquire(workers, pushTask.rows);
+            job.tasks.add(pushTask);
+            // Reduce en cuanto llega la respuesta ganadora (particiones por hash de arco),
+            // en taskExecutor para no retener el hilo de Ice que entrega las respuestas
+            futures.add(pushTask.winner.thenApplyAsync(result -> {
+                reducer.accept(result.arcs);
+                return result;
+            }, taskExecutor));
+            if (worker != null) {
+                pushTask.primary = worker;
+                launchAttempt(job, pushTask, worker);
+            } else {
+                // Sin worker (p. ej. todos dados de baja): cuenta como intento fallido
+                noWorkerAvailable(job, pushTask);
+            }
+        }
+        activePushJobs.add(job);
+
+        CompletableFuture<AggregateResult> pushed =
+                CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).handle((v, error) -> {
+            if (error != null) {
+                throw new CompletionException(error);
+            }
+
+            // Los parciales ya se combinaron al llegar: un resultado por arco
+            long maxTaskTime = 0;
+            for (CompletableFuture<AggregateResult> future : futures) {
+                maxTaskTime = Math.max(maxTaskTime, future.join().processingTime);
+            }
+
+            ArcAggregate[] arcs = reducer.toAggregates();
+            System.out.println("Reduced " + reducer.getPartialCount() + " partial aggregates to "
+                + arcs.length + " arc results");
+            return new AggregateResult("", arcs, maxTaskTime, "");
+        });
+        // Fin del job (también por timeout o cancelación): no se lanzan más
+        // reintentos y los intentos que siguen en los workers se cancelan
+        pushed.whenComplete((reduced, error) -> {
+            job.finished = true;
+            activePushJobs.remove(job);
+            if (error != null) {
+                for (PushTask pushTask : job.tasks) {
+                    pushTask.winner.completeExceptionally(new CancellationException("Job finished"));
+                    for (WorkerPrx worker : pushTask.running) {
+                        cancelWorkerTask(worker, pushTask.taskId);
                     }
                 }
             }
+        });
+        return pushed;
+    }
 
-            VelocityResult[] results = expandedResults.toArray(new VelocityResult[0]);
+    /**
+     * Invocación asíncrona (AMI) de un intento de la tarea: ningún hilo
+     * espera mientras el worker procesa
+     */
+    private void launchAttempt(PushJob job, PushTask pushTask, WorkerPrx worker) {
+        pushTask.running.add(worker);
+        long attemptStart = System.currentTimeMillis();
+        // Con task.timeout.seconds un worker colgado termina en InvocationTimeoutException
+        WorkerPrx target = retry.getTaskTimeoutMillis() > 0
+            ? WorkerPrxHelper.uncheckedCast(worker.ice_invocationTimeout((int) retry.getTaskTimeoutMillis()))
+            : worker;
+        try {
+            if (pushTask.rangeTask != null) {
+                target.begin_processFileRangeTask(pushTask.rangeTask,
+                    result -> attemptFinished(job, pushTask, worker, attemptStart, result, null),
+                    e -> attemptFinished(job, pushTask, worker, attemptStart, null, e));
+            } else {
+                target.begin_processBlockTaskAggregates(pushTask.task,
+                    result -> attemptFinished(job, pushTask, worker, attemptStart, result, null),
+                    e -> attemptFinished(job, pushTask, worker, attemptStart, null, e));
+            }
+        } catch (RuntimeException e) {
+            attemptFinished(job, pushTask, worker, attemptStart, null, e);
+        }
+    }
 
-            long endTime = System.currentTimeMillis();
-            metricsCollector.recordProcessing(datagrams.length, endTime - startTime);
+    /**
+     * Gana el primer intento que termina bien (aunque venga de un worker ya
+     * dado de baja); un fallo se resuelve en attemptFailed
+     */
+    private void attemptFinished(PushJob job, PushTask pushTask, WorkerPrx worker, long attemptStart,
+                                 AggregateResult result, Throwable error) {
+        long now = System.currentTimeMillis();
+        boolean success = error == null && result.error.isEmpty();
+        loadBalancer.release(worker, pushTask.rows, now - attemptStart, success);
+        String wid = workerIds.getOrDefault(worker, "unknown");
+        if (!success) {
+            String reason = error != null ? String.valueOf(error) : "error: " + result.error;
+            System.err.println("Task " + pushTask.taskId + " failed on " + wid + ": " + reason);
+            attemptFailed(job, pushTask, worker, reason);
+            return;
+        }
 
-            System.out.println("Distributed processing completed in " + (endTime - startTime) + "ms");
-            System.out.println("Expanded to " + results.length + " individual arc results");
-            
-            return results;
+        pushTask.running.remove(worker);
+        metricsCollector.taskCompleted(wid);
+        if (pushTask.winner.complete(result)) {
+            job.durations.add(now - pushTask.startedAt);
+            if (pushTask.backup != null) {
+                metricsCollector.speculativeTaskFinished(worker.equals(pushTask.backup));
+            }
+        } else {
+            System.out.println("Ignoring late result for task " + pushTask.taskId + " from " + wid);
+        }
+    }
+
+    /**
+     * Un intento se perdió (error, timeout o worker caído). Si el otro intento
+     * sigue corriendo se espera a ese; si no, la tarea se reintenta en otro
+     * worker tras el backoff, o falla el job al agotar max.retry.attempts.
+     */
+    private void attemptFailed(PushJob job, PushTask pushTask, WorkerPrx worker, String reason) {
+        int failures;
+        synchronized (pushTask) {
+            if (!pushTask.running.remove(worker)) {
+                return;     // intento ya contado (p. ej. worker dado de baja antes del error)
+            }
+            pushTask.failedOn.add(worker);
+            if (pushTask.winner.isDone() || !pushTask.running.isEmpty()) {
+                return;
+            }
+            failures = ++pushTask.failures;
+        }
+        retryOrFail(job, pushTask, failures, reason);
+    }
 
-        } catch (TimeoutException e) {
-            System.err.println("Processing timeout after " + taskTimeout + "ms");
-            throw new RuntimeException("Processing timeout");
+    /**
+     * El balanceador no devolvió worker para la tarea: se reintenta con el
+     * mismo backoff que un intento fallido, así el job reintenta o falla a la
+     * vista en vez de terminar con un resultado parcial
+     */
+    private void noWorkerAvailable(PushJob job, PushTask pushTask) {
+        int failures;
+        synchronized (pushTask) {
+            if (pushTask.winner.isDone()) {
+                return;
+            }
+            failures = ++pushTask.failures;
+        }
+        retryOrFail(job, pushTask, failures, "no workers available");
+    }
+
+    private void retryOrFail(PushJob job, PushTask pushTask, int failures, String reason) {
+        if (job.finished || !retry.canRetry(failures)) {
+            pushTask.winner.completeExceptionally(new RuntimeException("Task " + pushTask.taskId
+                + " failed after " + failures + " attempts: " + reason));
+            return;
+        }
+        long delay = retry.delayMillis(failures);
+        metricsCollector.taskRetried();
+        System.out.println("Retrying task " + pushTask.taskId + " in " + delay + "ms (retry " + failures
+            + " of " + retry.getMaxRetries() + "): " + reason);
+        retryExecutor.schedule(() -> retryTask(job, pushTask), delay, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Reintento: otro worker vivo, preferiblemente uno en el que la tarea no haya fallado
+     */
+    private void retryTask(PushJob job, PushTask pushTask) {
+        if (pushTask.winner.isDone() || job.finished) {
+            return;
+        }
+        List<WorkerPrx> candidates = new ArrayList<>(workers);
+        candidates.removeAll(pushTask.failedOn);
+        if (candidates.isEmpty()) {
+            // Un fallo puede ser transitorio: con todos descartados se vuelve a probar en cualquiera
+            candidates = new ArrayList<>(workers);
+        }
+        WorkerPrx worker = loadBalancer.acquire(candidates, pushTask.rows);
+        if (worker == null) {
+            noWorkerAvailable(job, pushTask);
+            return;
+        }
+        pushTask.primary = worker;
+        pushTask.backup = null;
+        launchAttempt(job, pushTask, worker);
+    }
+
+    /**
+     * Revisión periódica de stragglers: en push lanza la copia a un worker
+     * libre; en pull avisa a los workers para que la pidan con fetchTask
+     */
+    private void speculateStragglers() {
+        try {
+            long now = System.currentTimeMillis();
+            for (PushJob job : activePushJobs) {
+                if (!speculation.ready(job.durations.count(), job.tasks.size())) {
+                    continue;
+                }
+                long median = job.durations.median();
+                for (PushTask pushTask : job.tasks) {
+                    if (pushTask.winner.isDone() || pushTask.backup != null || pushTask.running.isEmpty()
+                            || !speculation.isStraggler(now - pushTask.startedAt, median)) {
+                        continue;
+                    }
+                    WorkerPrx idle = loadBalancer.acquireIdle(workers, pushTask.primary, pushTask.rows);
+                    if (idle == null) {
+                        break;
+                    }
+                    pushTask.backup = idle;
+                    metricsCollector.speculativeTaskLaunched();
+                    System.out.println("Speculating task " + pushTask.taskId + " (" + (now - pushTask.startedAt)
+                        + "ms, median " + median + "ms) on " + workerIds.getOrDefault(idle, "unknown"));
+                    launchAttempt(job, pushTask, idle);
+                }
+            }
+
+            if (scheduler.hasStragglers(now)) {
+                notifyAllWorkers();
+            }
         } catch (Exception e) {
-            System.err.println("Error in distributed processing: " + e.getMessage());
-            e.printStackTrace();
-            throw new RuntimeException("Processing failed: " + e.getMessage());
+            System.err.println("Speculation check failed: " + e.getMessage());
         }
     }
 
+    /**
+     * Planificación pull: el lote se divide en tareas de ~scheduler.task.rows
+     * filas que quedan en cola; cada worker pide la siguiente (fetchTask) al
+     * terminar la anterior, y los que se quedan sin cola propia roban de las
+     * demás. El tiempo total deja de depender del worker más lento.
+     */
+    private CompletableFuture<AggregateResult> processPulled(BusDatagram[] datagrams) {
+        int numTasks = Math.max(workers.size(), (datagrams.length + taskRows - 1) / taskRows);
+        List<BlockTask> tasks = partitionData(datagrams, numTasks);
+        List<String> activeWorkers = new ArrayList<>();
+        for (WorkerPrx worker : workers) {
+            activeWorkers.add(workerIds.getOrDefault(worker, worker.ice_getIdentity().name));
+        }
+
+        PullTaskScheduler.Job job = scheduler.submit(tasks, activeWorkers, reducePartitions);
+        System.out.println("Queued " + tasks.size() + " tasks as " + job.getJobId()
+            + " for " + activeWorkers.size() + " workers");
+        for (WorkerPrx worker : workers) {
+            notifyWorker(worker, job.getJobId());
+        }
+
+        CompletableFuture<AggregateResult> results = job.completion().thenApply(v -> {
+            if (job.getFailedTasks() > 0) {
+                System.err.println(job.getFailedTasks() + " of " + job.getTaskCount() + " tasks failed in "
+                    + job.getJobId());
+            }
+            ArcAggregate[] arcs = job.getReducer().toAggregates();
+            System.out.println("Tasks per worker: " + job.getTasksByWorker()
+                + " - Stolen so far: " + scheduler.getStolenTasks());
+            System.out.println("Reduced " + job.getReducer().getPartialCount() + " partial aggregates to "
+                + arcs.length + " arc results");
+            return new AggregateResult(job.getJobId(), arcs, job.getMaxTaskTime(), "");
+        });
+        // Timeout, error o cancelación: descartar lo que quede del job en las
+        // colas y cancelar las tareas que siguen en los workers
+        results.whenComplete((reduced, error) -> {
+            if (error != null) {
+                scheduler.cancel(job).forEach((workerId, taskIds) -> {
+                    for (WorkerPrx worker : workers) {
+                        if (workerId.equals(workerIds.get(worker))) {
+                            taskIds.forEach(taskId -> cancelWorkerTask(worker, taskId));
+                        }
+                    }
+                });
+            }
+        });
+        return results;
+    }
+
+    private void notifyAllWorkers() {
+        for (WorkerPrx worker : workers) {
+            notifyWorker(worker, "pending");
+        }
+    }
+
+    private void notifyWorker(WorkerPrx worker, String jobId) {
+        try {
+            worker.begin_notifyWork(jobId, () -> { },
+                e -> System.err.println("Could not notify worker " + workerIds.getOrDefault(worker, "unknown")
+                    + ": " + e));
+        } catch (RuntimeException e) {
+            System.err.println("Could not notify worker " + workerIds.getOrDefault(worker, "unknown")
+                + ": " + e.getMessage());
+        }
+    }
+
+    private void cancelWorkerTask(WorkerPrx worker, String taskId) {
+        try {
+            worker.begin_cancelTask(taskId, () -> { },
+                e -> System.err.println("Could not cancel " + taskId + " on "
+                    + workerIds.getOrDefault(worker, "unknown") + ": " + e));
+        } catch (RuntimeException e) {
+            System.err.println("Could not cancel " + taskId + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Cancela los lotes en curso del job del cliente: sus tareas salen de las
+     * colas, los intentos en curso reciben cancelTask y el lote falla con
+     * "Processing cancelled". Los lotes del job que lleguen después se rechazan.
+     */
     @Override
-    public VelocityResult[] processStreamingData(StreamingWindow window, Current current) {
-        System.out.println("Processing streaming data: " + window.datagrams.length + " datagrams");
-        if (workers.isEmpty()) {
-            throw new RuntimeException("No workers available for processing");
+    public int cancelJob(String jobId, Current current) {
+        long now = System.currentTimeMillis();
+        cancelledClientJobs.values().removeIf(at -> now - at > CANCELLED_JOB_RETENTION_MS);
+        cancelledClientJobs.put(jobId, now);
+        Set<CompletableFuture<AggregateResult>> batches = clientJobs.remove(jobId);
+        if (batches == null) {
+            return 0;
+        }
+        int cancelled = 0;
+        for (CompletableFuture<AggregateResult> batch : batches) {
+            if (batch.completeExceptionally(new CancellationException("Job " + jobId + " cancelled"))) {
+                cancelled++;
+            }
+        }
+        System.out.println("Cancelled " + cancelled + " running batches of job " + jobId);
+        return cancelled;
+    }
+
+    /**
+     * Respuesta de las operaciones que devuelven VelocityResultSeq: un resultado por arco
+     */
+    private static VelocityResult[] toResults(AggregateResult reduced) {
+        return ArcAggregateReducer.toResults(reduced.arcs, reduced.processingTime);
+    }
+
+    private static RuntimeException unwrap(Throwable error) {
+        Throwable cause = error;
+        while (cause instanceof CompletionException && cause.getCause() != null) {
+            cause = cause.getCause();
         }
+        return cause instanceof RuntimeException
+            ? (RuntimeException) cause : new RuntimeException(cause.getMessage(), cause);
+    }
+
+    /**
+     * Handshake de topología: con la versión vigente se responde sin tablas
+     */
+    @Override
+    public TopologySnapshot fetchTopology(String knownVersion, Current current) {
+        TopologySnapshot snapshot = topology;
+        if (snapshot.version.equals(knownVersion)) {
+            return new TopologySnapshot(snapshot.version, new Arc[0], new Stop[0]);
+        }
+        System.out.println("Sending topology " + snapshot.version + " (" + snapshot.arcs.length + " arcs, "
+            + snapshot.stops.length + " stops)");
+        return snapshot;
+    }
+
+    @Override
+    public TaskAssignment fetchTask(String workerId, Current current) {
+        return scheduler.fetch(workerId);
+    }
+
+    @Override
+    public void completeTask(String workerId, String jobId, AggregateResult result, Current current) {
+        metricsCollector.taskCompleted(workerId);
+        scheduler.complete(workerId, result);
+    }
 
-        WorkerPrx worker = workers.get(0);
+    /**
+     * Histórico sobre un archivo que los workers ven en la misma ruta
+     * (data.path compartido): el Master no lee los datagramas, solo reparte
+     * rangos del archivo y combina los acumuladores que vuelven
+     */
+    @Override
+    public void processHistoricalFile_async(AMD_Master_processHistoricalFile cb, String filePath,
+                                            long fromEpoch, long toEpoch, Current current) {
+        String clientJobId = current != null && current.ctx != null ? current.ctx.get(JOB_ID_CONTEXT) : null;
+        processHistoricalFileAsync(filePath, fromEpoch, toEpoch, clientJobId).whenComplete((reduced, error) -> {
+            if (error != null) {
+                cb.ice_exception(unwrap(error));
+            } else {
+                cb.ice_response(toResults(reduced));
+            }
+        });
+    }
+
+    /**
+     * Divide el archivo en tareas de ~file.task.mb (rangos de bytes alineados
+     * a línea en CSV, grupos de bloques dentro del rango de tiempo en
+     * columnar), al menos una por worker, y las lanza en modo push. Como con
+     * partition.mode=CONTIGUOUS, un viaje que cruza el borde de dos rangos
+     * pierde el par de datagramas del borde.
+     */
+    public CompletableFuture<AggregateResult> processHistoricalFileAsync(String filePath, long fromEpoch,
+                                                                       long toEpoch, String clientJobId) {
+        boolean columnar = ColumnarDatagramFile.isColumnar(filePath);
+        System.out.println("Processing historical file on workers: " + filePath
+            + (columnar ? " (columnar)" : " (csv)"));
+        List<PushTask> pushTasks;
         try {
-            VelocityResult result = worker.processStreamingWindow(window);
-            return new VelocityResult[]{result};
-        } catch (Exception e) {
-            System.err.println("Error in streaming processing: " + e.getMessage());
-            throw new RuntimeException("Streaming processing failed");
+            pushTasks = columnar ? planColumnarTasks(filePath, fromEpoch, toEpoch)
+                : planCsvTasks(filePath, fromEpoch, toEpoch);
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(
+                new RuntimeException("Error reading " + filePath + ": " + e.getMessage()));
+        }
+        long rows = 0;
+        for (PushTask pushTask : pushTasks) {
+            rows += pushTask.rows;
+        }
+        int estimatedRows = (int) Math.min(Integer.MAX_VALUE, rows);
+        return runJob(clientJobId, () -> estimatedRows, () -> runPushed(pushTasks));
+    }
+
+    private List<PushTask> planCsvTasks(String filePath, long fromEpoch, long toEpoch) throws IOException {
+        long size = Files.size(Paths.get(filePath));
+        int count = (int) Math.max(Math.max(1, workers.size()), (size + fileTaskBytes - 1) / fileTaskBytes);
+        long[][] ranges = ParallelDatagramReader.splitRanges(filePath, count);
+        double lineBytes = ParallelDatagramReader.averageLineBytes(filePath);
+
+        List<PushTask> pushTasks = new ArrayList<>();
+        for (int i = 0; i < ranges[0].length; i++) {
+            FileRangeTask task = new FileRangeTask("file-" + taskCounter.incrementAndGet(), filePath,
+                ranges[0][i], ranges[1][i], fromEpoch, toEpoch, topology.version);
+            pushTasks.add(new PushTask(task, (int) Math.min(Integer.MAX_VALUE,
+                (ranges[1][i] - ranges[0][i]) / lineBytes)));
+        }
+        return pushTasks;
+    }
+
+    private List<PushTask> planColumnarTasks(String filePath, long fromEpoch, long toEpoch) throws IOException {
+        List<Integer> blocks = new ArrayList<>();
+        try (ColumnarDatagramReader reader = new ColumnarDatagramReader(
+                filePath, ColumnarDatagramFile.BLOCK_ROWS, fromEpoch, toEpoch, false)) {
+            for (int block = 0; block < reader.getBlockCount(); block++) {
+                if (reader.overlaps(block)) {
+                    blocks.add(block);
+                }
+            }
+        }
+
+        // Bloques contiguos del rango de tiempo, ~file.task.mb por tarea
+        long blockBytes = (long) ColumnarDatagramFile.BLOCK_ROWS * ColumnarDatagramFile.ROW_BYTES;
+        int perTask = (int) Math.max(1, Math.min(fileTaskBytes / blockBytes,
+            (blocks.size() + Math.max(1, workers.size()) - 1) / Math.max(1, workers.size())));
+        List<PushTask> pushTasks = new ArrayList<>();
+        for (int i = 0; i < blocks.size(); i += perTask) {
+            int from = blocks.get(i);
+            int to = blocks.get(Math.min(i + perTask, blocks.size()) - 1) + 1;
+            FileRangeTask task = new FileRangeTask("file-" + taskCounter.incrementAndGet(), filePath,
+                from, to, fromEpoch, toEpoch, topology.version);
+            int taskBlocks = Math.min(i + perTask, blocks.size()) - i;
+            pushTasks.add(new PushTask(task, taskBlocks * ColumnarDatagramFile.BLOCK_ROWS));
+        }
+        return pushTasks;
+    }
+
+    /**
+     * Procesa un archivo de datagramas leído por el propio Master (CSV o formato
+     * columnar), por lotes de processing.batch.size. Con archivo columnar solo
+     * se leen los bloques que tocan el rango [fromEpoch, toEpoch]. Los lotes
+     * repiten arcos: se combinan por arco y se devuelve un resultado por arco.
+     * Para que cada worker lea su parte, ver processHistoricalFileAsync.
+     */
+    public VelocityResult[] processHistoricalFile(String filePath, long fromEpoch, long toEpoch) {
+        boolean columnar = ColumnarDatagramFile.isColumnar(filePath);
+        boolean timeFiltered = fromEpoch != Long.MIN_VALUE || toEpoch != Long.MAX_VALUE;
+        System.out.println("Processing historical file: " + filePath + (columnar ? " (columnar)" : " (csv)"));
+
+        ArcAggregateReducer reducer = new ArcAggregateReducer(reducePartitions);
+        long maxBatchTime = 0;
+        try (DatagramBatchSource reader = columnar
+                ? new ColumnarDatagramReader(filePath, fileBatchSize, fromEpoch, toEpoch, false)
+                : new ParallelDatagramReader(filePath, readerThreads, fileBatchSize, true, false)) {
+            BusDatagram[] batch;
+            while ((batch = reader.readNextBatch()) != null) {
+                if (timeFiltered && !columnar) {
+                    batch = ColumnarDatagramFile.filterTime(batch, fromEpoch, toEpoch);
+                    if (batch.length == 0) {
+                        continue;
+                    }
+                }
+                AggregateResult reduced = processHistoricalBatchAggregates(batch);
+                reducer.accept(reduced.arcs);
+                maxBatchTime = Math.max(maxBatchTime, reduced.processingTime);
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Error reading " + filePath + ": " + e.getMessage());
+        }
+        return reducer.toResults(maxBatchTime);
+    }
+
+    @Override
+    public void processStreamingData_async(AMD_Master_processStreamingData cb, StreamingWindow window,
+                                           Current current) {
+        System.out.println("Processing streaming data: " + window.datagrams.length + " datagrams");
+        List<WorkerPrx> live = new ArrayList<>(workers);
+        if (live.isEmpty()) {
+            cb.ice_exception(new RuntimeException("No workers available for processing"));
+            return;
+        }
+
+        // Un shard por worker (streaming.shard.key): la misma línea o bus va
+        // siempre al mismo worker mientras no cambie el conjunto de workers
+        String[] ids = new String[live.size()];
+        for (int w = 0; w < ids.length; w++) {
+            ids[w] = workerIds.getOrDefault(live.get(w), live.get(w).ice_getIdentity().name);
+        }
+        int[][] rowsOf = shardRouter.assign(window.datagrams, ids);
+        List<Integer> targets = new ArrayList<>();
+        for (int w = 0; w < rowsOf.length; w++) {
+            if (rowsOf[w].length > 0) {
+                targets.add(w);
+            }
+        }
+        if (targets.isEmpty()) {
+            targets.add(0);     // Ventana vacía: la responde un worker, como antes
+        }
+        if (targets.size() > 1) {
+            System.out.println("Streaming window " + window.windowId + " split into " + targets.size()
+                    + " shards by " + shardRouter.getKey());
+        }
+
+        long windowStart = System.currentTimeMillis();
+        AggregateResult[] partials = new AggregateResult[targets.size()];
+        AtomicInteger pending = new AtomicInteger(targets.size());
+        AtomicBoolean failed = new AtomicBoolean(false);
+        for (int s = 0; s < targets.size(); s++) {
+            int shard = s;
+            WorkerPrx worker = live.get(targets.get(s));
+            StreamingWindow part = targets.size() == 1 ? window
+                    : new StreamingWindow(window.windowId + "#" + s,
+                            StreamingShardRouter.select(window.datagrams, rowsOf[targets.get(s)]),
+                            window.startTimestamp, window.endTimestamp);
+            int rows = part.datagrams.length;
+            loadBalancer.reserve(worker, rows);
+            try {
+                worker.begin_processStreamingWindowAggregates(part,
+                    result -> {
+                        loadBalancer.release(worker, rows, System.currentTimeMillis() - windowStart, true);
+                        partials[shard] = result;
+                        if (pending.decrementAndGet() == 0 && !failed.get()) {
+                            completeStreamingWindow(cb, window.windowId, partials, windowStart);
+                        }
+                    },
+                    e -> {
+                        loadBalancer.release(worker, rows, System.currentTimeMillis() - windowStart, false);
+                        System.err.println("Error in streaming processing on " + ids[targets.get(shard)] + ": " + e);
+                        if (failed.compareAndSet(false, true)) {
+                            cb.ice_exception(new RuntimeException("Streaming processing failed"));
+                        }
+                    });
+            } catch (RuntimeException e) {
+                loadBalancer.release(worker, rows, System.currentTimeMillis() - windowStart, false);
+                System.err.println("Error in streaming processing: " + e.getMessage());
+                if (failed.compareAndSet(false, true)) {
+                    cb.ice_exception(new RuntimeException("Streaming processing failed"));
+                }
+            }
+        }
+    }
+
+    /**
+     * Responde la ventana combinando por arco los acumuladores de sus shards:
+     * un VelocityResult por arco (promedio ponderado y sketch), igual que
+     * processHistoricalData. Si falla un shard falla la ventana entera.
+     */
+    private static void completeStreamingWindow(AMD_Master_processStreamingData cb, String windowId,
+                                                 AggregateResult[] partials, long windowStart) {
+        ArcAggregateReducer reducer = new ArcAggregateReducer(1);
+        for (AggregateResult partial : partials) {
+            if (!partial.error.isEmpty()) {
+                // Sin este shard faltarían líneas completas en la ventana
+                System.err.println("Streaming shard " + partial.taskId + " failed: " + partial.error);
+                cb.ice_exception(new RuntimeException("Streaming processing failed"));
+                return;
+            }
+            reducer.accept(partial.arcs);
         }
+        cb.ice_response(reducer.toResults(System.currentTimeMillis() - windowStart));
     }
 
     @Override
     public String getSystemStatus(Current current) {
         int activeWorkers = workers.size();
         double utilization = (double) activeWorkers / maxWorkers * 100;
-        return String.format("Master Status - Workers: %d/%d (%.1f%%) - Tasks: %d - Arcs: %d",
-                activeWorkers, maxWorkers, utilization, taskCounter.get(), arcs.length);
+        return String.format("Master Status - Workers: %d/%d (%.1f%%) - Cores: %d - Tasks: %d - Arcs: %d"
+                + " - Speculative: %d launched, %d won, %d lost - Retried: %d",
+                activeWorkers, maxWorkers, utilization, getTotalCores(), taskCounter.get(), arcs != null ? arcs.length : 0,
+                metricsCollector.getSpeculativeLaunched(), metricsCollector.getSpeculativeWon(),
+                metricsCollector.getSpeculativeLost(), metricsCollector.getTasksRetried());
     }
 
-    private List<ProcessingTask> partitionData(BusDatagram[] datagrams, int numPartitions) {
-        List<ProcessingTask> tasks = new ArrayList<>();
+    /**
+     * Suma de los hilos de cálculo informados por los workers registrados
+     */
+    public int getTotalCores() {
+        int total = 0;
+        for (int cores : workerCores.values()) {
+            total += cores;
+        }
+        return total;
+    }
+
+    /**
+     * Divide los datagramas en particiones según partition.mode (contiguas,
+     * por viaje o por línea; ver DatagramPartitioner). Cada tarea viaja como
+     * DatagramBlock (columnas + diccionario de ids) en lugar de BusDatagramSeq;
+     * el worker no usa arcs/stops, así que no se envían.
+     */
+    private List<BlockTask> partitionData(BusDatagram[] datagrams, int numPartitions) {
+        List<BlockTask> tasks = new ArrayList<>();
 
         if (numPartitions <= 0) numPartitions = 1;
-        int chunkSize = Math.max(1, datagrams.length / numPartitions);
+        int[][] partitions = partitioner.assign(datagrams, numPartitions);
 
         System.out.println("Partitioning " + datagrams.length + " datagrams into " +
-                numPartitions + " chunks of ~" + chunkSize);
-
-        for (int i = 0; i < numPartitions; i++) {
-            int startIdx = i * chunkSize;
-            int endIdx = (i == numPartitions - 1) ? datagrams.length : (i + 1) * chunkSize;
-
-            if (startIdx >= datagrams.length) break;
-
-            BusDatagram[] chunk = Arrays.copyOfRange(datagrams, startIdx, endIdx);
+                partitions.length + " " + partitioner.getMode() + " partitions of ~" +
+                datagrams.length / Math.max(1, partitions.length));
 
-            ProcessingTask task = new ProcessingTask();
+        for (int i = 0; i < partitions.length; i++) {
+            BlockTask task = new BlockTask();
             task.taskId = "task-" + taskCounter.incrementAndGet() + "-" + i;
-            task.datagrams = chunk;
-            task.arcs = this.arcs;
-            task.stops = this.stops;
-            task.totalWorkers = numPartitions;
+            task.block = DatagramBlocks.fromDatagrams(datagrams, partitions[i]);
+            task.totalWorkers = partitions.length;
             task.workerId = i;
+            task.topologyVersion = topology.version;
 
             tasks.add(task);
         }
@@ -258,21 +1055,17 @@ public class DistributedMaster extends _MasterDisp {
 
     private void startHealthChecks() {
         healthCheckExecutor.scheduleAtFixedRate(() -> {
-            Iterator<WorkerPrx> iterator = workers.iterator();
-            while (iterator.hasNext()) {
-                WorkerPrx worker = iterator.next();
+            // El iterador de CopyOnWriteArrayList no soporta remove(): se recorre una copia
+            for (WorkerPrx worker : workers) {
+                String wid = workerIds.getOrDefault(worker, "unknown");
                 try {
                     if (!worker.isAlive()) {
-                        String wid = workerIds.getOrDefault(worker, "unknown");
                         System.out.println("Removing unresponsive worker: " + wid);
-                        iterator.remove();
-                        workerIds.remove(worker);
+                        dropWorker(worker, wid);
                     }
                 } catch (Exception e) {
-                    String wid = workerIds.getOrDefault(worker, "unknown");
                     System.err.println("Health check failed for worker: " + wid);
-                    iterator.remove();
-                    workerIds.remove(worker);
+                    dropWorker(worker, wid);
                 }
             }
         }, 30, 30, TimeUnit.SECONDS);
@@ -280,6 +1073,8 @@ public class DistributedMaster extends _MasterDisp {
 
     public void shutdown() {
         healthCheckExecutor.shutdown();
+        speculationExecutor.shutdown();
+        retryExecutor.shutdown();
         taskExecutor.shutdown();
     }
 }
\ No newline at end of file
@@ -1,27 +1,79 @@
 package com.sitm.mio.master;
 
 import java.util.List;
-import java.util.Random;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import SITM.MIO.WorkerPrx;
 
+/**
+ * Selección de worker para cada tarea (loadbalancer.strategy en cluster.properties)
+ *
+ * - ROUND_ROBIN / RANDOM: sin estado por worker.
+ * - LEAST_LOADED: menos tareas en vuelo; empate -> menor latencia reciente.
+ * - LATENCY_AWARE: menor tiempo esperado de fin, (filas en vuelo + filas de
+ *   la tarea) / throughput reciente del worker. Pensado para nodos heterogéneos.
+ *
+ * Latencia y throughput son promedios móviles exponenciales (EWMA) de las
+ * tareas terminadas. Un worker sin historial usa el throughput promedio de
+ * los demás, así también recibe tareas y se mide. Thread-safe: acquire()
+ * elige y reserva en el mismo paso, y release() registra el resultado.
+ */
 public class LoadBalancer {
-    
+
     public enum Strategy {
         ROUND_ROBIN,
         RANDOM,
-        LEAST_LOADED
+        LEAST_LOADED,
+        LATENCY_AWARE
+    }
+
+    /** Peso de la última tarea en los promedios móviles */
+    private static final double EWMA_ALPHA = 0.3;
+
+    /**
+     * Estado de un worker: tareas/filas en vuelo y promedios recientes
+     */
+    private static class WorkerStats {
+        int inFlightTasks;
+        long inFlightRows;
+        double ewmaLatencyMs = -1;      // -1 = sin historial
+        double ewmaRowsPerMs = -1;
+        long completed;
+        long failed;
     }
-    
-    private Strategy strategy;
-    private int currentIndex = 0;
-    private Random random = new Random();
-    
+
+    private final Strategy strategy;
+    private final AtomicInteger currentIndex = new AtomicInteger(0);
+    private final Map<WorkerPrx, WorkerStats> stats = new ConcurrentHashMap<>();
+
     public LoadBalancer(Strategy strategy) {
         this.strategy = strategy;
     }
-    
+
+    public static Strategy parseStrategy(String value) {
+        try {
+            return Strategy.valueOf(value.trim().toUpperCase());
+        } catch (Exception e) {
+            System.err.println("Unknown loadbalancer.strategy '" + value + "', using ROUND_ROBIN");
+            return Strategy.ROUND_ROBIN;
+        }
+    }
+
+    public Strategy getStrategy() {
+        return strategy;
+    }
+
     public WorkerPrx selectWorker(List<WorkerPrx> workers) {
+        return selectWorker(workers, 0);
+    }
+
+    /**
+     * Elige un worker para una tarea de "rows" filas (0 = desconocido) sin reservarlo
+     */
+    public synchronized WorkerPrx selectWorker(List<WorkerPrx> workers, long rows) {
         if (workers.isEmpty()) {
             return null;
         }
@@ -33,22 +85,168 @@ public class LoadBalancer {
                 return random(workers);
             case LEAST_LOADED:
                 return leastLoaded(workers);
+            case LATENCY_AWARE:
+                return earliestFinish(workers, rows);
             default:
                 return roundRobin(workers);
         }
     }
 
-    private WorkerPrx roundRobin(List<WorkerPrx> workers) {
-        WorkerPrx selected = workers.get(currentIndex);
-        currentIndex = (currentIndex + 1) % workers.size();
+    /**
+     * Elige un worker y cuenta la tarea como en vuelo; llamar release() al terminar
+     */
+    public synchronized WorkerPrx acquire(List<WorkerPrx> workers, long rows) {
+        WorkerPrx selected = selectWorker(workers, rows);
+        if (selected != null) {
+            WorkerStats s = statsOf(selected);
+            s.inFlightTasks++;
+            s.inFlightRows += rows;
+        }
         return selected;
     }
 
+    /**
+     * Cuenta una tarea en vuelo en un worker ya elegido (p. ej. el dueño de
+     * un shard de streaming); llamar release() al terminar
+     */
+    public synchronized void reserve(WorkerPrx worker, long rows) {
+        WorkerStats s = statsOf(worker);
+        s.inFlightTasks++;
+        s.inFlightRows += rows;
+    }
+
+    /**
+     * Reserva un worker sin tareas en vuelo, distinto de "exclude", para una
+     * copia especulativa; el de mayor throughput reciente. null si no hay libres.
+     */
+    public synchronized WorkerPrx acquireIdle(List<WorkerPrx> workers, WorkerPrx exclude, long rows) {
+        WorkerPrx best = null;
+        double bestThroughput = -2;
+        for (WorkerPrx worker : workers) {
+            WorkerStats s = statsOf(worker);
+            if (worker.equals(exclude) || s.inFlightTasks > 0) {
+                continue;
+            }
+            if (s.ewmaRowsPerMs > bestThroughput) {
+                best = worker;
+                bestThroughput = s.ewmaRowsPerMs;
+            }
+        }
+        if (best != null) {
+            WorkerStats s = statsOf(best);
+            s.inFlightTasks++;
+            s.inFlightRows += rows;
+        }
+        return best;
+    }
+
+    /**
+     * Libera la reserva de acquire() y actualiza los promedios si la tarea terminó bien
+     */
+    public synchronized void release(WorkerPrx worker, long rows, long elapsedMs, boolean success) {
+        WorkerStats s = stats.get(worker);
+        if (s == null) {
+            return;     // worker ya dado de baja
+        }
+        s.inFlightTasks = Math.max(0, s.inFlightTasks - 1);
+        s.inFlightRows = Math.max(0, s.inFlightRows - rows);
+        if (!success) {
+            s.failed++;
+            return;
+        }
+
+        s.completed++;
+        double latency = Math.max(1, elapsedMs);
+        s.ewmaLatencyMs = s.ewmaLatencyMs < 0 ? latency
+            : EWMA_ALPHA * latency + (1 - EWMA_ALPHA) * s.ewmaLatencyMs;
+        if (rows > 0) {
+            double throughput = rows / latency;
+            s.ewmaRowsPerMs = s.ewmaRowsPerMs < 0 ? throughput
+                : EWMA_ALPHA * throughput + (1 - EWMA_ALPHA) * s.ewmaRowsPerMs;
+        }
+    }
+
+    public void removeWorker(WorkerPrx worker) {
+        stats.remove(worker);
+    }
+
+    /**
+     * Resumen por worker para logs: en vuelo, latencia y throughput recientes
+     */
+    public synchronized String describe(WorkerPrx worker) {
+        WorkerStats s = statsOf(worker);
+        return String.format("inFlight=%d, latency=%.0fms, throughput=%.1f rows/ms, completed=%d, failed=%d",
+            s.inFlightTasks, s.ewmaLatencyMs, s.ewmaRowsPerMs, s.completed, s.failed);
+    }
+
+    private WorkerStats statsOf(WorkerPrx worker) {
+        return stats.computeIfAbsent(worker, k -> new WorkerStats());
+    }
+
+    private WorkerPrx roundRobin(List<WorkerPrx> workers) {
+        int index = Math.floorMod(currentIndex.getAndIncrement(), workers.size());
+        return workers.get(index);
+    }
+
     private WorkerPrx random(List<WorkerPrx> workers) {
-        return workers.get(random.nextInt(workers.size()));
+        return workers.get(ThreadLocalRandom.current().nextInt(workers.size()));
     }
 
     private WorkerPrx leastLoaded(List<WorkerPrx> workers) {
-        return roundRobin(workers);
+        // Recorrido desde el índice round-robin para repartir los empates
+        int start = Math.floorMod(currentIndex.getAndIncrement(), workers.size());
+        WorkerPrx best = null;
+        WorkerStats bestStats = null;
+        for (int i = 0; i < workers.size(); i++) {
+            WorkerPrx worker = workers.get((start + i) % workers.size());
+            WorkerStats s = statsOf(worker);
+            if (best == null || s.inFlightTasks < bestStats.inFlightTasks
+                    || (s.inFlightTasks == bestStats.inFlightTasks && s.ewmaLatencyMs < bestStats.ewmaLatencyMs)) {
+                best = worker;
+                bestStats = s;
+            }
+        }
+        return best;
+    }
+
+    private WorkerPrx earliestFinish(List<WorkerPrx> workers, long rows) {
+        double knownThroughput = 0;
+        double knownLatency = 0;
+        int known = 0;
+        for (WorkerPrx worker : workers) {
+            WorkerStats s = statsOf(worker);
+            if (s.ewmaRowsPerMs > 0) {
+                knownThroughput += s.ewmaRowsPerMs;
+                knownLatency += s.ewmaLatencyMs;
+                known++;
+            }
+        }
+        if (known == 0) {
+            // Sin historial todavía: equivale a menos carga en vuelo
+            return leastLoaded(workers);
+        }
+        double defaultThroughput = knownThroughput / known;
+        double defaultLatency = knownLatency / known;
+
+        int start = Math.floorMod(currentIndex.getAndIncrement(), workers.size());
+        WorkerPrx best = null;
+        double bestFinish = Double.MAX_VALUE;
+        for (int i = 0; i < workers.size(); i++) {
+            WorkerPrx worker = workers.get((start + i) % workers.size());
+            WorkerStats s = statsOf(worker);
+            double finish;
+            if (rows > 0) {
+                double throughput = s.ewmaRowsPerMs > 0 ? s.ewmaRowsPerMs : defaultThroughput;
+                finish = (s.inFlightRows + rows) / throughput;
+            } else {
+                double latency = s.ewmaLatencyMs > 0 ? s.ewmaLatencyMs : defaultLatency;
+                finish = (s.inFlightTasks + 1) * latency;
+            }
+            if (finish < bestFinish) {
+                best = worker;
+                bestFinish = finish;
+            }
+        }
+        return best;
     }
-}
\ No newline at end of file
+}
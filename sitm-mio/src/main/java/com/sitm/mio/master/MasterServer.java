@@ -10,7 +10,13 @@ public class MasterServer {
 
     public void start(String[] args, String dataPath) {
         try {
-            communicator = Util.initialize(args);
+            // fetchTask/completeTask y registerWorker se despachan en paralelo
+            // con los jobs en curso
+            String[] iceArgs = new String[args.length + 2];
+            iceArgs[0] = "--Ice.ThreadPool.Server.Size=10";
+            iceArgs[1] = "--Ice.ThreadPool.Server.SizeMax=100";
+            System.arraycopy(args, 0, iceArgs, 2, args.length);
+            communicator = Util.initialize(iceArgs);
             ConfigManager config = ConfigManager.getInstance();
             String masterHost = config.getString("master.host", "localhost");
             int masterPort = config.getInt("master.port", 10000);
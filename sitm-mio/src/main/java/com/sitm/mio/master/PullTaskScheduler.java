@@ -0,0 +1,449 @@
+package com.sitm.mio.master;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.sitm.mio.util.MetricsCollector;
+
+import SITM.MIO.AggregateResult;
+import SITM.MIO.BlockTask;
+import SITM.MIO.TaskAssignment;
+
+/**
+ * Cola de tareas del Master para planificación pull (scheduler.mode=PULL)
+ *
+ * Un job se divide en muchas tareas pequeñas que se reparten round-robin en
+ * una cola por worker. Cada worker pide su siguiente tarea (fetchTask) en
+ * cuanto queda libre: primero de su propia cola y, si está vacía, roba del
+ * final de la cola más larga de otro worker. Así un worker lento no retiene
+ * una partición grande mientras los demás esperan sin trabajo.
+ *
+ * Las tareas entregadas quedan "en vuelo" hasta que llega completeTask. Si
+ * la cola está vacía y una tarea en vuelo es straggler (SpeculationPolicy),
+ * el worker que pide recibe una copia; gana el primer completeTask.
+ *
+ * Un intento que falla (error del worker, timeout o baja del worker) vuelve
+ * a la cola tras el backoff de RetryPolicy; agotados los reintentos el job
+ * falla.
+ */
+public class PullTaskScheduler {
+
+    /**
+     * Estado de un job: reduce propio y future que se completa con la última tarea
+     */
+    public static class Job {
+        private final String jobId;
+        private final int taskCount;
+        private final ArcAggregateReducer reducer;
+        private final AtomicInteger remaining;
+        private final CompletableFuture<Void> done = new CompletableFuture<>();
+        private final AtomicLong maxTaskTime = new AtomicLong(0);
+        private final AtomicInteger failedTasks = new AtomicInteger(0);
+        private final Map<String, AtomicInteger> tasksByWorker = new ConcurrentHashMap<>();
+        private final SpeculationPolicy.Durations durations = new SpeculationPolicy.Durations();
+
+        Job(String jobId, int taskCount, int reducePartitions) {
+            this.jobId = jobId;
+            this.taskCount = taskCount;
+            this.reducer = new ArcAggregateReducer(reducePartitions);
+            this.remaining = new AtomicInteger(taskCount);
+            if (taskCount == 0) {
+                done.complete(null);
+            }
+        }
+
+        /**
+         * Se completa con la última tarea del job (sin hilos esperando)
+         */
+        public CompletableFuture<Void> completion() {
+            return done;
+        }
+
+        public String getJobId() {
+            return jobId;
+        }
+
+        public int getTaskCount() {
+            return taskCount;
+        }
+
+        public ArcAggregateReducer getReducer() {
+            return reducer;
+        }
+
+        public long getMaxTaskTime() {
+            return maxTaskTime.get();
+        }
+
+        public int getFailedTasks() {
+            return failedTasks.get();
+        }
+
+        /**
+         * Tareas completadas por cada worker (para ver el efecto del robo)
+         */
+        public Map<String, Integer> getTasksByWorker() {
+            Map<String, Integer> counts = new LinkedHashMap<>();
+            tasksByWorker.forEach((worker, count) -> counts.put(worker, count.get()));
+            return counts;
+        }
+    }
+
+    private static class Lease {
+        final Job job;
+        final BlockTask task;
+        String workerId;
+        long startedAt;
+        String backupWorkerId;      // worker con la copia especulativa, si la hay
+        int failures;
+        final Set<String> failedOn = new HashSet<>();
+
+        Lease(Job job, BlockTask task) {
+            this.job = job;
+            this.task = task;
+        }
+    }
+
+    private final SpeculationPolicy speculation;
+    private final RetryPolicy retry;
+    private final ScheduledExecutorService retryExecutor;
+    private final Runnable onRequeued;
+    private final MetricsCollector metricsCollector = MetricsCollector.getInstance();
+
+    private final Map<String, Deque<Lease>> queues = new LinkedHashMap<>();
+    private final Map<String, Lease> inFlight = new HashMap<>();
+    private final AtomicInteger jobCounter = new AtomicInteger(0);
+    private final AtomicLong stolenTasks = new AtomicLong(0);
+    private int queuedTasks;
+
+    /**
+     * onRequeued se ejecuta cuando una tarea reintentada vuelve a la cola
+     * (para avisar a los workers libres)
+     */
+    public PullTaskScheduler(SpeculationPolicy speculation, RetryPolicy retry,
+                             ScheduledExecutorService retryExecutor, Runnable onRequeued) {
+        this.speculation = speculation;
+        this.retry = retry;
+        this.retryExecutor = retryExecutor;
+        this.onRequeued = onRequeued;
+    }
+
+    /**
+     * Encola las tareas de un job repartidas entre los workers indicados
+     */
+    public synchronized Job submit(List<BlockTask> tasks, Collection<String> workerIds, int reducePartitions) {
+        Job job = new Job("job-" + jobCounter.incrementAndGet(), tasks.size(), reducePartitions);
+        if (workerIds.isEmpty()) {
+            throw new IllegalArgumentException("No workers to assign tasks to");
+        }
+
+        List<Deque<Lease>> targets = new ArrayList<>();
+        for (String workerId : workerIds) {
+            targets.add(queues.computeIfAbsent(workerId, k -> new ArrayDeque<>()));
+        }
+        for (int i = 0; i < tasks.size(); i++) {
+            targets.get(i % targets.size()).addLast(new Lease(job, tasks.get(i)));
+        }
+        queuedTasks += tasks.size();
+        return job;
+    }
+
+    /**
+     * Siguiente tarea para el worker: de su cola, o robada de la cola más larga
+     */
+    public synchronized TaskAssignment fetch(String workerId) {
+        Deque<Lease> own = queues.computeIfAbsent(workerId, k -> new ArrayDeque<>());
+        Lease lease = own.pollFirst();
+
+        if (lease == null) {
+            Deque<Lease> victim = null;
+            for (Deque<Lease> queue : queues.values()) {
+                if (queue != own && (victim == null || queue.size() > victim.size())) {
+                    victim = queue;
+                }
+            }
+            if (victim != null) {
+                lease = victim.pollLast();
+                if (lease != null) {
+                    stolenTasks.incrementAndGet();
+                }
+            }
+        }
+
+        if (lease == null) {
+            // Sin cola: copia de una tarea lenta de otro worker, si la hay
+            Lease straggler = findStraggler(workerId, System.currentTimeMillis());
+            if (straggler != null) {
+                straggler.backupWorkerId = workerId;
+                metricsCollector.speculativeTaskLaunched();
+                System.out.println("Speculating task " + straggler.task.taskId + " of " + straggler.workerId
+                    + " on " + workerId);
+                return new TaskAssignment(true, straggler.job.jobId, straggler.task);
+            }
+            return new TaskAssignment(false, "", null);
+        }
+        queuedTasks--;
+        lease.workerId = workerId;
+        lease.startedAt = System.currentTimeMillis();
+        inFlight.put(lease.task.taskId, lease);
+        return new TaskAssignment(true, lease.job.jobId, lease.task);
+    }
+
+    /**
+     * Hay tareas en vuelo que merecen copia (para avisar a los workers libres)
+     */
+    public synchronized boolean hasStragglers(long now) {
+        return findStraggler(null, now) != null;
+    }
+
+    private Lease findStraggler(String requester, long now) {
+        if (!speculation.isEnabled()) {
+            return null;
+        }
+        Lease slowest = null;
+        for (Lease lease : inFlight.values()) {
+            if (lease.backupWorkerId != null || lease.workerId.equals(requester)) {
+                continue;
+            }
+            Job job = lease.job;
+            if (!speculation.ready(job.durations.count(), job.taskCount)
+                    || !speculation.isStraggler(now - lease.startedAt, job.durations.median())) {
+                continue;
+            }
+            if (slowest == null || lease.startedAt < slowest.startedAt) {
+                slowest = lease;
+            }
+        }
+        return slowest;
+    }
+
+    /**
+     * Registra el resultado de una tarea entregada; gana el primero que
+     * llega, y los duplicados (copia especulativa perdedora), los de intentos
+     * ya dados por perdidos o de jobs cancelados se ignoran. Un error cuenta
+     * como intento fallido y la tarea se reintenta.
+     */
+    public void complete(String workerId, AggregateResult result) {
+        Lease lease;
+        List<Runnable> actions = new ArrayList<>();
+        synchronized (this) {
+            lease = inFlight.get(result.taskId);
+            if (lease == null || (!workerId.equals(lease.workerId) && !workerId.equals(lease.backupWorkerId))) {
+                lease = null;
+            } else if (!result.error.isEmpty()) {
+                System.err.println("Task " + result.taskId + " returned error on " + workerId + ": " + result.error);
+                attemptLost(lease, workerId, "error: " + result.error, actions);
+            } else {
+                inFlight.remove(result.taskId);
+            }
+        }
+        if (lease == null) {
+            System.out.println("Ignoring late or unknown result for task " + result.taskId + " from " + workerId);
+            return;
+        }
+        if (!result.error.isEmpty()) {
+            actions.forEach(Runnable::run);
+            return;
+        }
+
+        Job job = lease.job;
+        job.durations.add(System.currentTimeMillis() - lease.startedAt);
+        if (lease.backupWorkerId != null) {
+            metricsCollector.speculativeTaskFinished(workerId.equals(lease.backupWorkerId));
+        }
+        // Reduce fuera del lock del scheduler (ArcAggregateReducer tiene sus propios locks)
+        job.reducer.accept(result.arcs);
+        job.maxTaskTime.accumulateAndGet(result.processingTime, Math::max);
+        job.tasksByWorker.computeIfAbsent(workerId, k -> new AtomicInteger()).incrementAndGet();
+        if (job.remaining.decrementAndGet() == 0) {
+            job.done.complete(null);
+        }
+    }
+
+    /**
+     * Descarta las tareas pendientes y en vuelo de un job (timeout o
+     * cancelación). Devuelve las tareas que estaban en vuelo, por worker,
+     * para avisarles con cancelTask.
+     */
+    public Map<String, List<String>> cancel(Job job) {
+        Map<String, List<String>> running = new HashMap<>();
+        synchronized (this) {
+            for (Deque<Lease> queue : queues.values()) {
+                int before = queue.size();
+                queue.removeIf(lease -> lease.job == job);
+                queuedTasks -= before - queue.size();
+            }
+            inFlight.values().removeIf(lease -> {
+                if (lease.job != job) {
+                    return false;
+                }
+                running.computeIfAbsent(lease.workerId, k -> new ArrayList<>()).add(lease.task.taskId);
+                if (lease.backupWorkerId != null) {
+                    running.computeIfAbsent(lease.backupWorkerId, k -> new ArrayList<>()).add(lease.task.taskId);
+                }
+                return true;
+            });
+        }
+        // Los reintentos ya programados ven el job terminado y no vuelven a la cola
+        job.done.completeExceptionally(new RuntimeException(job.jobId + " cancelled"));
+        return running;
+    }
+
+    /**
+     * Da de baja un worker: su cola se reparte entre las de los demás (si no
+     * queda ninguno, los jobs de esas tareas fallan en el acto), y las tareas
+     * que tenía en vuelo se reintentan (o sigue la copia especulativa, si la
+     * había)
+     */
+    public void removeWorker(String workerId) {
+        List<Runnable> actions = new ArrayList<>();
+        synchronized (this) {
+            Deque<Lease> queue = queues.remove(workerId);
+            if (queue != null && !queue.isEmpty()) {
+                List<Deque<Lease>> others = new ArrayList<>(queues.values());
+                if (others.isEmpty()) {
+                    queuedTasks -= queue.size();
+                    Set<Job> orphaned = new HashSet<>();
+                    for (Lease lease : queue) {
+                        lease.job.failedTasks.incrementAndGet();
+                        if (orphaned.add(lease.job)) {
+                            RuntimeException failure = new RuntimeException(lease.job.jobId + ": no workers left for "
+                                + queue.size() + " queued tasks (worker " + workerId + " removed)");
+                            actions.add(() -> lease.job.done.completeExceptionally(failure));
+                        }
+                    }
+                } else {
+                    int i = 0;
+                    for (Lease lease : queue) {
+                        others.get(i++ % others.size()).addLast(lease);
+                    }
+                }
+            }
+            for (Lease lease : new ArrayList<>(inFlight.values())) {
+                if (workerId.equals(lease.workerId) || workerId.equals(lease.backupWorkerId)) {
+                    attemptLost(lease, workerId, "worker " + workerId + " removed", actions);
+                }
+            }
+        }
+        actions.forEach(Runnable::run);
+    }
+
+    /**
+     * Da por fallidos los intentos sin copia que llevan más de task.timeout.seconds
+     */
+    public void expireLeases(long now) {
+        long timeout = retry.getTaskTimeoutMillis();
+        if (timeout <= 0) {
+            return;
+        }
+        List<Runnable> actions = new ArrayList<>();
+        synchronized (this) {
+            for (Lease lease : new ArrayList<>(inFlight.values())) {
+                if (lease.backupWorkerId == null && now - lease.startedAt > timeout) {
+                    attemptLost(lease, lease.workerId, "timed out after " + (now - lease.startedAt) + "ms", actions);
+                }
+            }
+        }
+        actions.forEach(Runnable::run);
+    }
+
+    /**
+     * Un intento de la tarea se perdió en "workerId". Si queda el otro intento
+     * (original o copia) se sigue con ese; si no, la tarea vuelve a la cola
+     * tras el backoff o, agotados los reintentos, el job falla. Lo que completa
+     * futures se deja en "actions" para ejecutarlo fuera del lock.
+     */
+    private void attemptLost(Lease lease, String workerId, String reason, List<Runnable> actions) {
+        if (workerId.equals(lease.backupWorkerId)) {
+            lease.backupWorkerId = null;
+            return;
+        }
+        if (lease.backupWorkerId != null) {
+            // Sigue la copia especulativa como intento principal
+            lease.workerId = lease.backupWorkerId;
+            lease.backupWorkerId = null;
+            return;
+        }
+
+        inFlight.remove(lease.task.taskId);
+        lease.failedOn.add(workerId);
+        lease.workerId = null;
+        lease.failures++;
+        Job job = lease.job;
+        if (!retry.canRetry(lease.failures)) {
+            job.failedTasks.incrementAndGet();
+            RuntimeException failure = new RuntimeException("Task " + lease.task.taskId + " failed after "
+                + lease.failures + " attempts: " + reason);
+            actions.add(() -> job.done.completeExceptionally(failure));
+            return;
+        }
+
+        long delay = retry.delayMillis(lease.failures);
+        metricsCollector.taskRetried();
+        System.out.println("Retrying task " + lease.task.taskId + " in " + delay + "ms (retry " + lease.failures
+            + " of " + retry.getMaxRetries() + "): " + reason);
+        actions.add(() -> retryExecutor.schedule(() -> requeue(lease), delay, TimeUnit.MILLISECONDS));
+    }
+
+    /**
+     * Devuelve una tarea reintentada al frente de la cola más corta de un
+     * worker en el que no haya fallado (o de cualquiera, si falló en todos)
+     */
+    private void requeue(Lease lease) {
+        Job job = lease.job;
+        Deque<Lease> shortest = null;
+        synchronized (this) {
+            if (job.done.isDone()) {
+                return;
+            }
+            Deque<Lease> shortestAny = null;
+            for (Map.Entry<String, Deque<Lease>> entry : queues.entrySet()) {
+                Deque<Lease> queue = entry.getValue();
+                if (shortestAny == null || queue.size() < shortestAny.size()) {
+                    shortestAny = queue;
+                }
+                if (!lease.failedOn.contains(entry.getKey()) && (shortest == null || queue.size() < shortest.size())) {
+                    shortest = queue;
+                }
+            }
+            if (shortest == null) {
+                shortest = shortestAny;
+            }
+            if (shortest != null) {
+                shortest.addFirst(lease);
+                queuedTasks++;
+            }
+        }
+        if (shortest == null) {
+            job.done.completeExceptionally(new RuntimeException("No workers left to retry task " + lease.task.taskId));
+            return;
+        }
+        onRequeued.run();
+    }
+
+    public synchronized boolean hasQueuedTasks() {
+        return queuedTasks > 0;
+    }
+
+    public synchronized int getInFlightCount() {
+        return inFlight.size();
+    }
+
+    public long getStolenTasks() {
+        return stolenTasks.get();
+    }
+}
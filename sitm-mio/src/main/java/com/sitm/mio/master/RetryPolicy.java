@@ -0,0 +1,64 @@
+package com.sitm.mio.master;
+
+import com.sitm.mio.util.ConfigManager;
+
+/**
+ * Reintentos de tareas fallidas (error del worker, timeout o worker caído)
+ *
+ * Una tarea se reenvía a otro worker vivo hasta max.retry.attempts veces,
+ * esperando entre intentos un backoff exponencial que empieza en
+ * retry.backoff.initial.ms y se duplica hasta el tope retry.delay.seconds.
+ * Agotados los reintentos, el job falla en lugar de devolver resultados
+ * parciales. task.timeout.seconds (0 = sin límite) da por fallido un intento
+ * que no responde a tiempo.
+ */
+public class RetryPolicy {
+    private final int maxRetries;
+    private final long initialDelayMillis;
+    private final long maxDelayMillis;
+    private final long taskTimeoutMillis;
+
+    public RetryPolicy(int maxRetries, long initialDelayMillis, long maxDelayMillis, long taskTimeoutMillis) {
+        this.maxRetries = Math.max(0, maxRetries);
+        this.initialDelayMillis = Math.max(1, initialDelayMillis);
+        this.maxDelayMillis = Math.max(this.initialDelayMillis, maxDelayMillis);
+        this.taskTimeoutMillis = Math.max(0, taskTimeoutMillis);
+    }
+
+    public static RetryPolicy fromConfig(ConfigManager config) {
+        return new RetryPolicy(
+            config.getInt("max.retry.attempts", 3),
+            config.getLong("retry.backoff.initial.ms", 200),
+            config.getLong("retry.delay.seconds", 10) * 1000,
+            config.getLong("task.timeout.seconds", 0) * 1000);
+    }
+
+    /**
+     * Se puede reintentar una tarea que ya falló "failures" veces
+     */
+    public boolean canRetry(int failures) {
+        return failures <= maxRetries;
+    }
+
+    /**
+     * Espera antes del reintento número "failures": inicial * 2^(failures-1), con tope
+     */
+    public long delayMillis(int failures) {
+        int shift = Math.min(Math.max(0, failures - 1), 30);
+        return Math.min(maxDelayMillis, initialDelayMillis << shift);
+    }
+
+    public int getMaxRetries() {
+        return maxRetries;
+    }
+
+    public long getTaskTimeoutMillis() {
+        return taskTimeoutMillis;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d retries, backoff %d-%dms%s", maxRetries, initialDelayMillis, maxDelayMillis,
+            taskTimeoutMillis > 0 ? ", task timeout " + taskTimeoutMillis + "ms" : "");
+    }
+}
@@ -0,0 +1,101 @@
+package com.sitm.mio.master;
+
+import java.util.Arrays;
+
+import com.sitm.mio.util.ConfigManager;
+
+/**
+ * Cuándo lanzar una copia especulativa de una tarea lenta (straggler)
+ *
+ * Una tarea es straggler cuando ya terminó al menos speculation.quantile de
+ * las tareas del job y la tarea lleva más de speculation.multiplier veces la
+ * mediana de las terminadas (y al menos speculation.min.ms). Las tareas son
+ * idempotentes, así que el Master envía la copia a un worker libre, se queda
+ * con el primer resultado e ignora el otro.
+ */
+public class SpeculationPolicy {
+    private final boolean enabled;
+    private final double multiplier;
+    private final double quantile;
+    private final long minRunMillis;
+
+    public SpeculationPolicy(boolean enabled, double multiplier, double quantile, long minRunMillis) {
+        this.enabled = enabled;
+        this.multiplier = multiplier;
+        this.quantile = quantile;
+        this.minRunMillis = minRunMillis;
+    }
+
+    public static SpeculationPolicy fromConfig(ConfigManager config) {
+        return new SpeculationPolicy(
+            Boolean.parseBoolean(config.getString("speculation.enabled", "true").trim()),
+            parseDouble(config.getString("speculation.multiplier", "1.5"), 1.5),
+            parseDouble(config.getString("speculation.quantile", "0.75"), 0.75),
+            config.getLong("speculation.min.ms", 1000));
+    }
+
+    private static double parseDouble(String value, double defaultValue) {
+        try {
+            return Double.parseDouble(value.trim());
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Cada cuánto revisar tareas en curso
+     */
+    public long getCheckIntervalMillis() {
+        return Math.max(100, minRunMillis / 2);
+    }
+
+    /**
+     * Hay suficientes tareas terminadas en el job para confiar en la mediana
+     */
+    public boolean ready(int completed, int total) {
+        return enabled && completed > 0 && completed >= quantile * total;
+    }
+
+    public boolean isStraggler(long runningMillis, long medianMillis) {
+        return runningMillis >= minRunMillis && runningMillis > multiplier * medianMillis;
+    }
+
+    @Override
+    public String toString() {
+        return enabled
+            ? String.format("enabled (x%.1f median after %.0f%% of tasks, min %dms)", multiplier, quantile * 100, minRunMillis)
+            : "disabled";
+    }
+
+    /**
+     * Duraciones de las tareas terminadas de un job
+     */
+    public static class Durations {
+        private long[] values = new long[16];
+        private int size;
+
+        public synchronized void add(long millis) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = millis;
+        }
+
+        public synchronized int count() {
+            return size;
+        }
+
+        public synchronized long median() {
+            if (size == 0) {
+                return 0;
+            }
+            long[] sorted = Arrays.copyOf(values, size);
+            Arrays.sort(sorted);
+            return sorted[size / 2];
+        }
+    }
+}
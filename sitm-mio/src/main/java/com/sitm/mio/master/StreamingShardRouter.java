@@ -0,0 +1,126 @@
+package com.sitm.mio.master;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import SITM.MIO.BusDatagram;
+
+/**
+ * Reparto de una ventana de streaming entre los workers vivos
+ * (streaming.shard.key en cluster.properties)
+ *
+ * - LINE: por lineId. Los viajes de una ruta y sus arcos quedan en un worker.
+ * - BUS: por busId. Reparte mejor si hay pocas líneas con mucho tráfico.
+ *
+ * Cada clave va al worker con mayor hash(clave, workerId) (rendezvous
+ * hashing): la asignación es pegajosa entre ventanas sin guardar estado, y
+ * al entrar o salir un worker solo se mueven las claves que ganaba o que
+ * pasa a ganar, no todo el reparto como con hash % número de workers.
+ * Cada shard conserva el orden de llegada de sus filas.
+ */
+public class StreamingShardRouter {
+
+    public enum Key {
+        LINE,
+        BUS
+    }
+
+    private final Key key;
+
+    public StreamingShardRouter(Key key) {
+        this.key = key;
+    }
+
+    public static Key parseKey(String value) {
+        try {
+            return Key.valueOf(value.trim().toUpperCase());
+        } catch (Exception e) {
+            System.err.println("Unknown streaming.shard.key '" + value + "', using LINE");
+            return Key.LINE;
+        }
+    }
+
+    public Key getKey() {
+        return key;
+    }
+
+    /**
+     * Filas de cada worker (índices al arreglo de entrada), en el orden de
+     * "workerIds"; un worker sin filas recibe un arreglo vacío
+     */
+    public int[][] assign(BusDatagram[] datagrams, String[] workerIds) {
+        int owners = workerIds.length;
+        int[] workerHashes = new int[owners];
+        for (int w = 0; w < owners; w++) {
+            workerHashes[w] = workerIds[w].hashCode();
+        }
+
+        // Pocas claves distintas por ventana: el dueño se calcula una vez por clave
+        Map<String, Integer> ownerOfKey = new HashMap<>();
+        int[] ownerOf = new int[datagrams.length];
+        int[] counts = new int[owners];
+        for (int i = 0; i < datagrams.length; i++) {
+            String k = keyOf(datagrams[i]);
+            Integer owner = ownerOfKey.get(k);
+            if (owner == null) {
+                owner = ownerOf(k.hashCode(), workerHashes);
+                ownerOfKey.put(k, owner);
+            }
+            ownerOf[i] = owner;
+            counts[owner]++;
+        }
+
+        int[][] rows = new int[owners][];
+        for (int w = 0; w < owners; w++) {
+            rows[w] = new int[counts[w]];
+        }
+        int[] fill = new int[owners];
+        for (int i = 0; i < datagrams.length; i++) {
+            rows[ownerOf[i]][fill[ownerOf[i]]++] = i;
+        }
+        return rows;
+    }
+
+    /**
+     * Índice del worker que gana la clave; empate -> menor índice
+     */
+    static int ownerOf(int keyHash, int[] workerHashes) {
+        int best = 0;
+        long bestScore = Long.MIN_VALUE;
+        for (int w = 0; w < workerHashes.length; w++) {
+            long score = mix(((long) keyHash << 32) ^ (workerHashes[w] & 0xffffffffL));
+            if (score > bestScore) {
+                best = w;
+                bestScore = score;
+            }
+        }
+        return best;
+    }
+
+    private String keyOf(BusDatagram dgram) {
+        return String.valueOf(key == Key.BUS ? dgram.busId : dgram.lineId);
+    }
+
+    /**
+     * Finalizador de SplitMix64: cada bit de la entrada afecta a todo el resultado
+     */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Filas "rows" de "datagrams" en un arreglo nuevo
+     */
+    static BusDatagram[] select(BusDatagram[] datagrams, int[] rows) {
+        if (rows.length == datagrams.length) {
+            return datagrams;
+        }
+        BusDatagram[] selected = new BusDatagram[rows.length];
+        for (int i = 0; i < rows.length; i++) {
+            selected[i] = datagrams[rows[i]];
+        }
+        return selected;
+    }
+}
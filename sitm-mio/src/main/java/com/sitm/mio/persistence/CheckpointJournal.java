@@ -0,0 +1,327 @@
+package com.sitm.mio.persistence;
+
+import com.sitm.mio.util.ArcStatsTable;
+import com.sitm.mio.util.ConfigManager;
+import SITM.MIO.ArcAggregate;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+/**
+ * Journal de checkpoints de un job histórico (append-only, binario)
+ *
+ * Cada registro guarda un rango de filas ya procesado [desde, hasta) y los
+ * acumuladores por arco de ese rango (conteo, suma, cuadrados, min, max y
+ * centroides del sketch de cuantiles), con CRC32. Al reabrir el journal de un job (mismo archivo, parámetros y
+ * etiqueta) se suman los registros válidos y el job sigue desde la última
+ * fila cubierta. Un registro a medio escribir por una caída se descarta, y
+ * los registros leídos se compactan en uno solo para que el archivo no crezca
+ * entre reinicios. Al terminar el job el journal se borra.
+ *
+ * La escritura (codificar + forzar a disco) ocurre en un hilo propio, así el
+ * ciclo de lotes no espera al disco; si el proceso cae con un checkpoint aún
+ * en cola se retoma desde el anterior.
+ *
+ * Formato: cabecera (MAGIC, VERSION, clave del job) y registros
+ * [largo][desde, hasta, lotes, n, n × arco][crc].
+ */
+public class CheckpointJournal implements Closeable {
+    private static final int MAGIC = 0x534A524E;   // "SJRN"
+    private static final short VERSION = 2;   // 2: sketch de cuantiles por arco
+
+    private final Path path;
+    private final String jobKey;
+    private final ArcStatsTable restored = new ArcStatsTable();
+    private int resumeRow;
+    private int restoredBatches;
+    private FileOutputStream out;
+    private FileChannel channel;
+    private final ExecutorService writer = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "checkpoint-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private volatile IOException writeError;
+
+    private CheckpointJournal(Path path, String jobKey) {
+        this.path = path;
+        this.jobKey = jobKey;
+    }
+
+    /**
+     * Abre (o crea) el journal del job y carga lo ya procesado
+     * @param testLabel Etiqueta del procesamiento (parte del nombre del archivo)
+     * @param jobKey Identifica archivo y parámetros; si no coincide se empieza de cero
+     */
+    public static CheckpointJournal open(String testLabel, String jobKey) throws IOException {
+        Path dir = Paths.get(ConfigManager.getInstance().getString("checkpoint.dir", "./checkpoints"));
+        Files.createDirectories(dir);
+        CRC32 keyHash = new CRC32();
+        keyHash.update(jobKey.getBytes(StandardCharsets.UTF_8));
+        String name = String.valueOf(testLabel).replaceAll("[^A-Za-z0-9._-]", "_")
+            + "_" + Long.toHexString(keyHash.getValue()) + ".journal";
+
+        CheckpointJournal journal = new CheckpointJournal(dir.resolve(name), jobKey);
+        journal.load();
+        journal.out = new FileOutputStream(journal.path.toFile(), true);
+        journal.channel = journal.out.getChannel();
+        return journal;
+    }
+
+    /**
+     * Clave del job: archivo (ruta, tamaño, fecha de modificación) y parámetros
+     */
+    public static String jobKey(String filePath, Object... params) throws IOException {
+        Path file = Paths.get(filePath).toAbsolutePath().normalize();
+        StringBuilder key = new StringBuilder(file.toString())
+            .append('|').append(Files.size(file))
+            .append('|').append(Files.getLastModifiedTime(file).toMillis());
+        for (Object param : params) {
+            key.append('|').append(param);
+        }
+        return key.toString();
+    }
+
+    private void load() throws IOException {
+        if (!Files.exists(path)) {
+            writeHeader(path);
+            return;
+        }
+
+        long fileSize = Files.size(path);
+        long validLength = 0;
+        int records = 0;
+        try (InputStream file = Files.newInputStream(path);
+             DataInputStream in = new DataInputStream(new BufferedInputStream(file, 1 << 16))) {
+            if (in.readInt() != MAGIC || in.readShort() != VERSION || !jobKey.equals(in.readUTF())) {
+                System.out.println("⚠️ Checkpoint de otro archivo o parámetros, se descarta: " + path);
+                writeHeader(path);
+                return;
+            }
+            validLength = 4 + 2 + 2 + jobKey.getBytes(StandardCharsets.UTF_8).length;
+
+            CRC32 crc = new CRC32();
+            while (true) {
+                byte[] payload;
+                try {
+                    int length = in.readInt();
+                    if (length <= 0 || length > fileSize) {
+                        break;
+                    }
+                    payload = new byte[length];
+                    in.readFully(payload);
+                    crc.reset();
+                    crc.update(payload);
+                    if (in.readInt() != (int) crc.getValue()) {
+                        break;
+                    }
+                } catch (EOFException e) {
+                    break;  // Registro incompleto: la caída ocurrió al escribirlo
+                }
+                if (!applyRecord(payload)) {
+                    break;
+                }
+                validLength += 4 + payload.length + 4;
+                records++;
+            }
+        } catch (EOFException e) {
+            System.out.println("⚠️ Checkpoint sin cabecera completa, se descarta: " + path);
+            writeHeader(path);
+            return;
+        }
+
+        if (records > 1) {
+            compact();
+        } else if (validLength < fileSize) {
+            try (FileChannel file = FileChannel.open(path, StandardOpenOption.WRITE)) {
+                file.truncate(validLength);
+            }
+        }
+        if (records > 0) {
+            System.out.printf("♻️ Checkpoint encontrado: %,d filas ya procesadas en %d lotes (%,d arcos)%n",
+                resumeRow, restoredBatches, restored.size());
+        }
+    }
+
+    private boolean applyRecord(byte[] payload) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+        int fromRow = in.readInt();
+        int toRow = in.readInt();
+        int batches = in.readInt();
+        if (fromRow != resumeRow || toRow < fromRow) {
+            return false;   // Rango no contiguo: se ignora desde aquí
+        }
+        int count = in.readInt();
+        for (int i = 0; i < count; i++) {
+            String arcId = in.readUTF();
+            long samples = in.readLong();
+            double sum = in.readDouble();
+            double sumSquares = in.readDouble();
+            double min = in.readDouble();
+            double max = in.readDouble();
+            int centroids = in.readInt();
+            double[] means = new double[centroids];
+            long[] weights = new long[centroids];
+            for (int c = 0; c < centroids; c++) {
+                means[c] = in.readDouble();
+                weights[c] = in.readLong();
+            }
+            restored.merge(restored.entryFor(arcId), samples, sum, sumSquares, min, max, means, weights);
+        }
+        resumeRow = toRow;
+        restoredBatches += batches;
+        return true;
+    }
+
+    /**
+     * Reescribe el journal como un único registro con lo acumulado
+     */
+    private void compact() throws IOException {
+        Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+        writeHeader(tmp);
+        try (FileOutputStream compacted = new FileOutputStream(tmp.toFile(), true)) {
+            compacted.write(encodeRecord(0, resumeRow, restoredBatches, restored.toAggregates()));
+            compacted.getChannel().force(false);
+        }
+        Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private void writeHeader(Path target) throws IOException {
+        try (DataOutputStream header = new DataOutputStream(new FileOutputStream(target.toFile()))) {
+            header.writeInt(MAGIC);
+            header.writeShort(VERSION);
+            header.writeUTF(jobKey);
+            header.flush();
+        }
+    }
+
+    private static byte[] encodeRecord(int fromRow, int toRow, int batches, ArcAggregate[] aggregates)
+            throws IOException {
+        ByteArrayOutputStream payloadBytes = new ByteArrayOutputStream(16 + aggregates.length * 64);
+        DataOutputStream payload = new DataOutputStream(payloadBytes);
+        payload.writeInt(fromRow);
+        payload.writeInt(toRow);
+        payload.writeInt(batches);
+        payload.writeInt(aggregates.length);
+        for (ArcAggregate arc : aggregates) {
+            payload.writeUTF(arc.arcId);
+            payload.writeLong(arc.count);
+            payload.writeDouble(arc.sum);
+            payload.writeDouble(arc.sumSquares);
+            payload.writeDouble(arc.min);
+            payload.writeDouble(arc.max);
+            int centroids = arc.sketchMeans != null ? arc.sketchMeans.length : 0;
+            payload.writeInt(centroids);
+            for (int c = 0; c < centroids; c++) {
+                payload.writeDouble(arc.sketchMeans[c]);
+                payload.writeLong(arc.sketchWeights[c]);
+            }
+        }
+        payload.flush();
+
+        byte[] body = payloadBytes.toByteArray();
+        CRC32 crc = new CRC32();
+        crc.update(body);
+        ByteArrayOutputStream record = new ByteArrayOutputStream(body.length + 8);
+        DataOutputStream framed = new DataOutputStream(record);
+        framed.writeInt(body.length);
+        framed.write(body);
+        framed.writeInt((int) crc.getValue());
+        framed.flush();
+        return record.toByteArray();
+    }
+
+    /**
+     * Agrega un checkpoint: filas [fromRow, toRow) procesadas en "batches"
+     * lotes, con sus acumuladores por arco. El registro se escribe en una
+     * sola llamada y se fuerza a disco en el hilo del journal; un error de
+     * escritura se lanza en el siguiente append() o en close().
+     */
+    public void append(int fromRow, int toRow, int batches, ArcAggregate[] aggregates) throws IOException {
+        checkWriteError();
+        resumeRow = toRow;
+        writer.execute(() -> {
+            try {
+                out.write(encodeRecord(fromRow, toRow, batches, aggregates));
+                channel.force(false);
+            } catch (IOException e) {
+                writeError = e;
+            }
+        });
+    }
+
+    private void checkWriteError() throws IOException {
+        IOException error = writeError;
+        if (error != null) {
+            throw new IOException("Checkpoint write failed: " + error.getMessage(), error);
+        }
+    }
+
+    /**
+     * Primera fila pendiente (0 si no había checkpoint)
+     */
+    public int getResumeRow() {
+        return resumeRow;
+    }
+
+    public int getRestoredBatches() {
+        return restoredBatches;
+    }
+
+    /**
+     * Acumuladores por arco de las filas ya procesadas
+     */
+    public ArcAggregate[] getRestoredAggregates() {
+        return restored.toAggregates();
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    /**
+     * Job terminado: el journal ya no hace falta
+     */
+    public void complete() throws IOException {
+        close();
+        Files.deleteIfExists(path);
+    }
+
+    /**
+     * Espera los checkpoints en cola y cierra el archivo
+     */
+    @Override
+    public void close() throws IOException {
+        if (out == null) {
+            return;
+        }
+        writer.shutdown();
+        try {
+            writer.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        out.close();
+        out = null;
+        checkWriteError();
+    }
+}
@@ -2,38 +2,142 @@ package com.sitm.mio.persistence;
 
 import java.sql.Connection;
 import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Types;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+import com.sitm.mio.util.QuantileSketch;
 
 public class VelocityDao {
 
-    private static final String UPSERT_SQL = "INSERT INTO velocity_by_arc"
+    /**
+     * Fila de velocity_by_arc para un arco del job (sketch null = sin percentiles)
+     */
+    public static class ArcRollup {
+        final String lineId;
+        final String arcId;
+        final double avgVelocity;
+        final long sampleCount;
+        final QuantileSketch sketch;
+
+        public ArcRollup(String lineId, String arcId, double avgVelocity, long sampleCount, QuantileSketch sketch) {
+            this.lineId = lineId;
+            this.arcId = arcId;
+            this.avgVelocity = avgVelocity;
+            this.sampleCount = sampleCount;
+            this.sketch = sketch;
+        }
+    }
+
+    // Fila vacía (conteo 0) si el arco aún no está en el mes; si ya está no toca nada.
+    // ON CONFLICT sin columnas: lo aceptan PostgreSQL y H2 (modo PostgreSQL)
+    private static final String ENSURE_SQL = "INSERT INTO velocity_by_arc"
             + " (year_month, line_id, arc_id, avg_velocity, sample_count, updated_at)"
-            + " VALUES (?, ?, ?, ?, ?, now())"
-            + " ON CONFLICT (year_month, line_id, arc_id) DO UPDATE"
-            + " SET avg_velocity = EXCLUDED.avg_velocity, sample_count = EXCLUDED.sample_count, updated_at = now();";
+            + " VALUES (?, ?, ?, 0, 0, now())"
+            + " ON CONFLICT DO NOTHING;";
 
-    public void upsert(String yearMonth, String lineId, String arcId, double avgVelocity, long sampleCount) {
-        try (Connection c = DBConnection.getConnection();
-             PreparedStatement ps = c.prepareStatement(UPSERT_SQL)) {
+    // FOR UPDATE: dos jobs sobre el mismo arco se serializan en vez de perder una suma
+    private static final String LOCK_SQL = "SELECT avg_velocity, sample_count, speed_sketch"
+            + " FROM velocity_by_arc WHERE year_month = ? AND line_id = ? AND arc_id = ? FOR UPDATE;";
 
-            ps.setString(1, yearMonth);
-            ps.setString(2, lineId);
-            ps.setString(3, arcId);
-            ps.setDouble(4, avgVelocity);
-            ps.setLong(5, sampleCount);
+    private static final String UPDATE_SQL = "UPDATE velocity_by_arc"
+            + " SET avg_velocity = ?, sample_count = ?,"
+            + " velocity_p50 = ?, velocity_p85 = ?, velocity_p95 = ?, speed_sketch = ?, updated_at = now()"
+            + " WHERE year_month = ? AND line_id = ? AND arc_id = ?;";
 
-            ps.executeUpdate();
-        } catch (SQLException e) {
-            System.err.println("Error persisting velocity_by_arc: " + e.getMessage());
+    /**
+     * Suma el resultado combinado de un job a las filas de sus arcos en el mes:
+     * promedio ponderado por conteo, conteo acumulado y el sketch guardado
+     * combinado con el del job (lectura con bloqueo, merge y escritura), de
+     * donde salen de nuevo mediana, p85 y p95.
+     *
+     * Si alguna de las dos partes no trae sketch (filas de versiones previas,
+     * jobs sin sketch) los percentiles quedan en NULL: un sketch que cubre
+     * solo parte de las muestras del mes daría percentiles engañosos.
+     *
+     * La suma no es idempotente: todo el job va en una sola transacción, así
+     * un error no deja el job aplicado a medias (y relanzarlo no cuenta dos
+     * veces los arcos que sí se escribieron)
+     * @throws SQLException si falla; no queda nada escrito
+     */
+    public void upsertAll(String yearMonth, List<ArcRollup> rows) throws SQLException {
+        try (Connection c = DBConnection.getConnection()) {
+            boolean autoCommit = c.getAutoCommit();
+            c.setAutoCommit(false);
+            try (PreparedStatement ensure = c.prepareStatement(ENSURE_SQL);
+                 PreparedStatement lock = c.prepareStatement(LOCK_SQL);
+                 PreparedStatement update = c.prepareStatement(UPDATE_SQL)) {
+                for (ArcRollup row : rows) {
+                    bindKey(ensure, 1, yearMonth, row);
+                    ensure.executeUpdate();
+
+                    bindKey(lock, 1, yearMonth, row);
+                    double storedAvg;
+                    long storedCount;
+                    String storedSketch;
+                    try (ResultSet rs = lock.executeQuery()) {
+                        rs.next();
+                        storedAvg = rs.getDouble("avg_velocity");
+                        storedCount = rs.getLong("sample_count");
+                        storedSketch = rs.getString("speed_sketch");
+                    }
+
+                    long count = storedCount + row.sampleCount;
+                    double avg = count > 0
+                            ? (storedAvg * storedCount + row.avgVelocity * row.sampleCount) / count : 0.0;
+                    QuantileSketch merged = null;
+                    boolean storedComplete = storedCount == 0 || storedSketch != null;
+                    if (storedComplete && row.sketch != null && row.sketch.count() > 0) {
+                        merged = QuantileSketch.decode(storedSketch);
+                        merged.merge(row.sketch);
+                    }
+
+                    update.setDouble(1, avg);
+                    update.setLong(2, count);
+                    setQuantile(update, 3, merged != null ? merged.quantile(0.5) : Double.NaN);
+                    setQuantile(update, 4, merged != null ? merged.quantile(0.85) : Double.NaN);
+                    setQuantile(update, 5, merged != null ? merged.quantile(0.95) : Double.NaN);
+                    if (merged != null) {
+                        update.setString(6, merged.encode());
+                    } else {
+                        update.setNull(6, Types.VARCHAR);
+                    }
+                    bindKey(update, 7, yearMonth, row);
+                    update.addBatch();
+                }
+                update.executeBatch();
+                c.commit();
+            } catch (SQLException | RuntimeException e) {
+                c.rollback();
+                throw e;
+            } finally {
+                c.setAutoCommit(autoCommit);
+            }
+        }
+    }
+
+    private static void bindKey(PreparedStatement ps, int first, String yearMonth, ArcRollup row) throws SQLException {
+        ps.setString(first, yearMonth);
+        ps.setString(first + 1, row.lineId);
+        ps.setString(first + 2, row.arcId);
+    }
+
+    private static void setQuantile(PreparedStatement ps, int index, double value) throws SQLException {
+        if (Double.isNaN(value)) {
+            ps.setNull(index, Types.DOUBLE);
+        } else {
+            ps.setDouble(index, value);
         }
     }
 
     public String queryVelocities(String yearMonth, String lineId, String arcId) {
         StringBuilder sb = new StringBuilder();
         sb.append("[");
-        String sql = "SELECT year_month, line_id, arc_id, avg_velocity, sample_count, updated_at FROM velocity_by_arc WHERE 1=1";
+        String sql = "SELECT year_month, line_id, arc_id, avg_velocity, sample_count,"
+            + " velocity_p50, velocity_p85, velocity_p95, updated_at FROM velocity_by_arc WHERE 1=1";
         if (yearMonth != null && !yearMonth.isEmpty()) sql += " AND year_month = '" + yearMonth + "'";
         if (lineId != null && !lineId.isEmpty()) sql += " AND line_id = '" + lineId + "'";
         if (arcId != null && !arcId.isEmpty()) sql += " AND arc_id = '" + arcId + "'";
@@ -49,6 +153,9 @@ public class VelocityDao {
                 sb.append(",\"arc_id\":\"").append(rs.getString("arc_id")).append("\"");
                 sb.append(",\"avg_velocity\":").append(rs.getDouble("avg_velocity"));
                 sb.append(",\"sample_count\":").append(rs.getLong("sample_count"));
+                appendQuantile(sb, "velocity_p50", rs);
+                appendQuantile(sb, "velocity_p85", rs);
+                appendQuantile(sb, "velocity_p95", rs);
                 sb.append(",\"updated_at\":\"").append(rs.getTimestamp("updated_at")).append("\"}");
             }
         } catch (SQLException e) {
@@ -58,6 +165,11 @@ public class VelocityDao {
         return sb.toString();
     }
 
+    private static void appendQuantile(StringBuilder sb, String column, java.sql.ResultSet rs) throws SQLException {
+        double value = rs.getDouble(column);
+        sb.append(",\"").append(column).append("\":").append(rs.wasNull() ? "null" : String.valueOf(value));
+    }
+
     public static String currentYearMonth() {
         ZonedDateTime now = ZonedDateTime.now();
         return now.format(DateTimeFormatter.ofPattern("yyyy_MM"));
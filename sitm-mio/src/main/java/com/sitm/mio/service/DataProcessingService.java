@@ -1,19 +1,29 @@
 package com.sitm.mio.service;
 
 import com.sitm.mio.entity.VelocityRecord;
-import com.sitm.mio.util.StreamingDatagramReader;
+import com.sitm.mio.master.ArcAggregateReducer;
+import com.sitm.mio.master.DistributedMaster;
+import com.sitm.mio.persistence.CheckpointJournal;
+import com.sitm.mio.util.ConfigManager;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import SITM.MIO.AggregateResult;
+import SITM.MIO.ArcAggregate;
 import SITM.MIO.BusDatagram;
 import SITM.MIO.MasterPrx;
 import SITM.MIO.VelocityResult;
 
+import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.time.LocalDateTime;
-import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.stream.Collectors;
 
 /**
@@ -30,6 +40,22 @@ public class DataProcessingService {
     
     private static final int DEFAULT_BATCH_SIZE = 10000;
     
+    // Hilos de parseo del CSV (rangos de bytes en paralelo)
+    private final int readerThreads = ConfigManager.getInstance().getInt(
+        "ingest.reader.threads", Runtime.getRuntime().availableProcessors());
+    
+    // Journal de checkpoints: cada cuántos lotes se guarda el progreso (ver CheckpointJournal)
+    private final boolean checkpointEnabled = Boolean.parseBoolean(
+        ConfigManager.getInstance().getString("checkpoint.enabled", "true").trim());
+    private final int checkpointInterval = Math.max(1,
+        ConfigManager.getInstance().getInt("checkpoint.interval.batches", 10));
+    
+    // Pipeline de lotes (ver HistoricalBatchPipeline): lotes leídos por adelantado y lotes en curso en el Master
+    private final int pipelineReadAhead = Math.max(1,
+        ConfigManager.getInstance().getInt("pipeline.read.ahead.batches", 2));
+    private final int pipelineInFlight = Math.max(1,
+        ConfigManager.getInstance().getInt("pipeline.inflight.batches", 2));
+    
     /**
      * Procesa datos históricos desde un archivo CSV
      */
@@ -48,9 +74,38 @@ public class DataProcessingService {
      */
     public ProcessingResult processHistorical(String filePath, String testLabel, 
                                              Integer batchSize, Integer maxRecords, int offset) {
+        return processHistorical(filePath, testLabel, batchSize, maxRecords, offset,
+            Long.MIN_VALUE, Long.MAX_VALUE);
+    }
+    
+    /**
+     * Procesa datos históricos (CSV o formato columnar) dentro de un rango de tiempo.
+     * Con checkpoint.enabled el progreso se guarda cada checkpoint.interval.batches
+     * lotes; si el job se corta, relanzarlo con el mismo archivo, parámetros y
+     * etiqueta continúa desde el último checkpoint.
+     * @param fromEpoch Inicio del rango en segundos (inclusivo), Long.MIN_VALUE = sin límite
+     * @param toEpoch Fin del rango en segundos (inclusivo), Long.MAX_VALUE = sin límite
+     */
+    public ProcessingResult processHistorical(String filePath, String testLabel, 
+                                             Integer batchSize, Integer maxRecords, int offset,
+                                             long fromEpoch, long toEpoch) {
+        return processHistorical(filePath, testLabel, batchSize, maxRecords, offset, fromEpoch, toEpoch, null);
+    }
+    
+    /**
+     * Igual, informando el progreso a un job del HistoricalJobManager: lotes
+     * hechos y resultados parciales, y cancelación antes de cada lote. Los
+     * lotes viajan con el id del job en el contexto Ice para que
+     * Master.cancelJob corte también las tareas en curso.
+     * @param job Job que se actualiza, o null
+     */
+    public ProcessingResult processHistorical(String filePath, String testLabel, 
+                                             Integer batchSize, Integer maxRecords, int offset,
+                                             long fromEpoch, long toEpoch, HistoricalJob job) {
         ProcessingResult result = new ProcessingResult();
         result.setTestLabel(testLabel);
         result.setStartTime(LocalDateTime.now());
+        CheckpointJournal journal = null;
         
         try {
             // Verificar que el Master esté corriendo
@@ -70,61 +125,129 @@ public class DataProcessingService {
             
             result.setFilePath(filePath);
             
-            // Leer datagramas del archivo
-            System.out.println("📖 Reading data from: " + filePath);
-            BusDatagram[] fullDatagrams = StreamingDatagramReader.loadFromCSV(filePath);
-            
-            // Aplicar offset y limitar registros
-            BusDatagram[] allDatagrams;
-            if (offset > 0) {
-                System.out.printf("📍 Aplicando offset: %d (total en archivo: %d)%n", offset, fullDatagrams.length);
-                
-                if (offset >= fullDatagrams.length) {
-                    System.out.println("⚠️ Offset mayor o igual al tamaño del archivo, reiniciando desde el inicio");
-                    offset = 0;
-                }
-                
-                int endIndex = offset + (maxRecords != null && maxRecords > 0 ? maxRecords : fullDatagrams.length);
-                endIndex = Math.min(endIndex, fullDatagrams.length);
-                
-                allDatagrams = Arrays.copyOfRange(fullDatagrams, offset, endIndex);
-                System.out.printf("📊 Procesando registros [%d-%d] de %d%n", offset, endIndex - 1, fullDatagrams.length);
-            } else {
-                // Sin offset, limitar si es necesario
-                if (maxRecords != null && maxRecords > 0 && maxRecords < fullDatagrams.length) {
-                    allDatagrams = Arrays.copyOf(fullDatagrams, maxRecords);
-                } else {
-                    allDatagrams = fullDatagrams;
+            // Procesar en lotes: lectura, envío al Master y combinación en paralelo
+            int batch = batchSize != null ? batchSize : DEFAULT_BATCH_SIZE;
+            // Los lotes repiten arcos: se combinan por arco (promedio ponderado) antes de persistir
+            ArcAggregateReducer reducer = new ArcAggregateReducer(16);
+            int batchCount = 0;
+            int startRow = 0;
+            // Un offset más allá del final vuelve al inicio: se resuelve antes de la
+            // clave del checkpoint, así clave, reanudación y lectura usan el mismo valor
+            int startOffset = HistoricalBatchPipeline.resolveOffset(filePath, readerThreads,
+                fromEpoch, toEpoch, batch, offset);
+            if (checkpointEnabled) {
+                journal = CheckpointJournal.open(testLabel,
+                    CheckpointJournal.jobKey(filePath, startOffset, maxRecords, fromEpoch, toEpoch));
+                startRow = journal.getResumeRow();
+                batchCount = journal.getRestoredBatches();
+                reducer.accept(journal.getRestoredAggregates());
+                if (startRow > 0) {
+                    System.out.printf("♻️ Reanudando desde el registro %,d%n", startRow);
                 }
             }
             
-            result.setTotalRecords(allDatagrams.length);
-            System.out.printf("📊 Loaded %,d datagrams%n", allDatagrams.length);
+            Map<String, String> context = null;
+            if (job != null) {
+                // Total estimado hasta que la lectura llegue al final del archivo
+                long estimated = Math.max(0, HistoricalBatchPipeline.estimateRows(filePath) - startOffset);
+                if (maxRecords != null && maxRecords > 0) {
+                    estimated = Math.min(estimated, maxRecords);
+                }
+                int totalRows = (int) Math.max(estimated, startRow);
+                job.started(totalRows, batchCount + (totalRows - startRow + batch - 1) / batch,
+                    startRow, batchCount, reducer);
+                context = Collections.singletonMap(DistributedMaster.JOB_ID_CONTEXT, job.getId());
+            }
+            Map<String, String> batchContext = context;
             
-            // Procesar en lotes
-            int batch = batchSize != null ? batchSize : DEFAULT_BATCH_SIZE;
-            List<VelocityResult> allResults = new ArrayList<>();
+            // Acumulado desde el último checkpoint (solo se escribe al journal lo nuevo)
+            ArcAggregateReducer pending = new ArcAggregateReducer(1);
+            int pendingFrom = startRow;
+            int pendingBatches = 0;
+            int processedRows = startRow;
+            int totalRecords;
             long startTime = System.currentTimeMillis();
-            int batchCount = 0;
             
-            for (int i = 0; i < allDatagrams.length; i += batch) {
-                int end = Math.min(i + batch, allDatagrams.length);
-                BusDatagram[] batchData = Arrays.copyOfRange(allDatagrams, i, end);
+            System.out.println("📖 Reading data from: " + filePath);
+            try (HistoricalBatchPipeline pipeline = new HistoricalBatchPipeline(filePath, readerThreads,
+                    fromEpoch, toEpoch, batch, startOffset, startRow, maxRecords, pipelineReadAhead, pipelineInFlight,
+                    batchData -> dispatch(master, batchData, batchContext))) {
+                pipeline.start();
                 
-                try {
-                    VelocityResult[] batchResults = master.processHistoricalData(batchData, null, null);
-                    allResults.addAll(Arrays.asList(batchResults));
-                    batchCount++;
+                HistoricalBatchPipeline.Batch next;
+                while ((next = pipeline.next()) != null) {
+                    if (job != null && job.isCancelRequested()) {
+                        saveCancelled(journal, pending, pendingFrom, processedRows, pendingBatches);
+                        throw new CancellationException("Job " + job.getId() + " cancelled after " + batchCount + " batches");
+                    }
                     
-                    System.out.printf("✅ Batch %d processed: %,d/%,d records%n", 
-                        batchCount, end, allDatagrams.length);
-                } catch (Exception e) {
-                    System.err.printf("❌ Error in batch %d: %s%n", batchCount, e.getMessage());
-                    result.setError("Error processing batch " + batchCount + ": " + e.getMessage());
+                    try {
+                        ArcAggregate[] batchArcs = next.getResults().join().arcs;
+                        reducer.accept(batchArcs);
+                        batchCount++;
+                        if (job != null) {
+                            if (pipeline.isReadComplete()) {
+                                int totalRows = pipeline.getRowsRead();
+                                job.totalsKnown(totalRows, batchCount + (totalRows - next.toRow + batch - 1) / batch);
+                            }
+                            job.batchDone(next.toRow, batchCount);
+                        }
+                        
+                        if (journal != null) {
+                            pending.accept(batchArcs);
+                            pendingBatches++;
+                            if (pendingBatches >= checkpointInterval) {
+                                journal.append(pendingFrom, next.toRow, pendingBatches, pending.toAggregates());
+                                pending = new ArcAggregateReducer(1);
+                                pendingFrom = next.toRow;
+                                pendingBatches = 0;
+                            }
+                        }
+                        processedRows = next.toRow;
+                        
+                        System.out.printf("✅ Batch %d processed: %,d records%n", batchCount, next.toRow);
+                    } catch (Exception e) {
+                        Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                        if (job != null && job.isCancelRequested()) {
+                            // Lote cortado por la cancelación: no se combinó, el checkpoint
+                            // llega solo hasta el último lote combinado
+                            saveCancelled(journal, pending, pendingFrom, processedRows, pendingBatches);
+                            throw new CancellationException("Job " + job.getId() + " cancelled after "
+                                + batchCount + " batches");
+                        }
+                        System.err.printf("❌ Error in batch %d: %s%n", batchCount, cause.getMessage());
+                        if (journal == null) {
+                            result.setError("Error processing batch " + batchCount + ": " + cause.getMessage());
+                            continue;
+                        }
+                        // Con checkpoint no se salta el lote: se guarda lo hecho y el job se relanza después
+                        if (pendingBatches > 0) {
+                            journal.append(pendingFrom, next.fromRow, pendingBatches, pending.toAggregates());
+                            pendingFrom = next.fromRow;
+                        }
+                        throw new Exception("Error processing batch " + (batchCount + 1) + ": " + cause.getMessage()
+                            + " - progreso guardado hasta el registro " + pendingFrom
+                            + "; relanzar con el mismo archivo y etiqueta para continuar");
+                    } finally {
+                        pipeline.release();
+                    }
+                }
+                
+                if (job != null && job.isCancelRequested()) {
+                    saveCancelled(journal, pending, pendingFrom, processedRows, pendingBatches);
+                    throw new CancellationException("Job " + job.getId() + " cancelled after " + batchCount + " batches");
                 }
+                if (journal != null && pendingBatches > 0) {
+                    journal.append(pendingFrom, processedRows, pendingBatches, pending.toAggregates());
+                }
+                totalRecords = pipeline.getRowsRead();
             }
             
+            result.setTotalRecords(totalRecords);
             long processingTime = System.currentTimeMillis() - startTime;
+            List<VelocityResult> allResults = Arrays.asList(reducer.toResults(processingTime));
+            System.out.printf("🔗 %,d resultados parciales combinados en %,d arcos%n",
+                reducer.getPartialCount(), allResults.size());
             result.setProcessingTimeMs(processingTime);
             result.setValidResults(allResults.size());
             result.setBatchCount(batchCount);
@@ -133,22 +256,30 @@ public class DataProcessingService {
             if (!allResults.isEmpty()) {
                 VelocityResult[] resultsArray = allResults.toArray(new VelocityResult[0]);
                 databaseManager.saveVelocityResults(resultsArray, testLabel, 
-                    allDatagrams.length, processingTime);
+                    totalRecords, processingTime);
                 
                 double throughput = processingTime > 0 ? 
-                    (allDatagrams.length / (double) processingTime) * 1000 : 0;
-                databaseManager.savePerformanceMetrics(testLabel, allDatagrams.length, 
+                    (totalRecords / (double) processingTime) * 1000 : 0;
+                databaseManager.savePerformanceMetrics(testLabel, totalRecords, 
                     processingTime, batchCount, getWorkerCount(), throughput);
                 
                 databaseManager.saveSummaryStats(testLabel, allResults, 
-                    allDatagrams.length, processingTime);
+                    totalRecords, processingTime);
+                
+                // velocity_by_arc se escribe una vez por job, con los arcos ya combinados
+                // (no desde los workers: reintentos y copias especulativas no tocan la DB)
+                databaseManager.saveArcRollup(resultsArray);
+            }
+            
+            if (journal != null) {
+                journal.complete();
             }
             
             result.setEndTime(LocalDateTime.now());
             result.setSuccess(true);
             
             System.out.printf("✅ Processing completed: %,d records in %,d ms%n", 
-                allDatagrams.length, processingTime);
+                totalRecords, processingTime);
             
         } catch (Exception e) {
             result.setSuccess(false);
@@ -156,11 +287,49 @@ public class DataProcessingService {
             result.setEndTime(LocalDateTime.now());
             System.err.println("❌ Processing error: " + e.getMessage());
             e.printStackTrace();
+        } finally {
+            if (journal != null) {
+                try {
+                    journal.close();
+                } catch (IOException e) {
+                    System.err.println("⚠️ No se pudo cerrar el checkpoint: " + e.getMessage());
+                }
+            }
         }
         
         return result;
     }
     
+    /**
+     * Envía un lote al Master sin bloquear (AMI); el futuro se completa con la
+     * respuesta: los acumuladores por arco del lote (conteo, suma, cuadrados,
+     * min, max y sketch), que se combinan y se guardan en el checkpoint tal cual
+     */
+    private static CompletableFuture<AggregateResult> dispatch(MasterPrx master, BusDatagram[] batchData,
+                                                               Map<String, String> context) {
+        CompletableFuture<AggregateResult> future = new CompletableFuture<>();
+        IceInternal.Functional_GenericCallback1<Ice.Exception> onError = e -> future.completeExceptionally(
+            new RuntimeException(e instanceof Ice.UnknownException
+                ? ((Ice.UnknownException) e).unknown.split("\\R", 2)[0] : e.toString(), e));
+        if (context != null) {
+            master.begin_processHistoricalAggregates(batchData, context, future::complete, onError);
+        } else {
+            master.begin_processHistoricalAggregates(batchData, future::complete, onError);
+        }
+        return future;
+    }
+    
+    /**
+     * Guarda lo combinado antes de cancelar. Llega solo hasta el último lote
+     * combinado (processedRows): un lote en vuelo no cuenta como hecho
+     */
+    private static void saveCancelled(CheckpointJournal journal, ArcAggregateReducer pending,
+                                      int pendingFrom, int processedRows, int pendingBatches) throws IOException {
+        if (journal != null && pendingBatches > 0) {
+            journal.append(pendingFrom, processedRows, pendingBatches, pending.toAggregates());
+        }
+    }
+    
     /**
      * Obtiene el número de workers activos
      */
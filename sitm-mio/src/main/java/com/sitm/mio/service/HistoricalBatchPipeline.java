@@ -0,0 +1,334 @@
+package com.sitm.mio.service;
+
+import com.sitm.mio.util.ColumnarDatagramFile;
+import com.sitm.mio.util.ColumnarDatagramReader;
+import com.sitm.mio.util.DatagramBatchSource;
+import com.sitm.mio.util.ParallelDatagramReader;
+import SITM.MIO.AggregateResult;
+import SITM.MIO.BusDatagram;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * Pipeline acotado de un procesamiento histórico, en tres etapas:
+ *
+ * 1. Lectura: un hilo lee el archivo (CSV en paralelo o columnar), aplica el
+ *    rango de tiempo, salta offset + filas ya cubiertas por el checkpoint y
+ *    arma lotes de exactamente batchSize filas. Deja hasta readAhead lotes listos.
+ * 2. Envío: otro hilo manda cada lote al Master sin esperar la respuesta,
+ *    con hasta inFlight lotes en curso a la vez.
+ * 3. Combinación: quien llama a next() recibe los lotes en el orden del
+ *    archivo (así los checkpoints cubren rangos contiguos), espera su
+ *    resultado, lo combina y llama a release() para liberar un lugar.
+ *
+ * Solo viven en memoria los lotes en cola y en curso, sin importar el tamaño
+ * del archivo; lectura, red y combinación se superponen. Las filas se
+ * numeran desde el offset, igual que antes de este pipeline; el offset ya
+ * viene resuelto (ver resolveOffset) y no cambia durante la lectura.
+ */
+class HistoricalBatchPipeline implements AutoCloseable {
+
+    /**
+     * Lote del archivo: filas [fromRow, toRow) y su resultado en el Master
+     */
+    static final class Batch {
+        final int fromRow;
+        final int toRow;
+        private BusDatagram[] datagrams;
+        private CompletableFuture<AggregateResult> results;
+
+        private Batch(int fromRow, int toRow, BusDatagram[] datagrams) {
+            this.fromRow = fromRow;
+            this.toRow = toRow;
+            this.datagrams = datagrams;
+        }
+
+        CompletableFuture<AggregateResult> getResults() {
+            return results;
+        }
+    }
+
+    private static final Batch END = new Batch(-1, -1, null);
+    private static final int SAMPLE_BYTES = 1 << 20;
+
+    private final String filePath;
+    private final int readerThreads;
+    private final long fromEpoch;
+    private final long toEpoch;
+    private final int batchSize;
+    private final int skipRows;
+    private final int maxRows;
+    private final Function<BusDatagram[], CompletableFuture<AggregateResult>> dispatcher;
+
+    private final BlockingQueue<Batch> parsed;
+    private final BlockingQueue<Batch> dispatched = new LinkedBlockingQueue<>();
+    private final Semaphore inFlight;
+    private final ExecutorService stages = Executors.newFixedThreadPool(2, r -> {
+        Thread thread = new Thread(r, "historical-pipeline");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+    private final AtomicInteger rowsRead = new AtomicInteger();
+    private final int offset;
+    private volatile boolean readComplete;
+    private boolean finished;
+
+    /**
+     * @param offset Filas del archivo (ya filtrado por tiempo) que se saltan, ya resuelto con resolveOffset
+     * @param resumeRow Filas desde el offset ya procesadas (checkpoint)
+     * @param maxRecords Filas desde el offset a procesar, null o 0 = todas
+     * @param dispatcher Envía un lote al Master y devuelve su resultado
+     */
+    HistoricalBatchPipeline(String filePath, int readerThreads, long fromEpoch, long toEpoch,
+                            int batchSize, int offset, int resumeRow, Integer maxRecords,
+                            int readAhead, int inFlight,
+                            Function<BusDatagram[], CompletableFuture<AggregateResult>> dispatcher) {
+        this.filePath = filePath;
+        this.readerThreads = readerThreads;
+        this.fromEpoch = fromEpoch;
+        this.toEpoch = toEpoch;
+        this.batchSize = batchSize;
+        this.offset = offset;
+        this.skipRows = resumeRow;
+        this.maxRows = maxRecords != null && maxRecords > 0 ? maxRecords : Integer.MAX_VALUE;
+        this.dispatcher = dispatcher;
+        this.parsed = new ArrayBlockingQueue<>(Math.max(1, readAhead));
+        this.inFlight = new Semaphore(Math.max(1, inFlight));
+    }
+
+    void start() {
+        stages.execute(this::read);
+        stages.execute(this::dispatch);
+    }
+
+    /**
+     * Etapa 1: lotes de batchSize filas desde offset + skipRows
+     */
+    private void read() {
+        try {
+            readFrom(offset);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Throwable e) {
+            failure.compareAndSet(null, e);
+        } finally {
+            readComplete = true;
+            try {
+                parsed.put(END);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();   // Solo ocurre al cerrar el pipeline
+            }
+        }
+    }
+
+    /**
+     * Offset con el que se procesa el archivo: igual que antes, uno más allá
+     * del final (archivo ya filtrado por tiempo) vuelve al inicio. Se resuelve
+     * antes de armar la clave del checkpoint, para que clave, fila de
+     * reanudación y lectura usen el mismo valor. Recorre a lo sumo offset + 1
+     * filas; en columnar sin rango de tiempo usa el conteo del encabezado.
+     */
+    static int resolveOffset(String filePath, int readerThreads, long fromEpoch, long toEpoch,
+                             int batchSize, int offset) throws IOException {
+        if (offset <= 0) {
+            return 0;
+        }
+        long rows = 0;
+        boolean timeFiltered = fromEpoch != Long.MIN_VALUE || toEpoch != Long.MAX_VALUE;
+        if (!timeFiltered && ColumnarDatagramFile.isColumnar(filePath)) {
+            try (ColumnarDatagramReader reader = new ColumnarDatagramReader(filePath)) {
+                rows = reader.getRowCount();
+            }
+        } else {
+            try (DatagramBatchSource reader = openReader(filePath, readerThreads, batchSize, fromEpoch, toEpoch)) {
+                BusDatagram[] chunk;
+                while (rows <= offset && (chunk = readChunk(reader, fromEpoch, toEpoch)) != null) {
+                    rows += chunk.length;
+                }
+            }
+        }
+        if (rows > offset) {
+            return offset;
+        }
+        System.out.printf("⚠️ Offset %,d mayor o igual al tamaño del archivo (%,d), reiniciando desde el inicio%n",
+            offset, rows);
+        return 0;
+    }
+
+    /**
+     * Lee desde "offset" y devuelve las filas recorridas del archivo filtrado
+     */
+    private int readFrom(int offset) throws IOException, InterruptedException {
+        long skip = (long) offset + skipRows;
+        long limit = Math.min((long) offset + maxRows, Integer.MAX_VALUE);
+        int row = 0;                      // fila del archivo filtrado
+        int nextRow = skipRows;           // fila relativa al offset del próximo lote
+        BusDatagram[] pending = new BusDatagram[batchSize];
+        int pendingSize = 0;
+
+        try (DatagramBatchSource reader = openReader(filePath, readerThreads, batchSize, fromEpoch, toEpoch)) {
+            BusDatagram[] chunk;
+            while (row < limit && (chunk = readChunk(reader, fromEpoch, toEpoch)) != null) {
+                int from = (int) Math.max(0, Math.min(chunk.length, skip - row));
+                int to = (int) Math.min(chunk.length, limit - row);
+                row += chunk.length;
+                rowsRead.set((int) Math.min(row, limit));
+                for (int i = from; i < to; i++) {
+                    pending[pendingSize++] = chunk[i];
+                    if (pendingSize == batchSize) {
+                        parsed.put(new Batch(nextRow, nextRow + batchSize, pending));
+                        nextRow += batchSize;
+                        pending = new BusDatagram[batchSize];
+                        pendingSize = 0;
+                    }
+                }
+            }
+        }
+        if (pendingSize > 0) {
+            parsed.put(new Batch(nextRow, nextRow + pendingSize, Arrays.copyOf(pending, pendingSize)));
+        }
+        return row;
+    }
+
+    private static DatagramBatchSource openReader(String filePath, int readerThreads, int batchSize,
+                                                  long fromEpoch, long toEpoch) throws IOException {
+        if (ColumnarDatagramFile.isColumnar(filePath)) {
+            return new ColumnarDatagramReader(filePath, batchSize, fromEpoch, toEpoch, false);
+        }
+        return new ParallelDatagramReader(filePath, readerThreads, batchSize, true, false);
+    }
+
+    private static BusDatagram[] readChunk(DatagramBatchSource reader, long fromEpoch, long toEpoch)
+            throws IOException {
+        BusDatagram[] chunk = reader.readNextBatch();
+        if (chunk != null && !(reader instanceof ColumnarDatagramReader)
+                && (fromEpoch != Long.MIN_VALUE || toEpoch != Long.MAX_VALUE)) {
+            chunk = ColumnarDatagramFile.filterTime(chunk, fromEpoch, toEpoch);
+        }
+        return chunk;
+    }
+
+    /**
+     * Etapa 2: envía los lotes con hasta inFlight en curso
+     */
+    private void dispatch() {
+        try {
+            Batch batch;
+            while ((batch = parsed.take()) != END) {
+                inFlight.acquire();
+                try {
+                    batch.results = dispatcher.apply(batch.datagrams);
+                } catch (RuntimeException e) {
+                    batch.results = CompletableFuture.failedFuture(e);
+                }
+                batch.datagrams = null;   // Ya serializado: no retener el lote
+                dispatched.put(batch);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            dispatched.offer(END);
+        }
+    }
+
+    /**
+     * Etapa 3: siguiente lote enviado, en orden; null al terminar el archivo
+     * @throws IOException si falló la lectura
+     */
+    Batch next() throws IOException, InterruptedException {
+        if (finished) {
+            return null;
+        }
+        Batch batch = dispatched.take();
+        if (batch == END) {
+            finished = true;
+            Throwable error = failure.get();
+            if (error != null) {
+                throw error instanceof IOException ? (IOException) error
+                    : new IOException("Error leyendo " + filePath + ": " + error.getMessage(), error);
+            }
+            return null;
+        }
+        return batch;
+    }
+
+    /**
+     * Libera el lugar de un lote ya combinado
+     */
+    void release() {
+        inFlight.release();
+    }
+
+    /**
+     * true cuando la lectura terminó (getRowsRead() es el total definitivo)
+     */
+    boolean isReadComplete() {
+        return readComplete;
+    }
+
+    /**
+     * Filas leídas desde el offset (incluye las ya cubiertas por el checkpoint)
+     */
+    int getRowsRead() {
+        return Math.max(0, rowsRead.get() - offset);
+    }
+
+    int getOffset() {
+        return offset;
+    }
+
+    /**
+     * Filas estimadas del archivo, para el progreso antes de terminar la
+     * lectura: exacto en columnar, por largo medio de línea en CSV
+     */
+    static long estimateRows(String filePath) {
+        try {
+            if (ColumnarDatagramFile.isColumnar(filePath)) {
+                try (ColumnarDatagramReader reader = new ColumnarDatagramReader(filePath)) {
+                    return reader.getRowCount();
+                }
+            }
+            long size = Files.size(Paths.get(filePath));
+            byte[] sample = new byte[(int) Math.min(size, SAMPLE_BYTES)];
+            int read;
+            try (InputStream in = Files.newInputStream(Paths.get(filePath))) {
+                read = in.readNBytes(sample, 0, sample.length);
+            }
+            int lines = 0;
+            for (int i = 0; i < read; i++) {
+                if (sample[i] == '\n') {
+                    lines++;
+                }
+            }
+            return lines > 1 ? Math.max(0, size * lines / read - 1) : 0;
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    @Override
+    public void close() {
+        stages.shutdownNow();
+        try {
+            stages.awaitTermination(30, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package com.sitm.mio.service;
+
+import com.sitm.mio.master.ArcAggregateReducer;
+import SITM.MIO.VelocityResult;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+
+/**
+ * Job histórico enviado al HistoricalJobManager: parámetros, estado y progreso
+ *
+ * DataProcessingService lo actualiza lote a lote (started / batchDone) y
+ * revisa isCancelRequested() antes de cada lote. Los campos son volatile:
+ * los lee el hilo HTTP que consulta el progreso mientras el job corre.
+ */
+public class HistoricalJob {
+
+    public enum Status {
+        QUEUED,
+        RUNNING,
+        COMPLETED,
+        FAILED,
+        CANCELLED
+    }
+
+    private final String id;
+    private final String filePath;
+    private final String testLabel;
+    private final Integer batchSize;
+    private final Integer maxRecords;
+    private final long fromEpoch;
+    private final long toEpoch;
+    private final LocalDateTime submittedAt = LocalDateTime.now();
+    private final CompletableFuture<DataProcessingService.ProcessingResult> completion = new CompletableFuture<>();
+
+    private volatile Status status = Status.QUEUED;
+    private volatile LocalDateTime startedAt;
+    private volatile LocalDateTime finishedAt;
+    private volatile int totalRecords;
+    private volatile int totalBatches;
+    private volatile int processedRecords;
+    private volatile int batchesDone;
+    private volatile int resumedRecords;
+    private volatile long runStartNanos;
+    private volatile ArcAggregateReducer reducer;
+    private volatile boolean cancelRequested;
+    private volatile String error;
+    private volatile Future<?> future;
+
+    public HistoricalJob(String id, String filePath, String testLabel, Integer batchSize, Integer maxRecords,
+                         long fromEpoch, long toEpoch) {
+        this.id = id;
+        this.filePath = filePath;
+        this.testLabel = testLabel;
+        this.batchSize = batchSize;
+        this.maxRecords = maxRecords;
+        this.fromEpoch = fromEpoch;
+        this.toEpoch = toEpoch;
+    }
+
+    /**
+     * Llamado al empezar los lotes. resumedRecords son filas ya cubiertas por
+     * un checkpoint; el reduce parcial se expone en getPartialResults()
+     */
+    void started(int totalRecords, int totalBatches, int resumedRecords, int resumedBatches,
+                 ArcAggregateReducer reducer) {
+        this.totalRecords = totalRecords;
+        this.totalBatches = totalBatches;
+        this.resumedRecords = resumedRecords;
+        this.processedRecords = resumedRecords;
+        this.batchesDone = resumedBatches;
+        this.reducer = reducer;
+        this.runStartNanos = System.nanoTime();
+    }
+
+    /**
+     * Total real, al terminar la lectura (hasta entonces es una estimación)
+     */
+    void totalsKnown(int totalRecords, int totalBatches) {
+        this.totalRecords = totalRecords;
+        this.totalBatches = totalBatches;
+    }
+
+    void batchDone(int processedRecords, int batchesDone) {
+        this.processedRecords = processedRecords;
+        this.batchesDone = batchesDone;
+    }
+
+    void markRunning() {
+        status = Status.RUNNING;
+        startedAt = LocalDateTime.now();
+    }
+
+    void finish(Status status, DataProcessingService.ProcessingResult result, String error) {
+        this.status = status;
+        this.error = error;
+        this.finishedAt = LocalDateTime.now();
+        completion.complete(result);
+    }
+
+    void requestCancel() {
+        cancelRequested = true;
+    }
+
+    void setFuture(Future<?> future) {
+        this.future = future;
+    }
+
+    Future<?> getFuture() {
+        return future;
+    }
+
+    public boolean isCancelRequested() {
+        return cancelRequested;
+    }
+
+    public boolean isFinished() {
+        return completion.isDone();
+    }
+
+    /**
+     * Se completa con el resultado al terminar (también si falla o se cancela)
+     */
+    public CompletableFuture<DataProcessingService.ProcessingResult> getCompletion() {
+        return completion;
+    }
+
+    /**
+     * Datagramas por segundo de esta ejecución (sin contar lo reanudado)
+     */
+    public double getDatagramsPerSecond() {
+        long start = runStartNanos;
+        if (start == 0) {
+            return 0;
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        return seconds > 0 ? (processedRecords - resumedRecords) / seconds : 0;
+    }
+
+    /**
+     * Segundos estimados para terminar al ritmo actual, -1 si aún no se sabe
+     */
+    public long getEtaSeconds() {
+        if (status != Status.RUNNING) {
+            return status == Status.QUEUED ? -1 : 0;
+        }
+        double rate = getDatagramsPerSecond();
+        if (rate <= 0 || totalRecords == 0) {
+            return -1;
+        }
+        return Math.round((totalRecords - processedRecords) / rate);
+    }
+
+    /**
+     * Resultados combinados por arco de los lotes terminados hasta ahora
+     */
+    public VelocityResult[] getPartialResults() {
+        ArcAggregateReducer current = reducer;
+        return current != null ? current.toResults(0) : new VelocityResult[0];
+    }
+
+    public int getPartialArcCount() {
+        ArcAggregateReducer current = reducer;
+        return current != null ? current.getArcCount() : 0;
+    }
+
+    public String getId() { return id; }
+    public String getFilePath() { return filePath; }
+    public String getTestLabel() { return testLabel; }
+    public Integer getBatchSize() { return batchSize; }
+    public Integer getMaxRecords() { return maxRecords; }
+    public long getFromEpoch() { return fromEpoch; }
+    public long getToEpoch() { return toEpoch; }
+    public Status getStatus() { return status; }
+    public LocalDateTime getSubmittedAt() { return submittedAt; }
+    public LocalDateTime getStartedAt() { return startedAt; }
+    public LocalDateTime getFinishedAt() { return finishedAt; }
+    public int getTotalRecords() { return totalRecords; }
+    public int getTotalBatches() { return totalBatches; }
+    public int getProcessedRecords() { return processedRecords; }
+    public int getBatchesDone() { return batchesDone; }
+    public String getError() { return error; }
+}
@@ -0,0 +1,184 @@
+package com.sitm.mio.service;
+
+import com.sitm.mio.util.ConfigManager;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Cola de jobs históricos: submit() devuelve el job al instante y el
+ * procesamiento corre en un pool propio, no en el hilo HTTP.
+ *
+ * Configuración en cluster.properties (ConfigManager):
+ * - jobs.max.concurrent: jobs corriendo a la vez (el resto espera en cola)
+ * - jobs.queue.capacity: jobs en espera; con la cola llena submit() falla
+ * - jobs.retained: jobs terminados que se conservan para consultar
+ * - task.timeout.seconds: cuánto espera una petición HTTP que aguarda un job
+ *   (0 = processing.timeout.minutes); el job sigue corriendo aunque la
+ *   petición venza
+ *
+ * cancel() saca de la cola un job que no empezó; si ya corre, marca la
+ * cancelación (se revisa antes de cada lote) y pide al Master cortar las
+ * tareas en curso en los workers.
+ */
+@Service
+public class HistoricalJobManager {
+    
+    @Autowired
+    private DataProcessingService processingService;
+    
+    @Autowired
+    private IceMasterService masterService;
+    
+    private final int retainedJobs;
+    private final long requestTimeoutSeconds;
+    
+    private final Map<String, HistoricalJob> jobs = new ConcurrentHashMap<>();
+    private final ThreadPoolExecutor executor;
+    
+    public HistoricalJobManager() {
+        ConfigManager config = ConfigManager.getInstance();
+        int maxConcurrent = config.getInt("jobs.max.concurrent", 2);
+        int queueCapacity = config.getInt("jobs.queue.capacity", 16);
+        this.retainedJobs = config.getInt("jobs.retained", 50);
+        long taskTimeout = config.getLong("task.timeout.seconds", 0);
+        this.requestTimeoutSeconds = taskTimeout > 0 ? taskTimeout
+            : config.getLong("processing.timeout.minutes", 10) * 60;
+        AtomicInteger threadCount = new AtomicInteger();
+        int threads = Math.max(1, maxConcurrent);
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(Math.max(1, queueCapacity)), r -> {
+                Thread thread = new Thread(r, "historical-job-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+    }
+    
+    /**
+     * Encola un job y lo devuelve en estado QUEUED
+     * @throws IllegalStateException si la cola está llena
+     */
+    public HistoricalJob submit(String filePath, String testLabel, Integer batchSize, Integer maxRecords,
+                                long fromEpoch, long toEpoch) {
+        String id = "job-" + UUID.randomUUID().toString().substring(0, 8);
+        HistoricalJob job = new HistoricalJob(id, filePath, testLabel, batchSize, maxRecords, fromEpoch, toEpoch);
+        jobs.put(id, job);
+        try {
+            job.setFuture(executor.submit(() -> run(job)));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(id);
+            throw new IllegalStateException("Job queue is full (" + executor.getQueue().size() + " waiting)");
+        }
+        System.out.printf("📥 Job %s encolado: %s (%s)%n", id, filePath, testLabel);
+        evictFinished();
+        return job;
+    }
+    
+    private void run(HistoricalJob job) {
+        if (job.isCancelRequested()) {
+            job.finish(HistoricalJob.Status.CANCELLED, null, "Cancelled before start");
+            return;
+        }
+        job.markRunning();
+        System.out.printf("▶️ Job %s iniciado%n", job.getId());
+        try {
+            DataProcessingService.ProcessingResult result = processingService.processHistorical(
+                job.getFilePath(), job.getTestLabel(), job.getBatchSize(), job.getMaxRecords(), 0,
+                job.getFromEpoch(), job.getToEpoch(), job);
+            HistoricalJob.Status status = job.isCancelRequested() ? HistoricalJob.Status.CANCELLED
+                : result.isSuccess() ? HistoricalJob.Status.COMPLETED : HistoricalJob.Status.FAILED;
+            job.finish(status, result, result.getError());
+            System.out.printf("⏹️ Job %s terminado: %s%n", job.getId(), status);
+        } catch (Exception e) {
+            job.finish(HistoricalJob.Status.FAILED, null, e.getMessage());
+            System.err.printf("❌ Job %s falló: %s%n", job.getId(), e.getMessage());
+        }
+    }
+    
+    /**
+     * Espera máxima de una petición que aguarda un job (segundos, siempre finita)
+     */
+    public long getRequestTimeoutSeconds() {
+        return requestTimeoutSeconds;
+    }
+    
+    public HistoricalJob get(String id) {
+        return jobs.get(id);
+    }
+    
+    /**
+     * Jobs conocidos, el más reciente primero
+     */
+    public List<HistoricalJob> list() {
+        List<HistoricalJob> all = new ArrayList<>(jobs.values());
+        all.sort(Comparator.comparing(HistoricalJob::getSubmittedAt).reversed());
+        return all;
+    }
+    
+    /**
+     * Cancela un job; false si no existe o ya terminó
+     */
+    public boolean cancel(String id) {
+        HistoricalJob job = jobs.get(id);
+        if (job == null || job.isFinished()) {
+            return false;
+        }
+        job.requestCancel();
+        
+        Future<?> future = job.getFuture();
+        if (job.getStatus() == HistoricalJob.Status.QUEUED && future != null && future.cancel(false)) {
+            executor.remove((Runnable) future);
+            job.finish(HistoricalJob.Status.CANCELLED, null, "Cancelled before start");
+            System.out.printf("🚫 Job %s cancelado en cola%n", id);
+            return true;
+        }
+        
+        // En curso: el lote actual se corta en los workers; el ciclo de lotes ve la marca
+        if (masterService.isRunning()) {
+            try {
+                int batches = masterService.getMasterProxy().cancelJob(id);
+                System.out.printf("🚫 Job %s cancelado (%d lotes en curso interrumpidos)%n", id, batches);
+            } catch (Exception e) {
+                System.err.printf("⚠️ No se pudo avisar la cancelación al Master: %s%n", e.getMessage());
+            }
+        }
+        return true;
+    }
+    
+    /**
+     * Descarta los jobs terminados más antiguos por encima de jobs.retained
+     */
+    private void evictFinished() {
+        List<HistoricalJob> finished = new ArrayList<>();
+        for (HistoricalJob job : jobs.values()) {
+            if (job.isFinished()) {
+                finished.add(job);
+            }
+        }
+        if (finished.size() <= retainedJobs) {
+            return;
+        }
+        finished.sort(Comparator.comparing(HistoricalJob::getFinishedAt));
+        for (int i = 0; i < finished.size() - retainedJobs; i++) {
+            jobs.remove(finished.get(i).getId());
+        }
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -146,8 +146,15 @@ public class StreamingService {
             .velocityMs(record.getVelocityMs())
             .velocityKmh(record.getVelocityKmh())
             .sampleCount(record.getSampleCount())
+            .velocityP50Kmh(toKmh(record.getVelocityP50Ms()))
+            .velocityP85Kmh(toKmh(record.getVelocityP85Ms()))
+            .velocityP95Kmh(toKmh(record.getVelocityP95Ms()))
             .testLabel(record.getTestLabel())
             .timestamp(record.getTimestamp())
             .build();
     }
+    
+    private static Double toKmh(Double velocityMs) {
+        return velocityMs != null ? velocityMs * 3.6 : null;
+    }
 }
@@ -4,10 +4,13 @@ import com.sitm.mio.entity.CutoffAnalysis;
 import com.sitm.mio.entity.PerformanceMetric;
 import com.sitm.mio.entity.SummaryStats;
 import com.sitm.mio.entity.VelocityRecord;
+import com.sitm.mio.persistence.DBConnection;
+import com.sitm.mio.persistence.VelocityDao;
 import com.sitm.mio.repository.CutoffAnalysisRepository;
 import com.sitm.mio.repository.PerformanceMetricRepository;
 import com.sitm.mio.repository.SummaryStatsRepository;
 import com.sitm.mio.repository.VelocityRecordRepository;
+import com.sitm.mio.util.QuantileSketch;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -51,6 +54,9 @@ public class VelocityDatabaseManager {
         for (VelocityResult result : results) {
             if (result.sampleCount > 0 && result.averageVelocity > 0) {
                 String lineId = extractLineId(result.arcId);
+                // Percentiles del sketch que llega con el resultado (null si no trae)
+                QuantileSketch sketch = result.sketchMeans != null && result.sketchMeans.length > 0
+                    ? QuantileSketch.of(result.sketchMeans, result.sketchWeights, Double.NaN, Double.NaN) : null;
                 
                 VelocityRecord record = VelocityRecord.builder()
                     .arcId(result.arcId)
@@ -58,6 +64,10 @@ public class VelocityDatabaseManager {
                     .velocityMs(result.averageVelocity)
                     .velocityKmh(result.averageVelocity * 3.6)
                     .sampleCount(result.sampleCount)
+                    .velocityP50Ms(sketch != null ? sketch.quantile(0.50) : null)
+                    .velocityP85Ms(sketch != null ? sketch.quantile(0.85) : null)
+                    .velocityP95Ms(sketch != null ? sketch.quantile(0.95) : null)
+                    .speedSketch(sketch != null ? sketch.encode() : null)
                     .testLabel(testLabel)
                     .datagramCount(datagramCount)
                     .processingTimeMs(processingTime)
@@ -73,6 +83,35 @@ public class VelocityDatabaseManager {
         System.out.printf("✅ Guardados %,d resultados en la base de datos%n", savedCount);
     }
     
+    /**
+     * Suma los resultados combinados de un job a velocity_by_arc (JDBC, mes
+     * actual, una transacción). Best-effort, como el resto de la persistencia
+     * JDBC: sin DB o con error solo se avisa
+     */
+    public void saveArcRollup(VelocityResult[] results) {
+        if (!DBConnection.isAvailable()) {
+            return;
+        }
+        try {
+            String yearMonth = VelocityDao.currentYearMonth();
+            List<VelocityDao.ArcRollup> rows = new ArrayList<>();
+            for (VelocityResult result : results) {
+                if (result.sampleCount <= 0) {
+                    continue;
+                }
+                QuantileSketch sketch = result.sketchMeans != null && result.sketchMeans.length > 0
+                    ? QuantileSketch.of(result.sketchMeans, result.sketchWeights, Double.NaN, Double.NaN) : null;
+                rows.add(new VelocityDao.ArcRollup(extractLineId(result.arcId), result.arcId,
+                    result.averageVelocity, result.sampleCount, sketch));
+            }
+            new VelocityDao().upsertAll(yearMonth, rows);
+            System.out.printf("✅ velocity_by_arc: %,d arcos actualizados (%s)%n", rows.size(), yearMonth);
+        } catch (Exception e) {
+            // La transacción se revirtió entera: el job no quedó sumado a medias
+            System.err.println("⚠️ velocity_by_arc no actualizado: " + e.getMessage());
+        }
+    }
+    
     /**
      * Guarda métricas de performance
      */
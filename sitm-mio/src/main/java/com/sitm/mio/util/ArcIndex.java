@@ -0,0 +1,94 @@
+package com.sitm.mio.util;
+
+import SITM.MIO.Arc;
+
+/**
+ * Índice (línea, parada origen, parada destino) -> arco de la topología
+ *
+ * Se arma una vez por versión de topología a partir del Arc[] de
+ * CSVDataLoader.buildArcs; el índice de un arco es su posición en ese
+ * arreglo (denso, 0..size-1), así los acumuladores pueden ser arreglos
+ * indexados por él y el arcId (ARC_<línea>_<IDA|VTA>_<sec>_<sec>) se toma
+ * del arco ya armado, sin formatear texto por par de datagramas.
+ *
+ * Direccionamiento abierto sobre el hash de los tres ids: buscar no crea
+ * strings. Si dos arcos comparten la terna (p. ej. el mismo tramo en dos
+ * variantes de la línea), gana el primero. Inmutable, se puede compartir
+ * entre hilos.
+ */
+public final class ArcIndex {
+    public static final ArcIndex EMPTY = new ArcIndex(new Arc[0]);
+
+    private final Arc[] arcs;
+    private final int[] hashes;
+    private final int[] slots;      // índice del arco + 1, 0 = vacío
+    private final int mask;
+
+    public ArcIndex(Arc[] arcs) {
+        this.arcs = arcs;
+        this.hashes = new int[arcs.length];
+        int capacity = Integer.highestOneBit(Math.max(4, arcs.length) * 2 - 1) << 1;
+        this.slots = new int[capacity];
+        this.mask = capacity - 1;
+
+        for (int i = 0; i < arcs.length; i++) {
+            Arc arc = arcs[i];
+            int hash = hash(arc.lineId, arc.startStopId, arc.endStopId);
+            hashes[i] = hash;
+            int slot = hash & mask;
+            boolean duplicate = false;
+            while (slots[slot] != 0) {
+                Arc other = arcs[slots[slot] - 1];
+                if (hashes[slots[slot] - 1] == hash && matches(other, arc.lineId, arc.startStopId, arc.endStopId)) {
+                    duplicate = true;
+                    break;
+                }
+                slot = (slot + 1) & mask;
+            }
+            if (!duplicate) {
+                slots[slot] = i + 1;
+            }
+        }
+    }
+
+    /**
+     * Índice del arco lineId: fromStopId -> toStopId, o -1 si no está en la topología
+     */
+    public int indexOf(String lineId, String fromStopId, String toStopId) {
+        int hash = hash(lineId, fromStopId, toStopId);
+        int slot = hash & mask;
+        int entry;
+        while ((entry = slots[slot] - 1) >= 0) {
+            if (hashes[entry] == hash && matches(arcs[entry], lineId, fromStopId, toStopId)) {
+                return entry;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    public String arcId(int index) {
+        return arcs[index].arcId;
+    }
+
+    public Arc arc(int index) {
+        return arcs[index];
+    }
+
+    /**
+     * Arcos de la topología (los índices van de 0 a size() - 1)
+     */
+    public int size() {
+        return arcs.length;
+    }
+
+    private static boolean matches(Arc arc, String lineId, String fromStopId, String toStopId) {
+        return arc.startStopId.equals(fromStopId) && arc.endStopId.equals(toStopId) && arc.lineId.equals(lineId);
+    }
+
+    private static int hash(String lineId, String fromStopId, String toStopId) {
+        int h = (lineId.hashCode() * 31 + fromStopId.hashCode()) * 31 + toStopId.hashCode();
+        h *= 0x9e3779b9;
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,297 @@
+package com.sitm.mio.util;
+
+import java.util.Arrays;
+
+import SITM.MIO.ArcAggregate;
+
+/**
+ * Tabla de acumuladores por arco: count, sum, sum of squares, min, max y un
+ * QuantileSketch (mediana, p85, p95)
+ *
+ * Reemplaza Map<String, List<Double>>: la memoria por arco es acotada sin
+ * importar cuántas muestras tenga, y de la misma tabla salen el promedio,
+ * la varianza, los percentiles, el payload al Master y las escrituras a la DB.
+ *
+ * Índice hash por arcId con direccionamiento abierto; las entradas viven en
+ * arreglos primitivos densos (en orden de inserción), así el índice de una
+ * entrada no cambia cuando la tabla crece. No es thread-safe.
+ */
+public class ArcStatsTable {
+    private int[] slots;        // entrada + 1, 0 = vacío
+    private int mask;
+
+    private int size;
+    private String[] arcIds;
+    private int[] hashes;
+    private long[] counts;
+    private double[] sums;
+    private double[] sumSquares;
+    private double[] mins;
+    private double[] maxs;
+    private QuantileSketch[] sketches;   // null hasta la primera muestra del arco
+
+    public ArcStatsTable() {
+        this(64);
+    }
+
+    public ArcStatsTable(int expectedArcs) {
+        int capacity = Math.max(16, Integer.highestOneBit(Math.max(1, expectedArcs) - 1) << 1);
+        this.slots = new int[capacity * 2];
+        this.mask = slots.length - 1;
+        this.arcIds = new String[capacity];
+        this.hashes = new int[capacity];
+        this.counts = new long[capacity];
+        this.sums = new double[capacity];
+        this.sumSquares = new double[capacity];
+        this.mins = new double[capacity];
+        this.maxs = new double[capacity];
+        this.sketches = new QuantileSketch[capacity];
+    }
+
+    /**
+     * Índice de la entrada del arco (la crea vacía si no existe)
+     */
+    public int entryFor(String arcId) {
+        int hash = spread(arcId.hashCode());
+        int slot = hash & mask;
+        int entry;
+        while ((entry = slots[slot] - 1) >= 0) {
+            if (hashes[entry] == hash && arcIds[entry].equals(arcId)) {
+                return entry;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        if (size == arcIds.length) {
+            growEntries();
+        }
+        entry = size++;
+        arcIds[entry] = arcId;
+        hashes[entry] = hash;
+        mins[entry] = Double.POSITIVE_INFINITY;
+        maxs[entry] = Double.NEGATIVE_INFINITY;
+        slots[slot] = entry + 1;
+        if (size * 2 > slots.length) {
+            growSlots();
+        }
+        return entry;
+    }
+
+    /**
+     * Índice de la entrada del arco, o -1 si no existe
+     */
+    public int indexOf(String arcId) {
+        int hash = spread(arcId.hashCode());
+        int slot = hash & mask;
+        int entry;
+        while ((entry = slots[slot] - 1) >= 0) {
+            if (hashes[entry] == hash && arcIds[entry].equals(arcId)) {
+                return entry;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    public void add(String arcId, double value) {
+        add(entryFor(arcId), value);
+    }
+
+    public void add(int entry, double value) {
+        counts[entry]++;
+        sums[entry] += value;
+        sumSquares[entry] += value * value;
+        if (value < mins[entry]) {
+            mins[entry] = value;
+        }
+        if (value > maxs[entry]) {
+            maxs[entry] = value;
+        }
+        sketchFor(entry).add(value);
+    }
+
+    /**
+     * Suma un acumulador parcial (de otro worker o tarea) a la entrada
+     */
+    public void merge(int entry, long count, double sum, double sumSquare, double min, double max) {
+        if (count <= 0) {
+            return;
+        }
+        counts[entry] += count;
+        sums[entry] += sum;
+        sumSquares[entry] += sumSquare;
+        mins[entry] = Math.min(mins[entry], min);
+        maxs[entry] = Math.max(maxs[entry], max);
+    }
+
+    /**
+     * Igual, sumando además los centroides del sketch del acumulador parcial
+     */
+    public void merge(int entry, long count, double sum, double sumSquare, double min, double max,
+                      double[] sketchMeans, long[] sketchWeights) {
+        merge(entry, count, sum, sumSquare, min, max);
+        if (count > 0 && sketchMeans != null && sketchMeans.length > 0) {
+            sketchFor(entry).merge(sketchMeans, sketchWeights, min, max);
+        }
+    }
+
+    public void mergeAll(ArcStatsTable other) {
+        for (int i = 0; i < other.size; i++) {
+            int entry = entryFor(other.arcIds[i]);
+            merge(entry, other.counts[i], other.sums[i],
+                other.sumSquares[i], other.mins[i], other.maxs[i]);
+            if (other.sketches[i] != null) {
+                sketchFor(entry).merge(other.sketches[i]);
+            }
+        }
+    }
+
+    /**
+     * Suma los acumuladores recibidos de un worker
+     */
+    public void mergeAll(ArcAggregate[] aggregates) {
+        for (ArcAggregate aggregate : aggregates) {
+            merge(entryFor(aggregate.arcId), aggregate.count, aggregate.sum,
+                aggregate.sumSquares, aggregate.min, aggregate.max,
+                aggregate.sketchMeans, aggregate.sketchWeights);
+        }
+    }
+
+    /**
+     * Entradas con muestras como ArcAggregate (payload Worker -> Master)
+     */
+    public ArcAggregate[] toAggregates() {
+        int nonEmpty = 0;
+        for (int i = 0; i < size; i++) {
+            if (counts[i] > 0) {
+                nonEmpty++;
+            }
+        }
+        ArcAggregate[] aggregates = new ArcAggregate[nonEmpty];
+        int k = 0;
+        for (int i = 0; i < size; i++) {
+            if (counts[i] > 0) {
+                QuantileSketch sketch = sketches[i];
+                aggregates[k++] = new ArcAggregate(arcIds[i], counts[i], sums[i], sumSquares[i], mins[i], maxs[i],
+                    sketch != null ? sketch.centroidMeans() : new double[0],
+                    sketch != null ? sketch.centroidWeights() : new long[0]);
+            }
+        }
+        return aggregates;
+    }
+
+    // ========== Lectura ==========
+
+    public int size() {
+        return size;
+    }
+
+    public String arcId(int entry) {
+        return arcIds[entry];
+    }
+
+    public long count(int entry) {
+        return counts[entry];
+    }
+
+    public double sum(int entry) {
+        return sums[entry];
+    }
+
+    public double sumSquares(int entry) {
+        return sumSquares[entry];
+    }
+
+    public double min(int entry) {
+        return mins[entry];
+    }
+
+    public double max(int entry) {
+        return maxs[entry];
+    }
+
+    public double mean(int entry) {
+        return counts[entry] > 0 ? sums[entry] / counts[entry] : 0.0;
+    }
+
+    /**
+     * Sketch de cuantiles del arco, null si no tiene (p. ej. solo se le
+     * sumaron promedios sin sketch)
+     */
+    public QuantileSketch sketch(int entry) {
+        return sketches[entry];
+    }
+
+    /**
+     * Cuantil q (0..1) de las muestras del arco, NaN si no tiene sketch
+     */
+    public double quantile(int entry, double q) {
+        return sketches[entry] != null ? sketches[entry].quantile(q) : Double.NaN;
+    }
+
+    /**
+     * Varianza poblacional de las muestras del arco
+     */
+    public double variance(int entry) {
+        if (counts[entry] == 0) {
+            return 0.0;
+        }
+        double mean = sums[entry] / counts[entry];
+        return Math.max(0.0, sumSquares[entry] / counts[entry] - mean * mean);
+    }
+
+    public long totalCount() {
+        long total = 0;
+        for (int i = 0; i < size; i++) {
+            total += counts[i];
+        }
+        return total;
+    }
+
+    public double totalSum() {
+        double total = 0.0;
+        for (int i = 0; i < size; i++) {
+            total += sums[i];
+        }
+        return total;
+    }
+
+    // ========== Crecimiento ==========
+
+    private void growEntries() {
+        int capacity = arcIds.length * 2;
+        arcIds = Arrays.copyOf(arcIds, capacity);
+        hashes = Arrays.copyOf(hashes, capacity);
+        counts = Arrays.copyOf(counts, capacity);
+        sums = Arrays.copyOf(sums, capacity);
+        sumSquares = Arrays.copyOf(sumSquares, capacity);
+        mins = Arrays.copyOf(mins, capacity);
+        maxs = Arrays.copyOf(maxs, capacity);
+        sketches = Arrays.copyOf(sketches, capacity);
+    }
+
+    private QuantileSketch sketchFor(int entry) {
+        QuantileSketch sketch = sketches[entry];
+        if (sketch == null) {
+            sketch = new QuantileSketch();
+            sketches[entry] = sketch;
+        }
+        return sketch;
+    }
+
+    private void growSlots() {
+        slots = new int[slots.length * 2];
+        mask = slots.length - 1;
+        for (int entry = 0; entry < size; entry++) {
+            int slot = hashes[entry] & mask;
+            while (slots[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            slots[slot] = entry + 1;
+        }
+    }
+
+    private static int spread(int h) {
+        return h ^ (h >>> 16);
+    }
+}
@@ -9,6 +9,7 @@ import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeSet;
 
 import SITM.MIO.Arc;
 import SITM.MIO.BusDatagram;
@@ -27,17 +28,9 @@ public class CSVDataLoader {
         List<BusDatagram> datagrams = new ArrayList<>();
         int count = 0;
         
-        try (BufferedReader br = Files.newBufferedReader(Paths.get(filePath))) {
-            String line;
-            boolean firstLine = true;
-            
-            while ((line = br.readLine()) != null && count < limit) {
-                if (firstLine) {
-                    firstLine = false;
-                    continue;
-                }
-                
-                BusDatagram dgram = parseDatagram(line);
+        try (DatagramCsvParser parser = DatagramCsvParser.open(filePath, true)) {
+            while (count < limit && parser.advance()) {
+                BusDatagram dgram = parseDatagram(parser);
                 if (dgram != null) {
                     datagrams.add(dgram);
                     count++;
@@ -70,22 +63,13 @@ public class CSVDataLoader {
      * 10: datagramDate ("2019-05-27 20:14:43")
      * 11: busId
      */
-    private static BusDatagram parseDatagram(String line) {
+    private static BusDatagram parseDatagram(DatagramCsvParser parser) {
         try {
-            line = line.replace("\"", "");
-            String[] parts = line.split(",");
-            if (parts.length < 12) return null;
+            BusDatagram dgram = parser.parseLine();
+            if (dgram == null) return null;
             
-            BusDatagram dgram = new BusDatagram();
-            dgram.eventType = Integer.parseInt(parts[0].trim());
-            dgram.stopId = parts[2].trim();
-            dgram.odometer = parseDouble(parts[3].trim());
-            dgram.latitude = parseDouble(parts[4].trim()) / 10000000.0;
-            dgram.longitude = parseDouble(parts[5].trim()) / 10000000.0;
-            dgram.lineId = parts[7].trim();
-            dgram.tripId = parts[8].trim();
-            dgram.datagramDate = parts[10].trim();
-            dgram.busId = parts[11].trim();
+            // eventType es obligatorio (odómetro / coordenadas inválidos quedan en 0)
+            if (parser.isMalformed(DatagramCsvParser.COL_EVENT_TYPE)) return null;
             
             // Validar coordenadas de Cali
             if (dgram.latitude < 3.0 || dgram.latitude > 4.0 ||
@@ -99,14 +83,6 @@ public class CSVDataLoader {
         }
     }
 
-    private static double parseDouble(String value) {
-        try {
-            return Double.parseDouble(value.trim());
-        } catch (NumberFormatException e) {
-            return 0.0;
-        }
-    }
-
     /**
      * Cargar paradas
      * Formato: LONGNAME,GPS_X,GPS_Y,STOPID,PLANVERSIONID,SHORTNAME,DECIMALLONG,DECIMALLAT
@@ -289,6 +265,50 @@ public class CSVDataLoader {
         return arcs.toArray(new Arc[0]);
     }
 
+    /**
+     * PLANVERSIONID(s) de linestops.csv (columna 5), ordenados y unidos con "+"
+     */
+    public static String loadPlanVersion(String filePath) {
+        TreeSet<String> versions = new TreeSet<>();
+        try (BufferedReader br = Files.newBufferedReader(Paths.get(filePath))) {
+            String line = br.readLine(); // header
+            while ((line = br.readLine()) != null) {
+                String[] parts = line.replaceAll("\"", "").split(",");
+                if (parts.length > 5 && !parts[5].trim().isEmpty()) {
+                    versions.add(parts[5].trim());
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Error leyendo PLANVERSIONID: " + e.getMessage());
+        }
+        return versions.isEmpty() ? "0" : String.join("+", versions);
+    }
+
+    /**
+     * Versión de la topología: PLANVERSIONID + hash FNV-1a de 64 bits de
+     * arcos y paradas. Cambia si cambia cualquier campo, aunque el plan no.
+     */
+    public static String topologyVersion(String planVersion, Arc[] arcs, Stop[] stops) {
+        long hash = 0xcbf29ce484222325L;
+        for (Arc arc : arcs) {
+            hash = fnv(hash, arc.arcId + "," + arc.lineId + "," + arc.startStopId + "," + arc.endStopId
+                + "," + arc.orderIndex + "," + Double.doubleToLongBits(arc.distance) + ";");
+        }
+        for (Stop stop : stops) {
+            hash = fnv(hash, stop.stopId + "," + Double.doubleToLongBits(stop.longitude) + ","
+                + Double.doubleToLongBits(stop.latitude) + "," + stop.shortName + "," + stop.longName + ";");
+        }
+        return planVersion + "-" + Long.toHexString(hash);
+    }
+
+    private static long fnv(long hash, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
     private static Stop findStop(Stop[] stops, String stopId) {
         for (Stop stop : stops) {
             if (stop.stopId.equals(stopId)) {
@@ -0,0 +1,285 @@
+package com.sitm.mio.util;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import SITM.MIO.BusDatagram;
+
+/**
+ * Formato columnar binario para datagramas (.mioc)
+ *
+ * Se genera una sola vez desde el CSV con convert() y luego se lee con
+ * ColumnarDatagramReader por memory-mapping, sin volver a parsear texto.
+ *
+ * Estructura (little-endian):
+ * - Header (64 bytes): magic, versión, filas por bloque, nº de bloques,
+ *   nº de filas, offset del footer, epoch mínimo y máximo del archivo
+ * - Bloques de hasta BLOCK_ROWS filas, una columna detrás de otra:
+ *   odometer (double), epochSeconds, lineIdx, busIdx, stopIdx, tripIdx,
+ *   latitudeE7, longitudeE7, eventType (int)
+ * - Footer: diccionarios de líneas, buses, paradas y viajes, e índice de
+ *   bloques (offset, filas, epoch mínimo y máximo) para saltar bloques
+ *   fuera de un rango de tiempo
+ *
+ * Las filas se guardan con las reglas de StreamingDatagramReader.loadFromCSV
+ * (se descartan solo líneas incompletas o con números mal formados). Una
+ * fecha inválida se guarda como epoch 0.
+ */
+public final class ColumnarDatagramFile {
+
+    public static final int MAGIC = 0x434F494D; // "MIOC"
+    public static final int VERSION = 1;
+    public static final int HEADER_SIZE = 64;
+    public static final int BLOCK_ROWS = 65536;
+
+    /** Bytes por fila: 1 double + 8 int */
+    public static final int ROW_BYTES = 8 + 8 * 4;
+    static final int BLOCK_INDEX_ENTRY = 8 + 4 + 4 + 4;
+
+    static final int DICT_LINE = 0;
+    static final int DICT_BUS = 1;
+    static final int DICT_STOP = 2;
+    static final int DICT_TRIP = 3;
+    static final int DICT_COUNT = 4;
+
+    private ColumnarDatagramFile() {
+    }
+
+    /**
+     * true si el archivo empieza con el magic del formato columnar
+     */
+    public static boolean isColumnar(String filePath) {
+        try (FileChannel channel = FileChannel.open(Paths.get(filePath), StandardOpenOption.READ)) {
+            ByteBuffer magic = ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN);
+            while (magic.hasRemaining()) {
+                if (channel.read(magic) < 0) {
+                    return false;
+                }
+            }
+            return magic.getInt(0) == MAGIC;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Filtra por rango de tiempo (inclusivo) un lote leído de CSV, que no
+     * tiene índice de bloques. Devuelve el mismo arreglo si no hay que quitar nada.
+     */
+    public static BusDatagram[] filterTime(BusDatagram[] datagrams, long fromEpoch, long toEpoch) {
+        int kept = 0;
+        BusDatagram[] out = null;
+        for (int i = 0; i < datagrams.length; i++) {
+            BusDatagram dgram = datagrams[i];
+            boolean inRange = dgram.epochSeconds >= fromEpoch && dgram.epochSeconds <= toEpoch;
+            if (!inRange && out == null) {
+                out = datagrams.clone();
+                kept = i;
+            } else if (inRange && out != null) {
+                out[kept++] = dgram;
+            }
+        }
+        return out == null ? datagrams : Arrays.copyOf(out, kept);
+    }
+
+    /**
+     * Convierte un CSV de datagramas al formato columnar
+     * @param readerThreads Hilos de parseo del CSV (ParallelDatagramReader)
+     * @return Número de filas escritas
+     */
+    public static long convert(String csvPath, String outputPath, int readerThreads) throws IOException {
+        long start = System.currentTimeMillis();
+        System.out.println("🔄 Convirtiendo " + csvPath + " -> " + outputPath);
+
+        try (ParallelDatagramReader reader = new ParallelDatagramReader(
+                csvPath, readerThreads, BLOCK_ROWS, true, false);
+             Writer writer = new Writer(Paths.get(outputPath))) {
+            BusDatagram[] batch;
+            while ((batch = reader.readNextBatch()) != null) {
+                for (BusDatagram dgram : batch) {
+                    writer.append(dgram);
+                }
+            }
+            writer.finish();
+
+            long elapsed = System.currentTimeMillis() - start;
+            long csvBytes = Files.size(Paths.get(csvPath));
+            long outBytes = Files.size(Paths.get(outputPath));
+            System.out.printf("✅ Conversión completada: %,d filas, %,d bloques, %.1f MB -> %.1f MB en %,d ms%n",
+                writer.rowCount, writer.blockOffsets.size(),
+                csvBytes / 1024.0 / 1024.0, outBytes / 1024.0 / 1024.0, elapsed);
+            return writer.rowCount;
+        }
+    }
+
+    /**
+     * Escritor por bloques: acumula BLOCK_ROWS filas en columnas y las vuelca
+     */
+    private static final class Writer implements AutoCloseable {
+        private final FileChannel channel;
+        private final ByteBuffer out = ByteBuffer.allocateDirect(BLOCK_ROWS * ROW_BYTES)
+            .order(ByteOrder.LITTLE_ENDIAN);
+
+        private final List<Map<String, Integer>> dictIndex = new ArrayList<>(DICT_COUNT);
+        private final List<List<String>> dictValues = new ArrayList<>(DICT_COUNT);
+
+        private final double[] odometer = new double[BLOCK_ROWS];
+        private final int[][] ints = new int[8][BLOCK_ROWS];
+        private int rows;
+
+        private final List<Long> blockOffsets = new ArrayList<>();
+        private final List<int[]> blockMeta = new ArrayList<>();
+        private long rowCount;
+        private long minEpoch = Long.MAX_VALUE;
+        private long maxEpoch = Long.MIN_VALUE;
+
+        Writer(Path path) throws IOException {
+            this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+            for (int i = 0; i < DICT_COUNT; i++) {
+                dictIndex.add(new HashMap<>());
+                dictValues.add(new ArrayList<>());
+            }
+            channel.position(HEADER_SIZE);
+        }
+
+        void append(BusDatagram dgram) throws IOException {
+            long epoch = dgram.epochSeconds;
+            odometer[rows] = dgram.odometer;
+            ints[0][rows] = epoch > 0 && epoch <= Integer.MAX_VALUE ? (int) epoch : 0;
+            ints[1][rows] = encode(DICT_LINE, dgram.lineId);
+            ints[2][rows] = encode(DICT_BUS, dgram.busId);
+            ints[3][rows] = encode(DICT_STOP, dgram.stopId);
+            ints[4][rows] = encode(DICT_TRIP, dgram.tripId);
+            ints[5][rows] = toFixed(dgram.latitude);
+            ints[6][rows] = toFixed(dgram.longitude);
+            ints[7][rows] = dgram.eventType;
+            if (++rows == BLOCK_ROWS) {
+                flushBlock();
+            }
+        }
+
+        private int encode(int dict, String value) {
+            String key = value != null ? value : "";
+            Map<String, Integer> index = dictIndex.get(dict);
+            Integer idx = index.get(key);
+            if (idx == null) {
+                List<String> values = dictValues.get(dict);
+                idx = values.size();
+                index.put(key, idx);
+                values.add(key);
+            }
+            return idx;
+        }
+
+        private static int toFixed(double degrees) {
+            long fixed = Math.round(degrees * DatagramCsvParser.COORD_SCALE);
+            return (int) Math.max(Integer.MIN_VALUE, Math.min(Integer.MAX_VALUE, fixed));
+        }
+
+        private void flushBlock() throws IOException {
+            if (rows == 0) {
+                return;
+            }
+            int blockMin = 0;
+            int blockMax = 0;
+            for (int i = 0; i < rows; i++) {
+                int epoch = ints[0][i];
+                if (epoch != 0) {
+                    blockMin = blockMin == 0 ? epoch : Math.min(blockMin, epoch);
+                    blockMax = Math.max(blockMax, epoch);
+                }
+            }
+            if (blockMin != 0) {
+                minEpoch = Math.min(minEpoch, blockMin);
+                maxEpoch = Math.max(maxEpoch, blockMax);
+            }
+
+            out.clear();
+            for (int i = 0; i < rows; i++) {
+                out.putDouble(odometer[i]);
+            }
+            for (int[] column : ints) {
+                for (int i = 0; i < rows; i++) {
+                    out.putInt(column[i]);
+                }
+            }
+            out.flip();
+
+            blockOffsets.add(channel.position());
+            blockMeta.add(new int[]{rows, blockMin, blockMax});
+            while (out.hasRemaining()) {
+                channel.write(out);
+            }
+            rowCount += rows;
+            rows = 0;
+        }
+
+        void finish() throws IOException {
+            flushBlock();
+            long footerOffset = channel.position();
+
+            int footerSize = blockOffsets.size() * BLOCK_INDEX_ENTRY;
+            List<byte[]> encoded = new ArrayList<>();
+            for (List<String> values : dictValues) {
+                footerSize += 4;
+                for (String value : values) {
+                    byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+                    encoded.add(bytes);
+                    footerSize += 4 + bytes.length;
+                }
+            }
+
+            ByteBuffer footer = ByteBuffer.allocate(footerSize).order(ByteOrder.LITTLE_ENDIAN);
+            int e = 0;
+            for (List<String> values : dictValues) {
+                footer.putInt(values.size());
+                for (int i = 0; i < values.size(); i++) {
+                    byte[] bytes = encoded.get(e++);
+                    footer.putInt(bytes.length);
+                    footer.put(bytes);
+                }
+            }
+            for (int b = 0; b < blockOffsets.size(); b++) {
+                int[] meta = blockMeta.get(b);
+                footer.putLong(blockOffsets.get(b));
+                footer.putInt(meta[0]);
+                footer.putInt(meta[1]);
+                footer.putInt(meta[2]);
+            }
+            footer.flip();
+            while (footer.hasRemaining()) {
+                channel.write(footer);
+            }
+
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            header.putInt(MAGIC);
+            header.putInt(VERSION);
+            header.putInt(BLOCK_ROWS);
+            header.putInt(blockOffsets.size());
+            header.putLong(rowCount);
+            header.putLong(footerOffset);
+            header.putLong(minEpoch == Long.MAX_VALUE ? 0 : minEpoch);
+            header.putLong(maxEpoch == Long.MIN_VALUE ? 0 : maxEpoch);
+            header.clear();
+            channel.write(header, 0);
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,293 @@
+package com.sitm.mio.util;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import SITM.MIO.BusDatagram;
+
+/**
+ * Lector del formato columnar (ver ColumnarDatagramFile) por memory-mapping
+ *
+ * Cada bloque se mapea READ_ONLY y sus columnas se copian con lecturas en
+ * bloque; los bloques cuyo rango [minEpoch, maxEpoch] no toca el rango de
+ * tiempo pedido no se leen.
+ */
+public class ColumnarDatagramReader implements DatagramBatchSource {
+    private final FileChannel channel;
+    private final int batchSize;
+    private final long fromEpoch;
+    private final long toEpoch;
+    private final boolean strict;
+
+    private final int blockCount;
+    private final long rowCount;
+    private final long minEpoch;
+    private final long maxEpoch;
+    private final String[][] dictionaries = new String[ColumnarDatagramFile.DICT_COUNT][];
+    private final long[] blockOffsets;
+    private final int[] blockRows;
+    private final int[] blockMinEpoch;
+    private final int[] blockMaxEpoch;
+
+    private int nextBlock = 0;
+    private DatagramColumns current;
+    private int currentRow;
+    private long totalRead = 0;
+    private int skippedBlocks = 0;
+
+    public ColumnarDatagramReader(String filePath) throws IOException {
+        this(filePath, ColumnarDatagramFile.BLOCK_ROWS, Long.MIN_VALUE, Long.MAX_VALUE, false);
+    }
+
+    /**
+     * @param fromEpoch Inicio del rango de tiempo (segundos, inclusivo)
+     * @param toEpoch Fin del rango de tiempo (segundos, inclusivo)
+     * @param strict true para aplicar las mismas reglas de StreamingDatagramReader
+     */
+    public ColumnarDatagramReader(String filePath, int batchSize, long fromEpoch, long toEpoch,
+                                  boolean strict) throws IOException {
+        this.channel = FileChannel.open(Paths.get(filePath), StandardOpenOption.READ);
+        this.batchSize = batchSize;
+        this.fromEpoch = fromEpoch;
+        this.toEpoch = toEpoch;
+        this.strict = strict;
+
+        try {
+            MappedByteBuffer header = map(0, ColumnarDatagramFile.HEADER_SIZE);
+            if (header.getInt() != ColumnarDatagramFile.MAGIC
+                    || header.getInt() != ColumnarDatagramFile.VERSION) {
+                throw new IOException("Formato columnar no reconocido: " + filePath);
+            }
+            header.getInt(); // filas por bloque
+            this.blockCount = header.getInt();
+            this.rowCount = header.getLong();
+            long footerOffset = header.getLong();
+            this.minEpoch = header.getLong();
+            this.maxEpoch = header.getLong();
+
+            MappedByteBuffer footer = map(footerOffset, channel.size() - footerOffset);
+            for (int d = 0; d < dictionaries.length; d++) {
+                String[] values = new String[footer.getInt()];
+                for (int i = 0; i < values.length; i++) {
+                    byte[] bytes = new byte[footer.getInt()];
+                    footer.get(bytes);
+                    values[i] = new String(bytes, StandardCharsets.UTF_8);
+                }
+                dictionaries[d] = values;
+            }
+
+            this.blockOffsets = new long[blockCount];
+            this.blockRows = new int[blockCount];
+            this.blockMinEpoch = new int[blockCount];
+            this.blockMaxEpoch = new int[blockCount];
+            for (int b = 0; b < blockCount; b++) {
+                blockOffsets[b] = footer.getLong();
+                blockRows[b] = footer.getInt();
+                blockMinEpoch[b] = footer.getInt();
+                blockMaxEpoch[b] = footer.getInt();
+            }
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+
+        System.out.printf("📦 Archivo columnar: %,d filas en %,d bloques (%s - %s)%n", rowCount, blockCount,
+            minEpoch != 0 ? DatagramCsvParser.formatEpochSeconds(minEpoch) : "?",
+            maxEpoch != 0 ? DatagramCsvParser.formatEpochSeconds(maxEpoch) : "?");
+    }
+
+    private MappedByteBuffer map(long position, long size) throws IOException {
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, size);
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        return buffer;
+    }
+
+    /**
+     * true si el bloque puede tener filas dentro del rango de tiempo
+     */
+    public boolean overlaps(int block) {
+        return blockMaxEpoch[block] >= fromEpoch && blockMinEpoch[block] <= toEpoch;
+    }
+
+    /**
+     * Lee un bloque completo (sin filtrar por tiempo)
+     */
+    public DatagramColumns readBlock(int block) throws IOException {
+        int rows = blockRows[block];
+        MappedByteBuffer buffer = map(blockOffsets[block], (long) rows * ColumnarDatagramFile.ROW_BYTES);
+        DatagramColumns columns = new DatagramColumns(dictionaries, rows);
+
+        buffer.asDoubleBuffer().get(columns.odometer, 0, rows);
+        int position = rows * 8;
+        int[][] ints = {columns.epochSeconds, columns.lineIdx, columns.busIdx, columns.stopIdx,
+            columns.tripIdx, columns.latitudeE7, columns.longitudeE7, columns.eventType};
+        for (int[] column : ints) {
+            buffer.position(position);
+            buffer.asIntBuffer().get(column, 0, rows);
+            position += rows * 4;
+        }
+        return columns;
+    }
+
+    /**
+     * Siguiente bloque dentro del rango de tiempo (ya filtrado), o null al final
+     */
+    public DatagramColumns nextBlock() throws IOException {
+        while (nextBlock < blockCount) {
+            int block = nextBlock++;
+            if (!overlaps(block)) {
+                skippedBlocks++;
+                continue;
+            }
+            DatagramColumns columns = readBlock(block);
+            if (isTimeFiltered()) {
+                columns = columns.filterTime(fromEpoch, toEpoch);
+            }
+            if (columns.size > 0) {
+                return columns;
+            }
+        }
+        return null;
+    }
+
+    private boolean isTimeFiltered() {
+        return fromEpoch != Long.MIN_VALUE || toEpoch != Long.MAX_VALUE;
+    }
+
+    @Override
+    public BusDatagram[] readNextBatch() throws IOException {
+        while (true) {
+            if (current == null || currentRow >= current.size) {
+                current = nextBlock();
+                currentRow = 0;
+                if (current == null) {
+                    return null;
+                }
+            }
+
+            int end = Math.min(currentRow + batchSize, current.size);
+            BusDatagram[] batch = current.toDatagrams(currentRow, end);
+            currentRow = end;
+
+            if (strict) {
+                int kept = 0;
+                for (BusDatagram dgram : batch) {
+                    if (StreamingDatagramReader.isValidDatagram(dgram, dgram.epochSeconds != 0)) {
+                        batch[kept++] = dgram;
+                    }
+                }
+                if (kept < batch.length) {
+                    batch = Arrays.copyOf(batch, kept);
+                }
+            }
+            if (batch.length > 0) {
+                totalRead += batch.length;
+                return batch;
+            }
+        }
+    }
+
+    @Override
+    public long getTotalRead() {
+        return totalRead;
+    }
+
+    public int getBlockCount() {
+        return blockCount;
+    }
+
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    public int getSkippedBlocks() {
+        return skippedBlocks;
+    }
+
+    public long getMinEpoch() {
+        return minEpoch;
+    }
+
+    public long getMaxEpoch() {
+        return maxEpoch;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Carga las filas de los bloques [fromBlock, toBlock) con fromEpoch <= epoch <= toEpoch
+     * (la parte de un archivo compartido que lee un worker)
+     */
+    public static BusDatagram[] loadBlocks(String filePath, int fromBlock, int toBlock,
+                                           long fromEpoch, long toEpoch) throws IOException {
+        List<BusDatagram[]> batches = new ArrayList<>();
+        int total = 0;
+        try (ColumnarDatagramReader reader = new ColumnarDatagramReader(
+                filePath, ColumnarDatagramFile.BLOCK_ROWS, fromEpoch, toEpoch, false)) {
+            for (int block = Math.max(0, fromBlock); block < Math.min(toBlock, reader.blockCount); block++) {
+                if (!reader.overlaps(block)) {
+                    continue;
+                }
+                DatagramColumns columns = reader.readBlock(block);
+                if (reader.isTimeFiltered()) {
+                    columns = columns.filterTime(fromEpoch, toEpoch);
+                }
+                batches.add(columns.toDatagrams(0, columns.size));
+                total += columns.size;
+            }
+        }
+
+        BusDatagram[] all = new BusDatagram[total];
+        int pos = 0;
+        for (BusDatagram[] batch : batches) {
+            System.arraycopy(batch, 0, all, pos, batch.length);
+            pos += batch.length;
+        }
+        return all;
+    }
+
+    /**
+     * Carga todas las filas del archivo (mismas reglas que ParallelDatagramReader.loadAll)
+     */
+    public static BusDatagram[] loadAll(String filePath) throws IOException {
+        return loadAll(filePath, Long.MIN_VALUE, Long.MAX_VALUE);
+    }
+
+    /**
+     * Carga las filas con fromEpoch <= epoch <= toEpoch, saltando bloques fuera del rango
+     */
+    public static BusDatagram[] loadAll(String filePath, long fromEpoch, long toEpoch) throws IOException {
+        long start = System.currentTimeMillis();
+        List<BusDatagram[]> batches = new ArrayList<>();
+        int total = 0;
+        try (ColumnarDatagramReader reader = new ColumnarDatagramReader(
+                filePath, ColumnarDatagramFile.BLOCK_ROWS, fromEpoch, toEpoch, false)) {
+            BusDatagram[] batch;
+            while ((batch = reader.readNextBatch()) != null) {
+                batches.add(batch);
+                total += batch.length;
+            }
+            System.out.printf("✅ Cargados %,d datagramas (%,d/%,d bloques saltados) en %,d ms%n",
+                total, reader.getSkippedBlocks(), reader.getBlockCount(), System.currentTimeMillis() - start);
+        }
+
+        BusDatagram[] all = new BusDatagram[total];
+        int pos = 0;
+        for (BusDatagram[] batch : batches) {
+            System.arraycopy(batch, 0, all, pos, batch.length);
+            pos += batch.length;
+        }
+        return all;
+    }
+}
@@ -45,8 +45,11 @@ public class DataCleaner {
         String originalLineId = original.lineId;
         cleaned.lineId = fixLineId(original.lineId);
         
-        // CORREGIR fecha
+        // CORREGIR fecha (si cambió, recalcular el epoch pre-parseado)
         cleaned.datagramDate = fixDate(original.datagramDate);
+        cleaned.epochSeconds = cleaned.datagramDate.equals(original.datagramDate)
+            ? original.epochSeconds
+            : DatagramCsvParser.parseEpochSeconds(cleaned.datagramDate);
         
         // DEBUG: Mostrar algunas correcciones
         cleanedCount++;
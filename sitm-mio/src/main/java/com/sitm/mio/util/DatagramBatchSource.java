@@ -0,0 +1,21 @@
+package com.sitm.mio.util;
+
+import java.io.IOException;
+
+import SITM.MIO.BusDatagram;
+
+/**
+ * Fuente de lotes de datagramas (secuencial o paralela)
+ */
+public interface DatagramBatchSource extends AutoCloseable {
+
+    /**
+     * Siguiente lote, o null cuando no quedan datos
+     */
+    BusDatagram[] readNextBatch() throws IOException;
+
+    long getTotalRead();
+
+    @Override
+    void close() throws IOException;
+}
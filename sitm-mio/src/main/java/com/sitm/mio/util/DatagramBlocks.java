@@ -0,0 +1,84 @@
+package com.sitm.mio.util;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import SITM.MIO.BusDatagram;
+import SITM.MIO.DatagramBlock;
+
+/**
+ * Conversión de datagramas a DatagramBlock (transporte en columnas Master -> Worker)
+ *
+ * Un DatagramBlock lleva un diccionario de Strings por lote y los ids como
+ * índices a ese diccionario, así Ice no serializa cinco Strings por datagrama
+ * y el worker no reconstruye un BusDatagram por fila.
+ */
+public final class DatagramBlocks {
+
+    /** Máximo de entradas del diccionario (los índices se empaquetan en 21 bits en el worker) */
+    public static final int MAX_DICTIONARY_SIZE = 1 << 21;
+
+    private DatagramBlocks() {
+    }
+
+    /**
+     * Construye el bloque con las filas [from, to) del arreglo
+     */
+    public static DatagramBlock fromDatagrams(BusDatagram[] datagrams, int from, int to) {
+        return build(datagrams, null, from, to - from);
+    }
+
+    /**
+     * Construye el bloque con las filas indicadas (en ese orden)
+     */
+    public static DatagramBlock fromDatagrams(BusDatagram[] datagrams, int[] rows) {
+        return build(datagrams, rows, 0, rows.length);
+    }
+
+    private static DatagramBlock build(BusDatagram[] datagrams, int[] rows, int from, int size) {
+        DatagramBlock block = new DatagramBlock(null, new int[size], new int[size], new int[size],
+            new int[size], new long[size], new double[size], new double[size], new double[size], new int[size]);
+
+        Map<String, Integer> index = new HashMap<>();
+        List<String> dictionary = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            BusDatagram dgram = datagrams[rows != null ? rows[i] : from + i];
+            // Clientes que no llenan epochSeconds: parsear una sola vez aquí
+            long epoch = dgram.epochSeconds != 0
+                ? dgram.epochSeconds : DatagramCsvParser.parseEpochSeconds(dgram.datagramDate);
+
+            block.busIdx[i] = encode(index, dictionary, dgram.busId);
+            block.lineIdx[i] = encode(index, dictionary, dgram.lineId);
+            block.tripIdx[i] = encode(index, dictionary, dgram.tripId);
+            block.stopIdx[i] = encode(index, dictionary, dgram.stopId);
+            block.epochSeconds[i] = epoch;
+            block.odometer[i] = dgram.odometer;
+            block.latitude[i] = dgram.latitude;
+            block.longitude[i] = dgram.longitude;
+            block.eventType[i] = dgram.eventType;
+        }
+        block.dictionary = dictionary.toArray(new String[0]);
+        return block;
+    }
+
+    private static int encode(Map<String, Integer> index, List<String> dictionary, String value) {
+        String key = value != null ? value : "";
+        Integer idx = index.get(key);
+        if (idx == null) {
+            if (dictionary.size() >= MAX_DICTIONARY_SIZE) {
+                throw new IllegalArgumentException("Diccionario del bloque lleno (" + MAX_DICTIONARY_SIZE
+                    + " valores), usar lotes más pequeños");
+            }
+            idx = dictionary.size();
+            index.put(key, idx);
+            dictionary.add(key);
+        }
+        return idx;
+    }
+
+    public static int size(DatagramBlock block) {
+        return block.epochSeconds != null ? block.epochSeconds.length : 0;
+    }
+}
@@ -0,0 +1,127 @@
+package com.sitm.mio.util;
+
+import SITM.MIO.BusDatagram;
+
+/**
+ * Bloque de datagramas en columnas (ver ColumnarDatagramFile)
+ *
+ * Los ids (línea, bus, parada, viaje) son índices a los diccionarios del
+ * archivo, que se comparten entre todos los bloques. Las coordenadas van
+ * en punto fijo (grados * 1e7, igual que en el CSV original).
+ */
+public class DatagramColumns {
+    public final String[] lines;
+    public final String[] buses;
+    public final String[] stops;
+    public final String[] trips;
+
+    public final int size;
+    public final int[] lineIdx;
+    public final int[] busIdx;
+    public final int[] stopIdx;
+    public final int[] tripIdx;
+    public final int[] epochSeconds;
+    public final double[] odometer;
+    public final int[] latitudeE7;
+    public final int[] longitudeE7;
+    public final int[] eventType;
+
+    DatagramColumns(String[][] dictionaries, int size) {
+        this(dictionaries, size, new int[size], new int[size], new int[size], new int[size],
+            new int[size], new double[size], new int[size], new int[size], new int[size]);
+    }
+
+    private DatagramColumns(String[][] dictionaries, int size,
+                            int[] lineIdx, int[] busIdx, int[] stopIdx, int[] tripIdx,
+                            int[] epochSeconds, double[] odometer,
+                            int[] latitudeE7, int[] longitudeE7, int[] eventType) {
+        this.lines = dictionaries[ColumnarDatagramFile.DICT_LINE];
+        this.buses = dictionaries[ColumnarDatagramFile.DICT_BUS];
+        this.stops = dictionaries[ColumnarDatagramFile.DICT_STOP];
+        this.trips = dictionaries[ColumnarDatagramFile.DICT_TRIP];
+        this.size = size;
+        this.lineIdx = lineIdx;
+        this.busIdx = busIdx;
+        this.stopIdx = stopIdx;
+        this.tripIdx = tripIdx;
+        this.epochSeconds = epochSeconds;
+        this.odometer = odometer;
+        this.latitudeE7 = latitudeE7;
+        this.longitudeE7 = longitudeE7;
+        this.eventType = eventType;
+    }
+
+    /**
+     * Filas con fromEpoch <= epoch <= toEpoch (devuelve this si todas cumplen)
+     */
+    public DatagramColumns filterTime(long fromEpoch, long toEpoch) {
+        int kept = 0;
+        int[] rows = new int[size];
+        for (int i = 0; i < size; i++) {
+            if (epochSeconds[i] >= fromEpoch && epochSeconds[i] <= toEpoch) {
+                rows[kept++] = i;
+            }
+        }
+        if (kept == size) {
+            return this;
+        }
+
+        String[][] dictionaries = {lines, buses, stops, trips};
+        DatagramColumns out = new DatagramColumns(dictionaries, kept);
+        for (int k = 0; k < kept; k++) {
+            int i = rows[k];
+            out.lineIdx[k] = lineIdx[i];
+            out.busIdx[k] = busIdx[i];
+            out.stopIdx[k] = stopIdx[i];
+            out.tripIdx[k] = tripIdx[i];
+            out.epochSeconds[k] = epochSeconds[i];
+            out.odometer[k] = odometer[i];
+            out.latitudeE7[k] = latitudeE7[i];
+            out.longitudeE7[k] = longitudeE7[i];
+            out.eventType[k] = eventType[i];
+        }
+        return out;
+    }
+
+    /**
+     * Reconstruye el BusDatagram de una fila (datagramDate vacío si la fecha
+     * original no se pudo parsear)
+     */
+    public BusDatagram toDatagram(int row) {
+        return toDatagram(row, epochSeconds[row] != 0
+            ? DatagramCsvParser.formatEpochSeconds(epochSeconds[row]) : "");
+    }
+
+    /**
+     * Reconstruye las filas [from, to). Filas consecutivas con el mismo
+     * segundo comparten el String de la fecha.
+     */
+    public BusDatagram[] toDatagrams(int from, int to) {
+        BusDatagram[] out = new BusDatagram[to - from];
+        int lastEpoch = 0;
+        String lastDate = "";
+        for (int row = from; row < to; row++) {
+            if (epochSeconds[row] != lastEpoch) {
+                lastEpoch = epochSeconds[row];
+                lastDate = lastEpoch != 0 ? DatagramCsvParser.formatEpochSeconds(lastEpoch) : "";
+            }
+            out[row - from] = toDatagram(row, lastDate);
+        }
+        return out;
+    }
+
+    private BusDatagram toDatagram(int row, String date) {
+        BusDatagram dgram = new BusDatagram();
+        dgram.eventType = eventType[row];
+        dgram.stopId = stops[stopIdx[row]];
+        dgram.odometer = odometer[row];
+        dgram.latitude = latitudeE7[row] / DatagramCsvParser.COORD_SCALE;
+        dgram.longitude = longitudeE7[row] / DatagramCsvParser.COORD_SCALE;
+        dgram.lineId = lines[lineIdx[row]];
+        dgram.tripId = trips[tripIdx[row]];
+        dgram.busId = buses[busIdx[row]];
+        dgram.epochSeconds = epochSeconds[row];
+        dgram.datagramDate = date;
+        return dgram;
+    }
+}
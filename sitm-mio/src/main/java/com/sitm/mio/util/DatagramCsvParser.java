@@ -0,0 +1,585 @@
+package com.sitm.mio.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+import SITM.MIO.BusDatagram;
+
+/**
+ * Parser de datagramas a nivel de bytes (sin split / replace / trim / regex)
+ *
+ * Formato del CSV real:
+ * eventType,registerdate,stopId,odometer,latitude,longitude,taskId,lineId,tripId,unknown1,datagramDate,busId
+ * 0,28-MAY-19,513327,70,34761183,-764873683,757,2241,159,1365,2019-05-27 20:14:43,1069
+ *
+ * Cada línea se recorre una sola vez sobre los bytes crudos: los números se
+ * decodifican en el sitio y los identificadores (stopId, lineId, tripId, busId)
+ * se reutilizan desde una caché por columna, así que la única asignación por
+ * línea es el propio BusDatagram y su datagramDate.
+ *
+ * La fecha además se convierte una sola vez a segundos (BusDatagram.epochSeconds)
+ * para que el worker ordene y calcule tiempos con longs, sin LocalDateTime.parse.
+ *
+ * Uso típico:
+ * <pre>
+ * try (DatagramCsvParser parser = DatagramCsvParser.open(path, true)) {
+ *     while (parser.advance()) {
+ *         BusDatagram d = parser.parseLine(); // null si la línea está incompleta
+ *     }
+ * }
+ * </pre>
+ *
+ * También puede usarse sin stream, sobre rangos de un byte[] ya leído
+ * (ver {@link #parse(byte[], int, int)}). Una instancia NO es thread-safe.
+ */
+public class DatagramCsvParser implements AutoCloseable {
+
+    public static final int FIELD_COUNT = 12;
+
+    // Índices de columna (para isMalformed)
+    public static final int COL_EVENT_TYPE = 0;
+    public static final int COL_STOP_ID = 2;
+    public static final int COL_ODOMETER = 3;
+    public static final int COL_LATITUDE = 4;
+    public static final int COL_LONGITUDE = 5;
+    public static final int COL_LINE_ID = 7;
+    public static final int COL_TRIP_ID = 8;
+    public static final int COL_DATAGRAM_DATE = 10;
+    public static final int COL_BUS_ID = 11;
+
+    /** Factor de escala de lat/lon en el CSV (grados * 10^7) */
+    public static final double COORD_SCALE = 10_000_000.0;
+
+    private static final int DEFAULT_BUFFER_SIZE = 1 << 20;
+    private static final int DATE_LENGTH = 19; // "yyyy-MM-dd HH:mm:ss"
+
+    private static final double[] POW10 = {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10,
+        1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18
+    };
+
+    // Fuente de bytes (opcional)
+    private final InputStream in;
+    private byte[] buf;
+    private int pos;
+    private int limit;
+    private boolean eof;
+    private boolean headerPending;
+    private long linesRead;
+
+    // Línea actual (tras advance)
+    private int lineFrom;
+    private int lineTo;
+
+    // Estado del último parse
+    private final int[] fieldStart = new int[FIELD_COUNT];
+    private final int[] fieldEnd = new int[FIELD_COUNT];
+    private int malformedMask;
+    private boolean dateWellFormed;
+
+    // Cachés de Strings por columna
+    private final StringCache stopIds = new StringCache(1 << 14);
+    private final StringCache lineIds = new StringCache(1 << 10);
+    private final StringCache tripIds = new StringCache(1 << 14);
+    private final StringCache busIds = new StringCache(1 << 12);
+    private final StringCache dates = new StringCache(1 << 12);
+
+    /**
+     * Parser sin stream, para usar con {@link #parse(byte[], int, int)}
+     */
+    public DatagramCsvParser() {
+        this.in = null;
+        this.eof = true;
+    }
+
+    /**
+     * Parser sobre un stream de bytes
+     * @param in Stream del CSV (se cierra con close())
+     * @param skipHeader true si la primera línea es el header
+     */
+    public DatagramCsvParser(InputStream in, boolean skipHeader) {
+        this.in = in;
+        this.buf = new byte[DEFAULT_BUFFER_SIZE];
+        this.headerPending = skipHeader;
+    }
+
+    public static DatagramCsvParser open(String filePath, boolean skipHeader) throws IOException {
+        return new DatagramCsvParser(Files.newInputStream(Paths.get(filePath)), skipHeader);
+    }
+
+    /**
+     * Avanza a la siguiente línea del stream
+     * @return false al llegar al final del archivo
+     */
+    public boolean advance() throws IOException {
+        if (headerPending) {
+            headerPending = false;
+            if (!nextLine()) {
+                return false;
+            }
+        }
+        if (!nextLine()) {
+            return false;
+        }
+        linesRead++;
+        return true;
+    }
+
+    /**
+     * Parsea la línea actual (la última devuelta por advance)
+     */
+    public BusDatagram parseLine() {
+        return parse(buf, lineFrom, lineTo);
+    }
+
+    /**
+     * Siguiente datagrama bien formado, saltando líneas incompletas
+     * @return null al llegar al final del archivo
+     */
+    public BusDatagram next() throws IOException {
+        while (advance()) {
+            BusDatagram dgram = parseLine();
+            if (dgram != null) {
+                return dgram;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Parsea una línea contenida en b[from, to) (sin el '\n')
+     *
+     * Los números mal formados quedan en 0 y se marcan en isMalformed(col),
+     * cada llamador decide si descarta la línea.
+     *
+     * @return null si la línea tiene menos de 12 columnas
+     */
+    public BusDatagram parse(byte[] b, int from, int to) {
+        if (to > from && b[to - 1] == '\r') {
+            to--;
+        }
+
+        // Localizar las 12 columnas
+        int field = 0;
+        int start = from;
+        for (int i = from; i < to; i++) {
+            if (b[i] == ',') {
+                fieldStart[field] = start;
+                fieldEnd[field] = i;
+                start = i + 1;
+                if (++field == FIELD_COUNT) {
+                    break;
+                }
+            }
+        }
+        if (field < FIELD_COUNT) {
+            fieldStart[field] = start;
+            fieldEnd[field] = to;
+            field++;
+        }
+        if (field < FIELD_COUNT) {
+            return null; // Línea incompleta
+        }
+
+        // Quitar espacios y comillas de los extremos
+        for (int f = 0; f < FIELD_COUNT; f++) {
+            int s = fieldStart[f];
+            int e = fieldEnd[f];
+            while (s < e && isPadding(b[s])) s++;
+            while (e > s && isPadding(b[e - 1])) e--;
+            fieldStart[f] = s;
+            fieldEnd[f] = e;
+        }
+
+        malformedMask = 0;
+
+        BusDatagram dgram = new BusDatagram();
+        dgram.eventType = parseIntField(b, COL_EVENT_TYPE);
+        dgram.stopId = stopIds.get(b, fieldStart[COL_STOP_ID], fieldEnd[COL_STOP_ID]);
+        dgram.odometer = parseDecimalField(b, COL_ODOMETER);
+        dgram.latitude = parseDecimalField(b, COL_LATITUDE) / COORD_SCALE;
+        dgram.longitude = parseDecimalField(b, COL_LONGITUDE) / COORD_SCALE;
+        dgram.lineId = lineIds.get(b, fieldStart[COL_LINE_ID], fieldEnd[COL_LINE_ID]);
+        dgram.tripId = tripIds.get(b, fieldStart[COL_TRIP_ID], fieldEnd[COL_TRIP_ID]);
+        dgram.busId = busIds.get(b, fieldStart[COL_BUS_ID], fieldEnd[COL_BUS_ID]);
+
+        int ds = fieldStart[COL_DATAGRAM_DATE];
+        int de = fieldEnd[COL_DATAGRAM_DATE];
+        dateWellFormed = isFixedDate(b, ds, de);
+        dgram.datagramDate = dates.get(b, ds, de);
+        dgram.epochSeconds = dateWellFormed ? epochSeconds(b, ds) : 0L;
+
+        return dgram;
+    }
+
+    /**
+     * true si la columna no pudo decodificarse como número en el último parse
+     */
+    public boolean isMalformed(int column) {
+        return (malformedMask & (1 << column)) != 0;
+    }
+
+    /**
+     * true si alguna columna numérica (eventType, odometer, lat, lon) vino mal formada
+     */
+    public boolean hasMalformedNumbers() {
+        return malformedMask != 0;
+    }
+
+    /**
+     * true si datagramDate tiene exactamente el formato "yyyy-MM-dd HH:mm:ss"
+     * (equivalente al regex \d{4}-\d{2}-\d{2} \d{2}:\d{2}:\d{2})
+     */
+    public boolean isDateWellFormed() {
+        return dateWellFormed;
+    }
+
+    public long getLinesRead() {
+        return linesRead;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (in != null) {
+            in.close();
+        }
+    }
+
+    /**
+     * Parser rápido de "yyyy-MM-dd HH:mm:ss" a segundos (hora local tratada como UTC,
+     * solo se usan diferencias). Equivale a
+     * LocalDateTime.parse(date, "yyyy-MM-dd HH:mm:ss").toEpochSecond(ZoneOffset.UTC)
+     *
+     * @return 0 si la fecha no tiene el formato esperado o no es válida
+     */
+    public static long parseEpochSeconds(String date) {
+        if (date == null || date.length() != DATE_LENGTH) {
+            return 0L;
+        }
+        byte[] b = new byte[DATE_LENGTH];
+        for (int i = 0; i < DATE_LENGTH; i++) {
+            char c = date.charAt(i);
+            if (c > 0x7f) {
+                return 0L;
+            }
+            b[i] = (byte) c;
+        }
+        return isFixedDate(b, 0, DATE_LENGTH) ? epochSeconds(b, 0) : 0L;
+    }
+
+    /**
+     * Inverso de parseEpochSeconds: segundos -> "yyyy-MM-dd HH:mm:ss"
+     */
+    public static String formatEpochSeconds(long epochSeconds) {
+        long days = Math.floorDiv(epochSeconds, 86400L);
+        int secs = (int) Math.floorMod(epochSeconds, 86400L);
+
+        // civil_from_days (inverso de daysFromCivil)
+        long z = days + 719468;
+        long era = (z >= 0 ? z : z - 146096) / 146097;
+        int doe = (int) (z - era * 146097);
+        int yoe = (doe - doe / 1460 + doe / 36524 - doe / 146096) / 365;
+        int doy = doe - (365 * yoe + yoe / 4 - yoe / 100);
+        int mp = (5 * doy + 2) / 153;
+        int day = doy - (153 * mp + 2) / 5 + 1;
+        int month = mp < 10 ? mp + 3 : mp - 9;
+        long year = yoe + era * 400 + (month <= 2 ? 1 : 0);
+
+        char[] c = new char[DATE_LENGTH];
+        putDigits(c, 0, (int) year, 4);
+        c[4] = '-';
+        putDigits(c, 5, month, 2);
+        c[7] = '-';
+        putDigits(c, 8, day, 2);
+        c[10] = ' ';
+        putDigits(c, 11, secs / 3600, 2);
+        c[13] = ':';
+        putDigits(c, 14, secs / 60 % 60, 2);
+        c[16] = ':';
+        putDigits(c, 17, secs % 60, 2);
+        return new String(c);
+    }
+
+    private static void putDigits(char[] c, int from, int value, int count) {
+        for (int i = from + count - 1; i >= from; i--) {
+            c[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+    }
+
+    // ========== Lectura por bloques ==========
+
+    private boolean nextLine() throws IOException {
+        int scan = pos;
+        while (true) {
+            for (int i = scan; i < limit; i++) {
+                if (buf[i] == '\n') {
+                    lineFrom = pos;
+                    lineTo = i;
+                    pos = i + 1;
+                    return true;
+                }
+            }
+            if (eof) {
+                if (pos < limit) {
+                    lineFrom = pos;
+                    lineTo = limit;
+                    pos = limit;
+                    return true;
+                }
+                return false;
+            }
+            scan = limit - pos;
+            fill();
+            scan += pos;
+        }
+    }
+
+    private void fill() throws IOException {
+        if (pos > 0) {
+            System.arraycopy(buf, pos, buf, 0, limit - pos);
+            limit -= pos;
+            pos = 0;
+        }
+        if (limit == buf.length) {
+            // Línea más larga que el buffer
+            byte[] bigger = new byte[buf.length * 2];
+            System.arraycopy(buf, 0, bigger, 0, limit);
+            buf = bigger;
+        }
+        int n = in.read(buf, limit, buf.length - limit);
+        if (n < 0) {
+            eof = true;
+        } else {
+            limit += n;
+        }
+    }
+
+    // ========== Decodificación en el sitio ==========
+
+    private static boolean isPadding(byte c) {
+        return c == ' ' || c == '"' || c == '\t';
+    }
+
+    /**
+     * Entero [-+]ddd en el rango de int, como Integer.parseInt: sin dígitos,
+     * con otro carácter o fuera de rango queda en 0 y marcado en isMalformed
+     */
+    private int parseIntField(byte[] b, int column) {
+        int i = fieldStart[column];
+        int end = fieldEnd[column];
+        boolean negative = false;
+        if (i < end && (b[i] == '-' || b[i] == '+')) {
+            negative = b[i] == '-';
+            i++;
+        }
+        while (end - i > 10 && b[i] == '0') {
+            i++;   // Ceros a la izquierda no cuentan para el largo
+        }
+        if (i == end || end - i > 10) {
+            malformedMask |= 1 << column;
+            return 0;
+        }
+        long value = 0;
+        for (; i < end; i++) {
+            int d = b[i] - '0';
+            if (d < 0 || d > 9) {
+                malformedMask |= 1 << column;
+                return 0;
+            }
+            value = value * 10 + d;
+        }
+        value = negative ? -value : value;
+        if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+            malformedMask |= 1 << column;
+            return 0;
+        }
+        return (int) value;
+    }
+
+    /**
+     * Decimal simple [-]ddd[.ddd]. La división mantisa / 10^k es exacta en
+     * redondeo (igual que Double.parseDouble) mientras la mantisa quepa en 53 bits;
+     * cualquier otra forma (exponentes, muchos dígitos) cae a Double.parseDouble.
+     */
+    private double parseDecimalField(byte[] b, int column) {
+        int i = fieldStart[column];
+        int end = fieldEnd[column];
+        boolean negative = false;
+        if (i < end && (b[i] == '-' || b[i] == '+')) {
+            negative = b[i] == '-';
+            i++;
+        }
+        long mantissa = 0;
+        int digits = 0;
+        int fraction = -1;
+        for (; i < end; i++) {
+            byte c = b[i];
+            if (c == '.' && fraction < 0) {
+                fraction = 0;
+                continue;
+            }
+            int d = c - '0';
+            if (d < 0 || d > 9) {
+                return parseDecimalSlow(b, column);
+            }
+            mantissa = mantissa * 10 + d;
+            digits++;
+            if (fraction >= 0) {
+                fraction++;
+            }
+        }
+        if (digits == 0) {
+            malformedMask |= 1 << column;
+            return 0.0;
+        }
+        if (digits > 15) {
+            return parseDecimalSlow(b, column);
+        }
+        double value = fraction > 0 ? mantissa / POW10[fraction] : (double) mantissa;
+        return negative ? -value : value;
+    }
+
+    private double parseDecimalSlow(byte[] b, int column) {
+        int s = fieldStart[column];
+        try {
+            return Double.parseDouble(new String(b, s, fieldEnd[column] - s, StandardCharsets.ISO_8859_1));
+        } catch (NumberFormatException e) {
+            malformedMask |= 1 << column;
+            return 0.0;
+        }
+    }
+
+    private static boolean isFixedDate(byte[] b, int from, int to) {
+        if (to - from != DATE_LENGTH) {
+            return false;
+        }
+        for (int k = 0; k < DATE_LENGTH; k++) {
+            byte c = b[from + k];
+            switch (k) {
+                case 4:
+                case 7:
+                    if (c != '-') return false;
+                    break;
+                case 10:
+                    if (c != ' ') return false;
+                    break;
+                case 13:
+                case 16:
+                    if (c != ':') return false;
+                    break;
+                default:
+                    if (c < '0' || c > '9') return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * b[from, from + 19) ya validado con isFixedDate
+     */
+    private static long epochSeconds(byte[] b, int from) {
+        int year = digits(b, from, 4);
+        int month = digits(b, from + 5, 2);
+        int day = digits(b, from + 8, 2);
+        int hour = digits(b, from + 11, 2);
+        int minute = digits(b, from + 14, 2);
+        int second = digits(b, from + 17, 2);
+
+        if (month < 1 || month > 12 || day < 1 || day > 31 || minute > 59 || second > 59) {
+            return 0L;
+        }
+        // Igual que el resolver SMART de DateTimeFormatter: 24:00:00 es el fin del día
+        // y un día 29-31 inexistente se ajusta al último día del mes
+        if (hour > 24 || (hour == 24 && (minute > 0 || second > 0))) {
+            return 0L;
+        }
+        day = Math.min(day, daysInMonth(year, month));
+        return daysFromCivil(year, month, day) * 86400L + hour * 3600 + minute * 60 + second;
+    }
+
+    private static int digits(byte[] b, int from, int count) {
+        int value = 0;
+        for (int i = 0; i < count; i++) {
+            value = value * 10 + (b[from + i] - '0');
+        }
+        return value;
+    }
+
+    private static int daysInMonth(int year, int month) {
+        switch (month) {
+            case 2:
+                boolean leap = (year % 4 == 0 && year % 100 != 0) || year % 400 == 0;
+                return leap ? 29 : 28;
+            case 4:
+            case 6:
+            case 9:
+            case 11:
+                return 30;
+            default:
+                return 31;
+        }
+    }
+
+    /**
+     * Días desde 1970-01-01 (calendario gregoriano proléptico)
+     */
+    private static long daysFromCivil(int year, int month, int day) {
+        int y = month <= 2 ? year - 1 : year;
+        int era = (y >= 0 ? y : y - 399) / 400;
+        int yoe = y - era * 400;
+        int doy = (153 * (month + (month > 2 ? -3 : 9)) + 2) / 5 + day - 1;
+        int doe = yoe * 365 + yoe / 4 - yoe / 100 + doy;
+        return era * 146097L + doe - 719468;
+    }
+
+    /**
+     * Caché de Strings indexada por el hash de los bytes (reemplazo directo
+     * en colisión). Evita crear un String nuevo para ids que se repiten
+     * millones de veces (paradas, líneas, buses).
+     */
+    private static final class StringCache {
+        private final String[] values;
+        private final int mask;
+
+        StringCache(int size) {
+            this.values = new String[size];
+            this.mask = size - 1;
+        }
+
+        String get(byte[] b, int from, int to) {
+            if (from == to) {
+                return "";
+            }
+            int h = 1;
+            for (int i = from; i < to; i++) {
+                h = 31 * h + b[i];
+            }
+            int slot = (h ^ (h >>> 16)) & mask;
+            String cached = values[slot];
+            if (cached != null && sameBytes(cached, b, from, to)) {
+                return cached;
+            }
+            String value = new String(b, from, to - from, StandardCharsets.UTF_8);
+            values[slot] = value;
+            return value;
+        }
+
+        private static boolean sameBytes(String s, byte[] b, int from, int to) {
+            int len = to - from;
+            if (s.length() != len) {
+                return false;
+            }
+            for (int i = 0; i < len; i++) {
+                byte c = b[from + i];
+                if (c < 0 || s.charAt(i) != (char) c) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
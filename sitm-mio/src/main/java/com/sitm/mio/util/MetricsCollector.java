@@ -11,6 +11,10 @@ public class MetricsCollector {
     private AtomicLong totalProcessingTime = new AtomicLong(0);
     private AtomicInteger activeWorkers = new AtomicInteger(0);
     private Map<String, Integer> taskCountByWorker = new ConcurrentHashMap<>();
+    private AtomicLong speculativeLaunched = new AtomicLong(0);
+    private AtomicLong speculativeWon = new AtomicLong(0);
+    private AtomicLong speculativeLost = new AtomicLong(0);
+    private AtomicLong tasksRetried = new AtomicLong(0);
     
     private MetricsCollector() {}
     
@@ -40,6 +44,44 @@ public class MetricsCollector {
         taskCountByWorker.computeIfPresent(workerId, (k, v) -> v + 1);
     }
     
+    public void speculativeTaskLaunched() {
+        speculativeLaunched.incrementAndGet();
+    }
+
+    /**
+     * Resultado de una tarea con copia especulativa: backupWon = la copia llegó primero
+     */
+    public void speculativeTaskFinished(boolean backupWon) {
+        if (backupWon) {
+            speculativeWon.incrementAndGet();
+        } else {
+            speculativeLost.incrementAndGet();
+        }
+    }
+
+    public long getSpeculativeLaunched() {
+        return speculativeLaunched.get();
+    }
+
+    public long getSpeculativeWon() {
+        return speculativeWon.get();
+    }
+
+    public long getSpeculativeLost() {
+        return speculativeLost.get();
+    }
+
+    /**
+     * Tarea reenviada a otro worker tras un fallo, timeout o caída del worker
+     */
+    public void taskRetried() {
+        tasksRetried.incrementAndGet();
+    }
+
+    public long getTasksRetried() {
+        return tasksRetried.get();
+    }
+
     public long getTotalDatagramsProcessed() {
         return totalDatagramsProcessed.get();
     }
@@ -66,5 +108,9 @@ public class MetricsCollector {
         totalDatagramsProcessed.set(0);
         totalProcessingTime.set(0);
         taskCountByWorker.clear();
+        speculativeLaunched.set(0);
+        speculativeWon.set(0);
+        speculativeLost.set(0);
+        tasksRetried.set(0);
     }
 }
\ No newline at end of file
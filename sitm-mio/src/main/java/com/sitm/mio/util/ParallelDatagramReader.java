@@ -0,0 +1,421 @@
+package com.sitm.mio.util;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+import SITM.MIO.BusDatagram;
+
+/**
+ * Lector paralelo de CSV de datagramas por rangos de bytes
+ *
+ * El archivo se divide en N rangos alineados a '\n' (el primero empieza
+ * después del header). Cada rango se lee con lecturas posicionales del
+ * FileChannel y se parsea en su propio hilo con un DatagramCsvParser.
+ *
+ * Entrega de lotes:
+ * - ordered=true: los lotes salen en el mismo orden del archivo
+ *   (rango 0 completo, luego rango 1, ...). Cada rango tiene su propia cola acotada.
+ * - ordered=false: los lotes salen en cuanto están listos (cola compartida),
+ *   útil cuando el consumidor no depende del orden.
+ *
+ * Validación:
+ * - strict=true: mismas reglas que StreamingDatagramReader (ids, coordenadas, fecha)
+ * - strict=false: mismas reglas que StreamingDatagramReader.loadFromCSV
+ *   (solo descarta líneas incompletas o con números mal formados)
+ */
+public class ParallelDatagramReader implements DatagramBatchSource {
+
+    private static final int READ_BUFFER_SIZE = 4 << 20;
+    private static final int QUEUE_CAPACITY = 4;
+    private static final BusDatagram[] END = new BusDatagram[0];
+
+    private final String filePath;
+    private final int batchSize;
+    private final boolean ordered;
+    private final boolean strict;
+    private final long[] rangeStarts;
+    private final long[] rangeEnds;
+
+    private final ExecutorService executor;
+    private final List<BlockingQueue<BusDatagram[]>> queues = new ArrayList<>();
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+    private final AtomicLong totalRead = new AtomicLong(0);
+
+    private boolean started = false;
+    private int currentRange = 0;
+    private int finishedRanges = 0;
+
+    /**
+     * @param filePath Ruta al archivo CSV (con header)
+     * @param parallelism Número de rangos / hilos de parseo
+     * @param batchSize Tamaño del lote entregado
+     * @param ordered true para respetar el orden del archivo
+     * @param strict true para aplicar la validación completa de StreamingDatagramReader
+     */
+    public ParallelDatagramReader(String filePath, int parallelism, int batchSize,
+                                  boolean ordered, boolean strict) throws IOException {
+        this.filePath = filePath;
+        this.batchSize = batchSize;
+        this.ordered = ordered;
+        this.strict = strict;
+
+        long[][] ranges = splitRanges(filePath, Math.max(1, parallelism));
+        this.rangeStarts = ranges[0];
+        this.rangeEnds = ranges[1];
+        this.executor = Executors.newFixedThreadPool(rangeStarts.length);
+
+        int queueCount = ordered ? rangeStarts.length : 1;
+        for (int i = 0; i < queueCount; i++) {
+            queues.add(new ArrayBlockingQueue<>(ordered ? QUEUE_CAPACITY : QUEUE_CAPACITY * rangeStarts.length));
+        }
+    }
+
+    public int getRangeCount() {
+        return rangeStarts.length;
+    }
+
+    @Override
+    public BusDatagram[] readNextBatch() throws IOException {
+        if (!started) {
+            start();
+        }
+
+        try {
+            while (true) {
+                if (ordered ? currentRange >= rangeStarts.length : finishedRanges >= rangeStarts.length) {
+                    checkFailure();
+                    return null;
+                }
+
+                BusDatagram[] batch = queues.get(ordered ? currentRange : 0).take();
+                if (batch == END) {
+                    checkFailure();
+                    if (ordered) {
+                        currentRange++;
+                    } else {
+                        finishedRanges++;
+                    }
+                    continue;
+                }
+                return batch;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Lectura paralela interrumpida", e);
+        }
+    }
+
+    @Override
+    public long getTotalRead() {
+        return totalRead.get();
+    }
+
+    @Override
+    public void close() throws IOException {
+        executor.shutdownNow();
+        try {
+            executor.awaitTermination(30, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // ========== Carga completa ==========
+
+    /**
+     * Carga todo el archivo en paralelo, en el orden original
+     * (reemplazo directo de StreamingDatagramReader.loadFromCSV)
+     */
+    public static BusDatagram[] loadAll(String filePath, int parallelism) throws IOException {
+        return loadAll(filePath, parallelism, false);
+    }
+
+    public static BusDatagram[] loadAll(String filePath, int parallelism, boolean strict) throws IOException {
+        long[][] ranges = splitRanges(filePath, Math.max(1, parallelism));
+        int n = ranges[0].length;
+
+        ExecutorService pool = Executors.newFixedThreadPool(n);
+        try {
+            List<Future<List<BusDatagram>>> futures = new ArrayList<>();
+            for (int i = 0; i < n; i++) {
+                final long start = ranges[0][i];
+                final long end = ranges[1][i];
+                futures.add(pool.submit(() -> {
+                    List<BusDatagram> out = new ArrayList<>();
+                    parseRange(filePath, start, end, strict, out::add, null);
+                    return out;
+                }));
+            }
+
+            List<List<BusDatagram>> parts = new ArrayList<>(n);
+            int total = 0;
+            for (Future<List<BusDatagram>> future : futures) {
+                List<BusDatagram> part = future.get();
+                parts.add(part);
+                total += part.size();
+            }
+
+            BusDatagram[] all = new BusDatagram[total];
+            int offset = 0;
+            for (List<BusDatagram> part : parts) {
+                for (BusDatagram dgram : part) {
+                    all[offset++] = dgram;
+                }
+            }
+            return all;
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Carga paralela interrumpida", e);
+        } catch (ExecutionException e) {
+            throw new IOException("Error en carga paralela: " + e.getCause().getMessage(), e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * Carga solo las líneas de [start, end) (rango ya alineado a inicio de
+     * línea, p. ej. de splitRanges), con las reglas de loadAll no estricto.
+     * Lo usa el worker para leer su parte de un archivo compartido.
+     */
+    public static BusDatagram[] loadRange(String filePath, long start, long end) throws IOException {
+        List<BusDatagram> out = new ArrayList<>();
+        parseRange(filePath, start, end, false, out::add, null);
+        return out.toArray(new BusDatagram[0]);
+    }
+
+    /**
+     * Bytes promedio por línea en el primer MB del archivo (para estimar
+     * filas de un rango sin leerlo)
+     */
+    public static double averageLineBytes(String filePath) throws IOException {
+        try (FileChannel channel = FileChannel.open(Paths.get(filePath), StandardOpenOption.READ)) {
+            ByteBuffer sample = ByteBuffer.allocate((int) Math.min(channel.size(), 1 << 20));
+            int n = channel.read(sample, 0);
+            int lines = 0;
+            for (int i = 0; i < n; i++) {
+                if (sample.get(i) == '\n') {
+                    lines++;
+                }
+            }
+            return lines > 0 ? (double) n / lines : Math.max(1, n);
+        }
+    }
+
+    // ========== Internos ==========
+
+    private void start() {
+        started = true;
+        for (int i = 0; i < rangeStarts.length; i++) {
+            final int range = i;
+            final BlockingQueue<BusDatagram[]> queue = queues.get(ordered ? range : 0);
+            executor.submit(() -> {
+                List<BusDatagram> pending = new ArrayList<>(batchSize);
+                try {
+                    parseRange(filePath, rangeStarts[range], rangeEnds[range], strict, dgram -> {
+                        pending.add(dgram);
+                        if (pending.size() >= batchSize) {
+                            putBatch(queue, pending);
+                        }
+                    }, totalRead);
+                    if (!pending.isEmpty()) {
+                        putBatch(queue, pending);
+                    }
+                } catch (Throwable t) {
+                    failure.compareAndSet(null, t);
+                } finally {
+                    try {
+                        queue.put(END);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            });
+        }
+    }
+
+    private static void putBatch(BlockingQueue<BusDatagram[]> queue, List<BusDatagram> pending) {
+        try {
+            queue.put(pending.toArray(new BusDatagram[0]));
+            pending.clear();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Lectura cancelada", e);
+        }
+    }
+
+    private void checkFailure() throws IOException {
+        Throwable t = failure.get();
+        if (t != null) {
+            throw new IOException("Error leyendo rango de " + filePath + ": " + t.getMessage(), t);
+        }
+    }
+
+    /**
+     * Divide el archivo en rangos [start, end) que empiezan siempre al inicio de una línea
+     * (ranges[0] = inicios, ranges[1] = fines)
+     */
+    public static long[][] splitRanges(String filePath, int parallelism) throws IOException {
+        try (FileChannel channel = FileChannel.open(Paths.get(filePath), StandardOpenOption.READ)) {
+            long size = channel.size();
+            long dataStart = nextLineStart(channel, 0, size); // Saltar header
+
+            List<Long> starts = new ArrayList<>();
+            List<Long> ends = new ArrayList<>();
+            long chunk = Math.max(1, (size - dataStart) / parallelism);
+            long start = dataStart;
+
+            for (int i = 0; i < parallelism && start < size; i++) {
+                long end = (i == parallelism - 1) ? size : nextLineStart(channel, start + chunk, size);
+                if (end > start) {
+                    starts.add(start);
+                    ends.add(end);
+                }
+                start = end;
+            }
+            if (starts.isEmpty()) {
+                starts.add(dataStart);
+                ends.add(dataStart);
+            }
+
+            long[][] ranges = new long[2][starts.size()];
+            for (int i = 0; i < starts.size(); i++) {
+                ranges[0][i] = starts.get(i);
+                ranges[1][i] = ends.get(i);
+            }
+            return ranges;
+        }
+    }
+
+    /**
+     * Posición siguiente al primer '\n' encontrado desde 'from' - 1
+     * (si from ya es inicio de línea, lo devuelve tal cual)
+     */
+    private static long nextLineStart(FileChannel channel, long from, long size) throws IOException {
+        if (from <= 0) {
+            from = 0;
+        } else if (from >= size) {
+            return size;
+        } else {
+            from--; // Si el byte anterior es '\n', 'from' ya es inicio de línea
+        }
+        ByteBuffer probe = ByteBuffer.allocate(64 * 1024);
+        long position = from;
+        while (position < size) {
+            probe.clear();
+            int n = channel.read(probe, position);
+            if (n <= 0) {
+                break;
+            }
+            for (int i = 0; i < n; i++) {
+                if (probe.get(i) == '\n') {
+                    return position + i + 1;
+                }
+            }
+            position += n;
+        }
+        return size;
+    }
+
+    /**
+     * Parsea las líneas completas de [start, end) con lecturas posicionales
+     */
+    private static void parseRange(String filePath, long start, long end, boolean strict,
+                                   Consumer<BusDatagram> sink,
+                                   AtomicLong lineCounter) throws IOException {
+        DatagramCsvParser parser = new DatagramCsvParser();
+        byte[] buf = new byte[READ_BUFFER_SIZE];
+        ByteBuffer wrapper = ByteBuffer.wrap(buf);
+        int carry = 0; // bytes de una línea partida al final del bloque anterior
+        long position = start;
+        long lines = 0;
+
+        try (FileChannel channel = FileChannel.open(Paths.get(filePath), StandardOpenOption.READ)) {
+            while (position < end || carry > 0) {
+                if (Thread.currentThread().isInterrupted()) {
+                    throw new IllegalStateException("Lectura cancelada");
+                }
+
+                int toRead = (int) Math.min(buf.length - carry, end - position);
+                int n = 0;
+                if (toRead > 0) {
+                    wrapper.clear();
+                    wrapper.position(carry);
+                    wrapper.limit(carry + toRead);
+                    while (wrapper.hasRemaining()) {
+                        int r = channel.read(wrapper, position + n);
+                        if (r < 0) break;
+                        n += r;
+                    }
+                    position += n;
+                }
+                int limit = carry + n;
+                boolean last = position >= end;
+
+                int lineStart = 0;
+                for (int i = 0; i < limit; i++) {
+                    if (buf[i] == '\n') {
+                        emit(parser, buf, lineStart, i, strict, sink);
+                        lines++;
+                        lineStart = i + 1;
+                    }
+                }
+                if (last) {
+                    if (lineStart < limit) {
+                        emit(parser, buf, lineStart, limit, strict, sink);
+                        lines++;
+                    }
+                    carry = 0;
+                    break;
+                }
+
+                carry = limit - lineStart;
+                if (carry == buf.length) {
+                    // Línea más larga que el buffer
+                    byte[] bigger = new byte[buf.length * 2];
+                    System.arraycopy(buf, 0, bigger, 0, carry);
+                    buf = bigger;
+                    wrapper = ByteBuffer.wrap(buf);
+                } else if (carry > 0) {
+                    System.arraycopy(buf, lineStart, buf, 0, carry);
+                }
+            }
+        }
+
+        if (lineCounter != null) {
+            lineCounter.addAndGet(lines);
+        }
+    }
+
+    private static void emit(DatagramCsvParser parser, byte[] buf, int from, int to, boolean strict,
+                             Consumer<BusDatagram> sink) {
+        BusDatagram dgram = parser.parse(buf, from, to);
+        if (dgram == null) {
+            return;
+        }
+        if (strict) {
+            if (!StreamingDatagramReader.isValidDatagram(dgram, parser.isDateWellFormed())) {
+                return;
+            }
+        } else if (parser.hasMalformedNumbers()) {
+            return;
+        }
+        sink.accept(dgram);
+    }
+}
@@ -0,0 +1,303 @@
+package com.sitm.mio.util;
+
+import java.util.Arrays;
+
+/**
+ * Sketch de cuantiles de tamaño acotado y combinable (t-digest con fusión)
+ *
+ * Guarda centroides (media, peso) ordenados por media. Las muestras nuevas
+ * se acumulan en un buffer y al llenarse se ordenan y se funden con los
+ * centroides: dos vecinos se unen mientras el tramo que cubren quepa en una
+ * unidad de la escala k1(q) = compression / 2π · asin(2q - 1), que deja
+ * centroides chicos en las colas (p85, p95 precisos) y grandes en el medio.
+ * Quedan como mucho ~compression centroides, sin importar cuántas muestras
+ * haya visto: la memoria por arco es constante.
+ *
+ * Dos sketches (de workers, tareas o lotes distintos) se combinan fundiendo
+ * sus centroides, así el Master suma sketches igual que suma conteos.
+ * No es thread-safe.
+ */
+public class QuantileSketch {
+
+    public static final double DEFAULT_COMPRESSION = 100;
+
+    private final double compression;
+    private final int bufferLimit;
+
+    private double[] means = new double[0];
+    private long[] weights = new long[0];
+    private int size;
+
+    private double[] buffer = new double[8];
+    private int buffered;
+
+    private long count;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+
+    public QuantileSketch() {
+        this(DEFAULT_COMPRESSION);
+    }
+
+    public QuantileSketch(double compression) {
+        this.compression = compression;
+        this.bufferLimit = (int) (4 * compression);
+    }
+
+    /**
+     * Reconstruye un sketch a partir de sus centroides (ordenados por media)
+     */
+    public static QuantileSketch of(double[] means, long[] weights, double min, double max) {
+        QuantileSketch sketch = new QuantileSketch();
+        sketch.merge(means, weights, min, max);
+        return sketch;
+    }
+
+    public void add(double value) {
+        if (buffered == buffer.length) {
+            if (buffered >= bufferLimit) {
+                flush();
+            } else {
+                buffer = Arrays.copyOf(buffer, Math.min(bufferLimit, buffer.length * 2));
+            }
+        }
+        buffer[buffered++] = value;
+        count++;
+        if (value < min) {
+            min = value;
+        }
+        if (value > max) {
+            max = value;
+        }
+    }
+
+    public void merge(QuantileSketch other) {
+        if (other == null || other.count == 0) {
+            return;
+        }
+        other.flush();
+        merge(other.means, other.weights, other.size, other.min, other.max);
+    }
+
+    /**
+     * Suma centroides recibidos (p. ej. de un ArcAggregate); min/max son los
+     * extremos de esas muestras, NaN si no se conocen
+     */
+    public void merge(double[] centroidMeans, long[] centroidWeights, double min, double max) {
+        if (centroidMeans == null || centroidWeights == null) {
+            return;
+        }
+        merge(centroidMeans, centroidWeights, Math.min(centroidMeans.length, centroidWeights.length), min, max);
+    }
+
+    private void merge(double[] centroidMeans, long[] centroidWeights, int n, double min, double max) {
+        if (n == 0) {
+            return;
+        }
+        flush();
+        long added = 0;
+        for (int i = 0; i < n; i++) {
+            added += centroidWeights[i];
+        }
+        count += added;
+        this.min = Math.min(this.min, Double.isNaN(min) ? centroidMeans[0] : min);
+        this.max = Math.max(this.max, Double.isNaN(max) ? centroidMeans[n - 1] : max);
+        mergeSorted(centroidMeans, centroidWeights, n);
+    }
+
+    /**
+     * Funde el buffer con los centroides
+     */
+    private void flush() {
+        if (buffered == 0) {
+            return;
+        }
+        Arrays.sort(buffer, 0, buffered);
+        mergeSorted(buffer, null, buffered);
+        buffered = 0;
+    }
+
+    /**
+     * Mezcla los centroides con una secuencia ordenada (pesos null = 1 cada
+     * muestra) y comprime en una sola pasada
+     */
+    private void mergeSorted(double[] inMeans, long[] inWeights, int n) {
+        int total = size + n;
+        double[] allMeans = new double[total];
+        long[] allWeights = new long[total];
+        int i = 0;
+        int j = 0;
+        for (int k = 0; k < total; k++) {
+            if (j >= n || (i < size && means[i] <= inMeans[j])) {
+                allMeans[k] = means[i];
+                allWeights[k] = weights[i++];
+            } else {
+                allMeans[k] = inMeans[j];
+                allWeights[k] = inWeights != null ? inWeights[j] : 1;
+                j++;
+            }
+        }
+
+        long totalWeight = 0;
+        for (int k = 0; k < total; k++) {
+            totalWeight += allWeights[k];
+        }
+
+        // Centroide en curso [allMeans[0]]; se le suman vecinos mientras el
+        // peso acumulado no pase el límite de su unidad de k
+        int out = 0;
+        double currentMean = allMeans[0];
+        long currentWeight = allWeights[0];
+        long weightSoFar = 0;
+        double qLimit = qLimit(0, totalWeight);
+        for (int k = 1; k < total; k++) {
+            long next = allWeights[k];
+            if ((double) (weightSoFar + currentWeight + next) / totalWeight <= qLimit) {
+                currentWeight += next;
+                currentMean += (allMeans[k] - currentMean) * next / currentWeight;
+            } else {
+                allMeans[out] = currentMean;
+                allWeights[out++] = currentWeight;
+                weightSoFar += currentWeight;
+                qLimit = qLimit(weightSoFar, totalWeight);
+                currentMean = allMeans[k];
+                currentWeight = next;
+            }
+        }
+        allMeans[out] = currentMean;
+        allWeights[out++] = currentWeight;
+
+        means = out == total ? allMeans : Arrays.copyOf(allMeans, out);
+        weights = out == total ? allWeights : Arrays.copyOf(allWeights, out);
+        size = out;
+    }
+
+    /**
+     * Fracción acumulada hasta donde puede crecer un centroide que empieza
+     * en weightSoFar: k1^-1(k1(q) + 1)
+     */
+    private double qLimit(long weightSoFar, long totalWeight) {
+        double q = (double) weightSoFar / totalWeight;
+        double k = compression / (2 * Math.PI) * Math.asin(2 * q - 1) + 1;
+        if (k >= compression / 4) {
+            return 1.0;
+        }
+        return (Math.sin(k * 2 * Math.PI / compression) + 1) / 2;
+    }
+
+    /**
+     * Valor aproximado del cuantil q (0..1), NaN si no hay muestras.
+     * Interpola entre los centros de los centroides; en las puntas, hacia
+     * min y max
+     */
+    public double quantile(double q) {
+        flush();
+        if (count == 0) {
+            return Double.NaN;
+        }
+        if (q <= 0) {
+            return min;
+        }
+        if (q >= 1) {
+            return max;
+        }
+        if (size == 1) {
+            return Math.max(min, Math.min(max, means[0]));
+        }
+
+        double index = q * count;
+        if (index < weights[0] / 2.0) {
+            return min + (means[0] - min) * index / (weights[0] / 2.0);
+        }
+        double last = count - weights[size - 1] / 2.0;
+        if (index > last) {
+            return means[size - 1] + (max - means[size - 1]) * (index - last) / (weights[size - 1] / 2.0);
+        }
+
+        double center = weights[0] / 2.0;
+        for (int i = 0; i < size - 1; i++) {
+            double nextCenter = center + (weights[i] + weights[i + 1]) / 2.0;
+            if (index <= nextCenter) {
+                double fraction = (index - center) / (nextCenter - center);
+                return means[i] + (means[i + 1] - means[i]) * fraction;
+            }
+            center = nextCenter;
+        }
+        return means[size - 1];
+    }
+
+    public long count() {
+        return count;
+    }
+
+    public double min() {
+        return min;
+    }
+
+    public double max() {
+        return max;
+    }
+
+    /**
+     * Medias de los centroides, ordenadas (copia, tras fundir el buffer)
+     */
+    public double[] centroidMeans() {
+        flush();
+        return Arrays.copyOf(means, size);
+    }
+
+    /**
+     * Pesos de los centroides, en el orden de centroidMeans()
+     */
+    public long[] centroidWeights() {
+        flush();
+        return Arrays.copyOf(weights, size);
+    }
+
+    public int centroidCount() {
+        flush();
+        return size;
+    }
+
+    // ========== Texto (persistencia) ==========
+
+    /**
+     * Formato "min:max|media:peso|media:peso|..." (mismo estilo que el
+     * periodStart de los resultados agregados)
+     */
+    public String encode() {
+        flush();
+        StringBuilder sb = new StringBuilder(16 + size * 24);
+        sb.append(count > 0 ? min : 0.0).append(':').append(count > 0 ? max : 0.0);
+        for (int i = 0; i < size; i++) {
+            sb.append('|').append(means[i]).append(':').append(weights[i]);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Inverso de encode(); null o vacío = sketch vacío
+     * @throws IllegalArgumentException si el texto no tiene el formato
+     */
+    public static QuantileSketch decode(String text) {
+        QuantileSketch sketch = new QuantileSketch();
+        if (text == null || text.isEmpty()) {
+            return sketch;
+        }
+        try {
+            String[] parts = text.split("\\|");
+            String[] bounds = parts[0].split(":");
+            double[] centroidMeans = new double[parts.length - 1];
+            long[] centroidWeights = new long[parts.length - 1];
+            for (int i = 1; i < parts.length; i++) {
+                int colon = parts[i].indexOf(':');
+                centroidMeans[i - 1] = Double.parseDouble(parts[i].substring(0, colon));
+                centroidWeights[i - 1] = Long.parseLong(parts[i].substring(colon + 1));
+            }
+            sketch.merge(centroidMeans, centroidWeights, Double.parseDouble(bounds[0]), Double.parseDouble(bounds[1]));
+            return sketch;
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Sketch inválido: " + e.getMessage(), e);
+        }
+    }
+}
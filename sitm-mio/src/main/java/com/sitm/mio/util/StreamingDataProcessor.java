@@ -1,15 +1,14 @@
 package com.sitm.mio.util;
 
 import java.io.IOException;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutionException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
-import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
@@ -18,89 +17,235 @@ import SITM.MIO.BusDatagram;
 
 /**
  * Coordinador de procesamiento paralelo para grandes volúmenes
- * Usa StreamingDatagramReader internamente + ExecutorService para paralelismo
+ * Usa StreamingDatagramReader (o ParallelDatagramReader para leer por rangos
+ * de bytes en varios hilos, o ColumnarDatagramReader si el archivo ya está
+ * convertido al formato columnar) + ExecutorService para paralelismo
+ *
+ * Productor/consumidor: el hilo que llama lee los lotes y los deja en una
+ * cola acotada (maxConcurrentBatches); parallelThreads consumidores los
+ * toman y procesan. Con los consumidores ocupados y la cola llena, el lector
+ * se bloquea en put() hasta que se libera un lugar (sin sondeo ni logs).
+ * Los consumidores pueden correr en hilos virtuales si la JVM los tiene
+ * (Java 21+); si no, en hilos de plataforma.
+ *
+ * Contadores: profundidad de la cola (actual y máxima), tiempo que el lector
+ * pasó bloqueado y throughput de cada etapa (lectura sin contar esperas,
+ * procesamiento sumado de los consumidores).
  */
 public class StreamingDataProcessor implements AutoCloseable {
+    private static final BusDatagram[] END = new BusDatagram[0];
+    
     private final int batchSize;
+    private final int parallelThreads;
     private final ExecutorService executor;
+    private final boolean virtualThreads;
     private final int maxConcurrentBatches;
     private final AtomicInteger activeBatches = new AtomicInteger(0);
     private final AtomicLong totalProcessed = new AtomicLong(0);
     
+    // Contadores de la última ejecución de processLargeFile
+    private volatile BlockingQueue<BusDatagram[]> queue;
+    private final AtomicInteger maxQueueDepth = new AtomicInteger(0);
+    private final AtomicLong producerStallNanos = new AtomicLong(0);
+    private final AtomicLong producerStalls = new AtomicLong(0);
+    private final AtomicLong readNanos = new AtomicLong(0);
+    private final AtomicLong datagramsRead = new AtomicLong(0);
+    private final AtomicLong consumerBusyNanos = new AtomicLong(0);
+    private final AtomicLong batchesProcessed = new AtomicLong(0);
+    private final AtomicLong failedBatches = new AtomicLong(0);
+    private volatile long wallNanos;
+    
     public StreamingDataProcessor(int batchSize, int parallelThreads, int maxConcurrentBatches) {
+        this(batchSize, parallelThreads, maxConcurrentBatches, false);
+    }
+    
+    /**
+     * @param parallelThreads Consumidores que procesan lotes a la vez
+     * @param maxConcurrentBatches Lotes leídos que pueden esperar en la cola
+     * @param virtualThreads true para correr los consumidores en hilos virtuales (si la JVM los tiene)
+     */
+    public StreamingDataProcessor(int batchSize, int parallelThreads, int maxConcurrentBatches,
+                                  boolean virtualThreads) {
         this.batchSize = batchSize;
-        this.executor = Executors.newFixedThreadPool(parallelThreads);
-        this.maxConcurrentBatches = maxConcurrentBatches;
+        this.parallelThreads = Math.max(1, parallelThreads);
+        this.maxConcurrentBatches = Math.max(1, maxConcurrentBatches);
+        ExecutorService virtual = virtualThreads ? newVirtualThreadExecutor() : null;
+        this.virtualThreads = virtual != null;
+        this.executor = virtual != null ? virtual : Executors.newFixedThreadPool(this.parallelThreads);
+    }
+    
+    /**
+     * Executors.newVirtualThreadPerTaskExecutor() por reflexión: el proyecto
+     * compila con Java 17; null si la JVM no tiene hilos virtuales
+     */
+    private static ExecutorService newVirtualThreadExecutor() {
+        try {
+            return (ExecutorService) MethodHandles.publicLookup()
+                .findStatic(Executors.class, "newVirtualThreadPerTaskExecutor", MethodType.methodType(ExecutorService.class))
+                .invoke();
+        } catch (Throwable e) {
+            System.out.println("⚠️ Hilos virtuales no disponibles en esta JVM, se usan hilos de plataforma");
+            return null;
+        }
     }
     
     /**
      * Procesa archivo grande con paralelismo controlado (backpressure)
      */
     public void processLargeFile(String filePath, Consumer<BusDatagram[]> batchProcessor) {
-        try (StreamingDatagramReader reader = new StreamingDatagramReader(filePath, batchSize)) {
+        processLargeFile(filePath, batchProcessor, 1, true);
+    }
+    
+    /**
+     * Procesa archivo grande leyendo con varios hilos de parseo
+     * @param readerThreads Rangos de bytes parseados en paralelo (1 = lector secuencial)
+     * @param ordered true para entregar los lotes en el orden del archivo
+     */
+    public void processLargeFile(String filePath, Consumer<BusDatagram[]> batchProcessor,
+                                 int readerThreads, boolean ordered) {
+        processLargeFile(filePath, batchProcessor, readerThreads, ordered, Long.MIN_VALUE, Long.MAX_VALUE);
+    }
+    
+    /**
+     * Procesa solo los datagramas con fromEpoch <= epoch <= toEpoch (segundos).
+     * Con archivo columnar se saltan los bloques fuera del rango sin leerlos.
+     */
+    public void processLargeFile(String filePath, Consumer<BusDatagram[]> batchProcessor,
+                                 int readerThreads, boolean ordered, long fromEpoch, long toEpoch) {
+        boolean columnar = ColumnarDatagramFile.isColumnar(filePath);
+        boolean timeFiltered = fromEpoch != Long.MIN_VALUE || toEpoch != Long.MAX_VALUE;
+        resetStats();
+        BlockingQueue<BusDatagram[]> handoff = new ArrayBlockingQueue<>(maxConcurrentBatches);
+        queue = handoff;
+        CountDownLatch consumersDone = new CountDownLatch(parallelThreads);
+        long start = System.nanoTime();
+        
+        System.out.printf("🏁 Iniciando procesamiento paralelo: batchSize=%,d, consumers=%d%s, queue=%d, readers=%d%n",
+            batchSize, parallelThreads, virtualThreads ? " (virtuales)" : "", maxConcurrentBatches,
+            Math.max(1, readerThreads));
+        
+        for (int i = 0; i < parallelThreads; i++) {
+            executor.execute(() -> {
+                try {
+                    consume(handoff, batchProcessor);
+                } finally {
+                    consumersDone.countDown();
+                }
+            });
+        }
+        
+        boolean endSent = false;
+        try (DatagramBatchSource reader = openReader(filePath, readerThreads, ordered, columnar, fromEpoch, toEpoch)) {
+            long readStart = System.nanoTime();
             BusDatagram[] batch;
-            List<CompletableFuture<Void>> futures = new ArrayList<>();
-            int batchNumber = 0;
-            
-            System.out.printf("🏁 Iniciando procesamiento paralelo: batchSize=%,d, threads=%d%n",
-                batchSize, ((ThreadPoolExecutor) executor).getMaximumPoolSize());
-            
             while ((batch = reader.readNextBatch()) != null) {
-                batchNumber++;
-                final BusDatagram[] currentBatch = batch;
-                final int currentBatchNum = batchNumber;
-                
-                // Control de backpressure: esperar si hay muchos batches activos
-                while (activeBatches.get() >= maxConcurrentBatches) {
-                    Thread.sleep(100);
-                    System.out.printf("⏳ Backpressure: %d batches activos...%n", activeBatches.get());
-                }
-                
-                activeBatches.incrementAndGet();
-                
-                CompletableFuture<Void> future = CompletableFuture.runAsync(() -> {
-                    try {
-                        long startTime = System.currentTimeMillis();
-                        
-                        System.out.printf("🔄 Procesando lote %,d (%,d datagramas)%n",
-                            currentBatchNum, currentBatch.length);
-                        
-                        // Ejecutar el procesamiento del batch
-                        batchProcessor.accept(currentBatch);
-                        
-                        long endTime = System.currentTimeMillis();
-                        long processed = totalProcessed.addAndGet(currentBatch.length);
-                        
-                        System.out.printf("✅ Lote %,d completado: %,d ms (Total: %,d)%n",
-                            currentBatchNum, (endTime - startTime), processed);
-                        
-                    } catch (Exception e) {
-                        System.err.printf("❌ Error en lote %,d: %s%n", currentBatchNum, e.getMessage());
-                    } finally {
-                        activeBatches.decrementAndGet();
+                if (timeFiltered && !columnar) {
+                    batch = ColumnarDatagramFile.filterTime(batch, fromEpoch, toEpoch);
+                    if (batch.length == 0) {
+                        continue;
                     }
-                }, executor);
-                
-                futures.add(future);
+                }
+                readNanos.addAndGet(System.nanoTime() - readStart);
+                datagramsRead.addAndGet(batch.length);
                 
-                // Limpiar futures completados periódicamente
-                if (futures.size() > maxConcurrentBatches * 2) {
-                    futures.removeIf(CompletableFuture::isDone);
+                // Backpressure: con la cola llena el lector espera a que un consumidor tome un lote
+                if (!handoff.offer(batch)) {
+                    long stallStart = System.nanoTime();
+                    handoff.put(batch);
+                    producerStallNanos.addAndGet(System.nanoTime() - stallStart);
+                    producerStalls.incrementAndGet();
                 }
+                maxQueueDepth.accumulateAndGet(handoff.size(), Math::max);
+                readStart = System.nanoTime();
             }
             
             // Esperar finalización de todos los batches
             System.out.println("⏳ Esperando finalización de batches pendientes...");
-            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(1, TimeUnit.HOURS);
+            sendEnd(handoff);
+            endSent = true;
+            if (!consumersDone.await(1, TimeUnit.HOURS)) {
+                throw new IOException("Timeout esperando a los consumidores");
+            }
+            wallNanos = System.nanoTime() - start;
             
             System.out.printf("🎉 Procesamiento completado: %,d datagramas totales%n", 
                 totalProcessed.get());
+            System.out.println("📊 " + describeStats());
             
-        } catch (IOException | InterruptedException | ExecutionException | TimeoutException e) {
+        } catch (IOException | InterruptedException e) {
             throw new RuntimeException("Error procesando archivo grande", e);
+        } finally {
+            if (!endSent) {
+                // Error de lectura: los consumidores terminan lo que está en cola y salen
+                try {
+                    sendEnd(handoff);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+    }
+    
+    private void sendEnd(BlockingQueue<BusDatagram[]> handoff) throws InterruptedException {
+        for (int i = 0; i < parallelThreads; i++) {
+            handoff.put(END);
         }
     }
     
+    /**
+     * Ciclo de un consumidor: toma lotes hasta recibir END
+     */
+    private void consume(BlockingQueue<BusDatagram[]> handoff, Consumer<BusDatagram[]> batchProcessor) {
+        try {
+            BusDatagram[] batch;
+            while ((batch = handoff.take()) != END) {
+                activeBatches.incrementAndGet();
+                long batchNumber = batchesProcessed.incrementAndGet();
+                long startTime = System.nanoTime();
+                try {
+                    // Ejecutar el procesamiento del batch
+                    batchProcessor.accept(batch);
+                    
+                    long processed = totalProcessed.addAndGet(batch.length);
+                    System.out.printf("✅ Lote %,d completado: %,d datagramas en %,d ms (Total: %,d)%n",
+                        batchNumber, batch.length, (System.nanoTime() - startTime) / 1_000_000, processed);
+                    
+                } catch (Exception e) {
+                    failedBatches.incrementAndGet();
+                    System.err.printf("❌ Error en lote %,d: %s%n", batchNumber, e.getMessage());
+                } finally {
+                    consumerBusyNanos.addAndGet(System.nanoTime() - startTime);
+                    activeBatches.decrementAndGet();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    private void resetStats() {
+        maxQueueDepth.set(0);
+        producerStallNanos.set(0);
+        producerStalls.set(0);
+        readNanos.set(0);
+        datagramsRead.set(0);
+        consumerBusyNanos.set(0);
+        batchesProcessed.set(0);
+        failedBatches.set(0);
+        wallNanos = 0;
+    }
+    
+    private DatagramBatchSource openReader(String filePath, int readerThreads, boolean ordered,
+                                           boolean columnar, long fromEpoch, long toEpoch) throws IOException {
+        if (columnar) {
+            return new ColumnarDatagramReader(filePath, batchSize, fromEpoch, toEpoch, true);
+        }
+        if (readerThreads <= 1) {
+            return new StreamingDatagramReader(filePath, batchSize);
+        }
+        return new ParallelDatagramReader(filePath, readerThreads, batchSize, ordered, true);
+    }
+    
     public long getTotalProcessed() {
         return totalProcessed.get();
     }
@@ -109,6 +254,65 @@ public class StreamingDataProcessor implements AutoCloseable {
         return activeBatches.get();
     }
     
+    /**
+     * Lotes leídos esperando un consumidor
+     */
+    public int getQueueDepth() {
+        BlockingQueue<BusDatagram[]> current = queue;
+        return current != null ? current.size() : 0;
+    }
+    
+    public int getMaxQueueDepth() {
+        return maxQueueDepth.get();
+    }
+    
+    /**
+     * Milisegundos que el lector estuvo bloqueado con la cola llena
+     */
+    public long getProducerStallMillis() {
+        return producerStallNanos.get() / 1_000_000;
+    }
+    
+    public long getProducerStalls() {
+        return producerStalls.get();
+    }
+    
+    /**
+     * Datagramas por segundo que entrega el lector (sin contar las esperas por la cola)
+     */
+    public double getReadThroughput() {
+        long nanos = readNanos.get();
+        return nanos > 0 ? datagramsRead.get() * 1e9 / nanos : 0;
+    }
+    
+    /**
+     * Datagramas por segundo de un consumidor (tiempo de procesamiento sumado de todos)
+     */
+    public double getConsumerThroughput() {
+        long nanos = consumerBusyNanos.get();
+        return nanos > 0 ? totalProcessed.get() * 1e9 / nanos : 0;
+    }
+    
+    /**
+     * Datagramas por segundo de punta a punta en la última ejecución
+     */
+    public double getOverallThroughput() {
+        long nanos = wallNanos;
+        return nanos > 0 ? totalProcessed.get() * 1e9 / nanos : 0;
+    }
+    
+    public long getFailedBatches() {
+        return failedBatches.get();
+    }
+    
+    public String describeStats() {
+        return String.format("lectura %,.0f dgr/s, consumidor %,.0f dgr/s (x%d), total %,.0f dgr/s; "
+                + "cola máx %d/%d, lector bloqueado %,d ms en %,d esperas, lotes fallidos %d",
+            getReadThroughput(), getConsumerThroughput(), parallelThreads, getOverallThroughput(),
+            getMaxQueueDepth(), maxConcurrentBatches, getProducerStallMillis(), getProducerStalls(),
+            getFailedBatches());
+    }
+    
     @Override
     public void close() {
         if (executor != null) {
@@ -123,4 +327,4 @@ public class StreamingDataProcessor implements AutoCloseable {
             }
         }
     }
-}
\ No newline at end of file
+}
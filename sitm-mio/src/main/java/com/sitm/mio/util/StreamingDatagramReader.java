@@ -15,12 +15,13 @@ import SITM.MIO.BusDatagram;
  * Formato del CSV real:
  * eventType,registerdate,stopId,odometer,latitude,longitude,taskId,lineId,tripId,unknown1,datagramDate,busId
  * 0,28-MAY-19,513327,70,34761183,-764873683,757,2241,159,1365,2019-05-27 20:14:43,1069
+ *
+ * El parseo se hace a nivel de bytes con DatagramCsvParser (sin split/regex por línea)
  */
-public class StreamingDatagramReader implements AutoCloseable {
+public class StreamingDatagramReader implements DatagramBatchSource {
     
-    private final BufferedReader reader;
+    private final DatagramCsvParser parser;
     private final int batchSize;
-    private boolean headerSkipped = false;
     private long totalRead = 0;
     
     /**
@@ -29,7 +30,7 @@ public class StreamingDatagramReader implements AutoCloseable {
      * @param batchSize Tamaño del lote
      */
     public StreamingDatagramReader(String filePath, int batchSize) throws IOException {
-        this.reader = Files.newBufferedReader(Paths.get(filePath));
+        this.parser = DatagramCsvParser.open(filePath, true);
         this.batchSize = batchSize;
     }
     
@@ -45,20 +46,15 @@ public class StreamingDatagramReader implements AutoCloseable {
     /**
      * Lee el siguiente lote de datagramas
      */
+    @Override
     public BusDatagram[] readNextBatch() throws IOException {
         List<BusDatagram> batch = new ArrayList<>(batchSize);
         
-        // Saltar header
-        if (!headerSkipped) {
-            reader.readLine();
-            headerSkipped = true;
-        }
-        
-        String line;
+        // El header lo salta el parser
         int count = 0;
         
-        while (count < batchSize && (line = reader.readLine()) != null) {
-            BusDatagram dgram = parseDatagram(line);
+        while (count < batchSize && parser.advance()) {
+            BusDatagram dgram = parseDatagram();
             if (dgram != null) {
                 batch.add(dgram);
                 count++;
@@ -90,40 +86,17 @@ public class StreamingDatagramReader implements AutoCloseable {
      * 10: datagramDate (timestamp formato: "2019-05-27 20:14:43")
      * 11: busId
      */
-    private BusDatagram parseDatagram(String line) {
+    private BusDatagram parseDatagram() {
         try {
-            // Limpiar comillas si existen
-            line = line.replace("\"", "");
-            
-            String[] parts = line.split(",");
-            if (parts.length < 12) {
+            // Comillas, espacios, escala de lat/lon (/ 10,000,000) y odómetro
+            // (metros) se resuelven en el parser; números inválidos quedan en 0
+            BusDatagram dgram = parser.parseLine();
+            if (dgram == null) {
                 return null; // Línea incompleta
             }
             
-            BusDatagram dgram = new BusDatagram();
-            
-            // Campos básicos
-            dgram.eventType = parseInt(parts[0], 0);
-            dgram.stopId = parts[2].trim();
-            dgram.lineId = parts[7].trim();
-            dgram.tripId = parts[8].trim();
-            dgram.busId = parts[11].trim();
-            
-            // ODÓMETRO (ya está en metros)
-            dgram.odometer = parseDouble(parts[3], 0.0);
-            
-            // COORDENADAS (dividir por 10,000,000 para obtener grados decimales)
-            double rawLat = parseDouble(parts[4], 0.0);
-            double rawLon = parseDouble(parts[5], 0.0);
-            
-            dgram.latitude = rawLat / 10000000.0;
-            dgram.longitude = rawLon / 10000000.0;
-            
-            // TIMESTAMP (formato: "2019-05-27 20:14:43")
-            dgram.datagramDate = parts[10].trim();
-            
             // Validar datos básicos
-            if (!isValidDatagram(dgram)) {
+            if (!isValidDatagram(dgram, parser.isDateWellFormed())) {
                 return null;
             }
             
@@ -137,8 +110,9 @@ public class StreamingDatagramReader implements AutoCloseable {
     
     /**
      * Valida que el datagrama tenga datos mínimos correctos
+     * (compartido con ParallelDatagramReader)
      */
-    private boolean isValidDatagram(BusDatagram dgram) {
+    static boolean isValidDatagram(BusDatagram dgram, boolean dateWellFormed) {
         // Verificar campos obligatorios no vacíos
         if (dgram.stopId.isEmpty() || dgram.lineId.isEmpty() || 
             dgram.tripId.isEmpty() || dgram.busId.isEmpty() ||
@@ -158,30 +132,14 @@ public class StreamingDatagramReader implements AutoCloseable {
             return false;
         }
         
-        // Verificar formato de timestamp (básico)
-        if (!dgram.datagramDate.matches("\\d{4}-\\d{2}-\\d{2} \\d{2}:\\d{2}:\\d{2}")) {
+        // Verificar formato de timestamp "yyyy-MM-dd HH:mm:ss" (chequeado sobre los bytes)
+        if (!dateWellFormed) {
             return false;
         }
         
         return true;
     }
     
-    private int parseInt(String value, int defaultValue) {
-        try {
-            return Integer.parseInt(value.trim());
-        } catch (NumberFormatException e) {
-            return defaultValue;
-        }
-    }
-    
-    private double parseDouble(String value, double defaultValue) {
-        try {
-            return Double.parseDouble(value.trim());
-        } catch (NumberFormatException e) {
-            return defaultValue;
-        }
-    }
-    
     public static long countLines(String filePath) throws IOException {
         try (BufferedReader reader = Files.newBufferedReader(Paths.get(filePath))) {
             return reader.lines().count() - 1; // -1 por el header
@@ -198,38 +156,13 @@ public class StreamingDatagramReader implements AutoCloseable {
     public static BusDatagram[] loadFromCSV(String filePath) throws IOException {
         List<BusDatagram> datagrams = new ArrayList<>();
         
-        try (BufferedReader reader = Files.newBufferedReader(Paths.get(filePath))) {
-            String line;
-            boolean firstLine = true;
-            
-            while ((line = reader.readLine()) != null) {
-                if (firstLine) {
-                    firstLine = false;
-                    continue; // Skip header
-                }
-                
-                String[] parts = line.split(",");
-                if (parts.length < 12) continue;
+        try (DatagramCsvParser parser = DatagramCsvParser.open(filePath, true)) { // Skip header
+            BusDatagram dgram;
+            while ((dgram = parser.next()) != null) {
+                // Skip invalid lines (números mal formados)
+                if (parser.hasMalformedNumbers()) continue;
                 
-                try {
-                    BusDatagram dgram = new BusDatagram();
-                    dgram.eventType = Integer.parseInt(parts[0].trim());
-                    // parts[1] es registerDate (no usado en BusDatagram)
-                    dgram.stopId = parts[2].trim();
-                    dgram.odometer = Double.parseDouble(parts[3].trim());
-                    dgram.latitude = Double.parseDouble(parts[4].trim()) / 10_000_000.0;
-                    dgram.longitude = Double.parseDouble(parts[5].trim()) / 10_000_000.0;
-                    // parts[6] es taskId (no usado en BusDatagram)
-                    dgram.lineId = parts[7].trim();
-                    dgram.tripId = parts[8].trim();
-                    // parts[9] es unknown1
-                    dgram.datagramDate = parts[10].trim();
-                    dgram.busId = parts[11].trim();
-                    
-                    datagrams.add(dgram);
-                } catch (Exception e) {
-                    // Skip invalid lines
-                }
+                datagrams.add(dgram);
             }
         }
         
@@ -242,8 +175,8 @@ public class StreamingDatagramReader implements AutoCloseable {
     
     @Override
     public void close() throws IOException {
-        if (reader != null) {
-            reader.close();
+        if (parser != null) {
+            parser.close();
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,258 @@
+package com.sitm.mio.util;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import SITM.MIO.BusDatagram;
+import SITM.MIO.DatagramBlock;
+
+/**
+ * Agrupa las filas de una tarea por viaje (bus + viaje + línea) y las ordena
+ * por epoch dentro de cada viaje, sin listas por viaje ni claves String
+ *
+ * 1. Ordinal de viaje por fila: ids codificados como enteros, empaquetados
+ *    en un long y buscados en un LongIntHashMap (orden de primera aparición)
+ * 2. Una pasada de conteo por viaje (el dígito "viaje" del orden)
+ * 3. Solo los viajes que no llegaron en orden de epoch se ordenan: radix
+ *    sort LSD del epoch relativo con las filas como carga (solo los dígitos
+ *    que usa el rango del viaje), o Arrays.sort si el viaje es corto
+ *
+ * Todas las pasadas son estables: los empates de epoch quedan en orden de
+ * llegada. Los datagramas suelen llegar en orden de tiempo, así que en el
+ * caso común no se ordena nada.
+ */
+public final class TripGrouper {
+
+    private static final int RADIX_BITS = 11;
+    private static final int RADIX = 1 << RADIX_BITS;
+    // Por debajo de esto un viaje desordenado se ordena con Arrays.sort
+    private static final int RADIX_MIN_ROWS = 256;
+
+    /**
+     * Filas agrupadas: el viaje t son rows[tripStart[t], tripStart[t + 1])
+     */
+    public static final class Groups {
+        public final int[] rows;
+        public final int[] tripStart;
+
+        Groups(int[] rows, int[] tripStart) {
+            this.rows = rows;
+            this.tripStart = tripStart;
+        }
+
+        public int tripCount() {
+            return tripStart.length - 1;
+        }
+    }
+
+    private TripGrouper() {
+    }
+
+    /**
+     * Agrupa las filas de un DatagramBlock (los ids ya vienen como índices
+     * al diccionario del bloque)
+     */
+    public static Groups group(DatagramBlock block) {
+        int size = DatagramBlocks.size(block);
+        if (block.dictionary.length > DatagramBlocks.MAX_DICTIONARY_SIZE) {
+            throw new IllegalArgumentException("Block dictionary too large: " + block.dictionary.length);
+        }
+        int[] tripOf = new int[size];
+        LongIntHashMap trips = new LongIntHashMap(1024);
+        for (int i = 0; i < size; i++) {
+            long key = ((long) block.busIdx[i] << 42) | ((long) block.tripIdx[i] << 21) | block.lineIdx[i];
+            int trip = trips.get(key);
+            if (trip < 0) {
+                trip = trips.size();
+                trips.put(key, trip);
+            }
+            tripOf[i] = trip;
+        }
+        return sort(tripOf, trips.size(), block.epochSeconds);
+    }
+
+    /**
+     * Agrupa un arreglo de BusDatagram. Llena epochSeconds en los datagramas
+     * que no lo traen (se parsea datagramDate una sola vez)
+     */
+    public static Groups group(BusDatagram[] datagrams) {
+        int size = datagrams.length;
+        long[] epochs = new long[size];
+        int[] tripOf = new int[size];
+
+        // Cada id a un entero (un mapa por campo), empaquetados en 21 bits
+        // cada uno como en DatagramBlock
+        Map<String, Integer> busIds = new HashMap<>();
+        Map<String, Integer> tripIds = new HashMap<>();
+        Map<String, Integer> lineIds = new HashMap<>();
+        LongIntHashMap trips = new LongIntHashMap(1024);
+        for (int i = 0; i < size; i++) {
+            BusDatagram dgram = datagrams[i];
+            if (dgram.epochSeconds == 0) {
+                dgram.epochSeconds = DatagramCsvParser.parseEpochSeconds(dgram.datagramDate);
+            }
+            epochs[i] = dgram.epochSeconds;
+
+            long tripKey = ((long) code(busIds, dgram.busId) << 42) | ((long) code(tripIds, dgram.tripId) << 21)
+                | code(lineIds, dgram.lineId);
+            int trip = trips.get(tripKey);
+            if (trip < 0) {
+                trip = trips.size();
+                trips.put(tripKey, trip);
+            }
+            tripOf[i] = trip;
+        }
+        return sort(tripOf, trips.size(), epochs);
+    }
+
+    private static int code(Map<String, Integer> ids, String value) {
+        Integer code = ids.get(value);
+        if (code == null) {
+            if (ids.size() >= DatagramBlocks.MAX_DICTIONARY_SIZE) {
+                throw new IllegalArgumentException("Más de " + DatagramBlocks.MAX_DICTIONARY_SIZE
+                    + " ids distintos en la tarea, usar lotes más pequeños");
+            }
+            code = ids.size();
+            ids.put(value, code);
+        }
+        return code;
+    }
+
+    /**
+     * Filas ordenadas por (ordinal de viaje, epoch), estable
+     */
+    static Groups sort(int[] tripOf, int tripCount, long[] epochs) {
+        int size = tripOf.length;
+        int[] tripStart = new int[tripCount + 1];
+        long[] minEpoch = new long[tripCount];
+        long[] maxEpoch = new long[tripCount];
+        Arrays.fill(minEpoch, Long.MAX_VALUE);
+        Arrays.fill(maxEpoch, Long.MIN_VALUE);
+        // Un viaje que llega en orden de epoch no se ordena: basta ver si
+        // alguna fila trae un epoch menor que el máximo visto en su viaje
+        boolean[] unsorted = new boolean[tripCount];
+        for (int i = 0; i < size; i++) {
+            int trip = tripOf[i];
+            long epoch = epochs[i];
+            tripStart[trip + 1]++;
+            if (epoch < maxEpoch[trip]) {
+                unsorted[trip] = true;
+            } else {
+                maxEpoch[trip] = epoch;
+            }
+            minEpoch[trip] = Math.min(minEpoch[trip], epoch);
+        }
+        for (int t = 0; t < tripCount; t++) {
+            tripStart[t + 1] += tripStart[t];
+        }
+
+        // Pasada de conteo por viaje (estable: conserva el orden de llegada)
+        int[] rows = new int[size];
+        int[] fill = Arrays.copyOf(tripStart, tripCount);
+        for (int i = 0; i < size; i++) {
+            rows[fill[tripOf[i]]++] = i;
+        }
+
+        // Pasadas por epoch solo en los viajes desordenados
+        long[] keys = null;
+        long[] keyBuffer = null;
+        int[] rowBuffer = null;
+        for (int t = 0; t < tripCount; t++) {
+            if (!unsorted[t]) {
+                continue;
+            }
+            int from = tripStart[t];
+            int to = tripStart[t + 1];
+            long range = maxEpoch[t] - minEpoch[t];
+            if (keys == null) {
+                keys = new long[size];
+            }
+            if (range < 0 || range > Integer.MAX_VALUE) {
+                sortByComparator(rows, from, to, epochs);
+            } else if (to - from < RADIX_MIN_ROWS) {
+                // Pocas filas: (epoch relativo << 32 | fila) con Arrays.sort
+                for (int k = from; k < to; k++) {
+                    keys[k] = ((epochs[rows[k]] - minEpoch[t]) << 32) | rows[k];
+                }
+                Arrays.sort(keys, from, to);
+                for (int k = from; k < to; k++) {
+                    rows[k] = (int) keys[k];
+                }
+            } else {
+                if (keyBuffer == null) {
+                    keyBuffer = new long[size];
+                    rowBuffer = new int[size];
+                }
+                for (int k = from; k < to; k++) {
+                    keys[k] = epochs[rows[k]] - minEpoch[t];
+                }
+                radixSort(keys, rows, keyBuffer, rowBuffer, from, to, bitsFor(range));
+            }
+        }
+        return new Groups(rows, tripStart);
+    }
+
+    /**
+     * Radix sort LSD de keys[from, to) (los primeros "bits" bits), moviendo
+     * rows con ellas; los buffers se usan en el mismo rango
+     */
+    static void radixSort(long[] keys, int[] rows, long[] keyBuffer, int[] rowBuffer,
+                          int from, int to, int bits) {
+        int[] count = new int[RADIX];
+        long[] srcKeys = keys;
+        int[] srcRows = rows;
+        long[] dstKeys = keyBuffer;
+        int[] dstRows = rowBuffer;
+
+        for (int shift = 0; shift < bits; shift += RADIX_BITS) {
+            Arrays.fill(count, 0);
+            for (int i = from; i < to; i++) {
+                count[(int) (srcKeys[i] >>> shift) & (RADIX - 1)]++;
+            }
+            if (count[(int) (srcKeys[from] >>> shift) & (RADIX - 1)] == to - from) {
+                continue;   // Todas las claves tienen este dígito igual
+            }
+            int offset = from;
+            for (int d = 0; d < RADIX; d++) {
+                int c = count[d];
+                count[d] = offset;
+                offset += c;
+            }
+            for (int i = from; i < to; i++) {
+                int slot = count[(int) (srcKeys[i] >>> shift) & (RADIX - 1)]++;
+                dstKeys[slot] = srcKeys[i];
+                dstRows[slot] = srcRows[i];
+            }
+            long[] k = srcKeys;
+            srcKeys = dstKeys;
+            dstKeys = k;
+            int[] r = srcRows;
+            srcRows = dstRows;
+            dstRows = r;
+        }
+        if (srcKeys != keys) {
+            // El resultado quedó en los buffers: copiarlo al rango del llamador
+            System.arraycopy(srcKeys, from, keys, from, to - from);
+            System.arraycopy(srcRows, from, rows, from, to - from);
+        }
+    }
+
+    /**
+     * Fechas demasiado dispersas para empaquetar: orden estable con comparador
+     */
+    private static void sortByComparator(int[] rows, int from, int to, long[] epochs) {
+        Integer[] boxed = new Integer[to - from];
+        for (int k = from; k < to; k++) {
+            boxed[k - from] = rows[k];
+        }
+        Arrays.sort(boxed, (a, b) -> Long.compare(epochs[a], epochs[b]));
+        for (int k = from; k < to; k++) {
+            rows[k] = boxed[k - from];
+        }
+    }
+
+    private static int bitsFor(long value) {
+        return 64 - Long.numberOfLeadingZeros(value);
+    }
+}
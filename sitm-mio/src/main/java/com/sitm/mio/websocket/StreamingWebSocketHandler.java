@@ -165,7 +165,7 @@ public class StreamingWebSocketHandler extends TextWebSocketHandler {
             }
             
             long startTime = System.currentTimeMillis();
-            VelocityResult[] results = master.processHistoricalData(window, null, null);
+            VelocityResult[] results = master.processHistoricalData(window);
             long processingTime = System.currentTimeMillis() - startTime;
             
             // Enviar resultados por WebSocket
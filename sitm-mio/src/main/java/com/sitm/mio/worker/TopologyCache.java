@@ -0,0 +1,82 @@
+package com.sitm.mio.worker;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.sitm.mio.util.ArcIndex;
+
+import SITM.MIO.Arc;
+import SITM.MIO.MasterPrx;
+import SITM.MIO.Stop;
+import SITM.MIO.TopologySnapshot;
+
+/**
+ * Copia local de la topología (arcos y paradas) de un worker
+ *
+ * Las tareas traen solo topologyVersion. La primera tarea de una versión
+ * nueva pide la topología al Master (fetchTopology con la versión que ya se
+ * tiene, así el Master no reenvía las tablas si no cambiaron); las demás usan
+ * la copia guardada. Si el Master no responde se sigue con la copia anterior;
+ * sin topología los arcos se nombran por línea y paradas (ver VelocityWorker).
+ */
+public class TopologyCache {
+    private static final TopologySnapshot EMPTY = new TopologySnapshot("", new Arc[0], new Stop[0]);
+
+    private final String workerId;
+    private volatile TopologySnapshot current = EMPTY;
+    private volatile ArcIndex arcIndex = ArcIndex.EMPTY;
+    private final AtomicLong fetches = new AtomicLong(0);
+
+    public TopologyCache(String workerId) {
+        this.workerId = workerId;
+    }
+
+    /**
+     * Topología de la versión pedida, pidiéndola al Master solo si cambió
+     * @param version topologyVersion de la tarea ("" = sin versión, no se pide nada)
+     */
+    public TopologySnapshot ensure(String version, MasterPrx master) {
+        TopologySnapshot snapshot = current;
+        if (version == null || version.isEmpty() || version.equals(snapshot.version) || master == null) {
+            return snapshot;
+        }
+        synchronized (this) {
+            snapshot = current;
+            if (version.equals(snapshot.version)) {
+                return snapshot;    // Otra tarea ya la pidió
+            }
+            long start = System.currentTimeMillis();
+            try {
+                TopologySnapshot fetched = master.fetchTopology(snapshot.version);
+                if (!fetched.version.equals(snapshot.version)) {
+                    arcIndex = new ArcIndex(fetched.arcs);
+                    current = fetched;
+                    fetches.incrementAndGet();
+                    System.out.println("Worker " + workerId + " cached topology " + fetched.version + " ("
+                            + fetched.arcs.length + " arcs, " + fetched.stops.length + " stops) in "
+                            + (System.currentTimeMillis() - start) + "ms");
+                }
+            } catch (Exception e) {
+                System.err.println("Worker " + workerId + " could not fetch topology " + version + ": " + e);
+            }
+            return current;
+        }
+    }
+
+    public TopologySnapshot get() {
+        return current;
+    }
+
+    /**
+     * Índice de arcos de la versión guardada (vacío sin topología)
+     */
+    public ArcIndex getArcIndex() {
+        return arcIndex;
+    }
+
+    /**
+     * Veces que se descargó la topología completa
+     */
+    public long getFetchCount() {
+        return fetches.get();
+    }
+}
@@ -1,55 +1,198 @@
 package com.sitm.mio.worker;
 
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
-import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
+
+import com.sitm.mio.util.ArcIndex;
+import com.sitm.mio.util.ArcStatsTable;
+import com.sitm.mio.util.ColumnarDatagramFile;
+import com.sitm.mio.util.ColumnarDatagramReader;
+import com.sitm.mio.util.ConfigManager;
+import com.sitm.mio.util.DatagramBlocks;
+import com.sitm.mio.util.LongIntHashMap;
+import com.sitm.mio.util.ParallelDatagramReader;
+import com.sitm.mio.util.TripGrouper;
 
 import Ice.Current;
+import SITM.MIO.AggregateResult;
 import SITM.MIO.Arc;
+import SITM.MIO.ArcAggregate;
+import SITM.MIO.BlockTask;
 import SITM.MIO.BusDatagram;
+import SITM.MIO.DatagramBlock;
+import SITM.MIO.FileRangeTask;
+import SITM.MIO.MasterPrx;
 import SITM.MIO.ProcessingTask;
 import SITM.MIO.StreamingWindow;
+import SITM.MIO.TaskAssignment;
 import SITM.MIO.VelocityResult;
 import SITM.MIO._WorkerDisp;
 
 public class VelocityWorker extends _WorkerDisp {
     private final String workerId;
 
-    // FORMATO DE FECHA REAL: "2019-05-27 20:14:43"
-    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    // Planificación pull: un solo hilo pide tareas al Master mientras haya cola
+    private volatile MasterPrx master;
+    private final ExecutorService pullExecutor;
+    private final AtomicBoolean pulling = new AtomicBoolean(false);
+    private final AtomicBoolean workPending = new AtomicBoolean(false);
+
+    // Tareas canceladas por el Master (cancelTask) y la hora del aviso; se
+    // olvidan pasado CANCEL_RETENTION_MS por si el aviso llegó tarde
+    private static final long CANCEL_RETENTION_MS = 10 * 60 * 1000;
+    private static final int CANCEL_CHECK_TRIPS = 64;
+    private final Map<String, Long> cancelledTasks = new ConcurrentHashMap<>();
+
+    // Arcos y paradas por versión, pedidos al Master solo cuando cambia
+    private final TopologyCache topologyCache;
+
+    // Viajes de una tarea repartidos en un pool fork-join de "threads" hilos;
+    // por debajo de parallelMinRows filas (o con un solo hilo) se calcula en el
+    // hilo que atiende la llamada
+    private static final int CHUNKS_PER_THREAD = 4;
+    private final int threads;
+    private final int parallelMinRows;
+    private final ForkJoinPool tripPool;
 
     public VelocityWorker(String workerId) {
+        this(workerId, ConfigManager.getInstance().getInt("worker.threads", 0));
+    }
+
+    /**
+     * @param threads Hilos de cálculo por tarea, 0 = núcleos disponibles
+     */
+    public VelocityWorker(String workerId, int threads) {
         this.workerId = workerId;
-        System.out.println("Velocity Worker initialized: " + workerId);
+        this.threads = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.parallelMinRows = ConfigManager.getInstance().getInt("worker.parallel.min.rows", 50000);
+        this.tripPool = this.threads > 1 ? new ForkJoinPool(this.threads) : null;
+        this.topologyCache = new TopologyCache(workerId);
+        this.pullExecutor = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "pull-" + workerId);
+            thread.setDaemon(true);
+            return thread;
+        });
+        System.out.println("Velocity Worker initialized: " + workerId + " (" + this.threads + " threads)");
+    }
+
+    /**
+     * Proxy del Master al que se piden tareas (fetchTask / completeTask)
+     */
+    public void setMaster(MasterPrx master) {
+        this.master = master;
+    }
+
+    public String getWorkerId() {
+        return workerId;
+    }
+
+    public TopologyCache getTopologyCache() {
+        return topologyCache;
+    }
+
+    /**
+     * Hilos de cálculo por tarea (lo que se informa al Master como cores)
+     */
+    public int getThreads() {
+        return threads;
+    }
+
+    @Override
+    public void notifyWork(String jobId, Current current) {
+        if (master == null) {
+            System.err.println("Worker " + workerId + " notified of " + jobId + " without master proxy");
+            return;
+        }
+        workPending.set(true);
+        if (pulling.compareAndSet(false, true)) {
+            pullExecutor.execute(this::pullTasks);
+        }
+    }
+
+    /**
+     * Pide y procesa tareas hasta que el Master responde sin trabajo. Si llega
+     * otro aviso mientras el ciclo termina, vuelve a pedir.
+     */
+    private void pullTasks() {
+        do {
+            workPending.set(false);
+            try {
+                TaskAssignment assignment;
+                while ((assignment = master.fetchTask(workerId)).hasTask) {
+                    AggregateResult result = processBlockTaskAggregates(assignment.task, null);
+                    master.completeTask(workerId, assignment.jobId, result);
+                }
+            } catch (Exception e) {
+                System.err.println("Worker " + workerId + " stopped pulling tasks: " + e.getMessage());
+            }
+            pulling.set(false);
+        } while (workPending.get() && pulling.compareAndSet(false, true));
+    }
+
+    @Override
+    public void cancelTask(String taskId, Current current) {
+        long now = System.currentTimeMillis();
+        cancelledTasks.values().removeIf(at -> now - at > CANCEL_RETENTION_MS);
+        cancelledTasks.put(taskId, now);
+        System.out.println("Worker " + workerId + " cancelling task " + taskId);
     }
 
     @Override
     public VelocityResult processTask(ProcessingTask task, Current current) {
         System.out.println("Worker " + workerId + " processing task " + task.taskId +
                 " with " + task.datagrams.length + " datagrams");
+        topologyCache.ensure(task.topologyVersion, master);
 
         long startTime = System.currentTimeMillis();
 
         try {
-            // Agrupar datagramas por viaje (trip)
-            Map<String, List<BusDatagram>> tripDatagrams = groupDatagramsByTrip(task.datagrams);
+            // Agrupar por viaje y calcular velocidades por arco usando ODÓMETRO
+            ArcStatsTable arcStats = calculateArcVelocities(task.datagrams);
+
+            // Retornar resultado agregado
+            VelocityResult aggregatedResult = buildAggregatedResult(
+                    task.taskId, arcStats, startTime);
 
-            // Calcular velocidades por arco usando ODÓMETRO
-            Map<String, List<Double>> arcVelocities = calculateArcVelocitiesWithOdometer(tripDatagrams);
+            System.out.println("Worker " + workerId + " completed: " +
+                    arcStats.size() + " arcs processed");
 
-            // Persistir a DB si está disponible
-            persistToDatabase(arcVelocities);
+            return aggregatedResult;
+
+        } catch (Exception e) {
+            System.err.println("Error in worker " + workerId + ": " + e.getMessage());
+            e.printStackTrace();
+            return createErrorResult(task.taskId, startTime);
+        }
+    }
+
+    @Override
+    public VelocityResult processBlockTask(BlockTask task, Current current) {
+        int size = DatagramBlocks.size(task.block);
+        System.out.println("Worker " + workerId + " processing block task " + task.taskId +
+                " with " + size + " datagrams (" + task.block.dictionary.length + " ids)");
+        topologyCache.ensure(task.topologyVersion, master);
+
+        long startTime = System.currentTimeMillis();
+
+        try {
+            // Mismo cálculo que processTask, directamente sobre las columnas del bloque
+            ArcStatsTable arcStats = calculateArcVelocities(task.block);
 
-            // Retornar resultado agregado
             VelocityResult aggregatedResult = buildAggregatedResult(
-                    task.taskId, arcVelocities, startTime);
+                    task.taskId, arcStats, startTime);
 
             System.out.println("Worker " + workerId + " completed: " +
-                    arcVelocities.size() + " arcs processed");
+                    arcStats.size() + " arcs processed");
 
             return aggregatedResult;
 
@@ -60,54 +203,273 @@ public class VelocityWorker extends _WorkerDisp {
         }
     }
 
+    /**
+     * Igual que processBlockTask pero devuelve los acumuladores por arco tipados
+     * (sin serializar a texto en periodStart)
+     */
+    @Override
+    public AggregateResult processBlockTaskAggregates(BlockTask task, Current current) {
+        int size = DatagramBlocks.size(task.block);
+        System.out.println("Worker " + workerId + " processing block task " + task.taskId +
+                " with " + size + " datagrams (" + task.block.dictionary.length + " ids)");
+        topologyCache.ensure(task.topologyVersion, master);
+
+        long startTime = System.currentTimeMillis();
+
+        try {
+            // Se corta entre viajes si el Master cancela la tarea (cancelTask)
+            ArcStatsTable arcStats = calculateArcVelocities(task.block,
+                    () -> cancelledTasks.remove(task.taskId) != null);
+
+            ArcAggregate[] aggregates = arcStats.toAggregates();
+
+            System.out.println("Worker " + workerId + " completed: " +
+                    aggregates.length + " arcs processed");
+
+            return new AggregateResult(task.taskId, aggregates,
+                    System.currentTimeMillis() - startTime, "");
+
+        } catch (CancellationException e) {
+            System.out.println("Worker " + workerId + " stopped cancelled task " + task.taskId);
+            return new AggregateResult(task.taskId, new ArcAggregate[0],
+                    System.currentTimeMillis() - startTime, "cancelled");
+        } catch (Exception e) {
+            System.err.println("Error in worker " + workerId + ": " + e.getMessage());
+            e.printStackTrace();
+            return new AggregateResult(task.taskId, new ArcAggregate[0],
+                    System.currentTimeMillis() - startTime, String.valueOf(e.getMessage()));
+        }
+    }
+
+    /**
+     * Lee localmente su rango del archivo compartido (bytes de un CSV o
+     * bloques de un .mioc) y lo procesa como processBlockTaskAggregates:
+     * por la red solo viajan la ruta, el rango y los acumuladores
+     */
+    @Override
+    public AggregateResult processFileRangeTask(FileRangeTask task, Current current) {
+        System.out.println("Worker " + workerId + " reading file task " + task.taskId + ": " +
+                task.filePath + " [" + task.start + ", " + task.end + ")");
+
+        long startTime = System.currentTimeMillis();
+        BusDatagram[] datagrams;
+        try {
+            if (ColumnarDatagramFile.isColumnar(task.filePath)) {
+                datagrams = ColumnarDatagramReader.loadBlocks(task.filePath, (int) task.start, (int) task.end,
+                        task.fromEpoch, task.toEpoch);
+            } else {
+                datagrams = ParallelDatagramReader.loadRange(task.filePath, task.start, task.end);
+                if (task.fromEpoch != Long.MIN_VALUE || task.toEpoch != Long.MAX_VALUE) {
+                    datagrams = ColumnarDatagramFile.filterTime(datagrams, task.fromEpoch, task.toEpoch);
+                }
+            }
+        } catch (Exception e) {
+            System.err.println("Error reading " + task.filePath + " in worker " + workerId + ": " + e.getMessage());
+            return new AggregateResult(task.taskId, new ArcAggregate[0],
+                    System.currentTimeMillis() - startTime, "read failed: " + e.getMessage());
+        }
+        System.out.println("Worker " + workerId + " read " + datagrams.length + " datagrams in " +
+                (System.currentTimeMillis() - startTime) + "ms");
+
+        AggregateResult result = processBlockTaskAggregates(new BlockTask(task.taskId,
+                DatagramBlocks.fromDatagrams(datagrams, 0, datagrams.length), 0, 0, task.topologyVersion), current);
+        result.processingTime = System.currentTimeMillis() - startTime;
+        return result;
+    }
+
     @Override
     public VelocityResult processStreamingWindow(StreamingWindow window, Current current) {
         System.out.println("Worker " + workerId + " processing streaming window " + window.windowId);
         long startTime = System.currentTimeMillis();
 
         try {
-            Map<String, List<BusDatagram>> tripDatagrams = groupDatagramsByTrip(window.datagrams);
-            Map<String, List<Double>> arcVelocities = calculateArcVelocitiesWithOdometer(tripDatagrams);
+            ArcStatsTable arcStats = calculateArcVelocities(window.datagrams);
 
-            return buildAggregatedResult(window.windowId, arcVelocities, startTime);
+            return buildAggregatedResult(window.windowId, arcStats, startTime);
         } catch (Exception e) {
             System.err.println("Error in streaming worker " + workerId + ": " + e.getMessage());
             return createErrorResult("streaming-" + window.windowId, startTime);
         }
     }
 
+    /**
+     * Ventana (o shard de ventana) con los acumuladores por arco tipados:
+     * el Master los combina entre shards sin reinterpretar texto
+     */
+    @Override
+    public AggregateResult processStreamingWindowAggregates(StreamingWindow window, Current current) {
+        System.out.println("Worker " + workerId + " processing streaming window " + window.windowId);
+        long startTime = System.currentTimeMillis();
+
+        try {
+            ArcAggregate[] aggregates = calculateArcVelocities(window.datagrams).toAggregates();
+            return new AggregateResult(window.windowId, aggregates,
+                    System.currentTimeMillis() - startTime, "");
+        } catch (Exception e) {
+            System.err.println("Error in streaming worker " + workerId + ": " + e.getMessage());
+            return new AggregateResult(window.windowId, new ArcAggregate[0],
+                    System.currentTimeMillis() - startTime, String.valueOf(e.getMessage()));
+        }
+    }
+
     @Override
     public boolean isAlive(Current current) {
         return true;
     }
 
     /**
-     * Agrupa datagramas por viaje único (busId + tripId + lineId)
-     * y los ordena cronológicamente por datagramDate
+     * Núcleo del cálculo: agrupa por viaje (TripGrouper) y calcula velocidades
+     * por arco (público para poder medirlo desde BenchmarkClient sin Ice)
+     */
+    public ArcStatsTable calculateArcVelocities(BusDatagram[] datagrams) {
+        TripGrouper.Groups groups = TripGrouper.group(datagrams);
+        return forEachTripRange(groups, () -> false,
+                (fromTrip, toTrip, cancelled) -> calculateArcVelocitiesWithOdometer(datagrams, groups, fromTrip, toTrip));
+    }
+
+    /**
+     * Núcleo del cálculo sobre un DatagramBlock, sin crear un BusDatagram por fila.
+     * Mismo resultado que calculateArcVelocities(BusDatagram[]): TripGrouper
+     * ordena las filas por viaje (bus + viaje + línea) y epoch, y se recorren
+     * los pares consecutivos de cada viaje
      */
-    private Map<String, List<BusDatagram>> groupDatagramsByTrip(BusDatagram[] datagrams) {
-        Map<String, List<BusDatagram>> grouped = new HashMap<>();
+    public ArcStatsTable calculateArcVelocities(DatagramBlock block) {
+        return calculateArcVelocities(block, () -> false);
+    }
 
-        for (BusDatagram dgram : datagrams) {
-            // Clave única por viaje
-            String tripKey = dgram.busId + "-" + dgram.tripId + "-" + dgram.lineId;
-            grouped.computeIfAbsent(tripKey, k -> new ArrayList<>()).add(dgram);
+    /**
+     * Igual, revisando "cancelled" cada CANCEL_CHECK_TRIPS viajes; si devuelve
+     * true se lanza CancellationException
+     */
+    public ArcStatsTable calculateArcVelocities(DatagramBlock block, BooleanSupplier cancelled) {
+        if (cancelled.getAsBoolean()) {
+            throw new CancellationException("Task cancelled before start");
         }
+        TripGrouper.Groups groups = TripGrouper.group(block);
+        ArcIndex arcIndex = topologyCache.getArcIndex();
+        return forEachTripRange(groups, cancelled,
+                (fromTrip, toTrip, rangeCancelled) -> accumulateTrips(block, groups, fromTrip, toTrip,
+                        arcIndex, rangeCancelled));
+    }
 
-        // Ordenar cada viaje por timestamp
-        for (List<BusDatagram> tripData : grouped.values()) {
-            tripData.sort((d1, d2) -> {
-                try {
-                    LocalDateTime t1 = LocalDateTime.parse(d1.datagramDate, DATE_FORMATTER);
-                    LocalDateTime t2 = LocalDateTime.parse(d2.datagramDate, DATE_FORMATTER);
-                    return t1.compareTo(t2);
-                } catch (Exception e) {
-                    return 0;
+    /**
+     * Cálculo sobre los viajes [fromTrip, toTrip) en una tabla propia
+     */
+    private interface TripRange {
+        ArcStatsTable accumulate(int fromTrip, int toTrip, BooleanSupplier cancelled);
+    }
+
+    /**
+     * Corre "range" sobre todos los viajes: en este hilo si la tarea es chica
+     * o hay un solo hilo; si no, en tramos de viajes con una cantidad parecida
+     * de filas, cada uno con su propia tabla, sumadas al final
+     */
+    private ArcStatsTable forEachTripRange(TripGrouper.Groups groups, BooleanSupplier cancelled, TripRange range) {
+        int tripCount = groups.tripCount();
+        int size = groups.rows.length;
+        if (tripPool == null || size < parallelMinRows || tripCount < 2) {
+            return range.accumulate(0, tripCount, cancelled);
+        }
+
+        // El aviso de cancelación se consume al leerlo: el primer tramo que lo
+        // ve lo deja marcado para el resto
+        AtomicBoolean stop = new AtomicBoolean();
+        BooleanSupplier sharedCancel = () -> {
+            if (!stop.get() && cancelled.getAsBoolean()) {
+                stop.set(true);
+            }
+            return stop.get();
+        };
+        int[] tripStart = groups.tripStart;
+        int chunks = Math.min(tripCount, threads * CHUNKS_PER_THREAD);
+        List<ForkJoinTask<ArcStatsTable>> tasks = new ArrayList<>(chunks);
+        int from = 0;
+        for (int c = 1; c <= chunks && from < tripCount; c++) {
+            long target = (long) size * c / chunks;
+            int to = from + 1;
+            while (to < tripCount && tripStart[to] < target) {
+                to++;
+            }
+            if (c == chunks) {
+                to = tripCount;
+            }
+            int fromTrip = from;
+            int toTrip = to;
+            tasks.add(tripPool.submit(() -> range.accumulate(fromTrip, toTrip, sharedCancel)));
+            from = to;
+        }
+        return mergeChunks(tasks, stop);
+    }
+
+    /**
+     * Acumula por arco los viajes [fromTrip, toTrip) de un bloque (clave
+     * línea + parada origen + parada destino; el arco se resuelve una sola
+     * vez por terna, no por par)
+     */
+    private ArcStatsTable accumulateTrips(DatagramBlock block, TripGrouper.Groups groups, int fromTrip, int toTrip,
+                                          ArcIndex arcIndex, BooleanSupplier cancelled) {
+        String[] dictionary = block.dictionary;
+        int[] rows = groups.rows;
+        int[] tripStart = groups.tripStart;
+        ArcStatsTable arcStats = new ArcStatsTable(1024);
+        LongIntHashMap arcEntries = new LongIntHashMap(1024);
+        for (int t = fromTrip; t < toTrip; t++) {
+            if ((t - fromTrip) % CANCEL_CHECK_TRIPS == 0 && t > fromTrip && cancelled.getAsBoolean()) {
+                throw new CancellationException("Task cancelled at trip " + t + " of " + groups.tripCount());
+            }
+            for (int k = tripStart[t]; k < tripStart[t + 1] - 1; k++) {
+                int r1 = rows[k];
+                int r2 = rows[k + 1];
+
+                double distance = block.odometer[r2] - block.odometer[r1];
+                long e1 = block.epochSeconds[r1];
+                long e2 = block.epochSeconds[r2];
+                if (distance <= 0 || e1 == 0 || e2 == 0 || e2 <= e1)
+                    continue; // Mismos descartes que calculateVelocityUsingOdometer
+
+                double velocity = distance / (e2 - e1);
+                if (velocity > 0 && velocity < 50) { // Filtro: 0-50 m/s (~0-180 km/h)
+                    long arcKey = packIds(block.lineIdx[r1], block.stopIdx[r1], block.stopIdx[r2]);
+                    int entry = arcEntries.get(arcKey);
+                    if (entry < 0) {
+                        entry = arcStats.entryFor(arcIdFor(arcIndex, dictionary[block.lineIdx[r1]],
+                                dictionary[block.stopIdx[r1]], dictionary[block.stopIdx[r2]]));
+                        arcEntries.put(arcKey, entry);
+                    }
+                    arcStats.add(entry, velocity);
                 }
-            });
+            }
         }
+        return arcStats;
+    }
 
-        return grouped;
+    /**
+     * Espera los tramos y suma sus tablas en la del primero. Si uno falla,
+     * "stop" corta a los demás y se relanza el error
+     */
+    private static ArcStatsTable mergeChunks(List<ForkJoinTask<ArcStatsTable>> tasks, AtomicBoolean stop) {
+        ArcStatsTable merged = null;
+        try {
+            for (ForkJoinTask<ArcStatsTable> task : tasks) {
+                ArcStatsTable partial = task.join();
+                if (merged == null) {
+                    merged = partial;
+                } else {
+                    merged.mergeAll(partial);
+                }
+            }
+        } catch (RuntimeException e) {
+            stop.set(true);
+            for (ForkJoinTask<ArcStatsTable> task : tasks) {
+                task.quietlyJoin();
+            }
+            throw e;
+        }
+        return merged != null ? merged : new ArcStatsTable(1024);
+    }
+
+    private static long packIds(int a, int b, int c) {
+        return ((long) a << 42) | ((long) b << 21) | c;
     }
 
     /**
@@ -117,35 +479,39 @@ public class VelocityWorker extends _WorkerDisp {
      * 
      * Donde:
      * - odometer está en METROS (distancia acumulada del bus)
-     * - tiempo en SEGUNDOS (diferencia entre datagramDate)
+     * - tiempo en SEGUNDOS (diferencia entre epochSeconds)
+     *
+     * Recorre los viajes [fromTrip, toTrip) ya agrupados y ordenados por TripGrouper
      */
-    private Map<String, List<Double>> calculateArcVelocitiesWithOdometer(
-            Map<String, List<BusDatagram>> tripDatagrams) {
-
-        Map<String, List<Double>> velocitiesByArc = new HashMap<>();
+    private ArcStatsTable calculateArcVelocitiesWithOdometer(BusDatagram[] datagrams, TripGrouper.Groups groups,
+                                                             int fromTrip, int toTrip) {
 
-        for (List<BusDatagram> tripData : tripDatagrams.values()) {
-            if (tripData.size() < 2)
-                continue;
+        ArcStatsTable velocitiesByArc = new ArcStatsTable();
+        // Arco de la topología -> entrada de la tabla (-1 = todavía sin muestras)
+        ArcIndex arcIndex = topologyCache.getArcIndex();
+        int[] entryOfArc = new int[arcIndex.size()];
+        Arrays.fill(entryOfArc, -1);
+        int[] rows = groups.rows;
 
+        for (int t = fromTrip; t < toTrip; t++) {
             // Procesar cada par consecutivo de datagramas en el viaje
-            for (int i = 0; i < tripData.size() - 1; i++) {
-                BusDatagram d1 = tripData.get(i);
-                BusDatagram d2 = tripData.get(i + 1);
-
-                try {
-                    // CALCULAR VELOCIDAD CON ODÓMETRO
-                    double velocity = calculateVelocityUsingOdometer(d1, d2);
-
-                    if (velocity > 0 && velocity < 50) { // Filtro: 0-50 m/s (~0-180 km/h)
-                        // Crear arcId basado en la secuencia de paradas
-                        String arcId = createArcId(d1, d2);
-                        velocitiesByArc.computeIfAbsent(arcId, k -> new ArrayList<>()).add(velocity);
+            for (int k = groups.tripStart[t]; k < groups.tripStart[t + 1] - 1; k++) {
+                BusDatagram d1 = datagrams[rows[k]];
+                BusDatagram d2 = datagrams[rows[k + 1]];
+
+                // CALCULAR VELOCIDAD CON ODÓMETRO (NaN = par inválido, no pasa el filtro)
+                double velocity = calculateVelocityUsingOdometer(d1, d2);
+
+                if (velocity > 0 && velocity < 50) { // Filtro: 0-50 m/s (~0-180 km/h)
+                    int arc = arcIndex.indexOf(d1.lineId, d1.stopId, d2.stopId);
+                    if (arc >= 0) {
+                        if (entryOfArc[arc] < 0) {
+                            entryOfArc[arc] = velocitiesByArc.entryFor(arcIndex.arcId(arc));
+                        }
+                        velocitiesByArc.add(entryOfArc[arc], velocity);
+                    } else {
+                        velocitiesByArc.add(createArcId(d1, d2), velocity);
                     }
-
-                } catch (Exception e) {
-                    // Ignorar pares con errores en timestamps o odómetro
-                    continue;
                 }
             }
         }
@@ -158,87 +524,51 @@ public class VelocityWorker extends _WorkerDisp {
      * 
      * @param d1 Datagrama inicial
      * @param d2 Datagrama final
-     * @return Velocidad en m/s
+     * @return Velocidad en m/s, o NaN si el par no es válido (sin excepciones
+     *         en el lazo caliente)
      */
-    private double calculateVelocityUsingOdometer(BusDatagram d1, BusDatagram d2)
-            throws Exception {
+    private double calculateVelocityUsingOdometer(BusDatagram d1, BusDatagram d2) {
 
         // 1. CALCULAR DISTANCIA usando odómetro (en metros)
         double distance = d2.odometer - d1.odometer;
 
         // Validar que el odómetro aumentó (no retrocedió)
         if (distance <= 0) {
-            throw new Exception("Invalid odometer: distance <= 0");
+            return Double.NaN;
         }
 
-        // 2. CALCULAR TIEMPO en segundos
-        LocalDateTime time1 = LocalDateTime.parse(d1.datagramDate, DATE_FORMATTER);
-        LocalDateTime time2 = LocalDateTime.parse(d2.datagramDate, DATE_FORMATTER);
+        // 2. CALCULAR TIEMPO en segundos (0 = fecha inválida)
+        if (d1.epochSeconds == 0 || d2.epochSeconds == 0) {
+            return Double.NaN;
+        }
 
-        long timeDiffSeconds = ChronoUnit.SECONDS.between(time1, time2);
+        long timeDiffSeconds = d2.epochSeconds - d1.epochSeconds;
 
         // Validar que el tiempo avanzó
         if (timeDiffSeconds <= 0) {
-            throw new Exception("Invalid time: timeDiff <= 0");
+            return Double.NaN;
         }
 
         // 3. VELOCIDAD = DISTANCIA / TIEMPO
-        double velocity = distance / timeDiffSeconds;
-
-        // DEBUG (opcional - comentar en producción)
-        if (Math.random() < 0.001) { // Log 0.1% de muestras
-            System.out.printf("DEBUG: d=%.2fm, t=%ds, v=%.2fm/s (%.1fkm/h)%n",
-                    distance, timeDiffSeconds, velocity, velocity * 3.6);
-        }
-
-        return velocity;
+        return distance / timeDiffSeconds;
     }
 
     /**
-     * Crea un ID de arco basado en las paradas consecutivas
+     * ID de arco para un par fuera de la topología (misma parada, paradas no
+     * consecutivas o worker sin topología)
      * Formato: ARC_{lineId}_{stopId1}_{stopId2}
      */
     private String createArcId(BusDatagram d1, BusDatagram d2) {
-        return String.format("ARC_%s_%s_%s", d1.lineId, d1.stopId, d2.stopId);
+        return "ARC_" + d1.lineId + "_" + d1.stopId + "_" + d2.stopId;
     }
 
     /**
-     * Persistir resultados a base de datos (si está disponible)
+     * arcId de la topología (ARC_{lineId}_{IDA|VTA}_{sec}_{sec}) si el tramo
+     * existe; si no, el de createArcId
      */
-    private void persistToDatabase(Map<String, List<Double>> arcVelocities) {
-        try {
-            if (!com.sitm.mio.persistence.DBConnection.isAvailable()) {
-                return; // DB no disponible - solo procesamiento en memoria
-            }
-
-            com.sitm.mio.persistence.VelocityDao dao = new com.sitm.mio.persistence.VelocityDao();
-            String yearMonth = com.sitm.mio.persistence.VelocityDao.currentYearMonth();
-
-            for (Map.Entry<String, List<Double>> entry : arcVelocities.entrySet()) {
-                String arcId = entry.getKey();
-                List<Double> velocities = entry.getValue();
-
-                if (velocities.isEmpty())
-                    continue;
-
-                // Calcular promedio
-                double sum = 0.0;
-                for (Double v : velocities)
-                    sum += v;
-                double avg = sum / velocities.size();
-
-                // Extraer lineId del arcId
-                String lineId = extractLineIdFromArc(arcId);
-
-                // Guardar en DB
-                dao.upsert(yearMonth, lineId, arcId, avg, velocities.size());
-            }
-
-            System.out.println("Worker " + workerId + " - Results persisted to database");
-
-        } catch (Exception ex) {
-            System.err.println("Worker DB persist error (non-critical): " + ex.getMessage());
-        }
+    private static String arcIdFor(ArcIndex arcIndex, String lineId, String fromStopId, String toStopId) {
+        int arc = arcIndex.indexOf(lineId, fromStopId, toStopId);
+        return arc >= 0 ? arcIndex.arcId(arc) : "ARC_" + lineId + "_" + fromStopId + "_" + toStopId;
     }
 
     /**
@@ -246,7 +576,7 @@ public class VelocityWorker extends _WorkerDisp {
      */
     private VelocityResult buildAggregatedResult(
             String taskId,
-            Map<String, List<Double>> arcVelocities,
+            ArcStatsTable arcStats,
             long startTime) {
 
         VelocityResult result = new VelocityResult();
@@ -255,37 +585,27 @@ public class VelocityWorker extends _WorkerDisp {
 
         // Serializar velocidades en periodStart
         // Formato: "arcId1:velocity1:samples1|arcId2:velocity2:samples2|..."
+        // (los sketches por arco viajan tipados: processStreamingWindowAggregates,
+        // processBlockTaskAggregates)
         StringBuilder sb = new StringBuilder();
 
-        for (Map.Entry<String, List<Double>> entry : arcVelocities.entrySet()) {
-            String arcId = entry.getKey();
-            List<Double> velocities = entry.getValue();
-
-            if (velocities.isEmpty())
+        for (int i = 0; i < arcStats.size(); i++) {
+            if (arcStats.count(i) == 0)
                 continue;
 
-            double sum = 0.0;
-            for (Double v : velocities)
-                sum += v;
-            double avg = sum / velocities.size();
-
             if (sb.length() > 0)
                 sb.append("|");
-            sb.append(arcId).append(":").append(avg).append(":").append(velocities.size());
+            sb.append(arcStats.arcId(i)).append(":").append(arcStats.mean(i))
+                    .append(":").append(arcStats.count(i));
         }
 
         result.periodStart = sb.toString();
+        result.sketchMeans = new double[0];
+        result.sketchWeights = new long[0];
 
         // Calcular totales
-        int totalSamples = 0;
-        double totalVelocity = 0.0;
-
-        for (List<Double> velocities : arcVelocities.values()) {
-            for (Double v : velocities) {
-                totalVelocity += v;
-                totalSamples++;
-            }
-        }
+        int totalSamples = (int) arcStats.totalCount();
+        double totalVelocity = arcStats.totalSum();
 
         result.sampleCount = totalSamples;
         result.averageVelocity = totalSamples > 0 ? totalVelocity / totalSamples : 0.0;
@@ -304,21 +624,8 @@ public class VelocityWorker extends _WorkerDisp {
         errorResult.processingTime = System.currentTimeMillis() - startTime;
         errorResult.periodStart = "";
         errorResult.periodEnd = "";
+        errorResult.sketchMeans = new double[0];
+        errorResult.sketchWeights = new long[0];
         return errorResult;
     }
-
-    /**
-     * Extrae el lineId del arcId
-     */
-    private String extractLineIdFromArc(String arcId) {
-        try {
-            if (arcId != null && arcId.contains("_")) {
-                String[] parts = arcId.split("_");
-                if (parts.length >= 2)
-                    return parts[1];
-            }
-        } catch (Exception ex) {
-        }
-        return "unknown";
-    }
 }
\ No newline at end of file
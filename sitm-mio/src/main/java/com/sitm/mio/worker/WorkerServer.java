@@ -1,15 +1,20 @@
 package com.sitm.mio.worker;
 
-import com.sitm.mio.persistence.DBConnection;
-
 import Ice.Communicator;
+import Ice.InitializationData;
 import Ice.ObjectAdapter;
 import Ice.ObjectPrx;
+import Ice.Properties;
+import Ice.StringSeqHolder;
 import Ice.Util;
 import SITM.MIO.MasterPrx;
 import SITM.MIO.MasterPrxHelper;
 
 public class WorkerServer {
+    // Hilos del adaptador: cancelTask e isAlive no deben quedar en cola
+    // detrás de una tarea en curso (processDatagrams, rango de archivo)
+    private static final int MIN_SERVER_THREADS = 4;
+
     private final String workerId;
     private Communicator communicator;
 
@@ -19,7 +24,19 @@ public class WorkerServer {
 
     public void start(String[] args, String masterEndpoint) {
         try {
-            communicator = Util.initialize(args);
+            StringSeqHolder argsHolder = new StringSeqHolder(args);
+            Properties properties = Util.createProperties(argsHolder);
+            if (properties.getPropertyAsInt("Ice.ThreadPool.Server.Size") < 2) {
+                properties.setProperty("Ice.ThreadPool.Server.Size", String.valueOf(MIN_SERVER_THREADS));
+            }
+            if (properties.getPropertyAsInt("Ice.ThreadPool.Server.SizeMax")
+                    < properties.getPropertyAsInt("Ice.ThreadPool.Server.Size")) {
+                properties.setProperty("Ice.ThreadPool.Server.SizeMax",
+                    properties.getProperty("Ice.ThreadPool.Server.Size"));
+            }
+            InitializationData initData = new InitializationData();
+            initData.properties = properties;
+            communicator = Util.initialize(argsHolder, initData);
             
             ObjectAdapter adapter = communicator.createObjectAdapterWithEndpoints(
                 "WorkerAdapter", "tcp -h 0.0.0.0 -p 0");
@@ -32,9 +49,6 @@ public class WorkerServer {
             
             System.out.println("Worker " + workerId + " started successfully");
             System.out.println("Registered with master: " + masterEndpoint);
-
-                // Initialize DB pool (best-effort)
-                    try { DBConnection.getConnection().close(); } catch (java.lang.Exception e) {}
             
             communicator.waitForShutdown();
             
@@ -57,7 +71,8 @@ public class WorkerServer {
             
             // Pass the worker proxy to the master. The generated API expects a WorkerPrx.
             SITM.MIO.WorkerPrx workerProxy = SITM.MIO.WorkerPrxHelper.uncheckedCast(workerPrx);
-            master.registerWorker(workerProxy);
+            worker.setMaster(master);
+            master.registerWorker(workerProxy, worker.getThreads());
             
         } catch (java.lang.Exception e) {
             System.err.println("Failed to register with master: " + e.getMessage());
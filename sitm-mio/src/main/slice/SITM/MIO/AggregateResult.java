@@ -0,0 +1,163 @@
+// **********************************************************************
+//
+// Copyright (c) 2003-2018 ZeroC, Inc. All rights reserved.
+//
+// This copy of Ice is licensed to you under the terms described in the
+// ICE_LICENSE file included in this distribution.
+//
+// **********************************************************************
+//
+// Ice version 3.6.5
+//
+// <auto-generated>
+//
+// Generated from file `VelocityCalculation.ice'
+//
+// Warning: do not edit this file.
+//
+// </auto-generated>
+//
+
+package SITM.MIO;
+
+public class AggregateResult implements java.lang.Cloneable, java.io.Serializable
+{
+    public String taskId;
+
+    public ArcAggregate[] arcs;
+
+    public long processingTime;
+
+    public String error;
+
+    public AggregateResult()
+    {
+        taskId = "";
+        error = "";
+    }
+
+    public AggregateResult(String taskId, ArcAggregate[] arcs, long processingTime, String error)
+    {
+        this.taskId = taskId;
+        this.arcs = arcs;
+        this.processingTime = processingTime;
+        this.error = error;
+    }
+
+    public boolean
+    equals(java.lang.Object rhs)
+    {
+        if(this == rhs)
+        {
+            return true;
+        }
+        AggregateResult _r = null;
+        if(rhs instanceof AggregateResult)
+        {
+            _r = (AggregateResult)rhs;
+        }
+
+        if(_r != null)
+        {
+            if(taskId != _r.taskId)
+            {
+                if(taskId == null || _r.taskId == null || !taskId.equals(_r.taskId))
+                {
+                    return false;
+                }
+            }
+            if(!java.util.Arrays.equals(arcs, _r.arcs))
+            {
+                return false;
+            }
+            if(processingTime != _r.processingTime)
+            {
+                return false;
+            }
+            if(error != _r.error)
+            {
+                if(error == null || _r.error == null || !error.equals(_r.error))
+                {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+
+        return false;
+    }
+
+    public int
+    hashCode()
+    {
+        int __h = 5381;
+        __h = IceInternal.HashUtil.hashAdd(__h, "::SITM::MIO::AggregateResult");
+        __h = IceInternal.HashUtil.hashAdd(__h, taskId);
+        __h = IceInternal.HashUtil.hashAdd(__h, arcs);
+        __h = IceInternal.HashUtil.hashAdd(__h, processingTime);
+        __h = IceInternal.HashUtil.hashAdd(__h, error);
+        return __h;
+    }
+
+    public AggregateResult
+    clone()
+    {
+        AggregateResult c = null;
+        try
+        {
+            c = (AggregateResult)super.clone();
+        }
+        catch(CloneNotSupportedException ex)
+        {
+            assert false; // impossible
+        }
+        return c;
+    }
+
+    public void
+    __write(IceInternal.BasicStream __os)
+    {
+        __os.writeString(taskId);
+        ArcAggregateSeqHelper.write(__os, arcs);
+        __os.writeLong(processingTime);
+        __os.writeString(error);
+    }
+
+    public void
+    __read(IceInternal.BasicStream __is)
+    {
+        taskId = __is.readString();
+        arcs = ArcAggregateSeqHelper.read(__is);
+        processingTime = __is.readLong();
+        error = __is.readString();
+    }
+
+    static public void
+    __write(IceInternal.BasicStream __os, AggregateResult __v)
+    {
+        if(__v == null)
+        {
+            __nullMarshalValue.__write(__os);
+        }
+        else
+        {
+            __v.__write(__os);
+        }
+    }
+
+    static public AggregateResult
+    __read(IceInternal.BasicStream __is, AggregateResult __v)
+    {
+        if(__v == null)
+        {
+             __v = new AggregateResult();
+        }
+        __v.__read(__is);
+        return __v;
+    }
+    
+    private static final AggregateResult __nullMarshalValue = new AggregateResult();
+
+    public static final long serialVersionUID = -1961253224L;
+}
@@ -0,0 +1,199 @@
+// **********************************************************************
+//
+// Copyright (c) 2003-2018 ZeroC, Inc. All rights reserved.
+//
+// This copy of Ice is licensed to you under the terms described in the
+// ICE_LICENSE file included in this distribution.
+//
+// **********************************************************************
+//
+// Ice version 3.6.5
+//
+// <auto-generated>
+//
+// Generated from file `VelocityCalculation.ice'
+//
+// Warning: do not edit this file.
+//
+// </auto-generated>
+//
+
+package SITM.MIO;
+
+public class ArcAggregate implements java.lang.Cloneable, java.io.Serializable
+{
+    public String arcId;
+
+    public long count;
+
+    public double sum;
+
+    public double sumSquares;
+
+    public double min;
+
+    public double max;
+
+    public double[] sketchMeans;
+
+    public long[] sketchWeights;
+
+    public ArcAggregate()
+    {
+        arcId = "";
+    }
+
+    public ArcAggregate(String arcId, long count, double sum, double sumSquares, double min, double max, double[] sketchMeans, long[] sketchWeights)
+    {
+        this.arcId = arcId;
+        this.count = count;
+        this.sum = sum;
+        this.sumSquares = sumSquares;
+        this.min = min;
+        this.max = max;
+        this.sketchMeans = sketchMeans;
+        this.sketchWeights = sketchWeights;
+    }
+
+    public boolean
+    equals(java.lang.Object rhs)
+    {
+        if(this == rhs)
+        {
+            return true;
+        }
+        ArcAggregate _r = null;
+        if(rhs instanceof ArcAggregate)
+        {
+            _r = (ArcAggregate)rhs;
+        }
+
+        if(_r != null)
+        {
+            if(arcId != _r.arcId)
+            {
+                if(arcId == null || _r.arcId == null || !arcId.equals(_r.arcId))
+                {
+                    return false;
+                }
+            }
+            if(count != _r.count)
+            {
+                return false;
+            }
+            if(sum != _r.sum)
+            {
+                return false;
+            }
+            if(sumSquares != _r.sumSquares)
+            {
+                return false;
+            }
+            if(min != _r.min)
+            {
+                return false;
+            }
+            if(max != _r.max)
+            {
+                return false;
+            }
+            if(!java.util.Arrays.equals(sketchMeans, _r.sketchMeans))
+            {
+                return false;
+            }
+            if(!java.util.Arrays.equals(sketchWeights, _r.sketchWeights))
+            {
+                return false;
+            }
+
+            return true;
+        }
+
+        return false;
+    }
+
+    public int
+    hashCode()
+    {
+        int __h = 5381;
+        __h = IceInternal.HashUtil.hashAdd(__h, "::SITM::MIO::ArcAggregate");
+        __h = IceInternal.HashUtil.hashAdd(__h, arcId);
+        __h = IceInternal.HashUtil.hashAdd(__h, count);
+        __h = IceInternal.HashUtil.hashAdd(__h, sum);
+        __h = IceInternal.HashUtil.hashAdd(__h, sumSquares);
+        __h = IceInternal.HashUtil.hashAdd(__h, min);
+        __h = IceInternal.HashUtil.hashAdd(__h, max);
+        __h = IceInternal.HashUtil.hashAdd(__h, sketchMeans);
+        __h = IceInternal.HashUtil.hashAdd(__h, sketchWeights);
+        return __h;
+    }
+
+    public ArcAggregate
+    clone()
+    {
+        ArcAggregate c = null;
+        try
+        {
+            c = (ArcAggregate)super.clone();
+        }
+        catch(CloneNotSupportedException ex)
+        {
+            assert false; // impossible
+        }
+        return c;
+    }
+
+    public void
+    __write(IceInternal.BasicStream __os)
+    {
+        __os.writeString(arcId);
+        __os.writeLong(count);
+        __os.writeDouble(sum);
+        __os.writeDouble(sumSquares);
+        __os.writeDouble(min);
+        __os.writeDouble(max);
+        __os.writeDoubleSeq(sketchMeans);
+        __os.writeLongSeq(sketchWeights);
+    }
+
+    public void
+    __read(IceInternal.BasicStream __is)
+    {
+        arcId = __is.readString();
+        count = __is.readLong();
+        sum = __is.readDouble();
+        sumSquares = __is.readDouble();
+        min = __is.readDouble();
+        max = __is.readDouble();
+        sketchMeans = __is.readDoubleSeq();
+        sketchWeights = __is.readLongSeq();
+    }
+
+    static public void
+    __write(IceInternal.BasicStream __os, ArcAggregate __v)
+    {
+        if(__v == null)
+        {
+            __nullMarshalValue.__write(__os);
+        }
+        else
+        {
+            __v.__write(__os);
+        }
+    }
+
+    static public ArcAggregate
+    __read(IceInternal.BasicStream __is, ArcAggregate __v)
+    {
+        if(__v == null)
+        {
+             __v = new ArcAggregate();
+        }
+        __v.__read(__is);
+        return __v;
+    }
+    
+    private static final ArcAggregate __nullMarshalValue = new ArcAggregate();
+
+    public static final long serialVersionUID = -1541534305L;
+}
@@ -0,0 +1,54 @@
+// **********************************************************************
+//
+// Copyright (c) 2003-2018 ZeroC, Inc. All rights reserved.
+//
+// This copy of Ice is licensed to you under the terms described in the
+// ICE_LICENSE file included in this distribution.
+//
+// **********************************************************************
+//
+// Ice version 3.6.5
+//
+// <auto-generated>
+//
+// Generated from file `VelocityCalculation.ice'
+//
+// Warning: do not edit this file.
+//
+// </auto-generated>
+//
+
+package SITM.MIO;
+
+public final class ArcAggregateSeqHelper
+{
+    public static void
+    write(IceInternal.BasicStream __os, ArcAggregate[] __v)
+    {
+        if(__v == null)
+        {
+            __os.writeSize(0);
+        }
+        else
+        {
+            __os.writeSize(__v.length);
+            for(int __i0 = 0; __i0 < __v.length; __i0++)
+            {
+                ArcAggregate.__write(__os, __v[__i0]);
+            }
+        }
+    }
+
+    public static ArcAggregate[]
+    read(IceInternal.BasicStream __is)
+    {
+        ArcAggregate[] __v;
+        final int __len0 = __is.readAndCheckSeqSize(43);
+        __v = new ArcAggregate[__len0];
+        for(int __i0 = 0; __i0 < __len0; __i0++)
+        {
+            __v[__i0] = ArcAggregate.__read(__is, __v[__i0]);
+        }
+        return __v;
+    }
+}
@@ -0,0 +1,177 @@
+// **********************************************************************
+//
+// Copyright (c) 2003-2018 ZeroC, Inc. All rights reserved.
+//
+// This copy of Ice is licensed to you under the terms described in the
+// ICE_LICENSE file included in this distribution.
+//
+// **********************************************************************
+//
+// Ice version 3.6.5
+//
+// <auto-generated>
+//
+// Generated from file `VelocityCalculation.ice'
+//
+// Warning: do not edit this file.
+//
+// </auto-generated>
+//
+
+package SITM.MIO;
+
+public class BlockTask implements java.lang.Cloneable, java.io.Serializable
+{
+    public String taskId;
+
+    public DatagramBlock block;
+
+    public int totalWorkers;
+
+    public int workerId;
+
+    public String topologyVersion;
+
+    public BlockTask()
+    {
+        taskId = "";
+        block = new DatagramBlock();
+        topologyVersion = "";
+    }
+
+    public BlockTask(String taskId, DatagramBlock block, int totalWorkers, int workerId, String topologyVersion)
+    {
+        this.taskId = taskId;
+        this.block = block;
+        this.totalWorkers = totalWorkers;
+        this.workerId = workerId;
+        this.topologyVersion = topologyVersion;
+    }
+
+    public boolean
+    equals(java.lang.Object rhs)
+    {
+        if(this == rhs)
+        {
+            return true;
+        }
+        BlockTask _r = null;
+        if(rhs instanceof BlockTask)
+        {
+            _r = (BlockTask)rhs;
+        }
+
+        if(_r != null)
+        {
+            if(taskId != _r.taskId)
+            {
+                if(taskId == null || _r.taskId == null || !taskId.equals(_r.taskId))
+                {
+                    return false;
+                }
+            }
+            if(block != _r.block)
+            {
+                if(block == null || _r.block == null || !block.equals(_r.block))
+                {
+                    return false;
+                }
+            }
+            if(totalWorkers != _r.totalWorkers)
+            {
+                return false;
+            }
+            if(workerId != _r.workerId)
+            {
+                return false;
+            }
+            if(topologyVersion != _r.topologyVersion)
+            {
+                if(topologyVersion == null || _r.topologyVersion == null || !topologyVersion.equals(_r.topologyVersion))
+                {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+
+        return false;
+    }
+
+    public int
+    hashCode()
+    {
+        int __h = 5381;
+        __h = IceInternal.HashUtil.hashAdd(__h, "::SITM::MIO::BlockTask");
+        __h = IceInternal.HashUtil.hashAdd(__h, taskId);
+        __h = IceInternal.HashUtil.hashAdd(__h, block);
+        __h = IceInternal.HashUtil.hashAdd(__h, totalWorkers);
+        __h = IceInternal.HashUtil.hashAdd(__h, workerId);
+        __h = IceInternal.HashUtil.hashAdd(__h, topologyVersion);
+        return __h;
+    }
+
+    public BlockTask
+    clone()
+    {
+        BlockTask c = null;
+        try
+        {
+            c = (BlockTask)super.clone();
+        }
+        catch(CloneNotSupportedException ex)
+        {
+            assert false; // impossible
+        }
+        return c;
+    }
+
+    public void
+    __write(IceInternal.BasicStream __os)
+    {
+        __os.writeString(taskId);
+        DatagramBlock.__write(__os, block);
+        __os.writeInt(totalWorkers);
+        __os.writeInt(workerId);
+        __os.writeString(topologyVersion);
+    }
+
+    public void
+    __read(IceInternal.BasicStream __is)
+    {
+        taskId = __is.readString();
+        block = DatagramBlock.__read(__is, block);
+        totalWorkers = __is.readInt();
+        workerId = __is.readInt();
+        topologyVersion = __is.readString();
+    }
+
+    static public void
+    __write(IceInternal.BasicStream __os, BlockTask __v)
+    {
+        if(__v == null)
+        {
+            __nullMarshalValue.__write(__os);
+        }
+        else
+        {
+            __v.__write(__os);
+        }
+    }
+
+    static public BlockTask
+    __read(IceInternal.BasicStream __is, BlockTask __v)
+    {
+        if(__v == null)
+        {
+             __v = new BlockTask();
+        }
+        __v.__read(__is);
+        return __v;
+    }
+    
+    private static final BlockTask __nullMarshalValue = new BlockTask();
+
+    public static final long serialVersionUID = 369465238L;
+}
@@ -40,6 +40,8 @@ public class BusDatagram implements java.lang.Cloneable, java.io.Serializable
 
     public int eventType;
 
+    public long epochSeconds;
+
     public BusDatagram()
     {
         busId = "";
@@ -49,7 +51,7 @@ public class BusDatagram implements java.lang.Cloneable, java.io.Serializable
         datagramDate = "";
     }
 
-    public BusDatagram(String busId, String lineId, String tripId, String stopId, double odometer, double latitude, double longitude, String datagramDate, int eventType)
+    public BusDatagram(String busId, String lineId, String tripId, String stopId, double odometer, double latitude, double longitude, String datagramDate, int eventType, long epochSeconds)
     {
         this.busId = busId;
         this.lineId = lineId;
@@ -60,6 +62,7 @@ public class BusDatagram implements java.lang.Cloneable, java.io.Serializable
         this.longitude = longitude;
         this.datagramDate = datagramDate;
         this.eventType = eventType;
+        this.epochSeconds = epochSeconds;
     }
 
     public boolean
@@ -128,6 +131,10 @@ public class BusDatagram implements java.lang.Cloneable, java.io.Serializable
             {
                 return false;
             }
+            if(epochSeconds != _r.epochSeconds)
+            {
+                return false;
+            }
 
             return true;
         }
@@ -149,6 +156,7 @@ public class BusDatagram implements java.lang.Cloneable, java.io.Serializable
         __h = IceInternal.HashUtil.hashAdd(__h, longitude);
         __h = IceInternal.HashUtil.hashAdd(__h, datagramDate);
         __h = IceInternal.HashUtil.hashAdd(__h, eventType);
+        __h = IceInternal.HashUtil.hashAdd(__h, epochSeconds);
         return __h;
     }
 
@@ -179,6 +187,7 @@ public class BusDatagram implements java.lang.Cloneable, java.io.Serializable
         __os.writeDouble(longitude);
         __os.writeString(datagramDate);
         __os.writeInt(eventType);
+        __os.writeLong(epochSeconds);
     }
 
     public void
@@ -193,6 +202,7 @@ public class BusDatagram implements java.lang.Cloneable, java.io.Serializable
         longitude = __is.readDouble();
         datagramDate = __is.readString();
         eventType = __is.readInt();
+        epochSeconds = __is.readLong();
     }
 
     static public void
@@ -221,5 +231,5 @@ public class BusDatagram implements java.lang.Cloneable, java.io.Serializable
     
     private static final BusDatagram __nullMarshalValue = new BusDatagram();
 
-    public static final long serialVersionUID = -1236641935L;
+    public static final long serialVersionUID = 1256200901L;
 }
@@ -43,7 +43,7 @@ public final class BusDatagramSeqHelper
     read(IceInternal.BasicStream __is)
     {
         BusDatagram[] __v;
-        final int __len0 = __is.readAndCheckSeqSize(33);
+        final int __len0 = __is.readAndCheckSeqSize(41);
         __v = new BusDatagram[__len0];
         for(int __i0 = 0; __i0 < __len0; __i0++)
         {
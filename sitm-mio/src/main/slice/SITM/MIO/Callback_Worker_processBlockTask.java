@@ -0,0 +1,30 @@
+// **********************************************************************
+//
+// Copyright (c) 2003-2018 ZeroC, Inc. All rights reserved.
+//
+// This copy of Ice is licensed to you under the terms described in the
+// ICE_LICENSE file included in this distribution.
+//
+// **********************************************************************
+//
+// Ice version 3.6.5
+//
+// <auto-generated>
+//
+// Generated from file `VelocityCalculation.ice'
+//
+// Warning: do not edit this file.
+//
+// </auto-generated>
+//
+
+package SITM.MIO;
+
+public abstract class Callback_Worker_processBlockTask
+    extends IceInternal.TwowayCallback implements Ice.TwowayCallbackArg1<SITM.MIO.VelocityResult>
+{
+    public final void __completed(Ice.AsyncResult __result)
+    {
+        WorkerPrxHelper.__processBlockTask_completed(this, __result);
+    }
+}
@@ -0,0 +1,215 @@
+// **********************************************************************
+//
+// Copyright (c) 2003-2018 ZeroC, Inc. All rights reserved.
+//
+// This copy of Ice is licensed to you under the terms described in the
+// ICE_LICENSE file included in this distribution.
+//
+// **********************************************************************
+//
+// Ice version 3.6.5
+//
+// <auto-generated>
+//
+// Generated from file `VelocityCalculation.ice'
+//
+// Warning: do not edit this file.
+//
+// </auto-generated>
+//
+
+package SITM.MIO;
+
+public class DatagramBlock implements java.lang.Cloneable, java.io.Serializable
+{
+    public String[] dictionary;
+
+    public int[] busIdx;
+
+    public int[] lineIdx;
+
+    public int[] tripIdx;
+
+    public int[] stopIdx;
+
+    public long[] epochSeconds;
+
+    public double[] odometer;
+
+    public double[] latitude;
+
+    public double[] longitude;
+
+    public int[] eventType;
+
+    public DatagramBlock()
+    {
+    }
+
+    public DatagramBlock(String[] dictionary, int[] busIdx, int[] lineIdx, int[] tripIdx, int[] stopIdx, long[] epochSeconds, double[] odometer, double[] latitude, double[] longitude, int[] eventType)
+    {
+        this.dictionary = dictionary;
+        this.busIdx = busIdx;
+        this.lineIdx = lineIdx;
+        this.tripIdx = tripIdx;
+        this.stopIdx = stopIdx;
+        this.epochSeconds = epochSeconds;
+        this.odometer = odometer;
+        this.latitude = latitude;
+        this.longitude = longitude;
+        this.eventType = eventType;
+    }
+
+    public boolean
+    equals(java.lang.Object rhs)
+    {
+        if(this == rhs)
+        {
+            return true;
+        }
+        DatagramBlock _r = null;
+        if(rhs instanceof DatagramBlock)
+        {
+            _r = (DatagramBlock)rhs;
+        }
+
+        if(_r != null)
+        {
+            if(!java.util.Arrays.equals(dictionary, _r.dictionary))
+            {
+                return false;
+            }
+            if(!java.util.Arrays.equals(busIdx, _r.busIdx))
+            {
+                return false;
+            }
+            if(!java.util.Arrays.equals(lineIdx, _r.lineIdx))
+            {
+                return false;
+            }
+            if(!java.util.Arrays.equals(tripIdx, _r.tripIdx))
+            {
+                return false;
+            }
+            if(!java.util.Arrays.equals(stopIdx, _r.stopIdx))
+            {
+                return false;
+            }
+            if(!java.util.Arrays.equals(epochSeconds, _r.epochSeconds))
+            {
+                return false;
+            }
+            if(!java.util.Arrays.equals(odometer, _r.odometer))
+            {
+                return false;
+            }
+            if(!java.util.Arrays.equals(latitude, _r.latitude))
+            {
+                return false;
+            }
+            if(!java.util.Arrays.equals(longitude, _r.longitude))
+            {
+                return false;
+            }
+            if(!java.util.Arrays.equals(eventType, _r.eventType))
+            {
+                return false;
+            }
+
+            return true;
+        }
+
+        return false;
+    }
+
+    public int
+    hashCode()
+    {
+        int __h = 5381;
+        __h = IceInternal.HashUtil.hashAdd(__h, "::SITM::MIO::DatagramBlock");
+        __h = IceInternal.HashUtil.hashAdd(__h, dictionary);
+        __h = IceInternal.HashUtil.hashAdd(__h, busIdx);
+        __h = IceInternal.HashUtil.hashAdd(__h, lineIdx);
+        __h = IceInternal.HashUtil.hashAdd(__h, tripIdx);
+        __h = IceInternal.HashUtil.hashAdd(__h, stopIdx);
+        __h = IceInternal.HashUtil.hashAdd(__h, epochSeconds);
+        __h = IceInternal.HashUtil.hashAdd(__h, odometer);
+        __h = IceInternal.HashUtil.hashAdd(__h, latitude);
+        __h = IceInternal.HashUtil.hashAdd(__h, longitude);
+        __h = IceInternal.HashUtil.hashAdd(__h, eventType);
+        return __h;
+    }
+
+    public DatagramBlock
+    clone()
+    {
+        DatagramBlock c = null;
+        try
+        {
+            c = (DatagramBlock)super.clone();
+        }
+        catch(CloneNotSupportedException ex)
+        {
+            assert false; // impossible
+        }
+        return c;
+    }
+
+    public void
+    __write(IceInternal.BasicStream __os)
+    {
+        __os.writeStringSeq(dictionary);
+        __os.writeIntSeq(busIdx);
+        __os.writeIntSeq(lineIdx);
+        __os.writeIntSeq(tripIdx);
+        __os.writeIntSeq(stopIdx);
+        __os.writeLongSeq(epochSeconds);
+        __os.writeDoubleSeq(odometer);
+        __os.writeDoubleSeq(latitude);
+        __os.writeDoubleSeq(longitude);
+        __os.writeIntSeq(eventType);
+    }
+
+    public void
+    __read(IceInternal.BasicStream __is)
+    {
+        dictionary = __is.readStringSeq();
+        busIdx = __is.readIntSeq();
+        lineIdx = __is.readIntSeq();
+        tripIdx = __is.readIntSeq();
+        stopIdx = __is.readIntSeq();
+        epochSeconds = __is.readLongSeq();
+        odometer = __is.readDoubleSeq();
+        latitude = __is.readDoubleSeq();
+        longitude = __is.readDoubleSeq();
+        eventType = __is.readIntSeq();
+    }
+
+    static public void
+    __write(IceInternal.BasicStream __os, DatagramBlock __v)
+    {
+        if(__v == null)
+        {
+            __nullMarshalValue.__write(__os);
+        }
+        else
+        {
+            __v.__write(__os);
+        }
+    }
+
+    static public DatagramBlock
+    __read(IceInternal.BasicStream __is, DatagramBlock __v)
+    {
+        if(__v == null)
+        {
+             __v = new DatagramBlock();
+        }
+        __v.__read(__is);
+        return __v;
+    }
+    
+    private static final DatagramBlock __nullMarshalValue = new DatagramBlock();
+
+    public static final long serialVersionUID = -183291443L;
+}
@@ -0,0 +1,197 @@
+// **********************************************************************
+//
+// Copyright (c) 2003-2018 ZeroC, Inc. All rights reserved.
+//
+// This copy of Ice is licensed to you under the terms described in the
+// ICE_LICENSE file included in this distribution.
+//
+// **********************************************************************
+//
+// Ice version 3.6.5
+//
+// <auto-generated>
+//
+// Generated from file `VelocityCalculation.ice'
+//
+// Warning: do not edit this file.
+//
+// </auto-generated>
+//
+
+package SITM.MIO;
+
+public class FileRangeTask implements java.lang.Cloneable, java.io.Serializable
+{
+    public String taskId;
+
+    public String filePath;
+
+    public long start;
+
+    public long end;
+
+    public long fromEpoch;
+
+    public long toEpoch;
+
+    public String topologyVersion;
+
+    public FileRangeTask()
+    {
+        taskId = "";
+        filePath = "";
+        topologyVersion = "";
+    }
+
+    public FileRangeTask(String taskId, String filePath, long start, long end, long fromEpoch, long toEpoch, String topologyVersion)
+    {
+        this.taskId = taskId;
+        this.filePath = filePath;
+        this.start = start;
+        this.end = end;
+        this.fromEpoch = fromEpoch;
+        this.toEpoch = toEpoch;
+        this.topologyVersion = topologyVersion;
+    }
+
+    public boolean
+    equals(java.lang.Object rhs)
+    {
+        if(this == rhs)
+        {
+            return true;
+        }
+        FileRangeTask _r = null;
+        if(rhs instanceof FileRangeTask)
+        {
+            _r = (FileRangeTask)rhs;
+        }
+
+        if(_r != null)
+        {
+            if(taskId != _r.taskId)
+            {
+                if(taskId == null || _r.taskId == null || !taskId.equals(_r.taskId))
+                {
+                    return false;
+                }
+            }
+            if(filePath != _r.filePath)
+            {
+                if(filePath == null || _r.filePath == null || !filePath.equals(_r.filePath))
+                {
+                    return false;
+                }
+            }
+            if(start != _r.start)
+            {
+                return false;
+            }
+            if(end != _r.end)
+            {
+                return false;
+            }
+            if(fromEpoch != _r.fromEpoch)
+            {
+                return false;
+            }
+            if(toEpoch != _r.toEpoch)
+            {
+                return false;
+            }
+            if(topologyVersion != _r.topologyVersion)
+            {
+                if(topologyVersion == null || _r.topologyVersion == null || !topologyVersion.equals(_r.topologyVersion))
+                {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+
+        return false;
+    }
+
+    public int
+    hashCode()
+    {
+        int __h = 5381;
+        __h = IceInternal.HashUtil.hashAdd(__h, "::SITM::MIO::FileRangeTask");
+        __h = IceInternal.HashUtil.hashAdd(__h, taskId);
+        __h = IceInternal.HashUtil.hashAdd(__h, filePath);
+        __h = IceInternal.HashUtil.hashAdd(__h, start);
+        __h = IceInternal.HashUtil.hashAdd(__h, end);
+        __h = IceInternal.HashUtil.hashAdd(__h, fromEpoch);
+        __h = IceInternal.HashUtil.hashAdd(__h, toEpoch);
+        __h = IceInternal.HashUtil.hashAdd(__h, topologyVersion);
+        return __h;
+    }
+
+    public FileRangeTask
+    clone()
+    {
+        FileRangeTask c = null;
+        try
+        {
+            c = (FileRangeTask)super.clone();
+        }
+        catch(CloneNotSupportedException ex)
+        {
+            assert false; // impossible
+        }
+        return c;
+    }
+
+    public void
+    __write(IceInternal.BasicStream __os)
+    {
+        __os.writeString(taskId);
+        __os.writeString(filePath);
+        __os.writeLong(start);
+        __os.writeLong(end);
+        __os.writeLong(fromEpoch);
+        __os.writeLong(toEpoch);
+        __os.writeString(topologyVersion);
+    }
+
+    public void
+    __read(IceInternal.BasicStream __is)
+    {
+        taskId = __is.readString();
+        filePath = __is.readString();
+        start = __is.readLong();
+        end = __is.readLong();
+        fromEpoch = __is.readLong();
+        toEpoch = __is.readLong();
+        topologyVersion = __is.readString();
+    }
+
+    static public void
+    __write(IceInternal.BasicStream __os, FileRangeTask __v)
+    {
+        if(__v == null)
+        {
+            __nullMarshalValue.__write(__os);
+        }
+        else
+        {
+            __v.__write(__os);
+        }
+    }
+
+    static public FileRangeTask
+    __read(IceInternal.BasicStream __is, FileRangeTask __v)
+    {
+        if(__v == null)
+        {
+             __v = new FileRangeTask();
+        }
+        __v.__read(__is);
+        return __v;
+    }
+    
+    private static final FileRangeTask __nullMarshalValue = new FileRangeTask();
+
+    public static final long serialVersionUID = 1241418583L;
+}
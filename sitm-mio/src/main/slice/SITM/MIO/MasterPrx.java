@@ -22,37 +22,41 @@ package SITM.MIO;
 
 public interface MasterPrx extends Ice.ObjectPrx
 {
-    public void registerWorker(WorkerPrx worker);
+    public void registerWorker(WorkerPrx worker, int cores);
 
-    public void registerWorker(WorkerPrx worker, java.util.Map<String, String> __ctx);
+    public void registerWorker(WorkerPrx worker, int cores, java.util.Map<String, String> __ctx);
 
-    public Ice.AsyncResult begin_registerWorker(WorkerPrx worker);
+    public Ice.AsyncResult begin_registerWorker(WorkerPrx worker, int cores);
 
-    public Ice.AsyncResult begin_registerWorker(WorkerPrx worker, java.util.Map<String, String> __ctx);
+    public Ice.AsyncResult begin_registerWorker(WorkerPrx worker, int cores, java.util.Map<String, String> __ctx);
 
-    public Ice.AsyncResult begin_registerWorker(WorkerPrx worker, Ice.Callback __cb);
+    public Ice.AsyncResult begin_registerWorker(WorkerPrx worker, int cores, Ice.Callback __cb);
 
-    public Ice.AsyncResult begin_registerWorker(WorkerPrx worker, java.util.Map<String, String> __ctx, Ice.Callback __cb);
+    public Ice.AsyncResult begin_registerWorker(WorkerPrx worker, int cores, java.util.Map<String, String> __ctx, Ice.Callback __cb);
 
-    public Ice.AsyncResult begin_registerWorker(WorkerPrx worker, Callback_Master_registerWorker __cb);
+    public Ice.AsyncResult begin_registerWorker(WorkerPrx worker, int cores, Callback_Master_registerWorker __cb);
 
-    public Ice.AsyncResult begin_registerWorker(WorkerPrx worker, java.util.Map<String, String> __ctx, Callback_Master_registerWorker __cb);
+    public Ice.AsyncResult begin_registerWorker(WorkerPrx worker, int cores, java.util.Map<String, String> __ctx, Callback_Master_registerWorker __cb);
 
     public Ice.AsyncResult begin_registerWorker(WorkerPrx worker, 
+                                                int cores, 
                                                 IceInternal.Functional_VoidCallback __responseCb, 
                                                 IceInternal.Functional_GenericCallback1<Ice.Exception> __exceptionCb);
 
     public Ice.AsyncResult begin_registerWorker(WorkerPrx worker, 
+                                                int cores, 
                                                 IceInternal.Functional_VoidCallback __responseCb, 
                                                 IceInternal.Functional_GenericCallback1<Ice.Exception> __exceptionCb, 
                                                 IceInternal.Functional_BoolCallback __sentCb);
 
     public Ice.AsyncResult begin_registerWorker(WorkerPrx worker, 
+                                                int cores, 
                                                 java.util.Map<String, String> __ctx, 
                                                 IceInternal.Functional_VoidCallback __responseCb, 
                                                 IceInternal.Functional_GenericCallback1<Ice.Exception> __exceptionCb);
 
     public Ice.AsyncResult begin_registerWorker(WorkerPrx worker, 
+                                                int cores, 
                                                 java.util.Map<String, String> __ctx, 
                                                 IceInternal.Functional_VoidCallback __responseCb, 
                                                 IceInternal.Functional_GenericCallback1<Ice.Exception> __exceptionCb, 
@@ -98,45 +102,37 @@ public interface MasterPrx extends Ice.ObjectPrx
 
     public void end_unregisterWorker(Ice.AsyncResult __result);
 
-    public VelocityResult[] processHistoricalData(BusDatagram[] data, Arc[] arcs, Stop[] stops);
+    public VelocityResult[] processHistoricalData(BusDatagram[] data);
 
-    public VelocityResult[] processHistoricalData(BusDatagram[] data, Arc[] arcs, Stop[] stops, java.util.Map<String, String> __ctx);
+    public VelocityResult[] processHistoricalData(BusDatagram[] data, java.util.Map<String, String> __ctx);
 
-    public Ice.AsyncResult begin_processHistoricalData(BusDatagram[] data, Arc[] arcs, Stop[] stops);
+    public Ice.AsyncResult begin_processHistoricalData(BusDatagram[] data);
 
-    public Ice.AsyncResult begin_processHistoricalData(BusDatagram[] data, Arc[] arcs, Stop[] stops, java.util.Map<String, String> __ctx);
+    public Ice.AsyncResult begin_processHistoricalData(BusDatagram[] data, java.util.Map<String, String> __ctx);
 
-    public Ice.AsyncResult begin_processHistoricalData(BusDatagram[] data, Arc[] arcs, Stop[] stops, Ice.Callback __cb);
+    public Ice.AsyncResult begin_processHistoricalData(BusDatagram[] data, Ice.Callback __cb);
 
-    public Ice.AsyncResult begin_processHistoricalData(BusDatagram[] data, Arc[] arcs, Stop[] stops, java.util.Map<String, String> __ctx, Ice.Callback __cb);
+    public Ice.AsyncResult begin_processHistoricalData(BusDatagram[] data, java.util.Map<String, String> __ctx, Ice.Callback __cb);
 
-    public Ice.AsyncResult begin_processHistoricalData(BusDatagram[] data, Arc[] arcs, Stop[] stops, Callback_Master_processHistoricalData __cb);
+    public Ice.AsyncResult begin_processHistoricalData(BusDatagram[] data, Callback_Master_processHistoricalData __cb);
 
-    public Ice.AsyncResult begin_processHistoricalData(BusDatagram[] data, Arc[] arcs, Stop[] stops, java.util.Map<String, String> __ctx, Callback_Master_processHistoricalData __cb);
+    public Ice.AsyncResult begin_processHistoricalData(BusDatagram[] data, java.util.Map<String, String> __ctx, Callback_Master_processHistoricalData __cb);
 
     public Ice.AsyncResult begin_processHistoricalData(BusDatagram[] data, 
-                                                       Arc[] arcs, 
-                                                       Stop[] stops, 
                                                        IceInternal.Functional_GenericCallback1<VelocityResult[]> __responseCb, 
                                                        IceInternal.Functional_GenericCallback1<Ice.Exception> __exceptionCb);
 
     public Ice.AsyncResult begin_processHistoricalData(BusDatagram[] data, 
-                                                       Arc[] arcs, 
-                                                       Stop[] stops, 
                                                        IceInternal.Functional_GenericCallback1<VelocityResult[]> __responseCb, 
                                                        IceInternal.Functional_GenericCallback1<Ice.Exception> __exceptionCb, 
                                                        IceInternal.Functional_BoolCallback __sentCb);
 
     public Ice.AsyncResult begin_processHistoricalData(BusDatagram[] data, 
-                                                       Arc[] arcs, 
-                                                       Stop[] stops, 
                                                        java.util.Map<String, String> __ctx, 
                                                        IceInternal.Functional_GenericCallback1<VelocityResult[]> __responseCb, 
                                                        IceInternal.Functional_GenericCallback1<Ice.Exception> __exceptionCb);
 
     public Ice.AsyncResult begin_processHistoricalData(BusDatagram[] data, 
-                                                       Arc[] arcs, 
-                                                       Stop[] stops, 
                                                        java.util.Map<String, String> __ctx, 
                                                        IceInternal.Functional_GenericCallback1<VelocityResult[]> __responseCb, 
                                                        IceInternal.Functional_GenericCallback1<Ice.Exception> __exceptionCb, 
@@ -144,6 +140,44 @@ public interface MasterPrx extends Ice.ObjectPrx
 
     public VelocityResult[] end_processHistoricalData(Ice.AsyncResult __result);
 
+    public AggregateResult processHistoricalAggregates(BusDatagram[] data);
+
+    public AggregateResult processHistoricalAggregates(BusDatagram[] data, java.util.Map<String, String> __ctx);
+
+    public Ice.AsyncResult begin_processHistoricalAggregates(BusDatagram[] data);
+
+    public Ice.AsyncResult begin_processHistoricalAggregates(BusDatagram[] data, java.util.Map<String, String> __ctx);
+
+    public Ice.AsyncResult begin_processHistoricalAggregates(BusDatagram[] data, Ice.Callback __cb);
+
+    public Ice.AsyncResult begin_processHistoricalAggregates(BusDatagram[] data, java.util.Map<String, String> __ctx, Ice.Callback __cb);
+
+    public Ice.AsyncResult begin_processHistoricalAggregates(BusDatagram[] data, Callback_Master_processHistoricalAggregates __cb);
+
+    public Ice.AsyncResult begin_processHistoricalAggregates(BusDatagram[] data, java.util.Map<String, String> __ctx, Callback_Master_processHistoricalAggregates __cb);
+
+    public Ice.AsyncResult begin_processHistoricalAggregates(BusDatagram[] data, 
+                                                             IceInternal.Functional_GenericCallback1<AggregateResult> __responseCb, 
+                                                             IceInternal.Functional_GenericCallback1<Ice.Exception> __exceptionCb);
+
+    public Ice.AsyncResult begin_processHistoricalAggregates(BusDatagram[] data, 
+                                                             IceInternal.Functional_GenericCallback1<AggregateResult> __responseCb, 
+                                                             IceInternal.Functional_GenericCallback1<Ice.Exception> __exceptionCb, 
+                                                             IceInternal.Functional_BoolCallback __sentCb);
+
+    public Ice.AsyncResult begin_processHistoricalAggregates(BusDatagram[] data, 
+                                                             java.util.Map<String, String> __ctx, 
+                                                             IceInternal.Functional_GenericCallback1<AggregateResult> __responseCb, 
+                                                             IceInternal.Functional_GenericCallback1<Ice.Exception> __exceptionCb);
+
+    public Ice.AsyncResult begin_processHistoricalAggregates(BusDatagram[] data, 
+                                                             java.util.Map<String, String> __ctx, 
+                                                             IceInternal.Functional_GenericCallback1<AggregateResult> __responseCb, 
+                                                             IceInternal.Functional_GenericCallback1<Ice.Exception> __exceptionCb, 
+                                                             IceInternal.Functional_BoolCallback __sentCb);
+
+    public AggregateResult end_processHistoricalAggregates(Ice.AsyncResult __result);
+
     public VelocityResult[] processStreamingData(StreamingWindow window);
 
     public VelocityResult[] processStreamingData(StreamingWindow window, java.util.Map<String, String> __ctx);
@@ -182,6 +216,52 @@ public interface MasterPrx extends Ice.ObjectPrx
 
     public VelocityResult[] end_processStreamingData(Ice.AsyncResult __result);
 
+    public VelocityResult[] processHistoricalFile(String filePath, long fromEpoch, long toEpoch);
+
+    public VelocityResult[] processHistoricalFile(String filePath, long fromEpoch, long toEpoch, java.util.Map<String, String> __ctx);
+
+    public Ice.AsyncResult begin_processHistoricalFile(String filePath, long fromEpoch, long toEpoch);
+
+    public Ice.AsyncResult begin_processHistoricalFile(String filePath, long fromEpoch, long toEpoch, java.util.Map<String, String> __ctx);
+
+    public Ice.AsyncResult begin_processHistoricalFile(String filePath, long fromEpoch, long toEpoch, Ice.Callback __cb);
+
+    public Ice.AsyncResult begin_processHistoricalFile(String filePath, long fromEpoch, long toEpoch, java.util.Map<String, String> __ctx, Ice.Callback __cb);
+
+    public Ice.AsyncResult begin_processHistoricalFile(String filePath, long fromEpoch, long toEpoch, Callback_Master_processHistoricalFile __cb);
+
+    public Ice.AsyncResult begin_processHistoricalFile(String filePath, long fromEpoch, long toEpoch, java.util.Map<String, String> __ctx, Callback_Master_processHistoricalFile __cb);
+
+    public Ice.AsyncResult begin_processHistoricalFile(String filePath, 
+                                                       long fromEpoch, 
+                                                       long toEpoch, 
+                                                       IceInternal.Functional_GenericCallback1<VelocityResult[]> __responseCb, 
+                                                       IceInternal.Functional_GenericCallback1<Ice.Exception> __exceptionCb);
+
+    public Ice.AsyncResult begin_processHistoricalFile(String filePath, 
+                                                       long fromEpoch, 
+                                                       long toEpoch, 
+                                                       IceInternal.Functional_GenericCallback1<VelocityResult[]> __responseCb, 
+                                                       IceInternal.Functional_GenericCallback1<Ice.Exception> __exceptionCb, 
+                                                       IceInternal.Functional_BoolCallback __sentCb);
+
+    public Ice.AsyncResult begin_processHistoricalFile(String filePath, 
+                                                       long fromEpoch, 
+                                                       long toEpoch, 
+                                                       java.util.Map<String, String> __ctx, 
+                                                       IceInternal.Functional_GenericCallback1<VelocityResult[]> __responseCb, 
+                                                       IceInternal.Functional_GenericCallback1<Ice.Exception> __exceptionCb);
+
+    public Ice.AsyncResult begin_processHistoricalFile(String filePath, 
+                                                       long fromEpoch, 
+                                                       long toEpoch, 
+                                                       java.util.Map<String, String> __ctx, 
+                                                       IceInternal.Functional_GenericCallback1<VelocityResult[]> __responseCb, 
+                                                       IceInternal.Functional_GenericCallback1<Ice.Exception> __exceptionCb, 
+                                                       IceInternal.Functional_BoolCallback __sentCb);
+
+    public VelocityResult[] end_processHistoricalFile(Ice.AsyncResult __result);
+
     public String getSystemStatus();
 
     public String getSystemStatus(java.util.Map<String, String> __ctx);
@@ -215,4 +295,164 @@ public interface MasterPrx extends Ice.ObjectPrx
                                                  IceInternal.Functional_BoolCallback __sentCb);
 
     public String end_getSystemStatus(Ice.AsyncResult __result);
+
+    public TaskAssignment fetchTask(String workerId);
+
+    public TaskAssignment fetchTask(String workerId, java.util.Map<String, String> __ctx);
+
+    public Ice.AsyncResult begin_fetchTask(String workerId);
+
+    public Ice.AsyncResult begin_fetchTask(String workerId, java.util.Map<String, String> __ctx);
+
+    public Ice.AsyncResult begin_fetchTask(String workerId, Ice.Callback __cb);
+
+    public Ice.AsyncResult begin_fetchTask(String workerId, java.util.Map<String, String> __ctx, Ice.Callback __cb);
+
+    public Ice.AsyncResult begin_fetchTask(String workerId, Callback_Master_fetchTask __cb);
+
+    public Ice.AsyncResult begin_fetchTask(String workerId, java.util.Map<String, String> __ctx, Callback_Master_fetchTask __cb);
+
+    public Ice.AsyncResult begin_fetchTask(String workerId, 
+                                           IceInternal.Functional_GenericCallback1<TaskAssignment> __responseCb, 
+                                           IceInternal.Functional_GenericCallback1<Ice.Exception> __exceptionCb);
+
+    public Ice.AsyncResult begin_fetchTask(String workerId, 
+                                           IceInternal.Functional_GenericCallback1<TaskAssignment> __responseCb, 
+                                           IceInternal.Functional_GenericCallback1<Ice.Exception> __exceptionCb, 
+                                           IceInternal.Functional_BoolCallback __sentCb);
+
+    public Ice.AsyncResult begin_fetchTask(String workerId, 
+                                           java.util.Map<String, String> __ctx, 
+                                           IceInternal.Functional_GenericCallback1<TaskAssignment> __responseCb, 
+                                           IceInternal.Functional_GenericCallback1<Ice.Exception> __exceptionCb);
+
+    public Ice.AsyncResult begin_fetchTask(String workerId, 
+                                           java.util.Map<String, String> __ctx, 
+                                           IceInternal.Functional_GenericCallback1<TaskAssignment> __responseCb, 
+                                           IceInternal.Functional_GenericCallback1<Ice.Exception> __exceptionCb, 
+                                           IceInternal.Functional_BoolCallback __sentCb);
+
+    public TaskAssignment end_fetchTask(Ice.AsyncResult __result);
+
+    public void completeTask(String workerId, String jobId, AggregateResult result);
+
+    public void completeTask(String workerId, String jobId, AggregateResult result, java.util.Map<String, String> __ctx);
+
+    public Ice.AsyncResult begin_completeTask(String workerId, String jobId, AggregateResult result);
+
+    public Ice.AsyncResult begin_completeTask(String workerId, String jobId, AggregateResult result, java.util.Map<String, String> __ctx);
+
+    public Ice.AsyncResult begin_completeTask(String workerId, String jobId, AggregateResult result, Ice.Callback __cb);
+
+    public Ice.AsyncResult begin_completeTask(String workerId, String jobId, AggregateResult result, java.util.Map<String, String> __ctx, Ice.Callback __cb);
+
+    public Ice.AsyncResult begin_completeTask(String workerId, String jobId, AggregateResult result, Callback_Master_completeTask __cb);
+
+    public Ice.AsyncResult begin_completeTask(String workerId, String jobId, AggregateResult result, java.util.Map<String, String> __ctx, Callback_Master_completeTask __cb);
+
+    public Ice.AsyncResult begin_completeTask(String workerId, 
+                                              String jobId, 
+                                              AggregateResult result, 
+                                              IceInternal.Functional_VoidCallback __responseCb, 
+                                              IceInternal.Functional_GenericCallback1<Ice.Exception> __exceptionCb);
+
+    public Ice.AsyncResult begin_completeTask(String workerId, 
+                                              String jobId, 
+                                              AggregateResult result, 
+                                              IceInternal.Functional_VoidCallback __responseCb, 
+                                              IceInternal.Functional_GenericCallback1<Ice.Exception> __exceptionCb, 
+                                              IceInternal.Functional_BoolCallback __sentCb);
+
+    public Ice.AsyncResult begin_completeTask(String workerId, 
+                                              String jobId, 
+                                              AggregateResult result, 
+                                              java.util.Map<String, String> __ctx, 
+                                              IceInternal.Functional_VoidCallback __responseCb, 
+                                              IceInternal.Functional_GenericCallback1<Ice.Exception> __exceptionCb);
+
+    public Ice.AsyncResult begin_completeTask(String workerId, 
+                                              String jobId, 
+                                              AggregateResult result, 
+                                              java.util.Map<String, String> __ctx, 
+                                              IceInternal.Functional_VoidCallback __responseCb, 
+                                              IceInternal.Functional_GenericCallback1<Ice.Exception> __exceptionCb, 
+                                              IceInternal.Functional_BoolCallback __sentCb);
+
+    public void end_completeTask(Ice.AsyncResult __result);
+
+    public int cancelJob(String jobId);
+
+    public int cancelJob(String jobId, java.util.Map<String, String> __ctx);
+
+    public Ice.AsyncResult begin_cancelJob(String jobId);
+
+    public Ice.AsyncResult begin_cancelJob(String jobId, java.util.Map<String, String> __ctx);
+
+    public Ice.AsyncResult begin_cancelJob(String jobId, Ice.Callback __cb);
+
+    public Ice.AsyncResult begin_cancelJob(String jobId, java.util.Map<String, String> __ctx, Ice.Callback __cb);
+
+    public Ice.AsyncResult begin_cancelJob(String jobId, Callback_Master_cancelJob __cb);
+
+    public Ice.AsyncResult begin_cancelJob(String jobId, java.util.Map<String, String> __ctx, Callback_Master_cancelJob __cb);
+
+    public Ice.AsyncResult begin_cancelJob(String jobId, 
+                                           IceInternal.Functional_IntCallback __responseCb, 
+                                           IceInternal.Functional_GenericCallback1<Ice.Exception> __exceptionCb);
+
+    public Ice.AsyncResult begin_cancelJob(String jobId, 
+                                           IceInternal.Functional_IntCallback __responseCb, 
+                                           IceInternal.Functional_GenericCallback1<Ice.Exception> __exceptionCb, 
+                                           IceInternal.Functional_BoolCallback __sentCb);
+
+    public Ice.AsyncResult begin_cancelJob(String jobId, 
+                                           java.util.Map<String, String> __ctx, 
+                                           IceInternal.Functional_IntCallback __responseCb, 
+                                           IceInternal.Functional_GenericCallback1<Ice.Exception> __exceptionCb);
+
+    public Ice.AsyncResult begin_cancelJob(String jobId, 
+                                           java.util.Map<String, String> __ctx, 
+                                           IceInternal.Functional_IntCallback __responseCb, 
+                                           IceInternal.Functional_GenericCallback1<Ice.Exception> __exceptionCb, 
+                                           IceInternal.Functional_BoolCallback __sentCb);
+
+    public int end_cancelJob(Ice.AsyncResult __result);
+
+    public TopologySnapshot fetchTopology(String knownVersion);
+
+    public TopologySnapshot fetchTopology(String knownVersion, java.util.Map<String, String> __ctx);
+
+    public Ice.AsyncResult begin_fetchTopology(String knownVersion);
+
+    public Ice.AsyncResult begin_fetchTopology(String knownVersion, java.util.Map<String, String> __ctx);
+
+    public Ice.AsyncResult begin_fetchTopology(String knownVersion, Ice.Callback __cb);
+
+    public Ice.AsyncResult begin_fetchTopology(String knownVersion, java.util.Map<String, String> __ctx, Ice.Callback __cb);
+
+    public Ice.AsyncResult begin_fetchTopology(String knownVersion, Callback_Master_fetchTopology __cb);
+
+    public Ice.AsyncResult begin_fetchTopology(String knownVersion, java.util.Map<String, String> __ctx, Callback_Master_fetchTopology __cb);
+
+    public Ice.AsyncResult begin_fetchTopology(String knownVersion, 
+                                               IceInternal.Functional_GenericCallback1<TopologySnapshot> __responseCb, 
+                                               IceInternal.Functional_GenericCallback1<Ice.Exception> __exceptionCb);
+
+    public Ice.AsyncResult begin_fetchTopology(String knownVersion, 
+                                               IceInternal.Functional_GenericCallback1<TopologySnapshot> __responseCb, 
+                                               IceInternal.Functional_GenericCallback1<Ice.Exception> __exceptionCb, 
+                                               IceInternal.Functional_BoolCallback __sentCb);
+
+    public Ice.AsyncResult begin_fetchTopology(String knownVersion, 
+                                               java.util.Map<String, String> __ctx, 
+                                               IceInternal.Functional_GenericCallback1<TopologySnapshot> __responseCb, 
+                                               IceInternal.Functional_GenericCallback1<Ice.Exception> __exceptionCb);
+
+    public Ice.AsyncResult begin_fetchTopology(String knownVersion, 
+                                               java.util.Map<String, String> __ctx, 
+                                               IceInternal.Functional_GenericCallback1<TopologySnapshot> __responseCb, 
+                                               IceInternal.Functional_GenericCallback1<Ice.Exception> __exceptionCb, 
+                                               IceInternal.Functional_BoolCallback __sentCb);
+
+    public TopologySnapshot end_fetchTopology(Ice.AsyncResult __result);
 }
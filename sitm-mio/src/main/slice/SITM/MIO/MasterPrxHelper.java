@@ -25,6 +25,662 @@ package SITM.MIO;
  **/
 public final class MasterPrxHelper extends Ice.ObjectPrxHelperBase implements MasterPrx
 {
+    private static final String __cancelJob_name = "cancelJob";
+
+    public int cancelJob(String jobId)
+    {
+        return cancelJob(jobId, null, false);
+    }
+
+    public int cancelJob(String jobId, java.util.Map<String, String> __ctx)
+    {
+        return cancelJob(jobId, __ctx, true);
+    }
+
+    private int cancelJob(String jobId, java.util.Map<String, String> __ctx, boolean __explicitCtx)
+    {
+        __checkTwowayOnly(__cancelJob_name);
+        return end_cancelJob(begin_cancelJob(jobId, __ctx, __explicitCtx, true, null));
+    }
+
+    public Ice.AsyncResult begin_cancelJob(String jobId)
+    {
+        return begin_cancelJob(jobId, null, false, false, null);
+    }
+
+    public Ice.AsyncResult begin_cancelJob(String jobId, java.util.Map<String, String> __ctx)
+    {
+        return begin_cancelJob(jobId, __ctx, true, false, null);
+    }
+
+    public Ice.AsyncResult begin_cancelJob(String jobId, Ice.Callback __cb)
+    {
+        return begin_cancelJob(jobId, null, false, false, __cb);
+    }
+
+    public Ice.AsyncResult begin_cancelJob(String jobId, java.util.Map<String, String> __ctx, Ice.Callback __cb)
+    {
+        return begin_cancelJob(jobId, __ctx, true, false, __cb);
+    }
+
+    public Ice.AsyncResult begin_cancelJob(String jobId, Callback_Master_cancelJob __cb)
+    {
+        return begin_cancelJob(jobId, null, false, false, __cb);
+    }
+
+    public Ice.AsyncResult begin_cancelJob(String jobId, java.util.Map<String, String> __ctx, Callback_Master_cancelJob __cb)
+    {
+        return begin_cancelJob(jobId, __ctx, true, false, __cb);
+    }
+
+    public Ice.AsyncResult begin_cancelJob(String jobId, 
+                                           IceInternal.Functional_IntCallback __responseCb, 
+                                           IceInternal.Functional_GenericCallback1<Ice.Exception> __exceptionCb)
+    {
+        return begin_cancelJob(jobId, null, false, false, __responseCb, __exceptionCb, null);
+    }
+
+    public Ice.AsyncResult begin_cancelJob(String jobId, 
+                                           IceInternal.Functional_IntCallback __responseCb, 
+                                           IceInternal.Functional_GenericCallback1<Ice.Exception> __exceptionCb, 
+                                           IceInternal.Functional_BoolCallback __sentCb)
+    {
+        return begin_cancelJob(jobId, null, false, false, __responseCb, __exceptionCb, __sentCb);
+    }
+
+    public Ice.AsyncResult begin_cancelJob(String jobId, 
+                                           java.util.Map<String, String> __ctx, 
+                                           IceInternal.Functional_IntCallback __responseCb, 
+                                           IceInternal.Functional_GenericCallback1<Ice.Exception> __exceptionCb)
+    {
+        return begin_cancelJob(jobId, __ctx, true, false, __responseCb, __exceptionCb, null);
+    }
+
+    public Ice.AsyncResult begin_cancelJob(String jobId, 
+                                           java.util.Map<String, String> __ctx, 
+                                           IceInternal.Functional_IntCallback __responseCb, 
+                                           IceInternal.Functional_GenericCallback1<Ice.Exception> __exceptionCb, 
+                                           IceInternal.Functional_BoolCallback __sentCb)
+    {
+        return begin_cancelJob(jobId, __ctx, true, false, __responseCb, __exceptionCb, __sentCb);
+    }
+
+    private Ice.AsyncResult begin_cancelJob(String jobId, 
+                                            java.util.Map<String, String> __ctx, 
+                                            boolean __explicitCtx, 
+                                            boolean __synchronous, 
+                                            IceInternal.Functional_IntCallback __responseCb, 
+                                            IceInternal.Functional_GenericCallback1<Ice.Exception> __exceptionCb, 
+                                            IceInternal.Functional_BoolCallback __sentCb)
+    {
+        return begin_cancelJob(jobId, __ctx, __explicitCtx, __synchronous, 
+                               new IceInternal.Functional_TwowayCallbackInt(__responseCb, __exceptionCb, __sentCb)
+                                   {
+                                       public final void __completed(Ice.AsyncResult __result)
+                                       {
+                                           MasterPrxHelper.__cancelJob_completed(this, __result);
+                                       }
+                                   });
+    }
+
+    private Ice.AsyncResult begin_cancelJob(String jobId, 
+                                            java.util.Map<String, String> __ctx, 
+                                            boolean __explicitCtx, 
+                                            boolean __synchronous, 
+                                            IceInternal.CallbackBase __cb)
+    {
+        __checkAsyncTwowayOnly(__cancelJob_name);
+        IceInternal.OutgoingAsync __result = getOutgoingAsync(__cancelJob_name, __cb);
+        try
+        {
+            __result.prepare(__cancelJob_name, Ice.OperationMode.Normal, __ctx, __explicitCtx, __synchronous);
+            IceInternal.BasicStream __os = __result.startWriteParams(Ice.FormatType.DefaultFormat);
+            __os.writeString(jobId);
+            __result.endWriteParams();
+            __result.invoke();
+        }
+        catch(Ice.Exception __ex)
+        {
+            __result.abort(__ex);
+        }
+        return __result;
+    }
+
+    public int end_cancelJob(Ice.AsyncResult __iresult)
+    {
+        IceInternal.OutgoingAsync __result = IceInternal.OutgoingAsync.check(__iresult, this, __cancelJob_name);
+        try
+        {
+            if(!__result.__wait())
+            {
+                try
+                {
+                    __result.throwUserException();
+                }
+                catch(Ice.UserException __ex)
+                {
+                    throw new Ice.UnknownUserException(__ex.ice_name(), __ex);
+                }
+            }
+            IceInternal.BasicStream __is = __result.startReadParams();
+            int __ret;
+            __ret = __is.readInt();
+            __result.endReadParams();
+            return __ret;
+        }
+        finally
+        {
+            if(__result != null)
+            {
+                __result.cacheMessageBuffers();
+            }
+        }
+    }
+
+    static public void __cancelJob_completed(Ice.TwowayCallbackInt __cb, Ice.AsyncResult __result)
+    {
+        SITM.MIO.MasterPrx __proxy = (SITM.MIO.MasterPrx)__result.getProxy();
+        int __ret = 0;
+        try
+        {
+            __ret = __proxy.end_cancelJob(__result);
+        }
+        catch(Ice.LocalException __ex)
+        {
+            __cb.exception(__ex);
+            return;
+        }
+        catch(Ice.SystemException __ex)
+        {
+            __cb.exception(__ex);
+            return;
+        }
+        __cb.response(__ret);
+    }
+
+    private static final String __completeTask_name = "completeTask";
+
+    public void completeTask(String workerId, String jobId, AggregateResult result)
+    {
+        completeTask(workerId, jobId, result, null, false);
+    }
+
+    public void completeTask(String workerId, String jobId, AggregateResult result, java.util.Map<String, String> __ctx)
+    {
+        completeTask(workerId, jobId, result, __ctx, true);
+    }
+
+    private void completeTask(String workerId, String jobId, AggregateResult result, java.util.Map<String, String> __ctx, boolean __explicitCtx)
+    {
+        end_completeTask(begin_completeTask(workerId, jobId, result, __ctx, __explicitCtx, true, null));
+    }
+
+    public Ice.AsyncResult begin_completeTask(String workerId, String jobId, AggregateResult result)
+    {
+        return begin_completeTask(workerId, jobId, result, null, false, false, null);
+    }
+
+    public Ice.AsyncResult begin_completeTask(String workerId, String jobId, AggregateResult result, java.util.Map<String, String> __ctx)
+    {
+        return begin_completeTask(workerId, jobId, result, __ctx, true, false, null);
+    }
+
+    public Ice.AsyncResult begin_completeTask(String workerId, String jobId, AggregateResult result, Ice.Callback __cb)
+    {
+        return begin_completeTask(workerId, jobId, result, null, false, false, __cb);
+    }
+
+    public Ice.AsyncResult begin_completeTask(String workerId, String jobId, AggregateResult result, java.util.Map<String, String> __ctx, Ice.Callback __cb)
+    {
+        return begin_completeTask(workerId, jobId, result, __ctx, true, false, __cb);
+    }
+
+    public Ice.AsyncResult begin_completeTask(String workerId, String jobId, AggregateResult result, Callback_Master_completeTask __cb)
+    {
+        return begin_completeTask(workerId, jobId, result, null, false, false, __cb);
+    }
+
+    public Ice.AsyncResult begin_completeTask(String workerId, String jobId, AggregateResult result, java.util.Map<String, String> __ctx, Callback_Master_completeTask __cb)
+    {
+        return begin_completeTask(workerId, jobId, result, __ctx, true, false, __cb);
+    }
+
+    public Ice.AsyncResult begin_completeTask(String workerId, 
+                                              String jobId, 
+                                              AggregateResult result, 
+                                              IceInternal.Functional_VoidCallback __responseCb, 
+                                              IceInternal.Functional_GenericCallback1<Ice.Exception> __exceptionCb)
+    {
+        return begin_completeTask(workerId, jobId, result, null, false, false, __responseCb, __exceptionCb, null);
+    }
+
+    public Ice.AsyncResult begin_completeTask(String workerId, 
+                                              String jobId, 
+                                              AggregateResult result, 
+                                              IceInternal.Functional_VoidCallback __responseCb, 
+                                              IceInternal.Functional_GenericCallback1<Ice.Exception> __exceptionCb, 
+                                              IceInternal.Functional_BoolCallback __sentCb)
+    {
+        return begin_completeTask(workerId, jobId, result, null, false, false, __responseCb, __exceptionCb, __sentCb);
+    }
+
+    public Ice.AsyncResult begin_completeTask(String workerId, 
+                                              String jobId, 
+                                              AggregateResult result, 
+                                              java.util.Map<String, String> __ctx, 
+                                              IceInternal.Functional_VoidCallback __responseCb, 
+                                              IceInternal.Functional_GenericCallback1<Ice.Exception> __exceptionCb)
+    {
+        return begin_completeTask(workerId, jobId, result, __ctx, true, false, __responseCb, __exceptionCb, null);
+    }
+
+    public Ice.AsyncResult begin_completeTask(String workerId, 
+                                              String jobId, 
+                                              AggregateResult result, 
+                                              java.util.Map<String, String> __ctx, 
+                                              IceInternal.Functional_VoidCallback __responseCb, 
+                                              IceInternal.Functional_GenericCallback1<Ice.Exception> __exceptionCb, 
+                                              IceInternal.Functional_BoolCallback __sentCb)
+    {
+        return begin_completeTask(workerId, jobId, result, __ctx, true, false, __responseCb, __exceptionCb, __sentCb);
+    }
+
+    private Ice.AsyncResult begin_completeTask(String workerId, 
+                                               String jobId, 
+                                               AggregateResult result, 
+                                               java.util.Map<String, String> __ctx, 
+                                               boolean __explicitCtx, 
+                                               boolean __synchronous, 
+                                               IceInternal.Functional_VoidCallback __responseCb, 
+                                               IceInternal.Functional_GenericCallback1<Ice.Exception> __exceptionCb, 
+                                               IceInternal.Functional_BoolCallback __sentCb)
+    {
+        return begin_completeTask(workerId, 
+                                  jobId, 
+                                  result, 
+                                  __ctx, 
+                                  __explicitCtx, 
+                                  __synchronous, 
+                                  new IceInternal.Functional_OnewayCallback(__responseCb, __exceptionCb, __sentCb));
+    }
+
+    private Ice.AsyncResult begin_completeTask(String workerId, 
+                                               String jobId, 
+                                               AggregateResult result, 
+                                               java.util.Map<String, String> __ctx, 
+                                               boolean __explicitCtx, 
+                                               boolean __synchronous, 
+                                               IceInternal.CallbackBase __cb)
+    {
+        IceInternal.OutgoingAsync __result = getOutgoingAsync(__completeTask_name, __cb);
+        try
+        {
+            __result.prepare(__completeTask_name, Ice.OperationMode.Normal, __ctx, __explicitCtx, __synchronous);
+            IceInternal.BasicStream __os = __result.startWriteParams(Ice.FormatType.DefaultFormat);
+            __os.writeString(workerId);
+            __os.writeString(jobId);
+            AggregateResult.__write(__os, result);
+            __result.endWriteParams();
+            __result.invoke();
+        }
+        catch(Ice.Exception __ex)
+        {
+            __result.abort(__ex);
+        }
+        return __result;
+    }
+
+    public void end_completeTask(Ice.AsyncResult __iresult)
+    {
+        __end(__iresult, __completeTask_name);
+    }
+
+    private static final String __fetchTask_name = "fetchTask";
+
+    public TaskAssignment fetchTask(String workerId)
+    {
+        return fetchTask(workerId, null, false);
+    }
+
+    public TaskAssignment fetchTask(String workerId, java.util.Map<String, String> __ctx)
+    {
+        return fetchTask(workerId, __ctx, true);
+    }
+
+    private TaskAssignment fetchTask(String workerId, java.util.Map<String, String> __ctx, boolean __explicitCtx)
+    {
+        __checkTwowayOnly(__fetchTask_name);
+        return end_fetchTask(begin_fetchTask(workerId, __ctx, __explicitCtx, true, null));
+    }
+
+    public Ice.AsyncResult begin_fetchTask(String workerId)
+    {
+        return begin_fetchTask(workerId, null, false, false, null);
+    }
+
+    public Ice.AsyncResult begin_fetchTask(String workerId, java.util.Map<String, String> __ctx)
+    {
+        return begin_fetchTask(workerId, __ctx, true, false, null);
+    }
+
+    public Ice.AsyncResult begin_fetchTask(String workerId, Ice.Callback __cb)
+    {
+        return begin_fetchTask(workerId, null, false, false, __cb);
+    }
+
+    public Ice.AsyncResult begin_fetchTask(String workerId, java.util.Map<String, String> __ctx, Ice.Callback __cb)
+    {
+        return begin_fetchTask(workerId, __ctx, true, false, __cb);
+    }
+
+    public Ice.AsyncResult begin_fetchTask(String workerId, Callback_Master_fetchTask __cb)
+    {
+        return begin_fetchTask(workerId, null, false, false, __cb);
+    }
+
+    public Ice.AsyncResult begin_fetchTask(String workerId, java.util.Map<String, String> __ctx, Callback_Master_fetchTask __cb)
+    {
+        return begin_fetchTask(workerId, __ctx, true, false, __cb);
+    }
+
+    public Ice.AsyncResult begin_fetchTask(String workerId, 
+                                           IceInternal.Functional_GenericCallback1<TaskAssignment> __responseCb, 
+                                           IceInternal.Functional_GenericCallback1<Ice.Exception> __exceptionCb)
+    {
+        return begin_fetchTask(workerId, null, false, false, __responseCb, __exceptionCb, null);
+    }
+
+    public Ice.AsyncResult begin_fetchTask(String workerId, 
+                                           IceInternal.Functional_GenericCallback1<TaskAssignment> __responseCb, 
+                                           IceInternal.Functional_GenericCallback1<Ice.Exception> __exceptionCb, 
+                                           IceInternal.Functional_BoolCallback __sentCb)
+    {
+        return begin_fetchTask(workerId, null, false, false, __responseCb, __exceptionCb, __sentCb);
+    }
+
+    public Ice.AsyncResult begin_fetchTask(String workerId, 
+                                           java.util.Map<String, String> __ctx, 
+                                           IceInternal.Functional_GenericCallback1<TaskAssignment> __responseCb, 
+                                           IceInternal.Functional_GenericCallback1<Ice.Exception> __exceptionCb)
+    {
+        return begin_fetchTask(workerId, __ctx, true, false, __responseCb, __exceptionCb, null);
+    }
+
+    public Ice.AsyncResult begin_fetchTask(String workerId, 
+                                           java.util.Map<String, String> __ctx, 
+                                           IceInternal.Functional_GenericCallback1<TaskAssignment> __responseCb, 
+                                           IceInternal.Functional_GenericCallback1<Ice.Exception> __exceptionCb, 
+                                           IceInternal.Functional_BoolCallback __sentCb)
+    {
+        return begin_fetchTask(workerId, __ctx, true, false, __responseCb, __exceptionCb, __sentCb);
+    }
+
+    private Ice.AsyncResult begin_fetchTask(String workerId, 
+                                            java.util.Map<String, String> __ctx, 
+                                            boolean __explicitCtx, 
+                                            boolean __synchronous, 
+                                            IceInternal.Functional_GenericCallback1<TaskAssignment> __responseCb, 
+                                            IceInternal.Functional_GenericCallback1<Ice.Exception> __exceptionCb, 
+                                            IceInternal.Functional_BoolCallback __sentCb)
+    {
+        return begin_fetchTask(workerId, __ctx, __explicitCtx, __synchronous, 
+                               new IceInternal.Functional_TwowayCallbackArg1<SITM.MIO.TaskAssignment>(__responseCb, __exceptionCb, __sentCb)
+                                   {
+                                       public final void __completed(Ice.AsyncResult __result)
+                                       {
+                                           MasterPrxHelper.__fetchTask_completed(this, __result);
+                                       }
+                                   });
+    }
+
+    private Ice.AsyncResult begin_fetchTask(String workerId, 
+                                            java.util.Map<String, String> __ctx, 
+                                            boolean __explicitCtx, 
+                                            boolean __synchronous, 
+                                            IceInternal.CallbackBase __cb)
+    {
+        __checkAsyncTwowayOnly(__fetchTask_name);
+        IceInternal.OutgoingAsync __result = getOutgoingAsync(__fetchTask_name, __cb);
+        try
+        {
+            __result.prepare(__fetchTask_name, Ice.OperationMode.Normal, __ctx, __explicitCtx, __synchronous);
+            IceInternal.BasicStream __os = __result.startWriteParams(Ice.FormatType.DefaultFormat);
+            __os.writeString(workerId);
+            __result.endWriteParams();
+            __result.invoke();
+        }
+        catch(Ice.Exception __ex)
+        {
+            __result.abort(__ex);
+        }
+        return __result;
+    }
+
+    public TaskAssignment end_fetchTask(Ice.AsyncResult __iresult)
+    {
+        IceInternal.OutgoingAsync __result = IceInternal.OutgoingAsync.check(__iresult, this, __fetchTask_name);
+        try
+        {
+            if(!__result.__wait())
+            {
+                try
+                {
+                    __result.throwUserException();
+                }
+                catch(Ice.UserException __ex)
+                {
+                    throw new Ice.UnknownUserException(__ex.ice_name(), __ex);
+                }
+            }
+            IceInternal.BasicStream __is = __result.startReadParams();
+            TaskAssignment __ret = null;
+            __ret = TaskAssignment.__read(__is, __ret);
+            __result.endReadParams();
+            return __ret;
+        }
+        finally
+        {
+            if(__result != null)
+            {
+                __result.cacheMessageBuffers();
+            }
+        }
+    }
+
+    static public void __fetchTask_completed(Ice.TwowayCallbackArg1<TaskAssignment> __cb, Ice.AsyncResult __result)
+    {
+        SITM.MIO.MasterPrx __proxy = (SITM.MIO.MasterPrx)__result.getProxy();
+        TaskAssignment __ret = null;
+        try
+        {
+            __ret = __proxy.end_fetchTask(__result);
+        }
+        catch(Ice.LocalException __ex)
+        {
+            __cb.exception(__ex);
+            return;
+        }
+        catch(Ice.SystemException __ex)
+        {
+            __cb.exception(__ex);
+            return;
+        }
+        __cb.response(__ret);
+    }
+
+    private static final String __fetchTopology_name = "fetchTopology";
+
+    public TopologySnapshot fetchTopology(String knownVersion)
+    {
+        return fetchTopology(knownVersion, null, false);
+    }
+
+    public TopologySnapshot fetchTopology(String knownVersion, java.util.Map<String, String> __ctx)
+    {
+        return fetchTopology(knownVersion, __ctx, true);
+    }
+
+    private TopologySnapshot fetchTopology(String knownVersion, java.util.Map<String, String> __ctx, boolean __explicitCtx)
+    {
+        __checkTwowayOnly(__fetchTopology_name);
+        return end_fetchTopology(begin_fetchTopology(knownVersion, __ctx, __explicitCtx, true, null));
+    }
+
+    public Ice.AsyncResult begin_fetchTopology(String knownVersion)
+    {
+        return begin_fetchTopology(knownVersion, null, false, false, null);
+    }
+
+    public Ice.AsyncResult begin_fetchTopology(String knownVersion, java.util.Map<String, String> __ctx)
+    {
+        return begin_fetchTopology(knownVersion, __ctx, true, false, null);
+    }
+
+    public Ice.AsyncResult begin_fetchTopology(String knownVersion, Ice.Callback __cb)
+    {
+        return begin_fetchTopology(knownVersion, null, false, false, __cb);
+    }
+
+    public Ice.AsyncResult begin_fetchTopology(String knownVersion, java.util.Map<String, String> __ctx, Ice.Callback __cb)
+    {
+        return begin_fetchTopology(knownVersion, __ctx, true, false, __cb);
+    }
+
+    public Ice.AsyncResult begin_fetchTopology(String knownVersion, Callback_Master_fetchTopology __cb)
+    {
+        return begin_fetchTopology(knownVersion, null, false, false, __cb);
+    }
+
+    public Ice.AsyncResult begin_fetchTopology(String knownVersion, java.util.Map<String, String> __ctx, Callback_Master_fetchTopology __cb)
+    {
+        return begin_fetchTopology(knownVersion, __ctx, true, false, __cb);
+    }
+
+    public Ice.AsyncResult begin_fetchTopology(String knownVersion, 
+                                               IceInternal.Functional_GenericCallback1<TopologySnapshot> __responseCb, 
+                                               IceInternal.Functional_GenericCallback1<Ice.Exception> __exceptionCb)
+    {
+        return begin_fetchTopology(knownVersion, null, false, false, __responseCb, __exceptionCb, null);
+    }
+
+    public Ice.AsyncResult begin_fetchTopology(String knownVersion, 
+                                               IceInternal.Functional_GenericCallback1<TopologySnapshot> __responseCb, 
+                                               IceInternal.Functional_GenericCallback1<Ice.Exception> __exceptionCb, 
+                                               IceInternal.Functional_BoolCallback __sentCb)
+    {
+        return begin_fetchTopology(knownVersion, null, false, false, __responseCb, __exceptionCb, __sentCb);
+    }
+
+    public Ice.AsyncResult begin_fetchTopology(String knownVersion, 
+                                               java.util.Map<String, String> __ctx, 
+                                               IceInternal.Functional_GenericCallback1<TopologySnapshot> __responseCb, 
+                                               IceInternal.Functional_GenericCallback1<Ice.Exception> __exceptionCb)
+    {
+        return begin_fetchTopology(knownVersion, __ctx, true, false, __responseCb, __exceptionCb, null);
+    }
+
+    public Ice.AsyncResult begin_fetchTopology(String knownVersion, 
+                                               java.util.Map<String, String> __ctx, 
+                                               IceInternal.Functional_GenericCallback1<TopologySnapshot> __responseCb, 
+                                               IceInternal.Functional_GenericCallback1<Ice.Exception> __exceptionCb, 
+                                               IceInternal.Functional_BoolCallback __sentCb)
+    {
+        return begin_fetchTopology(knownVersion, __ctx, true, false, __responseCb, __exceptionCb, __sentCb);
+    }
+
+    private Ice.AsyncResult begin_fetchTopology(String knownVersion, 
+                                                java.util.Map<String, String> __ctx, 
+                                                boolean __explicitCtx, 
+                                                boolean __synchronous, 
+                                                IceInternal.Functional_GenericCallback1<TopologySnapshot> __responseCb, 
+                                                IceInternal.Functional_GenericCallback1<Ice.Exception> __exceptionCb, 
+                                                IceInternal.Functional_BoolCallback __sentCb)
+    {
+        return begin_fetchTopology(knownVersion, __ctx, __explicitCtx, __synchronous, 
+                                   new IceInternal.Functional_TwowayCallbackArg1<SITM.MIO.TopologySnapshot>(__responseCb, __exceptionCb, __sentCb)
+                                       {
+                                           public final void __completed(Ice.AsyncResult __result)
+                                           {
+                                               MasterPrxHelper.__fetchTopology_completed(this, __result);
+                                           }
+                                       });
+    }
+
+    private Ice.AsyncResult begin_fetchTopology(String knownVersion, 
+                                                java.util.Map<String, String> __ctx, 
+                                                boolean __explicitCtx, 
+                                                boolean __synchronous, 
+                                                IceInternal.CallbackBase __cb)
+    {
+        __checkAsyncTwowayOnly(__fetchTopology_name);
+        IceInternal.OutgoingAsync __result = getOutgoingAsync(__fetchTopology_name, __cb);
+        try
+        {
+            __result.prepare(__fetchTopology_name, Ice.OperationMode.Idempotent, __ctx, __explicitCtx, __synchronous);
+            IceInternal.BasicStream __os = __result.startWriteParams(Ice.FormatType.DefaultFormat);
+            __os.writeString(knownVersion);
+            __result.endWriteParams();
+            __result.invoke();
+        }
+        catch(Ice.Exception __ex)
+        {
+            __result.abort(__ex);
+        }
+        return __result;
+    }
+
+    public TopologySnapshot end_fetchTopology(Ice.AsyncResult __iresult)
+    {
+        IceInternal.OutgoingAsync __result = IceInternal.OutgoingAsync.check(__iresult, this, __fetchTopology_name);
+        try
+        {
+            if(!__result.__wait())
+            {
+                try
+                {
+                    __result.throwUserException();
+                }
+                catch(Ice.UserException __ex)
+                {
+                    throw new Ice.UnknownUserException(__ex.ice_name(), __ex);
+                }
+            }
+            IceInternal.BasicStream __is = __result.startReadParams();
+            TopologySnapshot __ret = null;
+            __ret = TopologySnapshot.__read(__is, __ret);
+            __result.endReadParams();
+            return __ret;
+        }
+        finally
+        {
+            if(__result != null)
+            {
+                __result.cacheMessageBuffers();
+            }
+        }
+    }
+
+    static public void __fetchTopology_completed(Ice.TwowayCallbackArg1<TopologySnapshot> __cb, Ice.AsyncResult __result)
+    {
+        SITM.MIO.MasterPrx __proxy = (SITM.MIO.MasterPrx)__result.getProxy();
+        TopologySnapshot __ret = null;
+        try
+        {
+            __ret = __proxy.end_fetchTopology(__result);
+        }
+        catch(Ice.LocalException __ex)
+        {
+            __cb.exception(__ex);
+            return;
+        }
+        catch(Ice.SystemException __ex)
+        {
+            __cb.exception(__ex);
+            return;
+        }
+        __cb.response(__ret);
+    }
+
     private static final String __getSystemStatus_name = "getSystemStatus";
 
     public String getSystemStatus()
@@ -190,97 +846,260 @@ public final class MasterPrxHelper extends Ice.ObjectPrxHelperBase implements Ma
         __cb.response(__ret);
     }
 
+    private static final String __processHistoricalAggregates_name = "processHistoricalAggregates";
+
+    public AggregateResult processHistoricalAggregates(BusDatagram[] data)
+    {
+        return processHistoricalAggregates(data, null, false);
+    }
+
+    public AggregateResult processHistoricalAggregates(BusDatagram[] data, java.util.Map<String, String> __ctx)
+    {
+        return processHistoricalAggregates(data, __ctx, true);
+    }
+
+    private AggregateResult processHistoricalAggregates(BusDatagram[] data, java.util.Map<String, String> __ctx, boolean __explicitCtx)
+    {
+        __checkTwowayOnly(__processHistoricalAggregates_name);
+        return end_processHistoricalAggregates(begin_processHistoricalAggregates(data, __ctx, __explicitCtx, true, null));
+    }
+
+    public Ice.AsyncResult begin_processHistoricalAggregates(BusDatagram[] data)
+    {
+        return begin_processHistoricalAggregates(data, null, false, false, null);
+    }
+
+    public Ice.AsyncResult begin_processHistoricalAggregates(BusDatagram[] data, java.util.Map<String, String> __ctx)
+    {
+        return begin_processHistoricalAggregates(data, __ctx, true, false, null);
+    }
+
+    public Ice.AsyncResult begin_processHistoricalAggregates(BusDatagram[] data, Ice.Callback __cb)
+    {
+        return begin_processHistoricalAggregates(data, null, false, false, __cb);
+    }
+
+    public Ice.AsyncResult begin_processHistoricalAggregates(BusDatagram[] data, java.util.Map<String, String> __ctx, Ice.Callback __cb)
+    {
+        return begin_processHistoricalAggregates(data, __ctx, true, false, __cb);
+    }
+
+    public Ice.AsyncResult begin_processHistoricalAggregates(BusDatagram[] data, Callback_Master_processHistoricalAggregates __cb)
+    {
+        return begin_processHistoricalAggregates(data, null, false, false, __cb);
+    }
+
+    public Ice.AsyncResult begin_processHistoricalAggregates(BusDatagram[] data, java.util.Map<String, String> __ctx, Callback_Master_processHistoricalAggregates __cb)
+    {
+        return begin_processHistoricalAggregates(data, __ctx, true, false, __cb);
+    }
+
+    public Ice.AsyncResult begin_processHistoricalAggregates(BusDatagram[] data, 
+                                                             IceInternal.Functional_GenericCallback1<AggregateResult> __responseCb, 
+                                                             IceInternal.Functional_GenericCallback1<Ice.Exception> __exceptionCb)
+    {
+        return begin_processHistoricalAggregates(data, null, false, false, __responseCb, __exceptionCb, null);
+    }
+
+    public Ice.AsyncResult begin_processHistoricalAggregates(BusDatagram[] data, 
+                                                             IceInternal.Functional_GenericCallback1<AggregateResult> __responseCb, 
+                                                             IceInternal.Functional_GenericCallback1<Ice.Exception> __exceptionCb, 
+                                                             IceInternal.Functional_BoolCallback __sentCb)
+    {
+        return begin_processHistoricalAggregates(data, null, false, false, __responseCb, __exceptionCb, __sentCb);
+    }
+
+    public Ice.AsyncResult begin_processHistoricalAggregates(BusDatagram[] data, 
+                                                             java.util.Map<String, String> __ctx, 
+                                                             IceInternal.Functional_GenericCallback1<AggregateResult> __responseCb, 
+                                                             IceInternal.Functional_GenericCallback1<Ice.Exception> __exceptionCb)
+    {
+        return begin_processHistoricalAggregates(data, __ctx, true, false, __responseCb, __exceptionCb, null);
+    }
+
+    public Ice.AsyncResult begin_processHistoricalAggregates(BusDatagram[] data, 
+                                                             java.util.Map<String, String> __ctx, 
+                                                             IceInternal.Functional_GenericCallback1<AggregateResult> __responseCb, 
+                                                             IceInternal.Functional_GenericCallback1<Ice.Exception> __exceptionCb, 
+                                                             IceInternal.Functional_BoolCallback __sentCb)
+    {
+        return begin_processHistoricalAggregates(data, __ctx, true, false, __responseCb, __exceptionCb, __sentCb);
+    }
+
+    private Ice.AsyncResult begin_processHistoricalAggregates(BusDatagram[] data, 
+                                                              java.util.Map<String, String> __ctx, 
+                                                              boolean __explicitCtx, 
+                                                              boolean __synchronous, 
+                                                              IceInternal.Functional_GenericCallback1<AggregateResult> __responseCb, 
+                                                              IceInternal.Functional_GenericCallback1<Ice.Exception> __exceptionCb, 
+                                                              IceInternal.Functional_BoolCallback __sentCb)
+    {
+        return begin_processHistoricalAggregates(data, __ctx, __explicitCtx, __synchronous, 
+                                                 new IceInternal.Functional_TwowayCallbackArg1<SITM.MIO.AggregateResult>(__responseCb, __exceptionCb, __sentCb)
+                                                     {
+                                                         public final void __completed(Ice.AsyncResult __result)
+                                                         {
+                                                             MasterPrxHelper.__processHistoricalAggregates_completed(this, __result);
+                                                         }
+                                                     });
+    }
+
+    private Ice.AsyncResult begin_processHistoricalAggregates(BusDatagram[] data, 
+                                                              java.util.Map<String, String> __ctx, 
+                                                              boolean __explicitCtx, 
+                                                              boolean __synchronous, 
+                                                              IceInternal.CallbackBase __cb)
+    {
+        __checkAsyncTwowayOnly(__processHistoricalAggregates_name);
+        IceInternal.OutgoingAsync __result = getOutgoingAsync(__processHistoricalAggregates_name, __cb);
+        try
+        {
+            __result.prepare(__processHistoricalAggregates_name, Ice.OperationMode.Normal, __ctx, __explicitCtx, __synchronous);
+            IceInternal.BasicStream __os = __result.startWriteParams(Ice.FormatType.DefaultFormat);
+            BusDatagramSeqHelper.write(__os, data);
+            __result.endWriteParams();
+            __result.invoke();
+        }
+        catch(Ice.Exception __ex)
+        {
+            __result.abort(__ex);
+        }
+        return __result;
+    }
+
+    public AggregateResult end_processHistoricalAggregates(Ice.AsyncResult __iresult)
+    {
+        IceInternal.OutgoingAsync __result = IceInternal.OutgoingAsync.check(__iresult, this, __processHistoricalAggregates_name);
+        try
+        {
+            if(!__result.__wait())
+            {
+                try
+                {
+                    __result.throwUserException();
+                }
+                catch(Ice.UserException __ex)
+                {
+                    throw new Ice.UnknownUserException(__ex.ice_name(), __ex);
+                }
+            }
+            IceInternal.BasicStream __is = __result.startReadParams();
+            AggregateResult __ret = null;
+            __ret = AggregateResult.__read(__is, __ret);
+            __result.endReadParams();
+            return __ret;
+        }
+        finally
+        {
+            if(__result != null)
+            {
+                __result.cacheMessageBuffers();
+            }
+        }
+    }
+
+    static public void __processHistoricalAggregates_completed(Ice.TwowayCallbackArg1<AggregateResult> __cb, Ice.AsyncResult __result)
+    {
+        SITM.MIO.MasterPrx __proxy = (SITM.MIO.MasterPrx)__result.getProxy();
+        AggregateResult __ret = null;
+        try
+        {
+            __ret = __proxy.end_processHistoricalAggregates(__result);
+        }
+        catch(Ice.LocalException __ex)
+        {
+            __cb.exception(__ex);
+            return;
+        }
+        catch(Ice.SystemException __ex)
+        {
+            __cb.exception(__ex);
+            return;
+        }
+        __cb.response(__ret);
+    }
+
     private static final String __processHistoricalData_name = "processHistoricalData";
 
-    public VelocityResult[] processHistoricalData(BusDatagram[] data, Arc[] arcs, Stop[] stops)
+    public VelocityResult[] processHistoricalData(BusDatagram[] data)
     {
-        return processHistoricalData(data, arcs, stops, null, false);
+        return processHistoricalData(data, null, false);
     }
 
-    public VelocityResult[] processHistoricalData(BusDatagram[] data, Arc[] arcs, Stop[] stops, java.util.Map<String, String> __ctx)
+    public VelocityResult[] processHistoricalData(BusDatagram[] data, java.util.Map<String, String> __ctx)
     {
-        return processHistoricalData(data, arcs, stops, __ctx, true);
+        return processHistoricalData(data, __ctx, true);
     }
 
-    private VelocityResult[] processHistoricalData(BusDatagram[] data, Arc[] arcs, Stop[] stops, java.util.Map<String, String> __ctx, boolean __explicitCtx)
+    private VelocityResult[] processHistoricalData(BusDatagram[] data, java.util.Map<String, String> __ctx, boolean __explicitCtx)
     {
         __checkTwowayOnly(__processHistoricalData_name);
-        return end_processHistoricalData(begin_processHistoricalData(data, arcs, stops, __ctx, __explicitCtx, true, null));
+        return end_processHistoricalData(begin_processHistoricalData(data, __ctx, __explicitCtx, true, null));
     }
 
-    public Ice.AsyncResult begin_processHistoricalData(BusDatagram[] data, Arc[] arcs, Stop[] stops)
+    public Ice.AsyncResult begin_processHistoricalData(BusDatagram[] data)
     {
-        return begin_processHistoricalData(data, arcs, stops, null, false, false, null);
+        return begin_processHistoricalData(data, null, false, false, null);
     }
 
-    public Ice.AsyncResult begin_processHistoricalData(BusDatagram[] data, Arc[] arcs, Stop[] stops, java.util.Map<String, String> __ctx)
+    public Ice.AsyncResult begin_processHistoricalData(BusDatagram[] data, java.util.Map<String, String> __ctx)
     {
-        return begin_processHistoricalData(data, arcs, stops, __ctx, true, false, null);
+        return begin_processHistoricalData(data, __ctx, true, false, null);
     }
 
-    public Ice.AsyncResult begin_processHistoricalData(BusDatagram[] data, Arc[] arcs, Stop[] stops, Ice.Callback __cb)
+    public Ice.AsyncResult begin_processHistoricalData(BusDatagram[] data, Ice.Callback __cb)
     {
-        return begin_processHistoricalData(data, arcs, stops, null, false, false, __cb);
+        return begin_processHistoricalData(data, null, false, false, __cb);
     }
 
-    public Ice.AsyncResult begin_processHistoricalData(BusDatagram[] data, Arc[] arcs, Stop[] stops, java.util.Map<String, String> __ctx, Ice.Callback __cb)
+    public Ice.AsyncResult begin_processHistoricalData(BusDatagram[] data, java.util.Map<String, String> __ctx, Ice.Callback __cb)
     {
-        return begin_processHistoricalData(data, arcs, stops, __ctx, true, false, __cb);
+        return begin_processHistoricalData(data, __ctx, true, false, __cb);
     }
 
-    public Ice.AsyncResult begin_processHistoricalData(BusDatagram[] data, Arc[] arcs, Stop[] stops, Callback_Master_processHistoricalData __cb)
+    public Ice.AsyncResult begin_processHistoricalData(BusDatagram[] data, Callback_Master_processHistoricalData __cb)
     {
-        return begin_processHistoricalData(data, arcs, stops, null, false, false, __cb);
+        return begin_processHistoricalData(data, null, false, false, __cb);
     }
 
-    public Ice.AsyncResult begin_processHistoricalData(BusDatagram[] data, Arc[] arcs, Stop[] stops, java.util.Map<String, String> __ctx, Callback_Master_processHistoricalData __cb)
+    public Ice.AsyncResult begin_processHistoricalData(BusDatagram[] data, java.util.Map<String, String> __ctx, Callback_Master_processHistoricalData __cb)
     {
-        return begin_processHistoricalData(data, arcs, stops, __ctx, true, false, __cb);
+        return begin_processHistoricalData(data, __ctx, true, false, __cb);
     }
 
     public Ice.AsyncResult begin_processHistoricalData(BusDatagram[] data, 
-                                                       Arc[] arcs, 
-                                                       Stop[] stops, 
                                                        IceInternal.Functional_GenericCallback1<VelocityResult[]> __responseCb, 
                                                        IceInternal.Functional_GenericCallback1<Ice.Exception> __exceptionCb)
     {
-        return begin_processHistoricalData(data, arcs, stops, null, false, false, __responseCb, __exceptionCb, null);
+        return begin_processHistoricalData(data, null, false, false, __responseCb, __exceptionCb, null);
     }
 
     public Ice.AsyncResult begin_processHistoricalData(BusDatagram[] data, 
-                                                       Arc[] arcs, 
-                                                       Stop[] stops, 
                                                        IceInternal.Functional_GenericCallback1<VelocityResult[]> __responseCb, 
                                                        IceInternal.Functional_GenericCallback1<Ice.Exception> __exceptionCb, 
                                                        IceInternal.Functional_BoolCallback __sentCb)
     {
-        return begin_processHistoricalData(data, arcs, stops, null, false, false, __responseCb, __exceptionCb, __sentCb);
+        return begin_processHistoricalData(data, null, false, false, __responseCb, __exceptionCb, __sentCb);
     }
 
     public Ice.AsyncResult begin_processHistoricalData(BusDatagram[] data, 
-                                                       Arc[] arcs, 
-                                                       Stop[] stops, 
                                                        java.util.Map<String, String> __ctx, 
                                                        IceInternal.Functional_GenericCallback1<VelocityResult[]> __responseCb, 
                                                        IceInternal.Functional_GenericCallback1<Ice.Exception> __exceptionCb)
     {
-        return begin_processHistoricalData(data, arcs, stops, __ctx, true, false, __responseCb, __exceptionCb, null);
+        return begin_processHistoricalData(data, __ctx, true, false, __responseCb, __exceptionCb, null);
     }
 
     public Ice.AsyncResult begin_processHistoricalData(BusDatagram[] data, 
-                                                       Arc[] arcs, 
-                                                       Stop[] stops, 
                                                        java.util.Map<String, String> __ctx, 
                                                        IceInternal.Functional_GenericCallback1<VelocityResult[]> __responseCb, 
                                                        IceInternal.Functional_GenericCallback1<Ice.Exception> __exceptionCb, 
                                                        IceInternal.Functional_BoolCallback __sentCb)
     {
-        return begin_processHistoricalData(data, arcs, stops, __ctx, true, false, __responseCb, __exceptionCb, __sentCb);
+        return begin_processHistoricalData(data, __ctx, true, false, __responseCb, __exceptionCb, __sentCb);
     }
 
     private Ice.AsyncResult begin_processHistoricalData(BusDatagram[] data, 
-                                                        Arc[] arcs, 
-                                                        Stop[] stops, 
                                                         java.util.Map<String, String> __ctx, 
                                                         boolean __explicitCtx, 
                                                         boolean __synchronous, 
@@ -288,7 +1107,7 @@ public final class MasterPrxHelper extends Ice.ObjectPrxHelperBase implements Ma
                                                         IceInternal.Functional_GenericCallback1<Ice.Exception> __exceptionCb, 
                                                         IceInternal.Functional_BoolCallback __sentCb)
     {
-        return begin_processHistoricalData(data, arcs, stops, __ctx, __explicitCtx, __synchronous, 
+        return begin_processHistoricalData(data, __ctx, __explicitCtx, __synchronous, 
                                            new IceInternal.Functional_TwowayCallbackArg1<SITM.MIO.VelocityResult[]>(__responseCb, __exceptionCb, __sentCb)
                                                {
                                                    public final void __completed(Ice.AsyncResult __result)
@@ -299,8 +1118,6 @@ public final class MasterPrxHelper extends Ice.ObjectPrxHelperBase implements Ma
     }
 
     private Ice.AsyncResult begin_processHistoricalData(BusDatagram[] data, 
-                                                        Arc[] arcs, 
-                                                        Stop[] stops, 
                                                         java.util.Map<String, String> __ctx, 
                                                         boolean __explicitCtx, 
                                                         boolean __synchronous, 
@@ -313,8 +1130,6 @@ public final class MasterPrxHelper extends Ice.ObjectPrxHelperBase implements Ma
             __result.prepare(__processHistoricalData_name, Ice.OperationMode.Normal, __ctx, __explicitCtx, __synchronous);
             IceInternal.BasicStream __os = __result.startWriteParams(Ice.FormatType.DefaultFormat);
             BusDatagramSeqHelper.write(__os, data);
-            ArcSeqHelper.write(__os, arcs);
-            StopSeqHelper.write(__os, stops);
             __result.endWriteParams();
             __result.invoke();
         }
@@ -377,6 +1192,193 @@ public final class MasterPrxHelper extends Ice.ObjectPrxHelperBase implements Ma
         __cb.response(__ret);
     }
 
+    private static final String __processHistoricalFile_name = "processHistoricalFile";
+
+    public VelocityResult[] processHistoricalFile(String filePath, long fromEpoch, long toEpoch)
+    {
+        return processHistoricalFile(filePath, fromEpoch, toEpoch, null, false);
+    }
+
+    public VelocityResult[] processHistoricalFile(String filePath, long fromEpoch, long toEpoch, java.util.Map<String, String> __ctx)
+    {
+        return processHistoricalFile(filePath, fromEpoch, toEpoch, __ctx, true);
+    }
+
+    private VelocityResult[] processHistoricalFile(String filePath, long fromEpoch, long toEpoch, java.util.Map<String, String> __ctx, boolean __explicitCtx)
+    {
+        __checkTwowayOnly(__processHistoricalFile_name);
+        return end_processHistoricalFile(begin_processHistoricalFile(filePath, fromEpoch, toEpoch, __ctx, __explicitCtx, true, null));
+    }
+
+    public Ice.AsyncResult begin_processHistoricalFile(String filePath, long fromEpoch, long toEpoch)
+    {
+        return begin_processHistoricalFile(filePath, fromEpoch, toEpoch, null, false, false, null);
+    }
+
+    public Ice.AsyncResult begin_processHistoricalFile(String filePath, long fromEpoch, long toEpoch, java.util.Map<String, String> __ctx)
+    {
+        return begin_processHistoricalFile(filePath, fromEpoch, toEpoch, __ctx, true, false, null);
+    }
+
+    public Ice.AsyncResult begin_processHistoricalFile(String filePath, long fromEpoch, long toEpoch, Ice.Callback __cb)
+    {
+        return begin_processHistoricalFile(filePath, fromEpoch, toEpoch, null, false, false, __cb);
+    }
+
+    public Ice.AsyncResult begin_processHistoricalFile(String filePath, long fromEpoch, long toEpoch, java.util.Map<String, String> __ctx, Ice.Callback __cb)
+    {
+        return begin_processHistoricalFile(filePath, fromEpoch, toEpoch, __ctx, true, false, __cb);
+    }
+
+    public Ice.AsyncResult begin_processHistoricalFile(String filePath, long fromEpoch, long toEpoch, Callback_Master_processHistoricalFile __cb)
+    {
+        return begin_processHistoricalFile(filePath, fromEpoch, toEpoch, null, false, false, __cb);
+    }
+
+    public Ice.AsyncResult begin_processHistoricalFile(String filePath, long fromEpoch, long toEpoch, java.util.Map<String, String> __ctx, Callback_Master_processHistoricalFile __cb)
+    {
+        return begin_processHistoricalFile(filePath, fromEpoch, toEpoch, __ctx, true, false, __cb);
+    }
+
+    public Ice.AsyncResult begin_processHistoricalFile(String filePath, 
+                                                       long fromEpoch, 
+                                                       long toEpoch, 
+                                                       IceInternal.Functional_GenericCallback1<VelocityResult[]> __responseCb, 
+                                                       IceInternal.Functional_GenericCallback1<Ice.Exception> __exceptionCb)
+    {
+        return begin_processHistoricalFile(filePath, fromEpoch, toEpoch, null, false, false, __responseCb, __exceptionCb, null);
+    }
+
+    public Ice.AsyncResult begin_processHistoricalFile(String filePath, 
+                                                       long fromEpoch, 
+                                                       long toEpoch, 
+                                                       IceInternal.Functional_GenericCallback1<VelocityResult[]> __responseCb, 
+                                                       IceInternal.Functional_GenericCallback1<Ice.Exception> __exceptionCb, 
+                                                       IceInternal.Functional_BoolCallback __sentCb)
+    {
+        return begin_processHistoricalFile(filePath, fromEpoch, toEpoch, null, false, false, __responseCb, __exceptionCb, __sentCb);
+    }
+
+    public Ice.AsyncResult begin_processHistoricalFile(String filePath, 
+                                                       long fromEpoch, 
+                                                       long toEpoch, 
+                                                       java.util.Map<String, String> __ctx, 
+                                                       IceInternal.Functional_GenericCallback1<VelocityResult[]> __responseCb, 
+                                                       IceInternal.Functional_GenericCallback1<Ice.Exception> __exceptionCb)
+    {
+        return begin_processHistoricalFile(filePath, fromEpoch, toEpoch, __ctx, true, false, __responseCb, __exceptionCb, null);
+    }
+
+    public Ice.AsyncResult begin_processHistoricalFile(String filePath, 
+                                                       long fromEpoch, 
+                                                       long toEpoch, 
+                                                       java.util.Map<String, String> __ctx, 
+                                                       IceInternal.Functional_GenericCallback1<VelocityResult[]> __responseCb, 
+                                                       IceInternal.Functional_GenericCallback1<Ice.Exception> __exceptionCb, 
+                                                       IceInternal.Functional_BoolCallback __sentCb)
+    {
+        return begin_processHistoricalFile(filePath, fromEpoch, toEpoch, __ctx, true, false, __responseCb, __exceptionCb, __sentCb);
+    }
+
+    private Ice.AsyncResult begin_processHistoricalFile(String filePath, 
+                                                        long fromEpoch, 
+                                                        long toEpoch, 
+                                                        java.util.Map<String, String> __ctx, 
+                                                        boolean __explicitCtx, 
+                                                        boolean __synchronous, 
+                                                        IceInternal.Functional_GenericCallback1<VelocityResult[]> __responseCb, 
+                                                        IceInternal.Functional_GenericCallback1<Ice.Exception> __exceptionCb, 
+                                                        IceInternal.Functional_BoolCallback __sentCb)
+    {
+        return begin_processHistoricalFile(filePath, fromEpoch, toEpoch, __ctx, __explicitCtx, __synchronous, 
+                                           new IceInternal.Functional_TwowayCallbackArg1<SITM.MIO.VelocityResult[]>(__responseCb, __exceptionCb, __sentCb)
+                                               {
+                                                   public final void __completed(Ice.AsyncResult __result)
+                                                   {
+                                                       MasterPrxHelper.__processHistoricalFile_completed(this, __result);
+                                                   }
+                                               });
+    }
+
+    private Ice.AsyncResult begin_processHistoricalFile(String filePath, 
+                                                        long fromEpoch, 
+                                                        long toEpoch, 
+                                                        java.util.Map<String, String> __ctx, 
+                                                        boolean __explicitCtx, 
+                                                        boolean __synchronous, 
+                                                        IceInternal.CallbackBase __cb)
+    {
+        __checkAsyncTwowayOnly(__processHistoricalFile_name);
+        IceInternal.OutgoingAsync __result = getOutgoingAsync(__processHistoricalFile_name, __cb);
+        try
+        {
+            __result.prepare(__processHistoricalFile_name, Ice.OperationMode.Normal, __ctx, __explicitCtx, __synchronous);
+            IceInternal.BasicStream __os = __result.startWriteParams(Ice.FormatType.DefaultFormat);
+            __os.writeString(filePath);
+            __os.writeLong(fromEpoch);
+            __os.writeLong(toEpoch);
+            __result.endWriteParams();
+            __result.invoke();
+        }
+        catch(Ice.Exception __ex)
+        {
+            __result.abort(__ex);
+        }
+        return __result;
+    }
+
+    public VelocityResult[] end_processHistoricalFile(Ice.AsyncResult __iresult)
+    {
+        IceInternal.OutgoingAsync __result = IceInternal.OutgoingAsync.check(__iresult, this, __processHistoricalFile_name);
+        try
+        {
+            if(!__result.__wait())
+            {
+                try
+                {
+                    __result.throwUserException();
+                }
+                catch(Ice.UserException __ex)
+                {
+                    throw new Ice.UnknownUserException(__ex.ice_name(), __ex);
+                }
+            }
+            IceInternal.BasicStream __is = __result.startReadParams();
+            VelocityResult[] __ret;
+            __ret = VelocityResultSeqHelper.read(__is);
+            __result.endReadParams();
+            return __ret;
+        }
+        finally
+        {
+            if(__result != null)
+            {
+                __result.cacheMessageBuffers();
+            }
+        }
+    }
+
+    static public void __processHistoricalFile_completed(Ice.TwowayCallbackArg1<VelocityResult[]> __cb, Ice.AsyncResult __result)
+    {
+        SITM.MIO.MasterPrx __proxy = (SITM.MIO.MasterPrx)__result.getProxy();
+        VelocityResult[] __ret = null;
+        try
+        {
+            __ret = __proxy.end_processHistoricalFile(__result);
+        }
+        catch(Ice.LocalException __ex)
+        {
+            __cb.exception(__ex);
+            return;
+        }
+        catch(Ice.SystemException __ex)
+        {
+            __cb.exception(__ex);
+            return;
+        }
+        __cb.response(__ret);
+    }
+
     private static final String __processStreamingData_name = "processStreamingData";
 
     public VelocityResult[] processStreamingData(StreamingWindow window)
@@ -552,84 +1554,89 @@ public final class MasterPrxHelper extends Ice.ObjectPrxHelperBase implements Ma
 
     private static final String __registerWorker_name = "registerWorker";
 
-    public void registerWorker(WorkerPrx worker)
+    public void registerWorker(WorkerPrx worker, int cores)
     {
-        registerWorker(worker, null, false);
+        registerWorker(worker, cores, null, false);
     }
 
-    public void registerWorker(WorkerPrx worker, java.util.Map<String, String> __ctx)
+    public void registerWorker(WorkerPrx worker, int cores, java.util.Map<String, String> __ctx)
     {
-        registerWorker(worker, __ctx, true);
+        registerWorker(worker, cores, __ctx, true);
     }
 
-    private void registerWorker(WorkerPrx worker, java.util.Map<String, String> __ctx, boolean __explicitCtx)
+    private void registerWorker(WorkerPrx worker, int cores, java.util.Map<String, String> __ctx, boolean __explicitCtx)
     {
-        end_registerWorker(begin_registerWorker(worker, __ctx, __explicitCtx, true, null));
+        end_registerWorker(begin_registerWorker(worker, cores, __ctx, __explicitCtx, true, null));
     }
 
-    public Ice.AsyncResult begin_registerWorker(WorkerPrx worker)
+    public Ice.AsyncResult begin_registerWorker(WorkerPrx worker, int cores)
     {
-        return begin_registerWorker(worker, null, false, false, null);
+        return begin_registerWorker(worker, cores, null, false, false, null);
     }
 
-    public Ice.AsyncResult begin_registerWorker(WorkerPrx worker, java.util.Map<String, String> __ctx)
+    public Ice.AsyncResult begin_registerWorker(WorkerPrx worker, int cores, java.util.Map<String, String> __ctx)
     {
-        return begin_registerWorker(worker, __ctx, true, false, null);
+        return begin_registerWorker(worker, cores, __ctx, true, false, null);
     }
 
-    public Ice.AsyncResult begin_registerWorker(WorkerPrx worker, Ice.Callback __cb)
+    public Ice.AsyncResult begin_registerWorker(WorkerPrx worker, int cores, Ice.Callback __cb)
     {
-        return begin_registerWorker(worker, null, false, false, __cb);
+        return begin_registerWorker(worker, cores, null, false, false, __cb);
     }
 
-    public Ice.AsyncResult begin_registerWorker(WorkerPrx worker, java.util.Map<String, String> __ctx, Ice.Callback __cb)
+    public Ice.AsyncResult begin_registerWorker(WorkerPrx worker, int cores, java.util.Map<String, String> __ctx, Ice.Callback __cb)
     {
-        return begin_registerWorker(worker, __ctx, true, false, __cb);
+        return begin_registerWorker(worker, cores, __ctx, true, false, __cb);
     }
 
-    public Ice.AsyncResult begin_registerWorker(WorkerPrx worker, Callback_Master_registerWorker __cb)
+    public Ice.AsyncResult begin_registerWorker(WorkerPrx worker, int cores, Callback_Master_registerWorker __cb)
     {
-        return begin_registerWorker(worker, null, false, false, __cb);
+        return begin_registerWorker(worker, cores, null, false, false, __cb);
     }
 
-    public Ice.AsyncResult begin_registerWorker(WorkerPrx worker, java.util.Map<String, String> __ctx, Callback_Master_registerWorker __cb)
+    public Ice.AsyncResult begin_registerWorker(WorkerPrx worker, int cores, java.util.Map<String, String> __ctx, Callback_Master_registerWorker __cb)
     {
-        return begin_registerWorker(worker, __ctx, true, false, __cb);
+        return begin_registerWorker(worker, cores, __ctx, true, false, __cb);
     }
 
     public Ice.AsyncResult begin_registerWorker(WorkerPrx worker, 
+                                                int cores, 
                                                 IceInternal.Functional_VoidCallback __responseCb, 
                                                 IceInternal.Functional_GenericCallback1<Ice.Exception> __exceptionCb)
     {
-        return begin_registerWorker(worker, null, false, false, __responseCb, __exceptionCb, null);
+        return begin_registerWorker(worker, cores, null, false, false, __responseCb, __exceptionCb, null);
     }
 
     public Ice.AsyncResult begin_registerWorker(WorkerPrx worker, 
+                                                int cores, 
                                                 IceInternal.Functional_VoidCallback __responseCb, 
                                                 IceInternal.Functional_GenericCallback1<Ice.Exception> __exceptionCb, 
                                                 IceInternal.Functional_BoolCallback __sentCb)
     {
-        return begin_registerWorker(worker, null, false, false, __responseCb, __exceptionCb, __sentCb);
+        return begin_registerWorker(worker, cores, null, false, false, __responseCb, __exceptionCb, __sentCb);
     }
 
     public Ice.AsyncResult begin_registerWorker(WorkerPrx worker, 
+                                                int cores, 
                                                 java.util.Map<String, String> __ctx, 
                                                 IceInternal.Functional_VoidCallback __responseCb, 
                                                 IceInternal.Functional_GenericCallback1<Ice.Exception> __exceptionCb)
     {
-        return begin_registerWorker(worker, __ctx, true, false, __responseCb, __exceptionCb, null);
+        return begin_registerWorker(worker, cores, __ctx, true, false, __responseCb, __exceptionCb, null);
     }
 
     public Ice.AsyncResult begin_registerWorker(WorkerPrx worker, 
+                                                int cores, 
                                                 java.util.Map<String, String> __ctx, 
                                                 IceInternal.Functional_VoidCallback __responseCb, 
                                                 IceInternal.Functional_GenericCallback1<Ice.Exception> __exceptionCb, 
                                                 IceInternal.Functional_BoolCallback __sentCb)
     {
-        return begin_registerWorker(worker, __ctx, true, false, __responseCb, __exceptionCb, __sentCb);
+        return begin_registerWorker(worker, cores, __ctx, true, false, __responseCb, __exceptionCb, __sentCb);
     }
 
     private Ice.AsyncResult begin_registerWorker(WorkerPrx worker, 
+                                                 int cores, 
                                                  java.util.Map<String, String> __ctx, 
                                                  boolean __explicitCtx, 
                                                  boolean __synchronous, 
@@ -638,6 +1645,7 @@ public final class MasterPrxHelper extends Ice.ObjectPrxHelperBase implements Ma
                                                  IceInternal.Functional_BoolCallback __sentCb)
     {
         return begin_registerWorker(worker, 
+                                    cores, 
                                     __ctx, 
                                     __explicitCtx, 
                                     __synchronous, 
@@ -645,6 +1653,7 @@ public final class MasterPrxHelper extends Ice.ObjectPrxHelperBase implements Ma
     }
 
     private Ice.AsyncResult begin_registerWorker(WorkerPrx worker, 
+                                                 int cores, 
                                                  java.util.Map<String, String> __ctx, 
                                                  boolean __explicitCtx, 
                                                  boolean __synchronous, 
@@ -656,6 +1665,7 @@ public final class MasterPrxHelper extends Ice.ObjectPrxHelperBase implements Ma
             __result.prepare(__registerWorker_name, Ice.OperationMode.Normal, __ctx, __explicitCtx, __synchronous);
             IceInternal.BasicStream __os = __result.startWriteParams(Ice.FormatType.DefaultFormat);
             SITM.MIO.WorkerPrxHelper.__write(__os, worker);
+            __os.writeInt(cores);
             __result.endWriteParams();
             __result.invoke();
         }
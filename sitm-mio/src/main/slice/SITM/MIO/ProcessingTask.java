@@ -26,9 +26,7 @@ public class ProcessingTask implements java.lang.Cloneable, java.io.Serializable
 
     public BusDatagram[] datagrams;
 
-    public Arc[] arcs;
-
-    public Stop[] stops;
+    public String topologyVersion;
 
     public int totalWorkers;
 
@@ -37,14 +35,14 @@ public class ProcessingTask implements java.lang.Cloneable, java.io.Serializable
     public ProcessingTask()
     {
         taskId = "";
+        topologyVersion = "";
     }
 
-    public ProcessingTask(String taskId, BusDatagram[] datagrams, Arc[] arcs, Stop[] stops, int totalWorkers, int workerId)
+    public ProcessingTask(String taskId, BusDatagram[] datagrams, String topologyVersion, int totalWorkers, int workerId)
     {
         this.taskId = taskId;
         this.datagrams = datagrams;
-        this.arcs = arcs;
-        this.stops = stops;
+        this.topologyVersion = topologyVersion;
         this.totalWorkers = totalWorkers;
         this.workerId = workerId;
     }
@@ -75,13 +73,12 @@ public class ProcessingTask implements java.lang.Cloneable, java.io.Serializable
             {
                 return false;
             }
-            if(!java.util.Arrays.equals(arcs, _r.arcs))
-            {
-                return false;
-            }
-            if(!java.util.Arrays.equals(stops, _r.stops))
+            if(topologyVersion != _r.topologyVersion)
             {
-                return false;
+                if(topologyVersion == null || _r.topologyVersion == null || !topologyVersion.equals(_r.topologyVersion))
+                {
+                    return false;
+                }
             }
             if(totalWorkers != _r.totalWorkers)
             {
@@ -105,8 +102,7 @@ public class ProcessingTask implements java.lang.Cloneable, java.io.Serializable
         __h = IceInternal.HashUtil.hashAdd(__h, "::SITM::MIO::ProcessingTask");
         __h = IceInternal.HashUtil.hashAdd(__h, taskId);
         __h = IceInternal.HashUtil.hashAdd(__h, datagrams);
-        __h = IceInternal.HashUtil.hashAdd(__h, arcs);
-        __h = IceInternal.HashUtil.hashAdd(__h, stops);
+        __h = IceInternal.HashUtil.hashAdd(__h, topologyVersion);
         __h = IceInternal.HashUtil.hashAdd(__h, totalWorkers);
         __h = IceInternal.HashUtil.hashAdd(__h, workerId);
         return __h;
@@ -132,8 +128,7 @@ public class ProcessingTask implements java.lang.Cloneable, java.io.Serializable
     {
         __os.writeString(taskId);
         BusDatagramSeqHelper.write(__os, datagrams);
-        ArcSeqHelper.write(__os, arcs);
-        StopSeqHelper.write(__os, stops);
+        __os.writeString(topologyVersion);
         __os.writeInt(totalWorkers);
         __os.writeInt(workerId);
     }
@@ -143,8 +138,7 @@ public class ProcessingTask implements java.lang.Cloneable, java.io.Serializable
     {
         taskId = __is.readString();
         datagrams = BusDatagramSeqHelper.read(__is);
-        arcs = ArcSeqHelper.read(__is);
-        stops = StopSeqHelper.read(__is);
+        topologyVersion = __is.readString();
         totalWorkers = __is.readInt();
         workerId = __is.readInt();
     }
@@ -0,0 +1,153 @@
+// **********************************************************************
+//
+// Copyright (c) 2003-2018 ZeroC, Inc. All rights reserved.
+//
+// This copy of Ice is licensed to you under the terms described in the
+// ICE_LICENSE file included in this distribution.
+//
+// **********************************************************************
+//
+// Ice version 3.6.5
+//
+// <auto-generated>
+//
+// Generated from file `VelocityCalculation.ice'
+//
+// Warning: do not edit this file.
+//
+// </auto-generated>
+//
+
+package SITM.MIO;
+
+public class TaskAssignment implements java.lang.Cloneable, java.io.Serializable
+{
+    public boolean hasTask;
+
+    public String jobId;
+
+    public BlockTask task;
+
+    public TaskAssignment()
+    {
+        jobId = "";
+        task = new BlockTask();
+    }
+
+    public TaskAssignment(boolean hasTask, String jobId, BlockTask task)
+    {
+        this.hasTask = hasTask;
+        this.jobId = jobId;
+        this.task = task;
+    }
+
+    public boolean
+    equals(java.lang.Object rhs)
+    {
+        if(this == rhs)
+        {
+            return true;
+        }
+        TaskAssignment _r = null;
+        if(rhs instanceof TaskAssignment)
+        {
+            _r = (TaskAssignment)rhs;
+        }
+
+        if(_r != null)
+        {
+            if(hasTask != _r.hasTask)
+            {
+                return false;
+            }
+            if(jobId != _r.jobId)
+            {
+                if(jobId == null || _r.jobId == null || !jobId.equals(_r.jobId))
+                {
+                    return false;
+                }
+            }
+            if(task != _r.task)
+            {
+                if(task == null || _r.task == null || !task.equals(_r.task))
+                {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+
+        return false;
+    }
+
+    public int
+    hashCode()
+    {
+        int __h = 5381;
+        __h = IceInternal.HashUtil.hashAdd(__h, "::SITM::MIO::TaskAssignment");
+        __h = IceInternal.HashUtil.hashAdd(__h, hasTask);
+        __h = IceInternal.HashUtil.hashAdd(__h, jobId);
+        __h = IceInternal.HashUtil.hashAdd(__h, task);
+        return __h;
+    }
+
+    public TaskAssignment
+    clone()
+    {
+        TaskAssignment c = null;
+        try
+        {
+            c = (TaskAssignment)super.clone();
+        }
+        catch(CloneNotSupportedException ex)
+        {
+            assert false; // impossible
+        }
+        return c;
+    }
+
+    public void
+    __write(IceInternal.BasicStream __os)
+    {
+        __os.writeBool(hasTask);
+        __os.writeString(jobId);
+        BlockTask.__write(__os, task);
+    }
+
+    public void
+    __read(IceInternal.BasicStream __is)
+    {
+        hasTask = __is.readBool();
+        jobId = __is.readString();
+        task = BlockTask.__read(__is, task);
+    }
+
+    static public void
+    __write(IceInternal.BasicStream __os, TaskAssignment __v)
+    {
+        if(__v == null)
+        {
+            __nullMarshalValue.__write(__os);
+        }
+        else
+        {
+            __v.__write(__os);
+        }
+    }
+
+    static public TaskAssignment
+    __read(IceInternal.BasicStream __is, TaskAssignment __v)
+    {
+        if(__v == null)
+        {
+             __v = new TaskAssignment();
+        }
+        __v.__read(__is);
+        return __v;
+    }
+    
+    private static final TaskAssignment __nullMarshalValue = new TaskAssignment();
+
+    public static final long serialVersionUID = -244020997L;
+}
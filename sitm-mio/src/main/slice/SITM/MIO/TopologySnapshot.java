@@ -0,0 +1,149 @@
+// **********************************************************************
+//
+// Copyright (c) 2003-2018 ZeroC, Inc. All rights reserved.
+//
+// This copy of Ice is licensed to you under the terms described in the
+// ICE_LICENSE file included in this distribution.
+//
+// **********************************************************************
+//
+// Ice version 3.6.5
+//
+// <auto-generated>
+//
+// Generated from file `VelocityCalculation.ice'
+//
+// Warning: do not edit this file.
+//
+// </auto-generated>
+//
+
+package SITM.MIO;
+
+public class TopologySnapshot implements java.lang.Cloneable, java.io.Serializable
+{
+    public String version;
+
+    public Arc[] arcs;
+
+    public Stop[] stops;
+
+    public TopologySnapshot()
+    {
+        version = "";
+    }
+
+    public TopologySnapshot(String version, Arc[] arcs, Stop[] stops)
+    {
+        this.version = version;
+        this.arcs = arcs;
+        this.stops = stops;
+    }
+
+    public boolean
+    equals(java.lang.Object rhs)
+    {
+        if(this == rhs)
+        {
+            return true;
+        }
+        TopologySnapshot _r = null;
+        if(rhs instanceof TopologySnapshot)
+        {
+            _r = (TopologySnapshot)rhs;
+        }
+
+        if(_r != null)
+        {
+            if(version != _r.version)
+            {
+                if(version == null || _r.version == null || !version.equals(_r.version))
+                {
+                    return false;
+                }
+            }
+            if(!java.util.Arrays.equals(arcs, _r.arcs))
+            {
+                return false;
+            }
+            if(!java.util.Arrays.equals(stops, _r.stops))
+            {
+                return false;
+            }
+
+            return true;
+        }
+
+        return false;
+    }
+
+    public int
+    hashCode()
+    {
+        int __h = 5381;
+        __h = IceInternal.HashUtil.hashAdd(__h, "::SITM::MIO::TopologySnapshot");
+        __h = IceInternal.HashUtil.hashAdd(__h, version);
+        __h = IceInternal.HashUtil.hashAdd(__h, arcs);
+        __h = IceInternal.HashUtil.hashAdd(__h, stops);
+        return __h;
+    }
+
+    public TopologySnapshot
+    clone()
+    {
+        TopologySnapshot c = null;
+        try
+        {
+            c = (TopologySnapshot)super.clone();
+        }
+        catch(CloneNotSupportedException ex)
+        {
+            assert false; // impossible
+        }
+        return c;
+    }
+
+    public void
+    __write(IceInternal.BasicStream __os)
+    {
+        __os.writeString(version);
+        ArcSeqHelper.write(__os, arcs);
+        StopSeqHelper.write(__os, stops);
+    }
+
+    public void
+    __read(IceInternal.BasicStream __is)
+    {
+        version = __is.readString();
+        arcs = ArcSeqHelper.read(__is);
+        stops = StopSeqHelper.read(__is);
+    }
+
+    static public void
+    __write(IceInternal.BasicStream __os, TopologySnapshot __v)
+    {
+        if(__v == null)
+        {
+            __nullMarshalValue.__write(__os);
+        }
+        else
+        {
+            __v.__write(__os);
+        }
+    }
+
+    static public TopologySnapshot
+    __read(IceInternal.BasicStream __is, TopologySnapshot __v)
+    {
+        if(__v == null)
+        {
+             __v = new TopologySnapshot();
+        }
+        __v.__read(__is);
+        return __v;
+    }
+    
+    private static final TopologySnapshot __nullMarshalValue = new TopologySnapshot();
+
+    public static final long serialVersionUID = 2024405563L;
+}
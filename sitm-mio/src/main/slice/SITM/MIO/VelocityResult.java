@@ -34,6 +34,10 @@ public class VelocityResult implements java.lang.Cloneable, java.io.Serializable
 
     public String periodEnd;
 
+    public double[] sketchMeans;
+
+    public long[] sketchWeights;
+
     public VelocityResult()
     {
         arcId = "";
@@ -41,7 +45,7 @@ public class VelocityResult implements java.lang.Cloneable, java.io.Serializable
         periodEnd = "";
     }
 
-    public VelocityResult(String arcId, double averageVelocity, int sampleCount, long processingTime, String periodStart, String periodEnd)
+    public VelocityResult(String arcId, double averageVelocity, int sampleCount, long processingTime, String periodStart, String periodEnd, double[] sketchMeans, long[] sketchWeights)
     {
         this.arcId = arcId;
         this.averageVelocity = averageVelocity;
@@ -49,6 +53,8 @@ public class VelocityResult implements java.lang.Cloneable, java.io.Serializable
         this.processingTime = processingTime;
         this.periodStart = periodStart;
         this.periodEnd = periodEnd;
+        this.sketchMeans = sketchMeans;
+        this.sketchWeights = sketchWeights;
     }
 
     public boolean
@@ -99,6 +105,14 @@ public class VelocityResult implements java.lang.Cloneable, java.io.Serializable
                     return false;
                 }
             }
+            if(!java.util.Arrays.equals(sketchMeans, _r.sketchMeans))
+            {
+                return false;
+            }
+            if(!java.util.Arrays.equals(sketchWeights, _r.sketchWeights))
+            {
+                return false;
+            }
 
             return true;
         }
@@ -117,6 +131,8 @@ public class VelocityResult implements java.lang.Cloneable, java.io.Serializable
         __h = IceInternal.HashUtil.hashAdd(__h, processingTime);
         __h = IceInternal.HashUtil.hashAdd(__h, periodStart);
         __h = IceInternal.HashUtil.hashAdd(__h, periodEnd);
+        __h = IceInternal.HashUtil.hashAdd(__h, sketchMeans);
+        __h = IceInternal.HashUtil.hashAdd(__h, sketchWeights);
         return __h;
     }
 
@@ -144,6 +160,8 @@ public class VelocityResult implements java.lang.Cloneable, java.io.Serializable
         __os.writeLong(processingTime);
         __os.writeString(periodStart);
         __os.writeString(periodEnd);
+        __os.writeDoubleSeq(sketchMeans);
+        __os.writeLongSeq(sketchWeights);
     }
 
     public void
@@ -155,6 +173,8 @@ public class VelocityResult implements java.lang.Cloneable, java.io.Serializable
         processingTime = __is.readLong();
         periodStart = __is.readString();
         periodEnd = __is.readString();
+        sketchMeans = __is.readDoubleSeq();
+        sketchWeights = __is.readLongSeq();
     }
 
     static public void
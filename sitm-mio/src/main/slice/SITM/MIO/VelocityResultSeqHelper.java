@@ -43,7 +43,7 @@ public final class VelocityResultSeqHelper
     read(IceInternal.BasicStream __is)
     {
         VelocityResult[] __v;
-        final int __len0 = __is.readAndCheckSeqSize(23);
+        final int __len0 = __is.readAndCheckSeqSize(25);
         __v = new VelocityResult[__len0];
         for(int __i0 = 0; __i0 < __len0; __i0++)
         {
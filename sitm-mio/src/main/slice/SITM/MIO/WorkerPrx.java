@@ -131,4 +131,232 @@ public interface WorkerPrx extends Ice.ObjectPrx
                                                         IceInternal.Functional_BoolCallback __sentCb);
 
     public VelocityResult end_processStreamingWindow(Ice.AsyncResult __result);
+
+    public AggregateResult processStreamingWindowAggregates(StreamingWindow window);
+
+    public AggregateResult processStreamingWindowAggregates(StreamingWindow window, java.util.Map<String, String> __ctx);
+
+    public Ice.AsyncResult begin_processStreamingWindowAggregates(StreamingWindow window);
+
+    public Ice.AsyncResult begin_processStreamingWindowAggregates(StreamingWindow window, java.util.Map<String, String> __ctx);
+
+    public Ice.AsyncResult begin_processStreamingWindowAggregates(StreamingWindow window, Ice.Callback __cb);
+
+    public Ice.AsyncResult begin_processStreamingWindowAggregates(StreamingWindow window, java.util.Map<String, String> __ctx, Ice.Callback __cb);
+
+    public Ice.AsyncResult begin_processStreamingWindowAggregates(StreamingWindow window, Callback_Worker_processStreamingWindowAggregates __cb);
+
+    public Ice.AsyncResult begin_processStreamingWindowAggregates(StreamingWindow window, java.util.Map<String, String> __ctx, Callback_Worker_processStreamingWindowAggregates __cb);
+
+    public Ice.AsyncResult begin_processStreamingWindowAggregates(StreamingWindow window, 
+                                                                  IceInternal.Functional_GenericCallback1<AggregateResult> __responseCb, 
+                                                                  IceInternal.Functional_GenericCallback1<Ice.Exception> __exceptionCb);
+
+    public Ice.AsyncResult begin_processStreamingWindowAggregates(StreamingWindow window, 
+                                                                  IceInternal.Functional_GenericCallback1<AggregateResult> __responseCb, 
+                                                                  IceInternal.Functional_GenericCallback1<Ice.Exception> __exceptionCb, 
+                                                                  IceInternal.Functional_BoolCallback __sentCb);
+
+    public Ice.AsyncResult begin_processStreamingWindowAggregates(StreamingWindow window, 
+                                                                  java.util.Map<String, String> __ctx, 
+                                                                  IceInternal.Functional_GenericCallback1<AggregateResult> __responseCb, 
+                                                                  IceInternal.Functional_GenericCallback1<Ice.Exception> __exceptionCb);
+
+    public Ice.AsyncResult begin_processStreamingWindowAggregates(StreamingWindow window, 
+                                                                  java.util.Map<String, String> __ctx, 
+                                                                  IceInternal.Functional_GenericCallback1<AggregateResult> __responseCb, 
+                                                                  IceInternal.Functional_GenericCallback1<Ice.Exception> __exceptionCb, 
+                                                                  IceInternal.Functional_BoolCallback __sentCb);
+
+    public AggregateResult end_processStreamingWindowAggregates(Ice.AsyncResult __result);
+
+    public VelocityResult processBlockTask(BlockTask task);
+
+    public VelocityResult processBlockTask(BlockTask task, java.util.Map<String, String> __ctx);
+
+    public Ice.AsyncResult begin_processBlockTask(BlockTask task);
+
+    public Ice.AsyncResult begin_processBlockTask(BlockTask task, java.util.Map<String, String> __ctx);
+
+    public Ice.AsyncResult begin_processBlockTask(BlockTask task, Ice.Callback __cb);
+
+    public Ice.AsyncResult begin_processBlockTask(BlockTask task, java.util.Map<String, String> __ctx, Ice.Callback __cb);
+
+    public Ice.AsyncResult begin_processBlockTask(BlockTask task, Callback_Worker_processBlockTask __cb);
+
+    public Ice.AsyncResult begin_processBlockTask(BlockTask task, java.util.Map<String, String> __ctx, Callback_Worker_processBlockTask __cb);
+
+    public Ice.AsyncResult begin_processBlockTask(BlockTask task, 
+                                                  IceInternal.Functional_GenericCallback1<VelocityResult> __responseCb, 
+                                                  IceInternal.Functional_GenericCallback1<Ice.Exception> __exceptionCb);
+
+    public Ice.AsyncResult begin_processBlockTask(BlockTask task, 
+                                                  IceInternal.Functional_GenericCallback1<VelocityResult> __responseCb, 
+                                                  IceInternal.Functional_GenericCallback1<Ice.Exception> __exceptionCb, 
+                                                  IceInternal.Functional_BoolCallback __sentCb);
+
+    public Ice.AsyncResult begin_processBlockTask(BlockTask task, 
+                                                  java.util.Map<String, String> __ctx, 
+                                                  IceInternal.Functional_GenericCallback1<VelocityResult> __responseCb, 
+                                                  IceInternal.Functional_GenericCallback1<Ice.Exception> __exceptionCb);
+
+    public Ice.AsyncResult begin_processBlockTask(BlockTask task, 
+                                                  java.util.Map<String, String> __ctx, 
+                                                  IceInternal.Functional_GenericCallback1<VelocityResult> __responseCb, 
+                                                  IceInternal.Functional_GenericCallback1<Ice.Exception> __exceptionCb, 
+                                                  IceInternal.Functional_BoolCallback __sentCb);
+
+    public VelocityResult end_processBlockTask(Ice.AsyncResult __result);
+
+    public AggregateResult processBlockTaskAggregates(BlockTask task);
+
+    public AggregateResult processBlockTaskAggregates(BlockTask task, java.util.Map<String, String> __ctx);
+
+    public Ice.AsyncResult begin_processBlockTaskAggregates(BlockTask task);
+
+    public Ice.AsyncResult begin_processBlockTaskAggregates(BlockTask task, java.util.Map<String, String> __ctx);
+
+    public Ice.AsyncResult begin_processBlockTaskAggregates(BlockTask task, Ice.Callback __cb);
+
+    public Ice.AsyncResult begin_processBlockTaskAggregates(BlockTask task, java.util.Map<String, String> __ctx, Ice.Callback __cb);
+
+    public Ice.AsyncResult begin_processBlockTaskAggregates(BlockTask task, Callback_Worker_processBlockTaskAggregates __cb);
+
+    public Ice.AsyncResult begin_processBlockTaskAggregates(BlockTask task, java.util.Map<String, String> __ctx, Callback_Worker_processBlockTaskAggregates __cb);
+
+    public Ice.AsyncResult begin_processBlockTaskAggregates(BlockTask task, 
+                                                            IceInternal.Functional_GenericCallback1<AggregateResult> __responseCb, 
+                                                            IceInternal.Functional_GenericCallback1<Ice.Exception> __exceptionCb);
+
+    public Ice.AsyncResult begin_processBlockTaskAggregates(BlockTask task, 
+                                                            IceInternal.Functional_GenericCallback1<AggregateResult> __responseCb, 
+                                                            IceInternal.Functional_GenericCallback1<Ice.Exception> __exceptionCb, 
+                                                            IceInternal.Functional_BoolCallback __sentCb);
+
+    public Ice.AsyncResult begin_processBlockTaskAggregates(BlockTask task, 
+                                                            java.util.Map<String, String> __ctx, 
+                                                            IceInternal.Functional_GenericCallback1<AggregateResult> __responseCb, 
+                                                            IceInternal.Functional_GenericCallback1<Ice.Exception> __exceptionCb);
+
+    public Ice.AsyncResult begin_processBlockTaskAggregates(BlockTask task, 
+                                                            java.util.Map<String, String> __ctx, 
+                                                            IceInternal.Functional_GenericCallback1<AggregateResult> __responseCb, 
+                                                            IceInternal.Functional_GenericCallback1<Ice.Exception> __exceptionCb, 
+                                                            IceInternal.Functional_BoolCallback __sentCb);
+
+    public AggregateResult end_processBlockTaskAggregates(Ice.AsyncResult __result);
+
+    public AggregateResult processFileRangeTask(FileRangeTask task);
+
+    public AggregateResult processFileRangeTask(FileRangeTask task, java.util.Map<String, String> __ctx);
+
+    public Ice.AsyncResult begin_processFileRangeTask(FileRangeTask task);
+
+    public Ice.AsyncResult begin_processFileRangeTask(FileRangeTask task, java.util.Map<String, String> __ctx);
+
+    public Ice.AsyncResult begin_processFileRangeTask(FileRangeTask task, Ice.Callback __cb);
+
+    public Ice.AsyncResult begin_processFileRangeTask(FileRangeTask task, java.util.Map<String, String> __ctx, Ice.Callback __cb);
+
+    public Ice.AsyncResult begin_processFileRangeTask(FileRangeTask task, Callback_Worker_processFileRangeTask __cb);
+
+    public Ice.AsyncResult begin_processFileRangeTask(FileRangeTask task, java.util.Map<String, String> __ctx, Callback_Worker_processFileRangeTask __cb);
+
+    public Ice.AsyncResult begin_processFileRangeTask(FileRangeTask task, 
+                                                      IceInternal.Functional_GenericCallback1<AggregateResult> __responseCb, 
+                                                      IceInternal.Functional_GenericCallback1<Ice.Exception> __exceptionCb);
+
+    public Ice.AsyncResult begin_processFileRangeTask(FileRangeTask task, 
+                                                      IceInternal.Functional_GenericCallback1<AggregateResult> __responseCb, 
+                                                      IceInternal.Functional_GenericCallback1<Ice.Exception> __exceptionCb, 
+                                                      IceInternal.Functional_BoolCallback __sentCb);
+
+    public Ice.AsyncResult begin_processFileRangeTask(FileRangeTask task, 
+                                                      java.util.Map<String, String> __ctx, 
+                                                      IceInternal.Functional_GenericCallback1<AggregateResult> __responseCb, 
+                                                      IceInternal.Functional_GenericCallback1<Ice.Exception> __exceptionCb);
+
+    public Ice.AsyncResult begin_processFileRangeTask(FileRangeTask task, 
+                                                      java.util.Map<String, String> __ctx, 
+                                                      IceInternal.Functional_GenericCallback1<AggregateResult> __responseCb, 
+                                                      IceInternal.Functional_GenericCallback1<Ice.Exception> __exceptionCb, 
+                                                      IceInternal.Functional_BoolCallback __sentCb);
+
+    public AggregateResult end_processFileRangeTask(Ice.AsyncResult __result);
+
+    public void notifyWork(String jobId);
+
+    public void notifyWork(String jobId, java.util.Map<String, String> __ctx);
+
+    public Ice.AsyncResult begin_notifyWork(String jobId);
+
+    public Ice.AsyncResult begin_notifyWork(String jobId, java.util.Map<String, String> __ctx);
+
+    public Ice.AsyncResult begin_notifyWork(String jobId, Ice.Callback __cb);
+
+    public Ice.AsyncResult begin_notifyWork(String jobId, java.util.Map<String, String> __ctx, Ice.Callback __cb);
+
+    public Ice.AsyncResult begin_notifyWork(String jobId, Callback_Worker_notifyWork __cb);
+
+    public Ice.AsyncResult begin_notifyWork(String jobId, java.util.Map<String, String> __ctx, Callback_Worker_notifyWork __cb);
+
+    public Ice.AsyncResult begin_notifyWork(String jobId, 
+                                            IceInternal.Functional_VoidCallback __responseCb, 
+                                            IceInternal.Functional_GenericCallback1<Ice.Exception> __exceptionCb);
+
+    public Ice.AsyncResult begin_notifyWork(String jobId, 
+                                            IceInternal.Functional_VoidCallback __responseCb, 
+                                            IceInternal.Functional_GenericCallback1<Ice.Exception> __exceptionCb, 
+                                            IceInternal.Functional_BoolCallback __sentCb);
+
+    public Ice.AsyncResult begin_notifyWork(String jobId, 
+                                            java.util.Map<String, String> __ctx, 
+                                            IceInternal.Functional_VoidCallback __responseCb, 
+                                            IceInternal.Functional_GenericCallback1<Ice.Exception> __exceptionCb);
+
+    public Ice.AsyncResult begin_notifyWork(String jobId, 
+                                            java.util.Map<String, String> __ctx, 
+                                            IceInternal.Functional_VoidCallback __responseCb, 
+                                            IceInternal.Functional_GenericCallback1<Ice.Exception> __exceptionCb, 
+                                            IceInternal.Functional_BoolCallback __sentCb);
+
+    public void end_notifyWork(Ice.AsyncResult __result);
+
+    public void cancelTask(String taskId);
+
+    public void cancelTask(String taskId, java.util.Map<String, String> __ctx);
+
+    public Ice.AsyncResult begin_cancelTask(String taskId);
+
+    public Ice.AsyncResult begin_cancelTask(String taskId, java.util.Map<String, String> __ctx);
+
+    public Ice.AsyncResult begin_cancelTask(String taskId, Ice.Callback __cb);
+
+    public Ice.AsyncResult begin_cancelTask(String taskId, java.util.Map<String, String> __ctx, Ice.Callback __cb);
+
+    public Ice.AsyncResult begin_cancelTask(String taskId, Callback_Worker_cancelTask __cb);
+
+    public Ice.AsyncResult begin_cancelTask(String taskId, java.util.Map<String, String> __ctx, Callback_Worker_cancelTask __cb);
+
+    public Ice.AsyncResult begin_cancelTask(String taskId, 
+                                            IceInternal.Functional_VoidCallback __responseCb, 
+                                            IceInternal.Functional_GenericCallback1<Ice.Exception> __exceptionCb);
+
+    public Ice.AsyncResult begin_cancelTask(String taskId, 
+                                            IceInternal.Functional_VoidCallback __responseCb, 
+                                            IceInternal.Functional_GenericCallback1<Ice.Exception> __exceptionCb, 
+                                            IceInternal.Functional_BoolCallback __sentCb);
+
+    public Ice.AsyncResult begin_cancelTask(String taskId, 
+                                            java.util.Map<String, String> __ctx, 
+                                            IceInternal.Functional_VoidCallback __responseCb, 
+                                            IceInternal.Functional_GenericCallback1<Ice.Exception> __exceptionCb);
+
+    public Ice.AsyncResult begin_cancelTask(String taskId, 
+                                            java.util.Map<String, String> __ctx, 
+                                            IceInternal.Functional_VoidCallback __responseCb, 
+                                            IceInternal.Functional_GenericCallback1<Ice.Exception> __exceptionCb, 
+                                            IceInternal.Functional_BoolCallback __sentCb);
+
+    public void end_cancelTask(Ice.AsyncResult __result);
 }
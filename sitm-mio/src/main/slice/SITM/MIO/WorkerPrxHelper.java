@@ -25,110 +25,871 @@ package SITM.MIO;
  **/
 public final class WorkerPrxHelper extends Ice.ObjectPrxHelperBase implements WorkerPrx
 {
+    private static final String __cancelTask_name = "cancelTask";
+
+    public void cancelTask(String taskId)
+    {
+        cancelTask(taskId, null, false);
+    }
+
+    public void cancelTask(String taskId, java.util.Map<String, String> __ctx)
+    {
+        cancelTask(taskId, __ctx, true);
+    }
+
+    private void cancelTask(String taskId, java.util.Map<String, String> __ctx, boolean __explicitCtx)
+    {
+        end_cancelTask(begin_cancelTask(taskId, __ctx, __explicitCtx, true, null));
+    }
+
+    public Ice.AsyncResult begin_cancelTask(String taskId)
+    {
+        return begin_cancelTask(taskId, null, false, false, null);
+    }
+
+    public Ice.AsyncResult begin_cancelTask(String taskId, java.util.Map<String, String> __ctx)
+    {
+        return begin_cancelTask(taskId, __ctx, true, false, null);
+    }
+
+    public Ice.AsyncResult begin_cancelTask(String taskId, Ice.Callback __cb)
+    {
+        return begin_cancelTask(taskId, null, false, false, __cb);
+    }
+
+    public Ice.AsyncResult begin_cancelTask(String taskId, java.util.Map<String, String> __ctx, Ice.Callback __cb)
+    {
+        return begin_cancelTask(taskId, __ctx, true, false, __cb);
+    }
+
+    public Ice.AsyncResult begin_cancelTask(String taskId, Callback_Worker_cancelTask __cb)
+    {
+        return begin_cancelTask(taskId, null, false, false, __cb);
+    }
+
+    public Ice.AsyncResult begin_cancelTask(String taskId, java.util.Map<String, String> __ctx, Callback_Worker_cancelTask __cb)
+    {
+        return begin_cancelTask(taskId, __ctx, true, false, __cb);
+    }
+
+    public Ice.AsyncResult begin_cancelTask(String taskId, 
+                                            IceInternal.Functional_VoidCallback __responseCb, 
+                                            IceInternal.Functional_GenericCallback1<Ice.Exception> __exceptionCb)
+    {
+        return begin_cancelTask(taskId, null, false, false, __responseCb, __exceptionCb, null);
+    }
+
+    public Ice.AsyncResult begin_cancelTask(String taskId, 
+                                            IceInternal.Functional_VoidCallback __responseCb, 
+                                            IceInternal.Functional_GenericCallback1<Ice.Exception> __exceptionCb, 
+                                            IceInternal.Functional_BoolCallback __sentCb)
+    {
+        return begin_cancelTask(taskId, null, false, false, __responseCb, __exceptionCb, __sentCb);
+    }
+
+    public Ice.AsyncResult begin_cancelTask(String taskId, 
+                                            java.util.Map<String, String> __ctx, 
+                                            IceInternal.Functional_VoidCallback __responseCb, 
+                                            IceInternal.Functional_GenericCallback1<Ice.Exception> __exceptionCb)
+    {
+        return begin_cancelTask(taskId, __ctx, true, false, __responseCb, __exceptionCb, null);
+    }
+
+    public Ice.AsyncResult begin_cancelTask(String taskId, 
+                                            java.util.Map<String, String> __ctx, 
+                                            IceInternal.Functional_VoidCallback __responseCb, 
+                                            IceInternal.Functional_GenericCallback1<Ice.Exception> __exceptionCb, 
+                                            IceInternal.Functional_BoolCallback __sentCb)
+    {
+        return begin_cancelTask(taskId, __ctx, true, false, __responseCb, __exceptionCb, __sentCb);
+    }
+
+    private Ice.AsyncResult begin_cancelTask(String taskId, 
+                                             java.util.Map<String, String> __ctx, 
+                                             boolean __explicitCtx, 
+                                             boolean __synchronous, 
+                                             IceInternal.Functional_VoidCallback __responseCb, 
+                                             IceInternal.Functional_GenericCallback1<Ice.Exception> __exceptionCb, 
+                                             IceInternal.Functional_BoolCallback __sentCb)
+    {
+        return begin_cancelTask(taskId, 
+                                __ctx, 
+                                __explicitCtx, 
+                                __synchronous, 
+                                new IceInternal.Functional_OnewayCallback(__responseCb, __exceptionCb, __sentCb));
+    }
+
+    private Ice.AsyncResult begin_cancelTask(String taskId, 
+                                             java.util.Map<String, String> __ctx, 
+                                             boolean __explicitCtx, 
+                                             boolean __synchronous, 
+                                             IceInternal.CallbackBase __cb)
+    {
+        IceInternal.OutgoingAsync __result = getOutgoingAsync(__cancelTask_name, __cb);
+        try
+        {
+            __result.prepare(__cancelTask_name, Ice.OperationMode.Normal, __ctx, __explicitCtx, __synchronous);
+            IceInternal.BasicStream __os = __result.startWriteParams(Ice.FormatType.DefaultFormat);
+            __os.writeString(taskId);
+            __result.endWriteParams();
+            __result.invoke();
+        }
+        catch(Ice.Exception __ex)
+        {
+            __result.abort(__ex);
+        }
+        return __result;
+    }
+
+    public void end_cancelTask(Ice.AsyncResult __iresult)
+    {
+        __end(__iresult, __cancelTask_name);
+    }
+
     private static final String __isAlive_name = "isAlive";
 
-    public boolean isAlive()
+    public boolean isAlive()
+    {
+        return isAlive(null, false);
+    }
+
+    public boolean isAlive(java.util.Map<String, String> __ctx)
+    {
+        return isAlive(__ctx, true);
+    }
+
+    private boolean isAlive(java.util.Map<String, String> __ctx, boolean __explicitCtx)
+    {
+        __checkTwowayOnly(__isAlive_name);
+        return end_isAlive(begin_isAlive(__ctx, __explicitCtx, true, null));
+    }
+
+    public Ice.AsyncResult begin_isAlive()
+    {
+        return begin_isAlive(null, false, false, null);
+    }
+
+    public Ice.AsyncResult begin_isAlive(java.util.Map<String, String> __ctx)
+    {
+        return begin_isAlive(__ctx, true, false, null);
+    }
+
+    public Ice.AsyncResult begin_isAlive(Ice.Callback __cb)
+    {
+        return begin_isAlive(null, false, false, __cb);
+    }
+
+    public Ice.AsyncResult begin_isAlive(java.util.Map<String, String> __ctx, Ice.Callback __cb)
+    {
+        return begin_isAlive(__ctx, true, false, __cb);
+    }
+
+    public Ice.AsyncResult begin_isAlive(Callback_Worker_isAlive __cb)
+    {
+        return begin_isAlive(null, false, false, __cb);
+    }
+
+    public Ice.AsyncResult begin_isAlive(java.util.Map<String, String> __ctx, Callback_Worker_isAlive __cb)
+    {
+        return begin_isAlive(__ctx, true, false, __cb);
+    }
+
+    public Ice.AsyncResult begin_isAlive(IceInternal.Functional_BoolCallback __responseCb, 
+                                         IceInternal.Functional_GenericCallback1<Ice.Exception> __exceptionCb)
+    {
+        return begin_isAlive(null, false, false, __responseCb, __exceptionCb, null);
+    }
+
+    public Ice.AsyncResult begin_isAlive(IceInternal.Functional_BoolCallback __responseCb, 
+                                         IceInternal.Functional_GenericCallback1<Ice.Exception> __exceptionCb, 
+                                         IceInternal.Functional_BoolCallback __sentCb)
+    {
+        return begin_isAlive(null, false, false, __responseCb, __exceptionCb, __sentCb);
+    }
+
+    public Ice.AsyncResult begin_isAlive(java.util.Map<String, String> __ctx, 
+                                         IceInternal.Functional_BoolCallback __responseCb, 
+                                         IceInternal.Functional_GenericCallback1<Ice.Exception> __exceptionCb)
+    {
+        return begin_isAlive(__ctx, true, false, __responseCb, __exceptionCb, null);
+    }
+
+    public Ice.AsyncResult begin_isAlive(java.util.Map<String, String> __ctx, 
+                                         IceInternal.Functional_BoolCallback __responseCb, 
+                                         IceInternal.Functional_GenericCallback1<Ice.Exception> __exceptionCb, 
+                                         IceInternal.Functional_BoolCallback __sentCb)
+    {
+        return begin_isAlive(__ctx, true, false, __responseCb, __exceptionCb, __sentCb);
+    }
+
+    private Ice.AsyncResult begin_isAlive(java.util.Map<String, String> __ctx, 
+                                          boolean __explicitCtx, 
+                                          boolean __synchronous, 
+                                          IceInternal.Functional_BoolCallback __responseCb, 
+                                          IceInternal.Functional_GenericCallback1<Ice.Exception> __exceptionCb, 
+                                          IceInternal.Functional_BoolCallback __sentCb)
+    {
+        return begin_isAlive(__ctx, __explicitCtx, __synchronous, 
+                             new IceInternal.Functional_TwowayCallbackBool(__responseCb, __exceptionCb, __sentCb)
+                                 {
+                                     public final void __completed(Ice.AsyncResult __result)
+                                     {
+                                         WorkerPrxHelper.__isAlive_completed(this, __result);
+                                     }
+                                 });
+    }
+
+    private Ice.AsyncResult begin_isAlive(java.util.Map<String, String> __ctx, 
+                                          boolean __explicitCtx, 
+                                          boolean __synchronous, 
+                                          IceInternal.CallbackBase __cb)
+    {
+        __checkAsyncTwowayOnly(__isAlive_name);
+        IceInternal.OutgoingAsync __result = getOutgoingAsync(__isAlive_name, __cb);
+        try
+        {
+            __result.prepare(__isAlive_name, Ice.OperationMode.Idempotent, __ctx, __explicitCtx, __synchronous);
+            __result.writeEmptyParams();
+            __result.invoke();
+        }
+        catch(Ice.Exception __ex)
+        {
+            __result.abort(__ex);
+        }
+        return __result;
+    }
+
+    public boolean end_isAlive(Ice.AsyncResult __iresult)
+    {
+        IceInternal.OutgoingAsync __result = IceInternal.OutgoingAsync.check(__iresult, this, __isAlive_name);
+        try
+        {
+            if(!__result.__wait())
+            {
+                try
+                {
+                    __result.throwUserException();
+                }
+                catch(Ice.UserException __ex)
+                {
+                    throw new Ice.UnknownUserException(__ex.ice_name(), __ex);
+                }
+            }
+            IceInternal.BasicStream __is = __result.startReadParams();
+            boolean __ret;
+            __ret = __is.readBool();
+            __result.endReadParams();
+            return __ret;
+        }
+        finally
+        {
+            if(__result != null)
+            {
+                __result.cacheMessageBuffers();
+            }
+        }
+    }
+
+    static public void __isAlive_completed(Ice.TwowayCallbackBool __cb, Ice.AsyncResult __result)
+    {
+        SITM.MIO.WorkerPrx __proxy = (SITM.MIO.WorkerPrx)__result.getProxy();
+        boolean __ret = false;
+        try
+        {
+            __ret = __proxy.end_isAlive(__result);
+        }
+        catch(Ice.LocalException __ex)
+        {
+            __cb.exception(__ex);
+            return;
+        }
+        catch(Ice.SystemException __ex)
+        {
+            __cb.exception(__ex);
+            return;
+        }
+        __cb.response(__ret);
+    }
+
+    private static final String __notifyWork_name = "notifyWork";
+
+    public void notifyWork(String jobId)
+    {
+        notifyWork(jobId, null, false);
+    }
+
+    public void notifyWork(String jobId, java.util.Map<String, String> __ctx)
+    {
+        notifyWork(jobId, __ctx, true);
+    }
+
+    private void notifyWork(String jobId, java.util.Map<String, String> __ctx, boolean __explicitCtx)
+    {
+        end_notifyWork(begin_notifyWork(jobId, __ctx, __explicitCtx, true, null));
+    }
+
+    public Ice.AsyncResult begin_notifyWork(String jobId)
+    {
+        return begin_notifyWork(jobId, null, false, false, null);
+    }
+
+    public Ice.AsyncResult begin_notifyWork(String jobId, java.util.Map<String, String> __ctx)
+    {
+        return begin_notifyWork(jobId, __ctx, true, false, null);
+    }
+
+    public Ice.AsyncResult begin_notifyWork(String jobId, Ice.Callback __cb)
+    {
+        return begin_notifyWork(jobId, null, false, false, __cb);
+    }
+
+    public Ice.AsyncResult begin_notifyWork(String jobId, java.util.Map<String, String> __ctx, Ice.Callback __cb)
+    {
+        return begin_notifyWork(jobId, __ctx, true, false, __cb);
+    }
+
+    public Ice.AsyncResult begin_notifyWork(String jobId, Callback_Worker_notifyWork __cb)
+    {
+        return begin_notifyWork(jobId, null, false, false, __cb);
+    }
+
+    public Ice.AsyncResult begin_notifyWork(String jobId, java.util.Map<String, String> __ctx, Callback_Worker_notifyWork __cb)
+    {
+        return begin_notifyWork(jobId, __ctx, true, false, __cb);
+    }
+
+    public Ice.AsyncResult begin_notifyWork(String jobId, 
+                                            IceInternal.Functional_VoidCallback __responseCb, 
+                                            IceInternal.Functional_GenericCallback1<Ice.Exception> __exceptionCb)
+    {
+        return begin_notifyWork(jobId, null, false, false, __responseCb, __exceptionCb, null);
+    }
+
+    public Ice.AsyncResult begin_notifyWork(String jobId, 
+                                            IceInternal.Functional_VoidCallback __responseCb, 
+                                            IceInternal.Functional_GenericCallback1<Ice.Exception> __exceptionCb, 
+                                            IceInternal.Functional_BoolCallback __sentCb)
+    {
+        return begin_notifyWork(jobId, null, false, false, __responseCb, __exceptionCb, __sentCb);
+    }
+
+    public Ice.AsyncResult begin_notifyWork(String jobId, 
+                                            java.util.Map<String, String> __ctx, 
+                                            IceInternal.Functional_VoidCallback __responseCb, 
+                                            IceInternal.Functional_GenericCallback1<Ice.Exception> __exceptionCb)
+    {
+        return begin_notifyWork(jobId, __ctx, true, false, __responseCb, __exceptionCb, null);
+    }
+
+    public Ice.AsyncResult begin_notifyWork(String jobId, 
+                                            java.util.Map<String, String> __ctx, 
+                                            IceInternal.Functional_VoidCallback __responseCb, 
+                                            IceInternal.Functional_GenericCallback1<Ice.Exception> __exceptionCb, 
+                                            IceInternal.Functional_BoolCallback __sentCb)
+    {
+        return begin_notifyWork(jobId, __ctx, true, false, __responseCb, __exceptionCb, __sentCb);
+    }
+
+    private Ice.AsyncResult begin_notifyWork(String jobId, 
+                                             java.util.Map<String, String> __ctx, 
+                                             boolean __explicitCtx, 
+                                             boolean __synchronous, 
+                                             IceInternal.Functional_VoidCallback __responseCb, 
+                                             IceInternal.Functional_GenericCallback1<Ice.Exception> __exceptionCb, 
+                                             IceInternal.Functional_BoolCallback __sentCb)
+    {
+        return begin_notifyWork(jobId, 
+                                __ctx, 
+                                __explicitCtx, 
+                                __synchronous, 
+                                new IceInternal.Functional_OnewayCallback(__responseCb, __exceptionCb, __sentCb));
+    }
+
+    private Ice.AsyncResult begin_notifyWork(String jobId, 
+                                             java.util.Map<String, String> __ctx, 
+                                             boolean __explicitCtx, 
+                                             boolean __synchronous, 
+                                             IceInternal.CallbackBase __cb)
+    {
+        IceInternal.OutgoingAsync __result = getOutgoingAsync(__notifyWork_name, __cb);
+        try
+        {
+            __result.prepare(__notifyWork_name, Ice.OperationMode.Normal, __ctx, __explicitCtx, __synchronous);
+            IceInternal.BasicStream __os = __result.startWriteParams(Ice.FormatType.DefaultFormat);
+            __os.writeString(jobId);
+            __result.endWriteParams();
+            __result.invoke();
+        }
+        catch(Ice.Exception __ex)
+        {
+            __result.abort(__ex);
+        }
+        return __result;
+    }
+
+    public void end_notifyWork(Ice.AsyncResult __iresult)
+    {
+        __end(__iresult, __notifyWork_name);
+    }
+
+    private static final String __processBlockTask_name = "processBlockTask";
+
+    public VelocityResult processBlockTask(BlockTask task)
+    {
+        return processBlockTask(task, null, false);
+    }
+
+    public VelocityResult processBlockTask(BlockTask task, java.util.Map<String, String> __ctx)
+    {
+        return processBlockTask(task, __ctx, true);
+    }
+
+    private VelocityResult processBlockTask(BlockTask task, java.util.Map<String, String> __ctx, boolean __explicitCtx)
+    {
+        __checkTwowayOnly(__processBlockTask_name);
+        return end_processBlockTask(begin_processBlockTask(task, __ctx, __explicitCtx, true, null));
+    }
+
+    public Ice.AsyncResult begin_processBlockTask(BlockTask task)
+    {
+        return begin_processBlockTask(task, null, false, false, null);
+    }
+
+    public Ice.AsyncResult begin_processBlockTask(BlockTask task, java.util.Map<String, String> __ctx)
+    {
+        return begin_processBlockTask(task, __ctx, true, false, null);
+    }
+
+    public Ice.AsyncResult begin_processBlockTask(BlockTask task, Ice.Callback __cb)
+    {
+        return begin_processBlockTask(task, null, false, false, __cb);
+    }
+
+    public Ice.AsyncResult begin_processBlockTask(BlockTask task, java.util.Map<String, String> __ctx, Ice.Callback __cb)
+    {
+        return begin_processBlockTask(task, __ctx, true, false, __cb);
+    }
+
+    public Ice.AsyncResult begin_processBlockTask(BlockTask task, Callback_Worker_processBlockTask __cb)
+    {
+        return begin_processBlockTask(task, null, false, false, __cb);
+    }
+
+    public Ice.AsyncResult begin_processBlockTask(BlockTask task, java.util.Map<String, String> __ctx, Callback_Worker_processBlockTask __cb)
+    {
+        return begin_processBlockTask(task, __ctx, true, false, __cb);
+    }
+
+    public Ice.AsyncResult begin_processBlockTask(BlockTask task, 
+                                                  IceInternal.Functional_GenericCallback1<VelocityResult> __responseCb, 
+                                                  IceInternal.Functional_GenericCallback1<Ice.Exception> __exceptionCb)
+    {
+        return begin_processBlockTask(task, null, false, false, __responseCb, __exceptionCb, null);
+    }
+
+    public Ice.AsyncResult begin_processBlockTask(BlockTask task, 
+                                                  IceInternal.Functional_GenericCallback1<VelocityResult> __responseCb, 
+                                                  IceInternal.Functional_GenericCallback1<Ice.Exception> __exceptionCb, 
+                                                  IceInternal.Functional_BoolCallback __sentCb)
+    {
+        return begin_processBlockTask(task, null, false, false, __responseCb, __exceptionCb, __sentCb);
+    }
+
+    public Ice.AsyncResult begin_processBlockTask(BlockTask task, 
+                                                  java.util.Map<String, String> __ctx, 
+                                                  IceInternal.Functional_GenericCallback1<VelocityResult> __responseCb, 
+                                                  IceInternal.Functional_GenericCallback1<Ice.Exception> __exceptionCb)
+    {
+        return begin_processBlockTask(task, __ctx, true, false, __responseCb, __exceptionCb, null);
+    }
+
+    public Ice.AsyncResult begin_processBlockTask(BlockTask task, 
+                                                  java.util.Map<String, String> __ctx, 
+                                                  IceInternal.Functional_GenericCallback1<VelocityResult> __responseCb, 
+                                                  IceInternal.Functional_GenericCallback1<Ice.Exception> __exceptionCb, 
+                                                  IceInternal.Functional_BoolCallback __sentCb)
+    {
+        return begin_processBlockTask(task, __ctx, true, false, __responseCb, __exceptionCb, __sentCb);
+    }
+
+    private Ice.AsyncResult begin_processBlockTask(BlockTask task, 
+                                                   java.util.Map<String, String> __ctx, 
+                                                   boolean __explicitCtx, 
+                                                   boolean __synchronous, 
+                                                   IceInternal.Functional_GenericCallback1<VelocityResult> __responseCb, 
+                                                   IceInternal.Functional_GenericCallback1<Ice.Exception> __exceptionCb, 
+                                                   IceInternal.Functional_BoolCallback __sentCb)
+    {
+        return begin_processBlockTask(task, __ctx, __explicitCtx, __synchronous, 
+                                      new IceInternal.Functional_TwowayCallbackArg1<SITM.MIO.VelocityResult>(__responseCb, __exceptionCb, __sentCb)
+                                          {
+                                              public final void __completed(Ice.AsyncResult __result)
+                                              {
+                                                  WorkerPrxHelper.__processBlockTask_completed(this, __result);
+                                              }
+                                          });
+    }
+
+    private Ice.AsyncResult begin_processBlockTask(BlockTask task, 
+                                                   java.util.Map<String, String> __ctx, 
+                                                   boolean __explicitCtx, 
+                                                   boolean __synchronous, 
+                                                   IceInternal.CallbackBase __cb)
+    {
+        __checkAsyncTwowayOnly(__processBlockTask_name);
+        IceInternal.OutgoingAsync __result = getOutgoingAsync(__processBlockTask_name, __cb);
+        try
+        {
+            __result.prepare(__processBlockTask_name, Ice.OperationMode.Idempotent, __ctx, __explicitCtx, __synchronous);
+            IceInternal.BasicStream __os = __result.startWriteParams(Ice.FormatType.DefaultFormat);
+            BlockTask.__write(__os, task);
+            __result.endWriteParams();
+            __result.invoke();
+        }
+        catch(Ice.Exception __ex)
+        {
+            __result.abort(__ex);
+        }
+        return __result;
+    }
+
+    public VelocityResult end_processBlockTask(Ice.AsyncResult __iresult)
+    {
+        IceInternal.OutgoingAsync __result = IceInternal.OutgoingAsync.check(__iresult, this, __processBlockTask_name);
+        try
+        {
+            if(!__result.__wait())
+            {
+                try
+                {
+                    __result.throwUserException();
+                }
+                catch(Ice.UserException __ex)
+                {
+                    throw new Ice.UnknownUserException(__ex.ice_name(), __ex);
+                }
+            }
+            IceInternal.BasicStream __is = __result.startReadParams();
+            VelocityResult __ret = null;
+            __ret = VelocityResult.__read(__is, __ret);
+            __result.endReadParams();
+            return __ret;
+        }
+        finally
+        {
+            if(__result != null)
+            {
+                __result.cacheMessageBuffers();
+            }
+        }
+    }
+
+    static public void __processBlockTask_completed(Ice.TwowayCallbackArg1<VelocityResult> __cb, Ice.AsyncResult __result)
+    {
+        SITM.MIO.WorkerPrx __proxy = (SITM.MIO.WorkerPrx)__result.getProxy();
+        VelocityResult __ret = null;
+        try
+        {
+            __ret = __proxy.end_processBlockTask(__result);
+        }
+        catch(Ice.LocalException __ex)
+        {
+            __cb.exception(__ex);
+            return;
+        }
+        catch(Ice.SystemException __ex)
+        {
+            __cb.exception(__ex);
+            return;
+        }
+        __cb.response(__ret);
+    }
+
+    private static final String __processBlockTaskAggregates_name = "processBlockTaskAggregates";
+
+    public AggregateResult processBlockTaskAggregates(BlockTask task)
+    {
+        return processBlockTaskAggregates(task, null, false);
+    }
+
+    public AggregateResult processBlockTaskAggregates(BlockTask task, java.util.Map<String, String> __ctx)
+    {
+        return processBlockTaskAggregates(task, __ctx, true);
+    }
+
+    private AggregateResult processBlockTaskAggregates(BlockTask task, java.util.Map<String, String> __ctx, boolean __explicitCtx)
+    {
+        __checkTwowayOnly(__processBlockTaskAggregates_name);
+        return end_processBlockTaskAggregates(begin_processBlockTaskAggregates(task, __ctx, __explicitCtx, true, null));
+    }
+
+    public Ice.AsyncResult begin_processBlockTaskAggregates(BlockTask task)
+    {
+        return begin_processBlockTaskAggregates(task, null, false, false, null);
+    }
+
+    public Ice.AsyncResult begin_processBlockTaskAggregates(BlockTask task, java.util.Map<String, String> __ctx)
+    {
+        return begin_processBlockTaskAggregates(task, __ctx, true, false, null);
+    }
+
+    public Ice.AsyncResult begin_processBlockTaskAggregates(BlockTask task, Ice.Callback __cb)
+    {
+        return begin_processBlockTaskAggregates(task, null, false, false, __cb);
+    }
+
+    public Ice.AsyncResult begin_processBlockTaskAggregates(BlockTask task, java.util.Map<String, String> __ctx, Ice.Callback __cb)
     {
-        return isAlive(null, false);
+        return begin_processBlockTaskAggregates(task, __ctx, true, false, __cb);
     }
 
-    public boolean isAlive(java.util.Map<String, String> __ctx)
+    public Ice.AsyncResult begin_processBlockTaskAggregates(BlockTask task, Callback_Worker_processBlockTaskAggregates __cb)
     {
-        return isAlive(__ctx, true);
+        return begin_processBlockTaskAggregates(task, null, false, false, __cb);
     }
 
-    private boolean isAlive(java.util.Map<String, String> __ctx, boolean __explicitCtx)
+    public Ice.AsyncResult begin_processBlockTaskAggregates(BlockTask task, java.util.Map<String, String> __ctx, Callback_Worker_processBlockTaskAggregates __cb)
     {
-        __checkTwowayOnly(__isAlive_name);
-        return end_isAlive(begin_isAlive(__ctx, __explicitCtx, true, null));
+        return begin_processBlockTaskAggregates(task, __ctx, true, false, __cb);
     }
 
-    public Ice.AsyncResult begin_isAlive()
+    public Ice.AsyncResult begin_processBlockTaskAggregates(BlockTask task, 
+                                                            IceInternal.Functional_GenericCallback1<AggregateResult> __responseCb, 
+                                                            IceInternal.Functional_GenericCallback1<Ice.Exception> __exceptionCb)
     {
-        return begin_isAlive(null, false, false, null);
+        return begin_processBlockTaskAggregates(task, null, false, false, __responseCb, __exceptionCb, null);
     }
 
-    public Ice.AsyncResult begin_isAlive(java.util.Map<String, String> __ctx)
+    public Ice.AsyncResult begin_processBlockTaskAggregates(BlockTask task, 
+                                                            IceInternal.Functional_GenericCallback1<AggregateResult> __responseCb, 
+                                                            IceInternal.Functional_GenericCallback1<Ice.Exception> __exceptionCb, 
+                                                            IceInternal.Functional_BoolCallback __sentCb)
     {
-        return begin_isAlive(__ctx, true, false, null);
+        return begin_processBlockTaskAggregates(task, null, false, false, __responseCb, __exceptionCb, __sentCb);
     }
 
-    public Ice.AsyncResult begin_isAlive(Ice.Callback __cb)
+    public Ice.AsyncResult begin_processBlockTaskAggregates(BlockTask task, 
+                                                            java.util.Map<String, String> __ctx, 
+                                                            IceInternal.Functional_GenericCallback1<AggregateResult> __responseCb, 
+                                                            IceInternal.Functional_GenericCallback1<Ice.Exception> __exceptionCb)
     {
-        return begin_isAlive(null, false, false, __cb);
+        return begin_processBlockTaskAggregates(task, __ctx, true, false, __responseCb, __exceptionCb, null);
     }
 
-    public Ice.AsyncResult begin_isAlive(java.util.Map<String, String> __ctx, Ice.Callback __cb)
+    public Ice.AsyncResult begin_processBlockTaskAggregates(BlockTask task, 
+                                                            java.util.Map<String, String> __ctx, 
+                                                            IceInternal.Functional_GenericCallback1<AggregateResult> __responseCb, 
+                                                            IceInternal.Functional_GenericCallback1<Ice.Exception> __exceptionCb, 
+                                                            IceInternal.Functional_BoolCallback __sentCb)
     {
-        return begin_isAlive(__ctx, true, false, __cb);
+        return begin_processBlockTaskAggregates(task, __ctx, true, false, __responseCb, __exceptionCb, __sentCb);
     }
 
-    public Ice.AsyncResult begin_isAlive(Callback_Worker_isAlive __cb)
+    private Ice.AsyncResult begin_processBlockTaskAggregates(BlockTask task, 
+                                                             java.util.Map<String, String> __ctx, 
+                                                             boolean __explicitCtx, 
+                                                             boolean __synchronous, 
+                                                             IceInternal.Functional_GenericCallback1<AggregateResult> __responseCb, 
+                                                             IceInternal.Functional_GenericCallback1<Ice.Exception> __exceptionCb, 
+                                                             IceInternal.Functional_BoolCallback __sentCb)
     {
-        return begin_isAlive(null, false, false, __cb);
+        return begin_processBlockTaskAggregates(task, __ctx, __explicitCtx, __synchronous, 
+                                                new IceInternal.Functional_TwowayCallbackArg1<SITM.MIO.AggregateResult>(__responseCb, __exceptionCb, __sentCb)
+                                                    {
+                                                        public final void __completed(Ice.AsyncResult __result)
+                                                        {
+                                                            WorkerPrxHelper.__processBlockTaskAggregates_completed(this, __result);
+                                                        }
+                                                    });
     }
 
-    public Ice.AsyncResult begin_isAlive(java.util.Map<String, String> __ctx, Callback_Worker_isAlive __cb)
+    private Ice.AsyncResult begin_processBlockTaskAggregates(BlockTask task, 
+                                                             java.util.Map<String, String> __ctx, 
+                                                             boolean __explicitCtx, 
+                                                             boolean __synchronous, 
+                                                             IceInternal.CallbackBase __cb)
     {
-        return begin_isAlive(__ctx, true, false, __cb);
+        __checkAsyncTwowayOnly(__processBlockTaskAggregates_name);
+        IceInternal.OutgoingAsync __result = getOutgoingAsync(__processBlockTaskAggregates_name, __cb);
+        try
+        {
+            __result.prepare(__processBlockTaskAggregates_name, Ice.OperationMode.Idempotent, __ctx, __explicitCtx, __synchronous);
+            IceInternal.BasicStream __os = __result.startWriteParams(Ice.FormatType.DefaultFormat);
+            BlockTask.__write(__os, task);
+            __result.endWriteParams();
+            __result.invoke();
+        }
+        catch(Ice.Exception __ex)
+        {
+            __result.abort(__ex);
+        }
+        return __result;
     }
 
-    public Ice.AsyncResult begin_isAlive(IceInternal.Functional_BoolCallback __responseCb, 
-                                         IceInternal.Functional_GenericCallback1<Ice.Exception> __exceptionCb)
+    public AggregateResult end_processBlockTaskAggregates(Ice.AsyncResult __iresult)
     {
-        return begin_isAlive(null, false, false, __responseCb, __exceptionCb, null);
+        IceInternal.OutgoingAsync __result = IceInternal.OutgoingAsync.check(__iresult, this, __processBlockTaskAggregates_name);
+        try
+        {
+            if(!__result.__wait())
+            {
+                try
+                {
+                    __result.throwUserException();
+                }
+                catch(Ice.UserException __ex)
+                {
+                    throw new Ice.UnknownUserException(__ex.ice_name(), __ex);
+                }
+            }
+            IceInternal.BasicStream __is = __result.startReadParams();
+            AggregateResult __ret = null;
+            __ret = AggregateResult.__read(__is, __ret);
+            __result.endReadParams();
+            return __ret;
+        }
+        finally
+        {
+            if(__result != null)
+            {
+                __result.cacheMessageBuffers();
+            }
+        }
     }
 
-    public Ice.AsyncResult begin_isAlive(IceInternal.Functional_BoolCallback __responseCb, 
-                                         IceInternal.Functional_GenericCallback1<Ice.Exception> __exceptionCb, 
-                                         IceInternal.Functional_BoolCallback __sentCb)
+    static public void __processBlockTaskAggregates_completed(Ice.TwowayCallbackArg1<AggregateResult> __cb, Ice.AsyncResult __result)
     {
-        return begin_isAlive(null, false, false, __responseCb, __exceptionCb, __sentCb);
+        SITM.MIO.WorkerPrx __proxy = (SITM.MIO.WorkerPrx)__result.getProxy();
+        AggregateResult __ret = null;
+        try
+        {
+            __ret = __proxy.end_processBlockTaskAggregates(__result);
+        }
+        catch(Ice.LocalException __ex)
+        {
+            __cb.exception(__ex);
+            return;
+        }
+        catch(Ice.SystemException __ex)
+        {
+            __cb.exception(__ex);
+            return;
+        }
+        __cb.response(__ret);
     }
 
-    public Ice.AsyncResult begin_isAlive(java.util.Map<String, String> __ctx, 
-                                         IceInternal.Functional_BoolCallback __responseCb, 
-                                         IceInternal.Functional_GenericCallback1<Ice.Exception> __exceptionCb)
+    private static final String __processFileRangeTask_name = "processFileRangeTask";
+
+    public AggregateResult processFileRangeTask(FileRangeTask task)
     {
-        return begin_isAlive(__ctx, true, false, __responseCb, __exceptionCb, null);
+        return processFileRangeTask(task, null, false);
     }
 
-    public Ice.AsyncResult begin_isAlive(java.util.Map<String, String> __ctx, 
-                                         IceInternal.Functional_BoolCallback __responseCb, 
-                                         IceInternal.Functional_GenericCallback1<Ice.Exception> __exceptionCb, 
-                                         IceInternal.Functional_BoolCallback __sentCb)
+    public AggregateResult processFileRangeTask(FileRangeTask task, java.util.Map<String, String> __ctx)
     {
-        return begin_isAlive(__ctx, true, false, __responseCb, __exceptionCb, __sentCb);
+        return processFileRangeTask(task, __ctx, true);
     }
 
-    private Ice.AsyncResult begin_isAlive(java.util.Map<String, String> __ctx, 
-                                          boolean __explicitCtx, 
-                                          boolean __synchronous, 
-                                          IceInternal.Functional_BoolCallback __responseCb, 
-                                          IceInternal.Functional_GenericCallback1<Ice.Exception> __exceptionCb, 
-                                          IceInternal.Functional_BoolCallback __sentCb)
+    private AggregateResult processFileRangeTask(FileRangeTask task, java.util.Map<String, String> __ctx, boolean __explicitCtx)
     {
-        return begin_isAlive(__ctx, __explicitCtx, __synchronous, 
-                             new IceInternal.Functional_TwowayCallbackBool(__responseCb, __exceptionCb, __sentCb)
-                                 {
-                                     public final void __completed(Ice.AsyncResult __result)
-                                     {
-                                         WorkerPrxHelper.__isAlive_completed(this, __result);
-                                     }
-                                 });
+        __checkTwowayOnly(__processFileRangeTask_name);
+        return end_processFileRangeTask(begin_processFileRangeTask(task, __ctx, __explicitCtx, true, null));
     }
 
-    private Ice.AsyncResult begin_isAlive(java.util.Map<String, String> __ctx, 
-                                          boolean __explicitCtx, 
-                                          boolean __synchronous, 
-                                          IceInternal.CallbackBase __cb)
+    public Ice.AsyncResult begin_processFileRangeTask(FileRangeTask task)
     {
-        __checkAsyncTwowayOnly(__isAlive_name);
-        IceInternal.OutgoingAsync __result = getOutgoingAsync(__isAlive_name, __cb);
+        return begin_processFileRangeTask(task, null, false, false, null);
+    }
+
+    public Ice.AsyncResult begin_processFileRangeTask(FileRangeTask task, java.util.Map<String, String> __ctx)
+    {
+        return begin_processFileRangeTask(task, __ctx, true, false, null);
+    }
+
+    public Ice.AsyncResult begin_processFileRangeTask(FileRangeTask task, Ice.Callback __cb)
+    {
+        return begin_processFileRangeTask(task, null, false, false, __cb);
+    }
+
+    public Ice.AsyncResult begin_processFileRangeTask(FileRangeTask task, java.util.Map<String, String> __ctx, Ice.Callback __cb)
+    {
+        return begin_processFileRangeTask(task, __ctx, true, false, __cb);
+    }
+
+    public Ice.AsyncResult begin_processFileRangeTask(FileRangeTask task, Callback_Worker_processFileRangeTask __cb)
+    {
+        return begin_processFileRangeTask(task, null, false, false, __cb);
+    }
+
+    public Ice.AsyncResult begin_processFileRangeTask(FileRangeTask task, java.util.Map<String, String> __ctx, Callback_Worker_processFileRangeTask __cb)
+    {
+        return begin_processFileRangeTask(task, __ctx, true, false, __cb);
+    }
+
+    public Ice.AsyncResult begin_processFileRangeTask(FileRangeTask task, 
+                                                      IceInternal.Functional_GenericCallback1<AggregateResult> __responseCb, 
+                                                      IceInternal.Functional_GenericCallback1<Ice.Exception> __exceptionCb)
+    {
+        return begin_processFileRangeTask(task, null, false, false, __responseCb, __exceptionCb, null);
+    }
+
+    public Ice.AsyncResult begin_processFileRangeTask(FileRangeTask task, 
+                                                      IceInternal.Functional_GenericCallback1<AggregateResult> __responseCb, 
+                                                      IceInternal.Functional_GenericCallback1<Ice.Exception> __exceptionCb, 
+                                                      IceInternal.Functional_BoolCallback __sentCb)
+    {
+        return begin_processFileRangeTask(task, null, false, false, __responseCb, __exceptionCb, __sentCb);
+    }
+
+    public Ice.AsyncResult begin_processFileRangeTask(FileRangeTask task, 
+                                                      java.util.Map<String, String> __ctx, 
+                                                      IceInternal.Functional_GenericCallback1<AggregateResult> __responseCb, 
+                                                      IceInternal.Functional_GenericCallback1<Ice.Exception> __exceptionCb)
+    {
+        return begin_processFileRangeTask(task, __ctx, true, false, __responseCb, __exceptionCb, null);
+    }
+
+    public Ice.AsyncResult begin_processFileRangeTask(FileRangeTask task, 
+                                                      java.util.Map<String, String> __ctx, 
+                                                      IceInternal.Functional_GenericCallback1<AggregateResult> __responseCb, 
+                                                      IceInternal.Functional_GenericCallback1<Ice.Exception> __exceptionCb, 
+                                                      IceInternal.Functional_BoolCallback __sentCb)
+    {
+        return begin_processFileRangeTask(task, __ctx, true, false, __responseCb, __exceptionCb, __sentCb);
+    }
+
+    private Ice.AsyncResult begin_processFileRangeTask(FileRangeTask task, 
+                                                       java.util.Map<String, String> __ctx, 
+                                                       boolean __explicitCtx, 
+                                                       boolean __synchronous, 
+                                                       IceInternal.Functional_GenericCallback1<AggregateResult> __responseCb, 
+                                                       IceInternal.Functional_GenericCallback1<Ice.Exception> __exceptionCb, 
+                                                       IceInternal.Functional_BoolCallback __sentCb)
+    {
+        return begin_processFileRangeTask(task, __ctx, __explicitCtx, __synchronous, 
+                                          new IceInternal.Functional_TwowayCallbackArg1<SITM.MIO.AggregateResult>(__responseCb, __exceptionCb, __sentCb)
+                                              {
+                                                  public final void __completed(Ice.AsyncResult __result)
+                                                  {
+                                                      WorkerPrxHelper.__processFileRangeTask_completed(this, __result);
+                                                  }
+                                              });
+    }
+
+    private Ice.AsyncResult begin_processFileRangeTask(FileRangeTask task, 
+                                                       java.util.Map<String, String> __ctx, 
+                                                       boolean __explicitCtx, 
+                                                       boolean __synchronous, 
+                                                       IceInternal.CallbackBase __cb)
+    {
+        __checkAsyncTwowayOnly(__processFileRangeTask_name);
+        IceInternal.OutgoingAsync __result = getOutgoingAsync(__processFileRangeTask_name, __cb);
         try
         {
-            __result.prepare(__isAlive_name, Ice.OperationMode.Idempotent, __ctx, __explicitCtx, __synchronous);
-            __result.writeEmptyParams();
+            __result.prepare(__processFileRangeTask_name, Ice.OperationMode.Idempotent, __ctx, __explicitCtx, __synchronous);
+            IceInternal.BasicStream __os = __result.startWriteParams(Ice.FormatType.DefaultFormat);
+            FileRangeTask.__write(__os, task);
+            __result.endWriteParams();
             __result.invoke();
         }
         catch(Ice.Exception __ex)
@@ -138,9 +899,9 @@ public final class WorkerPrxHelper extends Ice.ObjectPrxHelperBase implements Wo
         return __result;
     }
 
-    public boolean end_isAlive(Ice.AsyncResult __iresult)
+    public AggregateResult end_processFileRangeTask(Ice.AsyncResult __iresult)
     {
-        IceInternal.OutgoingAsync __result = IceInternal.OutgoingAsync.check(__iresult, this, __isAlive_name);
+        IceInternal.OutgoingAsync __result = IceInternal.OutgoingAsync.check(__iresult, this, __processFileRangeTask_name);
         try
         {
             if(!__result.__wait())
@@ -155,8 +916,8 @@ public final class WorkerPrxHelper extends Ice.ObjectPrxHelperBase implements Wo
                 }
             }
             IceInternal.BasicStream __is = __result.startReadParams();
-            boolean __ret;
-            __ret = __is.readBool();
+            AggregateResult __ret = null;
+            __ret = AggregateResult.__read(__is, __ret);
             __result.endReadParams();
             return __ret;
         }
@@ -169,13 +930,13 @@ public final class WorkerPrxHelper extends Ice.ObjectPrxHelperBase implements Wo
         }
     }
 
-    static public void __isAlive_completed(Ice.TwowayCallbackBool __cb, Ice.AsyncResult __result)
+    static public void __processFileRangeTask_completed(Ice.TwowayCallbackArg1<AggregateResult> __cb, Ice.AsyncResult __result)
     {
         SITM.MIO.WorkerPrx __proxy = (SITM.MIO.WorkerPrx)__result.getProxy();
-        boolean __ret = false;
+        AggregateResult __ret = null;
         try
         {
-            __ret = __proxy.end_isAlive(__result);
+            __ret = __proxy.end_processFileRangeTask(__result);
         }
         catch(Ice.LocalException __ex)
         {
@@ -363,6 +1124,179 @@ public final class WorkerPrxHelper extends Ice.ObjectPrxHelperBase implements Wo
         __cb.response(__ret);
     }
 
+    private static final String __processStreamingWindowAggregates_name = "processStreamingWindowAggregates";
+
+    public AggregateResult processStreamingWindowAggregates(StreamingWindow window)
+    {
+        return processStreamingWindowAggregates(window, null, false);
+    }
+
+    public AggregateResult processStreamingWindowAggregates(StreamingWindow window, java.util.Map<String, String> __ctx)
+    {
+        return processStreamingWindowAggregates(window, __ctx, true);
+    }
+
+    private AggregateResult processStreamingWindowAggregates(StreamingWindow window, java.util.Map<String, String> __ctx, boolean __explicitCtx)
+    {
+        __checkTwowayOnly(__processStreamingWindowAggregates_name);
+        return end_processStreamingWindowAggregates(begin_processStreamingWindowAggregates(window, __ctx, __explicitCtx, true, null));
+    }
+
+    public Ice.AsyncResult begin_processStreamingWindowAggregates(StreamingWindow window)
+    {
+        return begin_processStreamingWindowAggregates(window, null, false, false, null);
+    }
+
+    public Ice.AsyncResult begin_processStreamingWindowAggregates(StreamingWindow window, java.util.Map<String, String> __ctx)
+    {
+        return begin_processStreamingWindowAggregates(window, __ctx, true, false, null);
+    }
+
+    public Ice.AsyncResult begin_processStreamingWindowAggregates(StreamingWindow window, Ice.Callback __cb)
+    {
+        return begin_processStreamingWindowAggregates(window, null, false, false, __cb);
+    }
+
+    public Ice.AsyncResult begin_processStreamingWindowAggregates(StreamingWindow window, java.util.Map<String, String> __ctx, Ice.Callback __cb)
+    {
+        return begin_processStreamingWindowAggregates(window, __ctx, true, false, __cb);
+    }
+
+    public Ice.AsyncResult begin_processStreamingWindowAggregates(StreamingWindow window, Callback_Worker_processStreamingWindowAggregates __cb)
+    {
+        return begin_processStreamingWindowAggregates(window, null, false, false, __cb);
+    }
+
+    public Ice.AsyncResult begin_processStreamingWindowAggregates(StreamingWindow window, java.util.Map<String, String> __ctx, Callback_Worker_processStreamingWindowAggregates __cb)
+    {
+        return begin_processStreamingWindowAggregates(window, __ctx, true, false, __cb);
+    }
+
+    public Ice.AsyncResult begin_processStreamingWindowAggregates(StreamingWindow window, 
+                                                                  IceInternal.Functional_GenericCallback1<AggregateResult> __responseCb, 
+                                                                  IceInternal.Functional_GenericCallback1<Ice.Exception> __exceptionCb)
+    {
+        return begin_processStreamingWindowAggregates(window, null, false, false, __responseCb, __exceptionCb, null);
+    }
+
+    public Ice.AsyncResult begin_processStreamingWindowAggregates(StreamingWindow window, 
+                                                                  IceInternal.Functional_GenericCallback1<AggregateResult> __responseCb, 
+                                                                  IceInternal.Functional_GenericCallback1<Ice.Exception> __exceptionCb, 
+                                                                  IceInternal.Functional_BoolCallback __sentCb)
+    {
+        return begin_processStreamingWindowAggregates(window, null, false, false, __responseCb, __exceptionCb, __sentCb);
+    }
+
+    public Ice.AsyncResult begin_processStreamingWindowAggregates(StreamingWindow window, 
+                                                                  java.util.Map<String, String> __ctx, 
+                                                                  IceInternal.Functional_GenericCallback1<AggregateResult> __responseCb, 
+                                                                  IceInternal.Functional_GenericCallback1<Ice.Exception> __exceptionCb)
+    {
+        return begin_processStreamingWindowAggregates(window, __ctx, true, false, __responseCb, __exceptionCb, null);
+    }
+
+    public Ice.AsyncResult begin_processStreamingWindowAggregates(StreamingWindow window, 
+                                                                  java.util.Map<String, String> __ctx, 
+                                                                  IceInternal.Functional_GenericCallback1<AggregateResult> __responseCb, 
+                                                                  IceInternal.Functional_GenericCallback1<Ice.Exception> __exceptionCb, 
+                                                                  IceInternal.Functional_BoolCallback __sentCb)
+    {
+        return begin_processStreamingWindowAggregates(window, __ctx, true, false, __responseCb, __exceptionCb, __sentCb);
+    }
+
+    private Ice.AsyncResult begin_processStreamingWindowAggregates(StreamingWindow window, 
+                                                                   java.util.Map<String, String> __ctx, 
+                                                                   boolean __explicitCtx, 
+                                                                   boolean __synchronous, 
+                                                                   IceInternal.Functional_GenericCallback1<AggregateResult> __responseCb, 
+                                                                   IceInternal.Functional_GenericCallback1<Ice.Exception> __exceptionCb, 
+                                                                   IceInternal.Functional_BoolCallback __sentCb)
+    {
+        return begin_processStreamingWindowAggregates(window, __ctx, __explicitCtx, __synchronous, 
+                                                      new IceInternal.Functional_TwowayCallbackArg1<SITM.MIO.AggregateResult>(__responseCb, __exceptionCb, __sentCb)
+                                                          {
+                                                              public final void __completed(Ice.AsyncResult __result)
+                                                              {
+                                                                  WorkerPrxHelper.__processStreamingWindowAggregates_completed(this, __result);
+                                                              }
+                                                          });
+    }
+
+    private Ice.AsyncResult begin_processStreamingWindowAggregates(StreamingWindow window, 
+                                                                   java.util.Map<String, String> __ctx, 
+                                                                   boolean __explicitCtx, 
+                                                                   boolean __synchronous, 
+                                                                   IceInternal.CallbackBase __cb)
+    {
+        __checkAsyncTwowayOnly(__processStreamingWindowAggregates_name);
+        IceInternal.OutgoingAsync __result = getOutgoingAsync(__processStreamingWindowAggregates_name, __cb);
+        try
+        {
+            __result.prepare(__processStreamingWindowAggregates_name, Ice.OperationMode.Idempotent, __ctx, __explicitCtx, __synchronous);
+            IceInternal.BasicStream __os = __result.startWriteParams(Ice.FormatType.DefaultFormat);
+            StreamingWindow.__write(__os, window);
+            __result.endWriteParams();
+            __result.invoke();
+        }
+        catch(Ice.Exception __ex)
+        {
+            __result.abort(__ex);
+        }
+        return __result;
+    }
+
+    public AggregateResult end_processStreamingWindowAggregates(Ice.AsyncResult __iresult)
+    {
+        IceInternal.OutgoingAsync __result = IceInternal.OutgoingAsync.check(__iresult, this, __processStreamingWindowAggregates_name);
+        try
+        {
+            if(!__result.__wait())
+            {
+                try
+                {
+                    __result.throwUserException();
+                }
+                catch(Ice.UserException __ex)
+                {
+                    throw new Ice.UnknownUserException(__ex.ice_name(), __ex);
+                }
+            }
+            IceInternal.BasicStream __is = __result.startReadParams();
+            AggregateResult __ret = null;
+            __ret = AggregateResult.__read(__is, __ret);
+            __result.endReadParams();
+            return __ret;
+        }
+        finally
+        {
+            if(__result != null)
+            {
+                __result.cacheMessageBuffers();
+            }
+        }
+    }
+
+    static public void __processStreamingWindowAggregates_completed(Ice.TwowayCallbackArg1<AggregateResult> __cb, Ice.AsyncResult __result)
+    {
+        SITM.MIO.WorkerPrx __proxy = (SITM.MIO.WorkerPrx)__result.getProxy();
+        AggregateResult __ret = null;
+        try
+        {
+            __ret = __proxy.end_processStreamingWindowAggregates(__result);
+        }
+        catch(Ice.LocalException __ex)
+        {
+            __cb.exception(__ex);
+            return;
+        }
+        catch(Ice.SystemException __ex)
+        {
+            __cb.exception(__ex);
+            return;
+        }
+        __cb.response(__ret);
+    }
+
     private static final String __processTask_name = "processTask";
 
     public VelocityResult processTask(ProcessingTask task)
@@ -0,0 +1,48 @@
+// **********************************************************************
+//
+// Copyright (c) 2003-2018 ZeroC, Inc. All rights reserved.
+//
+// This copy of Ice is licensed to you under the terms described in the
+// ICE_LICENSE file included in this distribution.
+//
+// **********************************************************************
+//
+// Ice version 3.6.5
+//
+// <auto-generated>
+//
+// Generated from file `VelocityCalculation.ice'
+//
+// Warning: do not edit this file.
+//
+// </auto-generated>
+//
+
+package SITM.MIO;
+
+final class _AMD_Master_processHistoricalAggregates extends IceInternal.IncomingAsync implements AMD_Master_processHistoricalAggregates
+{
+    public _AMD_Master_processHistoricalAggregates(IceInternal.Incoming in)
+    {
+        super(in);
+    }
+
+    public void ice_response(AggregateResult __ret)
+    {
+        if(__validateResponse(true))
+        {
+            try
+            {
+                IceInternal.BasicStream __os = this.__startWriteParams(Ice.FormatType.DefaultFormat);
+                AggregateResult.__write(__os, __ret);
+                this.__endWriteParams(true);
+            }
+            catch(Ice.LocalException __ex)
+            {
+                __exception(__ex);
+                return;
+            }
+            __response();
+        }
+    }
+}
@@ -70,24 +70,54 @@ public abstract class _MasterDisp extends Ice.ObjectImpl implements Master
         return __ids[1];
     }
 
+    public final int cancelJob(String jobId)
+    {
+        return cancelJob(jobId, null);
+    }
+
+    public final void completeTask(String workerId, String jobId, AggregateResult result)
+    {
+        completeTask(workerId, jobId, result, null);
+    }
+
+    public final TaskAssignment fetchTask(String workerId)
+    {
+        return fetchTask(workerId, null);
+    }
+
+    public final TopologySnapshot fetchTopology(String knownVersion)
+    {
+        return fetchTopology(knownVersion, null);
+    }
+
     public final String getSystemStatus()
     {
         return getSystemStatus(null);
     }
 
-    public final VelocityResult[] processHistoricalData(BusDatagram[] data, Arc[] arcs, Stop[] stops)
+    public final void processHistoricalAggregates_async(AMD_Master_processHistoricalAggregates __cb, BusDatagram[] data)
     {
-        return processHistoricalData(data, arcs, stops, null);
+        processHistoricalAggregates_async(__cb, data, null);
     }
 
-    public final VelocityResult[] processStreamingData(StreamingWindow window)
+    public final void processHistoricalData_async(AMD_Master_processHistoricalData __cb, BusDatagram[] data)
     {
-        return processStreamingData(window, null);
+        processHistoricalData_async(__cb, data, null);
     }
 
-    public final void registerWorker(WorkerPrx worker)
+    public final void processHistoricalFile_async(AMD_Master_processHistoricalFile __cb, String filePath, long fromEpoch, long toEpoch)
     {
-        registerWorker(worker, null);
+        processHistoricalFile_async(__cb, filePath, fromEpoch, toEpoch, null);
+    }
+
+    public final void processStreamingData_async(AMD_Master_processStreamingData __cb, StreamingWindow window)
+    {
+        processStreamingData_async(__cb, window, null);
+    }
+
+    public final void registerWorker(WorkerPrx worker, int cores)
+    {
+        registerWorker(worker, cores, null);
     }
 
     public final void unregisterWorker(WorkerPrx worker)
@@ -99,9 +129,11 @@ public abstract class _MasterDisp extends Ice.ObjectImpl implements Master
     {
         __checkMode(Ice.OperationMode.Normal, __current.mode);
         IceInternal.BasicStream __is = __inS.startReadParams();
+        int cores;
         SITM.MIO.WorkerPrx worker = SITM.MIO.WorkerPrxHelper.__read(__is);
+        cores = __is.readInt();
         __inS.endReadParams();
-        __obj.registerWorker(worker, __current);
+        __obj.registerWorker(worker, cores, __current);
         __inS.__writeEmptyParams();
         return Ice.DispatchStatus.DispatchOK;
     }
@@ -122,17 +154,45 @@ public abstract class _MasterDisp extends Ice.ObjectImpl implements Master
         __checkMode(Ice.OperationMode.Normal, __current.mode);
         IceInternal.BasicStream __is = __inS.startReadParams();
         BusDatagram[] data;
-        Arc[] arcs;
-        Stop[] stops;
         data = BusDatagramSeqHelper.read(__is);
-        arcs = ArcSeqHelper.read(__is);
-        stops = StopSeqHelper.read(__is);
         __inS.endReadParams();
-        VelocityResult[] __ret = __obj.processHistoricalData(data, arcs, stops, __current);
-        IceInternal.BasicStream __os = __inS.__startWriteParams(Ice.FormatType.DefaultFormat);
-        VelocityResultSeqHelper.write(__os, __ret);
-        __inS.__endWriteParams(true);
-        return Ice.DispatchStatus.DispatchOK;
+        _AMD_Master_processHistoricalData __cb = new _AMD_Master_processHistoricalData(__inS);
+        try
+        {
+            __obj.processHistoricalData_async(__cb, data, __current);
+        }
+        catch(java.lang.Exception ex)
+        {
+            __cb.ice_exception(ex);
+        }
+        catch(java.lang.Error ex)
+        {
+            __cb.__error(ex);
+        }
+        return Ice.DispatchStatus.DispatchAsync;
+    }
+
+    public static Ice.DispatchStatus ___processHistoricalAggregates(Master __obj, IceInternal.Incoming __inS, Ice.Current __current)
+    {
+        __checkMode(Ice.OperationMode.Normal, __current.mode);
+        IceInternal.BasicStream __is = __inS.startReadParams();
+        BusDatagram[] data;
+        data = BusDatagramSeqHelper.read(__is);
+        __inS.endReadParams();
+        _AMD_Master_processHistoricalAggregates __cb = new _AMD_Master_processHistoricalAggregates(__inS);
+        try
+        {
+            __obj.processHistoricalAggregates_async(__cb, data, __current);
+        }
+        catch(java.lang.Exception ex)
+        {
+            __cb.ice_exception(ex);
+        }
+        catch(java.lang.Error ex)
+        {
+            __cb.__error(ex);
+        }
+        return Ice.DispatchStatus.DispatchAsync;
     }
 
     public static Ice.DispatchStatus ___processStreamingData(Master __obj, IceInternal.Incoming __inS, Ice.Current __current)
@@ -142,11 +202,47 @@ public abstract class _MasterDisp extends Ice.ObjectImpl implements Master
         StreamingWindow window = null;
         window = StreamingWindow.__read(__is, window);
         __inS.endReadParams();
-        VelocityResult[] __ret = __obj.processStreamingData(window, __current);
-        IceInternal.BasicStream __os = __inS.__startWriteParams(Ice.FormatType.DefaultFormat);
-        VelocityResultSeqHelper.write(__os, __ret);
-        __inS.__endWriteParams(true);
-        return Ice.DispatchStatus.DispatchOK;
+        _AMD_Master_processStreamingData __cb = new _AMD_Master_processStreamingData(__inS);
+        try
+        {
+            __obj.processStreamingData_async(__cb, window, __current);
+        }
+        catch(java.lang.Exception ex)
+        {
+            __cb.ice_exception(ex);
+        }
+        catch(java.lang.Error ex)
+        {
+            __cb.__error(ex);
+        }
+        return Ice.DispatchStatus.DispatchAsync;
+    }
+
+    public static Ice.DispatchStatus ___processHistoricalFile(Master __obj, IceInternal.Incoming __inS, Ice.Current __current)
+    {
+        __checkMode(Ice.OperationMode.Normal, __current.mode);
+        IceInternal.BasicStream __is = __inS.startReadParams();
+        String filePath;
+        long fromEpoch;
+        long toEpoch;
+        filePath = __is.readString();
+        fromEpoch = __is.readLong();
+        toEpoch = __is.readLong();
+        __inS.endReadParams();
+        _AMD_Master_processHistoricalFile __cb = new _AMD_Master_processHistoricalFile(__inS);
+        try
+        {
+            __obj.processHistoricalFile_async(__cb, filePath, fromEpoch, toEpoch, __current);
+        }
+        catch(java.lang.Exception ex)
+        {
+            __cb.ice_exception(ex);
+        }
+        catch(java.lang.Error ex)
+        {
+            __cb.__error(ex);
+        }
+        return Ice.DispatchStatus.DispatchAsync;
     }
 
     public static Ice.DispatchStatus ___getSystemStatus(Master __obj, IceInternal.Incoming __inS, Ice.Current __current)
@@ -160,14 +256,78 @@ public abstract class _MasterDisp extends Ice.ObjectImpl implements Master
         return Ice.DispatchStatus.DispatchOK;
     }
 
+    public static Ice.DispatchStatus ___fetchTask(Master __obj, IceInternal.Incoming __inS, Ice.Current __current)
+    {
+        __checkMode(Ice.OperationMode.Normal, __current.mode);
+        IceInternal.BasicStream __is = __inS.startReadParams();
+        String workerId;
+        workerId = __is.readString();
+        __inS.endReadParams();
+        TaskAssignment __ret = __obj.fetchTask(workerId, __current);
+        IceInternal.BasicStream __os = __inS.__startWriteParams(Ice.FormatType.DefaultFormat);
+        TaskAssignment.__write(__os, __ret);
+        __inS.__endWriteParams(true);
+        return Ice.DispatchStatus.DispatchOK;
+    }
+
+    public static Ice.DispatchStatus ___completeTask(Master __obj, IceInternal.Incoming __inS, Ice.Current __current)
+    {
+        __checkMode(Ice.OperationMode.Normal, __current.mode);
+        IceInternal.BasicStream __is = __inS.startReadParams();
+        String workerId;
+        String jobId;
+        AggregateResult result = null;
+        workerId = __is.readString();
+        jobId = __is.readString();
+        result = AggregateResult.__read(__is, result);
+        __inS.endReadParams();
+        __obj.completeTask(workerId, jobId, result, __current);
+        __inS.__writeEmptyParams();
+        return Ice.DispatchStatus.DispatchOK;
+    }
+
+    public static Ice.DispatchStatus ___cancelJob(Master __obj, IceInternal.Incoming __inS, Ice.Current __current)
+    {
+        __checkMode(Ice.OperationMode.Normal, __current.mode);
+        IceInternal.BasicStream __is = __inS.startReadParams();
+        String jobId;
+        jobId = __is.readString();
+        __inS.endReadParams();
+        int __ret = __obj.cancelJob(jobId, __current);
+        IceInternal.BasicStream __os = __inS.__startWriteParams(Ice.FormatType.DefaultFormat);
+        __os.writeInt(__ret);
+        __inS.__endWriteParams(true);
+        return Ice.DispatchStatus.DispatchOK;
+    }
+
+    public static Ice.DispatchStatus ___fetchTopology(Master __obj, IceInternal.Incoming __inS, Ice.Current __current)
+    {
+        __checkMode(Ice.OperationMode.Idempotent, __current.mode);
+        IceInternal.BasicStream __is = __inS.startReadParams();
+        String knownVersion;
+        knownVersion = __is.readString();
+        __inS.endReadParams();
+        TopologySnapshot __ret = __obj.fetchTopology(knownVersion, __current);
+        IceInternal.BasicStream __os = __inS.__startWriteParams(Ice.FormatType.DefaultFormat);
+        TopologySnapshot.__write(__os, __ret);
+        __inS.__endWriteParams(true);
+        return Ice.DispatchStatus.DispatchOK;
+    }
+
     private final static String[] __all =
     {
+        "cancelJob",
+        "completeTask",
+        "fetchTask",
+        "fetchTopology",
         "getSystemStatus",
         "ice_id",
         "ice_ids",
         "ice_isA",
         "ice_ping",
+        "processHistoricalAggregates",
         "processHistoricalData",
+        "processHistoricalFile",
         "processStreamingData",
         "registerWorker",
         "unregisterWorker"
@@ -185,37 +345,61 @@ public abstract class _MasterDisp extends Ice.ObjectImpl implements Master
         {
             case 0:
             {
-                return ___getSystemStatus(this, in, __current);
+                return ___cancelJob(this, in, __current);
             }
             case 1:
             {
-                return ___ice_id(this, in, __current);
+                return ___completeTask(this, in, __current);
             }
             case 2:
             {
-                return ___ice_ids(this, in, __current);
+                return ___fetchTask(this, in, __current);
             }
             case 3:
             {
-                return ___ice_isA(this, in, __current);
+                return ___fetchTopology(this, in, __current);
             }
             case 4:
             {
-                return ___ice_ping(this, in, __current);
+                return ___getSystemStatus(this, in, __current);
             }
             case 5:
             {
-                return ___processHistoricalData(this, in, __current);
+                return ___ice_id(this, in, __current);
             }
             case 6:
             {
-                return ___processStreamingData(this, in, __current);
+                return ___ice_ids(this, in, __current);
             }
             case 7:
             {
-                return ___registerWorker(this, in, __current);
+                return ___ice_isA(this, in, __current);
             }
             case 8:
+            {
+                return ___ice_ping(this, in, __current);
+            }
+            case 9:
+            {
+                return ___processHistoricalAggregates(this, in, __current);
+            }
+            case 10:
+            {
+                return ___processHistoricalData(this, in, __current);
+            }
+            case 11:
+            {
+                return ___processHistoricalFile(this, in, __current);
+            }
+            case 12:
+            {
+                return ___processStreamingData(this, in, __current);
+            }
+            case 13:
+            {
+                return ___registerWorker(this, in, __current);
+            }
+            case 14:
             {
                 return ___unregisterWorker(this, in, __current);
             }
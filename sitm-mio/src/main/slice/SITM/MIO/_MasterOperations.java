@@ -22,13 +22,25 @@ package SITM.MIO;
 
 public interface _MasterOperations
 {
-    void registerWorker(WorkerPrx worker, Ice.Current __current);
+    void registerWorker(WorkerPrx worker, int cores, Ice.Current __current);
 
     void unregisterWorker(WorkerPrx worker, Ice.Current __current);
 
-    VelocityResult[] processHistoricalData(BusDatagram[] data, Arc[] arcs, Stop[] stops, Ice.Current __current);
+    void processHistoricalData_async(AMD_Master_processHistoricalData __cb, BusDatagram[] data, Ice.Current __current);
 
-    VelocityResult[] processStreamingData(StreamingWindow window, Ice.Current __current);
+    void processHistoricalAggregates_async(AMD_Master_processHistoricalAggregates __cb, BusDatagram[] data, Ice.Current __current);
+
+    void processStreamingData_async(AMD_Master_processStreamingData __cb, StreamingWindow window, Ice.Current __current);
+
+    void processHistoricalFile_async(AMD_Master_processHistoricalFile __cb, String filePath, long fromEpoch, long toEpoch, Ice.Current __current);
 
     String getSystemStatus(Ice.Current __current);
+
+    TaskAssignment fetchTask(String workerId, Ice.Current __current);
+
+    void completeTask(String workerId, String jobId, AggregateResult result, Ice.Current __current);
+
+    int cancelJob(String jobId, Ice.Current __current);
+
+    TopologySnapshot fetchTopology(String knownVersion, Ice.Current __current);
 }
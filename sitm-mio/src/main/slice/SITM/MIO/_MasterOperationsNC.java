@@ -22,13 +22,25 @@ package SITM.MIO;
 
 public interface _MasterOperationsNC
 {
-    void registerWorker(WorkerPrx worker);
+    void registerWorker(WorkerPrx worker, int cores);
 
     void unregisterWorker(WorkerPrx worker);
 
-    VelocityResult[] processHistoricalData(BusDatagram[] data, Arc[] arcs, Stop[] stops);
+    void processHistoricalData_async(AMD_Master_processHistoricalData __cb, BusDatagram[] data);
 
-    VelocityResult[] processStreamingData(StreamingWindow window);
+    void processHistoricalAggregates_async(AMD_Master_processHistoricalAggregates __cb, BusDatagram[] data);
+
+    void processStreamingData_async(AMD_Master_processStreamingData __cb, StreamingWindow window);
+
+    void processHistoricalFile_async(AMD_Master_processHistoricalFile __cb, String filePath, long fromEpoch, long toEpoch);
 
     String getSystemStatus();
+
+    TaskAssignment fetchTask(String workerId);
+
+    void completeTask(String workerId, String jobId, AggregateResult result);
+
+    int cancelJob(String jobId);
+
+    TopologySnapshot fetchTopology(String knownVersion);
 }
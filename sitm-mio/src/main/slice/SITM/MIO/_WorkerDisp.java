@@ -70,16 +70,46 @@ public abstract class _WorkerDisp extends Ice.ObjectImpl implements Worker
         return __ids[1];
     }
 
+    public final void cancelTask(String taskId)
+    {
+        cancelTask(taskId, null);
+    }
+
     public final boolean isAlive()
     {
         return isAlive(null);
     }
 
+    public final void notifyWork(String jobId)
+    {
+        notifyWork(jobId, null);
+    }
+
+    public final VelocityResult processBlockTask(BlockTask task)
+    {
+        return processBlockTask(task, null);
+    }
+
+    public final AggregateResult processBlockTaskAggregates(BlockTask task)
+    {
+        return processBlockTaskAggregates(task, null);
+    }
+
+    public final AggregateResult processFileRangeTask(FileRangeTask task)
+    {
+        return processFileRangeTask(task, null);
+    }
+
     public final VelocityResult processStreamingWindow(StreamingWindow window)
     {
         return processStreamingWindow(window, null);
     }
 
+    public final AggregateResult processStreamingWindowAggregates(StreamingWindow window)
+    {
+        return processStreamingWindowAggregates(window, null);
+    }
+
     public final VelocityResult processTask(ProcessingTask task)
     {
         return processTask(task, null);
@@ -124,14 +154,100 @@ public abstract class _WorkerDisp extends Ice.ObjectImpl implements Worker
         return Ice.DispatchStatus.DispatchOK;
     }
 
+    public static Ice.DispatchStatus ___processStreamingWindowAggregates(Worker __obj, IceInternal.Incoming __inS, Ice.Current __current)
+    {
+        __checkMode(Ice.OperationMode.Idempotent, __current.mode);
+        IceInternal.BasicStream __is = __inS.startReadParams();
+        StreamingWindow window = null;
+        window = StreamingWindow.__read(__is, window);
+        __inS.endReadParams();
+        AggregateResult __ret = __obj.processStreamingWindowAggregates(window, __current);
+        IceInternal.BasicStream __os = __inS.__startWriteParams(Ice.FormatType.DefaultFormat);
+        AggregateResult.__write(__os, __ret);
+        __inS.__endWriteParams(true);
+        return Ice.DispatchStatus.DispatchOK;
+    }
+
+    public static Ice.DispatchStatus ___processBlockTask(Worker __obj, IceInternal.Incoming __inS, Ice.Current __current)
+    {
+        __checkMode(Ice.OperationMode.Idempotent, __current.mode);
+        IceInternal.BasicStream __is = __inS.startReadParams();
+        BlockTask task = null;
+        task = BlockTask.__read(__is, task);
+        __inS.endReadParams();
+        VelocityResult __ret = __obj.processBlockTask(task, __current);
+        IceInternal.BasicStream __os = __inS.__startWriteParams(Ice.FormatType.DefaultFormat);
+        VelocityResult.__write(__os, __ret);
+        __inS.__endWriteParams(true);
+        return Ice.DispatchStatus.DispatchOK;
+    }
+
+    public static Ice.DispatchStatus ___processBlockTaskAggregates(Worker __obj, IceInternal.Incoming __inS, Ice.Current __current)
+    {
+        __checkMode(Ice.OperationMode.Idempotent, __current.mode);
+        IceInternal.BasicStream __is = __inS.startReadParams();
+        BlockTask task = null;
+        task = BlockTask.__read(__is, task);
+        __inS.endReadParams();
+        AggregateResult __ret = __obj.processBlockTaskAggregates(task, __current);
+        IceInternal.BasicStream __os = __inS.__startWriteParams(Ice.FormatType.DefaultFormat);
+        AggregateResult.__write(__os, __ret);
+        __inS.__endWriteParams(true);
+        return Ice.DispatchStatus.DispatchOK;
+    }
+
+    public static Ice.DispatchStatus ___processFileRangeTask(Worker __obj, IceInternal.Incoming __inS, Ice.Current __current)
+    {
+        __checkMode(Ice.OperationMode.Idempotent, __current.mode);
+        IceInternal.BasicStream __is = __inS.startReadParams();
+        FileRangeTask task = null;
+        task = FileRangeTask.__read(__is, task);
+        __inS.endReadParams();
+        AggregateResult __ret = __obj.processFileRangeTask(task, __current);
+        IceInternal.BasicStream __os = __inS.__startWriteParams(Ice.FormatType.DefaultFormat);
+        AggregateResult.__write(__os, __ret);
+        __inS.__endWriteParams(true);
+        return Ice.DispatchStatus.DispatchOK;
+    }
+
+    public static Ice.DispatchStatus ___notifyWork(Worker __obj, IceInternal.Incoming __inS, Ice.Current __current)
+    {
+        __checkMode(Ice.OperationMode.Normal, __current.mode);
+        IceInternal.BasicStream __is = __inS.startReadParams();
+        String jobId;
+        jobId = __is.readString();
+        __inS.endReadParams();
+        __obj.notifyWork(jobId, __current);
+        __inS.__writeEmptyParams();
+        return Ice.DispatchStatus.DispatchOK;
+    }
+
+    public static Ice.DispatchStatus ___cancelTask(Worker __obj, IceInternal.Incoming __inS, Ice.Current __current)
+    {
+        __checkMode(Ice.OperationMode.Normal, __current.mode);
+        IceInternal.BasicStream __is = __inS.startReadParams();
+        String taskId;
+        taskId = __is.readString();
+        __inS.endReadParams();
+        __obj.cancelTask(taskId, __current);
+        __inS.__writeEmptyParams();
+        return Ice.DispatchStatus.DispatchOK;
+    }
+
     private final static String[] __all =
     {
+        "cancelTask",
         "ice_id",
         "ice_ids",
         "ice_isA",
         "ice_ping",
         "isAlive",
+        "notifyWork",
+        "processBlockTask",
+        "processBlockTaskAggregates",
+        "processFileRangeTask",
         "processStreamingWindow",
+        "processStreamingWindowAggregates",
         "processTask"
     };
 
@@ -147,29 +263,53 @@ public abstract class _WorkerDisp extends Ice.ObjectImpl implements Worker
         {
             case 0:
             {
-                return ___ice_id(this, in, __current);
+                return ___cancelTask(this, in, __current);
             }
             case 1:
             {
-                return ___ice_ids(this, in, __current);
+                return ___ice_id(this, in, __current);
             }
             case 2:
             {
-                return ___ice_isA(this, in, __current);
+                return ___ice_ids(this, in, __current);
             }
             case 3:
             {
-                return ___ice_ping(this, in, __current);
+                return ___ice_isA(this, in, __current);
             }
             case 4:
             {
-                return ___isAlive(this, in, __current);
+                return ___ice_ping(this, in, __current);
             }
             case 5:
             {
-                return ___processStreamingWindow(this, in, __current);
+                return ___isAlive(this, in, __current);
             }
             case 6:
+            {
+                return ___notifyWork(this, in, __current);
+            }
+            case 7:
+            {
+                return ___processBlockTask(this, in, __current);
+            }
+            case 8:
+            {
+                return ___processBlockTaskAggregates(this, in, __current);
+            }
+            case 9:
+            {
+                return ___processFileRangeTask(this, in, __current);
+            }
+            case 10:
+            {
+                return ___processStreamingWindow(this, in, __current);
+            }
+            case 11:
+            {
+                return ___processStreamingWindowAggregates(this, in, __current);
+            }
+            case 12:
             {
                 return ___processTask(this, in, __current);
             }
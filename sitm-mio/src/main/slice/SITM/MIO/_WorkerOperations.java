@@ -27,4 +27,16 @@ public interface _WorkerOperations
     boolean isAlive(Ice.Current __current);
 
     VelocityResult processStreamingWindow(StreamingWindow window, Ice.Current __current);
+
+    AggregateResult processStreamingWindowAggregates(StreamingWindow window, Ice.Current __current);
+
+    VelocityResult processBlockTask(BlockTask task, Ice.Current __current);
+
+    AggregateResult processBlockTaskAggregates(BlockTask task, Ice.Current __current);
+
+    AggregateResult processFileRangeTask(FileRangeTask task, Ice.Current __current);
+
+    void notifyWork(String jobId, Ice.Current __current);
+
+    void cancelTask(String taskId, Ice.Current __current);
 }
@@ -27,4 +27,16 @@ public interface _WorkerOperationsNC
     boolean isAlive();
 
     VelocityResult processStreamingWindow(StreamingWindow window);
+
+    AggregateResult processStreamingWindowAggregates(StreamingWindow window);
+
+    VelocityResult processBlockTask(BlockTask task);
+
+    AggregateResult processBlockTaskAggregates(BlockTask task);
+
+    AggregateResult processFileRangeTask(FileRangeTask task);
+
+    void notifyWork(String jobId);
+
+    void cancelTask(String taskId);
 }
@@ -0,0 +1,127 @@
+package com.sitm.mio.master;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import SITM.MIO.BusDatagram;
+
+/**
+ * StreamingShardRouter: reparto pegajoso al entrar o salir un worker
+ */
+class StreamingShardRouterTest {
+
+    private static BusDatagram[] window(int rows) {
+        BusDatagram[] datagrams = new BusDatagram[rows];
+        for (int i = 0; i < rows; i++) {
+            BusDatagram dgram = new BusDatagram();
+            dgram.lineId = String.valueOf(100 + i % 120);
+            dgram.busId = String.valueOf(1000 + i % 700);
+            dgram.tripId = String.valueOf(i / 20);
+            datagrams[i] = dgram;
+        }
+        return datagrams;
+    }
+
+    /**
+     * Worker dueño de cada clave según el reparto
+     */
+    private static Map<String, String> owners(StreamingShardRouter router, BusDatagram[] datagrams,
+                                              String[] workerIds) {
+        int[][] rows = router.assign(datagrams, workerIds);
+        Map<String, String> owners = new HashMap<>();
+        for (int w = 0; w < rows.length; w++) {
+            for (int row : rows[w]) {
+                String key = router.getKey() == StreamingShardRouter.Key.BUS
+                    ? datagrams[row].busId : datagrams[row].lineId;
+                String previous = owners.put(key, workerIds[w]);
+                assertTrue(previous == null || previous.equals(workerIds[w]), "clave en dos workers: " + key);
+            }
+        }
+        return owners;
+    }
+
+    @Test
+    void cadaFilaVaAUnSoloWorkerEnOrden() {
+        BusDatagram[] datagrams = window(10_000);
+        int[][] rows = new StreamingShardRouter(StreamingShardRouter.Key.LINE)
+            .assign(datagrams, new String[] {"w0", "w1", "w2"});
+
+        int[] all = Arrays.stream(rows).flatMapToInt(Arrays::stream).sorted().toArray();
+        int[] expected = new int[datagrams.length];
+        Arrays.setAll(expected, i -> i);
+        assertArrayEquals(expected, all);
+        for (int[] shard : rows) {
+            assertTrue(shard.length > 0);
+            for (int i = 1; i < shard.length; i++) {
+                assertTrue(shard[i - 1] < shard[i]);
+            }
+        }
+    }
+
+    @Test
+    void agregarWorkerSoloMueveClavesHaciaElNuevo() {
+        for (StreamingShardRouter.Key key : StreamingShardRouter.Key.values()) {
+            StreamingShardRouter router = new StreamingShardRouter(key);
+            BusDatagram[] datagrams = window(20_000);
+            Map<String, String> before = owners(router, datagrams, new String[] {"w0", "w1", "w2"});
+            Map<String, String> after = owners(router, datagrams, new String[] {"w0", "w1", "w2", "w3"});
+
+            int moved = 0;
+            for (Map.Entry<String, String> entry : before.entrySet()) {
+                String now = after.get(entry.getKey());
+                if (!now.equals(entry.getValue())) {
+                    assertEquals("w3", now, key + " " + entry.getKey());
+                    moved++;
+                }
+            }
+            // Con 4 workers al nuevo le toca cerca de un cuarto de las claves
+            assertTrue(moved > before.size() / 8 && moved < before.size() / 2, key + " movidas: " + moved);
+        }
+    }
+
+    @Test
+    void quitarWorkerSoloMueveSusClaves() {
+        StreamingShardRouter router = new StreamingShardRouter(StreamingShardRouter.Key.BUS);
+        BusDatagram[] datagrams = window(20_000);
+        Map<String, String> before = owners(router, datagrams, new String[] {"w0", "w1", "w2", "w3"});
+        // Sale w1; el orden de los que quedan no importa
+        Map<String, String> after = owners(router, datagrams, new String[] {"w3", "w0", "w2"});
+
+        Set<String> receivers = new HashSet<>();
+        for (Map.Entry<String, String> entry : before.entrySet()) {
+            if (entry.getValue().equals("w1")) {
+                receivers.add(after.get(entry.getKey()));
+            } else {
+                assertEquals(entry.getValue(), after.get(entry.getKey()), entry.getKey());
+            }
+        }
+        // Las claves de w1 se reparten entre varios, no caen todas en uno
+        assertTrue(receivers.size() > 1);
+    }
+
+    @Test
+    void selectConservaFilas() {
+        BusDatagram[] datagrams = window(10);
+        assertSame(datagrams, StreamingShardRouter.select(datagrams, new int[] {0, 1, 2, 3, 4, 5, 6, 7, 8, 9}));
+        BusDatagram[] selected = StreamingShardRouter.select(datagrams, new int[] {1, 4, 7});
+        assertEquals(3, selected.length);
+        assertSame(datagrams[4], selected[1]);
+    }
+
+    @Test
+    void parseKey() {
+        assertEquals(StreamingShardRouter.Key.BUS, StreamingShardRouter.parseKey(" bus "));
+        assertEquals(StreamingShardRouter.Key.LINE, StreamingShardRouter.parseKey("line"));
+        assertEquals(StreamingShardRouter.Key.LINE, StreamingShardRouter.parseKey("trip"));
+    }
+}
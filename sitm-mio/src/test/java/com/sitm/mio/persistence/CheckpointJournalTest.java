@@ -0,0 +1,185 @@
+package com.sitm.mio.persistence;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.sitm.mio.util.ArcStatsTable;
+
+import SITM.MIO.ArcAggregate;
+
+/**
+ * CheckpointJournal: reanudación y recuperación de un registro a medio escribir
+ */
+class CheckpointJournalTest {
+
+    @TempDir
+    Path dir;
+
+    private String label;
+    private String jobKey;
+    private Path journalPath;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        Path data = dir.resolve("datagrams.csv");
+        Files.writeString(data, "eventType,registerdate\n");
+        label = "test_" + System.nanoTime();
+        jobKey = CheckpointJournal.jobKey(data.toString(), 1000, 4);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        if (journalPath != null) {
+            Files.deleteIfExists(journalPath);
+            Files.deleteIfExists(journalPath.resolveSibling(journalPath.getFileName() + ".tmp"));
+        }
+    }
+
+    private CheckpointJournal open(String key) throws IOException {
+        CheckpointJournal journal = CheckpointJournal.open(label, key);
+        journalPath = journal.getPath();
+        return journal;
+    }
+
+    private static ArcAggregate[] aggregates(int seed, String... arcIds) {
+        ArcStatsTable table = new ArcStatsTable();
+        for (String arcId : arcIds) {
+            for (int i = 0; i < 10; i++) {
+                table.add(arcId, seed + i);
+            }
+        }
+        return table.toAggregates();
+    }
+
+    private static Map<String, ArcAggregate> byArc(ArcAggregate[] aggregates) {
+        Map<String, ArcAggregate> map = new HashMap<>();
+        for (ArcAggregate aggregate : aggregates) {
+            map.put(aggregate.arcId, aggregate);
+        }
+        return map;
+    }
+
+    /**
+     * Tres checkpoints de 1.000 filas: [0,1000) arcos a,b; [1000,2000) b,c; [2000,3000) c
+     */
+    private void writeThreeRecords() throws IOException {
+        try (CheckpointJournal journal = open(jobKey)) {
+            assertEquals(0, journal.getResumeRow());
+            journal.append(0, 1000, 2, aggregates(1, "a", "b"));
+            journal.append(1000, 2000, 2, aggregates(20, "b", "c"));
+            journal.append(2000, 3000, 1, aggregates(40, "c"));
+        }
+    }
+
+    @Test
+    void reabrirRetomaDesdeLaUltimaFila() throws IOException {
+        writeThreeRecords();
+
+        try (CheckpointJournal journal = open(jobKey)) {
+            assertEquals(3000, journal.getResumeRow());
+            assertEquals(5, journal.getRestoredBatches());
+            Map<String, ArcAggregate> restored = byArc(journal.getRestoredAggregates());
+            assertEquals(3, restored.size());
+            assertEquals(10, restored.get("a").count);
+            assertEquals(20, restored.get("b").count);
+            assertEquals(20, restored.get("c").count);
+            assertEquals(1.0, restored.get("a").min);
+            assertEquals(29.0, restored.get("b").max);
+            long sketchWeight = 0;
+            for (long weight : restored.get("c").sketchWeights) {
+                sketchWeight += weight;
+            }
+            assertEquals(20, sketchWeight);
+        }
+    }
+
+    @Test
+    void registroTruncadoSeDescarta() throws IOException {
+        writeThreeRecords();
+        long size = Files.size(journalPath);
+        // Caída a mitad del último registro
+        try (FileChannel file = FileChannel.open(journalPath, StandardOpenOption.WRITE)) {
+            file.truncate(size - 7);
+        }
+
+        try (CheckpointJournal journal = open(jobKey)) {
+            assertEquals(2000, journal.getResumeRow());
+            assertEquals(4, journal.getRestoredBatches());
+            Map<String, ArcAggregate> restored = byArc(journal.getRestoredAggregates());
+            assertEquals(10, restored.get("c").count);
+            assertEquals(20, restored.get("b").count);
+
+            // Se sigue escribiendo a continuación de lo recuperado
+            journal.append(2000, 3000, 1, aggregates(40, "c"));
+        }
+
+        try (CheckpointJournal journal = open(jobKey)) {
+            assertEquals(3000, journal.getResumeRow());
+            assertEquals(5, journal.getRestoredBatches());
+            assertEquals(20, byArc(journal.getRestoredAggregates()).get("c").count);
+        }
+    }
+
+    @Test
+    void crcInvalidoCortaEnEseRegistro() throws IOException {
+        writeThreeRecords();
+        long size = Files.size(journalPath);
+        try (FileChannel file = FileChannel.open(journalPath, StandardOpenOption.WRITE)) {
+            // Último byte del CRC del último registro
+            file.write(ByteBuffer.wrap(new byte[] {0x5A}), size - 1);
+        }
+
+        try (CheckpointJournal journal = open(jobKey)) {
+            assertEquals(2000, journal.getResumeRow());
+        }
+    }
+
+    @Test
+    void journalDeOtroJobEmpiezaDeCero() throws IOException {
+        writeThreeRecords();
+        Path firstJob = journalPath;
+
+        // El journal del primer job en el lugar del segundo (p. ej. colisión del hash del nombre)
+        String otherKey = jobKey + "|otro";
+        open(otherKey).close();
+        Files.copy(firstJob, journalPath, StandardCopyOption.REPLACE_EXISTING);
+        try (CheckpointJournal journal = open(otherKey)) {
+            assertEquals(0, journal.getResumeRow());
+            assertEquals(0, journal.getRestoredAggregates().length);
+            journal.complete();
+        }
+
+        try (CheckpointJournal journal = open(jobKey)) {
+            assertEquals(3000, journal.getResumeRow());
+        }
+    }
+
+    @Test
+    void completeBorraElJournal() throws IOException {
+        writeThreeRecords();
+        assertTrue(Files.exists(journalPath));
+        CheckpointJournal journal = open(jobKey);
+        journal.complete();
+        assertFalse(Files.exists(journalPath));
+
+        try (CheckpointJournal fresh = open(jobKey)) {
+            assertEquals(0, fresh.getResumeRow());
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.sitm.mio.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import SITM.MIO.ArcAggregate;
+
+/**
+ * ArcStatsTable: crecimiento de la tabla y suma de acumuladores parciales
+ */
+class ArcStatsTableTest {
+
+    private static String arc(int i) {
+        return "arc_" + (i % 97) + "_" + i;
+    }
+
+    @Test
+    void creceSinPerderEntradas() {
+        ArcStatsTable table = new ArcStatsTable(1);
+        int arcs = 5000;
+        for (int round = 0; round < 3; round++) {
+            for (int i = 0; i < arcs; i++) {
+                table.add(arc(i), i + round);
+            }
+        }
+
+        assertEquals(arcs, table.size());
+        assertEquals(3L * arcs, table.totalCount());
+        for (int i = 0; i < arcs; i++) {
+            int entry = table.indexOf(arc(i));
+            assertEquals(arc(i), table.arcId(entry));
+            assertEquals(entry, table.entryFor(arc(i)));
+            assertEquals(3, table.count(entry));
+            assertEquals(3.0 * i + 3, table.sum(entry), 1e-9);
+            assertEquals(i, table.min(entry));
+            assertEquals(i + 2, table.max(entry));
+            assertEquals(i + 1, table.mean(entry), 1e-9);
+        }
+        assertEquals(-1, table.indexOf("no_existe"));
+        assertEquals(arcs, table.size());
+    }
+
+    @Test
+    void mergeEquivaleACargarTodoEnUnaTabla() {
+        Random random = new Random(7);
+        ArcStatsTable whole = new ArcStatsTable();
+        ArcStatsTable[] parts = {new ArcStatsTable(4), new ArcStatsTable(4), new ArcStatsTable(4)};
+        for (int i = 0; i < 30000; i++) {
+            String arcId = arc(random.nextInt(200));
+            double value = 2 + random.nextDouble() * 15;
+            whole.add(arcId, value);
+            parts[random.nextInt(parts.length)].add(arcId, value);
+        }
+
+        ArcStatsTable byTable = new ArcStatsTable();
+        ArcStatsTable byAggregates = new ArcStatsTable();
+        for (ArcStatsTable part : parts) {
+            byTable.mergeAll(part);
+            byAggregates.mergeAll(part.toAggregates());
+        }
+
+        for (ArcStatsTable merged : new ArcStatsTable[] {byTable, byAggregates}) {
+            assertEquals(whole.size(), merged.size());
+            assertEquals(whole.totalCount(), merged.totalCount());
+            for (int i = 0; i < whole.size(); i++) {
+                int entry = merged.indexOf(whole.arcId(i));
+                assertEquals(whole.count(i), merged.count(entry));
+                assertEquals(whole.sum(i), merged.sum(entry), 1e-6);
+                assertEquals(whole.sumSquares(i), merged.sumSquares(entry), 1e-4);
+                assertEquals(whole.min(i), merged.min(entry));
+                assertEquals(whole.max(i), merged.max(entry));
+                assertEquals(whole.variance(i), merged.variance(entry), 1e-6);
+                assertEquals(whole.quantile(i, 0.5), merged.quantile(entry, 0.5), 0.5);
+                assertEquals(whole.sketch(i).count(), merged.sketch(entry).count());
+            }
+        }
+    }
+
+    @Test
+    void mergeSinSketchNoInventaPercentiles() {
+        ArcStatsTable table = new ArcStatsTable();
+        int entry = table.entryFor("arc_1_1");
+        table.merge(entry, 10, 50.0, 260.0, 3.0, 7.0);
+        assertEquals(10, table.count(entry));
+        assertEquals(5.0, table.mean(entry));
+        assertNull(table.sketch(entry));
+        assertEquals(Double.NaN, table.quantile(entry, 0.5));
+
+        // Conteo 0: no suma nada ni toca min/max
+        table.merge(entry, 0, 99.0, 99.0, -1.0, 99.0);
+        assertEquals(10, table.count(entry));
+        assertEquals(3.0, table.min(entry));
+        assertEquals(7.0, table.max(entry));
+    }
+
+    @Test
+    void toAggregatesOmiteArcosVacios() {
+        ArcStatsTable table = new ArcStatsTable();
+        table.entryFor("vacio");
+        table.add("a", 1.0);
+        table.add("b", 2.0);
+        table.add("b", 4.0);
+
+        Map<String, ArcAggregate> byArc = new HashMap<>();
+        for (ArcAggregate aggregate : table.toAggregates()) {
+            byArc.put(aggregate.arcId, aggregate);
+        }
+        assertEquals(2, byArc.size());
+        assertEquals(2, byArc.get("b").count);
+        assertEquals(6.0, byArc.get("b").sum);
+        assertEquals(2, byArc.get("b").sketchWeights[0] + (byArc.get("b").sketchWeights.length > 1
+            ? byArc.get("b").sketchWeights[1] : 0));
+    }
+}
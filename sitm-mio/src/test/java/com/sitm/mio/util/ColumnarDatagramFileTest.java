@@ -0,0 +1,111 @@
+package com.sitm.mio.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import SITM.MIO.BusDatagram;
+
+/**
+ * Conversión CSV -> columnar y lectura con salto de bloques por rango de tiempo
+ */
+class ColumnarDatagramFileTest {
+
+    // Algo más de tres bloques, un segundo por fila: cada bloque cubre un tramo de tiempo propio
+    private static final int ROWS = ColumnarDatagramFile.BLOCK_ROWS * 3 + 1000;
+    private static final long START = DatagramCsvParser.parseEpochSeconds("2019-05-27 00:00:00");
+
+    @TempDir
+    static Path dir;
+
+    private static String csv;
+    private static String columnar;
+
+    @BeforeAll
+    static void writeFiles() throws IOException {
+        Path csvPath = dir.resolve("datagrams.csv");
+        try (BufferedWriter out = Files.newBufferedWriter(csvPath, StandardCharsets.UTF_8)) {
+            out.write("eventType,registerdate,stopId,odometer,latitude,longitude,taskId,lineId,tripId,unknown1,datagramDate,busId\n");
+            for (int i = 0; i < ROWS; i++) {
+                out.write(String.format("%d,28-MAY-19,%d,%d.5,%d,%d,1,%d,%d,0,%s,%d%n",
+                    i % 5, 500000 + i % 300, i, 34500000 + i % 1000, -765000000 - i % 1000,
+                    100 + i % 40, i / 50, DatagramCsvParser.formatEpochSeconds(START + i), 1000 + i % 200));
+            }
+        }
+        csv = csvPath.toString();
+        columnar = dir.resolve("datagrams.mioc").toString();
+        assertEquals(ROWS, ColumnarDatagramFile.convert(csv, columnar, 2));
+    }
+
+    @Test
+    void idaYVueltaConservaLasFilas() throws IOException {
+        assertTrue(ColumnarDatagramFile.isColumnar(columnar));
+        assertFalse(ColumnarDatagramFile.isColumnar(csv));
+
+        BusDatagram[] expected = ParallelDatagramReader.loadAll(csv, 2);
+        BusDatagram[] actual = ColumnarDatagramReader.loadAll(columnar);
+        assertEquals(expected.length, actual.length);
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(expected[i].eventType, actual[i].eventType);
+            assertEquals(expected[i].stopId, actual[i].stopId);
+            assertEquals(expected[i].odometer, actual[i].odometer);
+            assertEquals(expected[i].latitude, actual[i].latitude, 1e-7);
+            assertEquals(expected[i].longitude, actual[i].longitude, 1e-7);
+            assertEquals(expected[i].lineId, actual[i].lineId);
+            assertEquals(expected[i].tripId, actual[i].tripId);
+            assertEquals(expected[i].busId, actual[i].busId);
+            assertEquals(expected[i].epochSeconds, actual[i].epochSeconds);
+            assertEquals(expected[i].datagramDate, actual[i].datagramDate);
+        }
+    }
+
+    @Test
+    void rangoDeTiempoSaltaBloquesFuera() throws IOException {
+        // Filas del segundo bloque en adelante, hasta la mitad del tercero
+        long from = START + ColumnarDatagramFile.BLOCK_ROWS + 10;
+        long to = START + ColumnarDatagramFile.BLOCK_ROWS * 2 + ColumnarDatagramFile.BLOCK_ROWS / 2;
+
+        try (ColumnarDatagramReader reader = new ColumnarDatagramReader(
+                columnar, ColumnarDatagramFile.BLOCK_ROWS, from, to, false)) {
+            assertEquals(4, reader.getBlockCount());
+            assertEquals(ROWS, reader.getRowCount());
+            assertFalse(reader.overlaps(0));
+            assertTrue(reader.overlaps(1));
+            assertTrue(reader.overlaps(2));
+            assertFalse(reader.overlaps(3));
+
+            long rows = 0;
+            BusDatagram[] batch;
+            while ((batch = reader.readNextBatch()) != null) {
+                for (BusDatagram dgram : batch) {
+                    assertTrue(dgram.epochSeconds >= from && dgram.epochSeconds <= to);
+                }
+                rows += batch.length;
+            }
+            assertEquals(to - from + 1, rows);
+            assertEquals(2, reader.getSkippedBlocks());
+        }
+
+        BusDatagram[] filtered = ColumnarDatagramFile.filterTime(ParallelDatagramReader.loadAll(csv, 2), from, to);
+        assertEquals(filtered.length, ColumnarDatagramReader.loadAll(columnar, from, to).length);
+    }
+
+    @Test
+    void rangoSinFilasNoLeeBloques() throws IOException {
+        try (ColumnarDatagramReader reader = new ColumnarDatagramReader(
+                columnar, ColumnarDatagramFile.BLOCK_ROWS, START + ROWS + 100, START + ROWS + 200, false)) {
+            assertEquals(null, reader.readNextBatch());
+            assertEquals(reader.getBlockCount(), reader.getSkippedBlocks());
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package com.sitm.mio.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+
+import org.junit.jupiter.api.Test;
+
+import SITM.MIO.BusDatagram;
+
+/**
+ * DatagramCsvParser frente al parser anterior (String.split + parseInt/parseDouble)
+ */
+class DatagramCsvParserTest {
+
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private final DatagramCsvParser parser = new DatagramCsvParser();
+
+    private BusDatagram parse(String line) {
+        byte[] bytes = line.getBytes(StandardCharsets.UTF_8);
+        return parser.parse(bytes, 0, bytes.length);
+    }
+
+    /**
+     * Parser anterior (CSVDataLoader.parseDatagram sin el filtro de Cali);
+     * null donde lanzaba excepción
+     */
+    private static BusDatagram legacyParse(String line) {
+        try {
+            String[] parts = line.replace("\"", "").split(",");
+            if (parts.length < 12) {
+                return null;
+            }
+            BusDatagram dgram = new BusDatagram();
+            dgram.eventType = Integer.parseInt(parts[0].trim());
+            dgram.stopId = parts[2].trim();
+            dgram.odometer = legacyDouble(parts[3].trim());
+            dgram.latitude = legacyDouble(parts[4].trim()) / 10000000.0;
+            dgram.longitude = legacyDouble(parts[5].trim()) / 10000000.0;
+            dgram.lineId = parts[7].trim();
+            dgram.tripId = parts[8].trim();
+            dgram.datagramDate = parts[10].trim();
+            dgram.busId = parts[11].trim();
+            return dgram;
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private static double legacyDouble(String value) {
+        try {
+            return Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            return 0.0;
+        }
+    }
+
+    private static long legacyEpoch(String date) {
+        try {
+            return LocalDateTime.parse(date, DATE_FORMAT).toEpochSecond(ZoneOffset.UTC);
+        } catch (DateTimeParseException e) {
+            return 0L;
+        }
+    }
+
+    private static void assertSameFields(BusDatagram expected, BusDatagram actual) {
+        assertEquals(expected.eventType, actual.eventType);
+        assertEquals(expected.stopId, actual.stopId);
+        assertEquals(expected.odometer, actual.odometer, 1e-9);
+        assertEquals(expected.latitude, actual.latitude, 1e-12);
+        assertEquals(expected.longitude, actual.longitude, 1e-12);
+        assertEquals(expected.lineId, actual.lineId);
+        assertEquals(expected.tripId, actual.tripId);
+        assertEquals(expected.datagramDate, actual.datagramDate);
+        assertEquals(expected.busId, actual.busId);
+    }
+
+    @Test
+    void filasBienFormadasCoincidenConElParserAnterior() {
+        String[] lines = {
+            "1,28-MAY-19,501525,183,34711248,-764551116,705,110,1300,1365,2019-05-27 20:00:00,1130",
+            "0,28-MAY-19,501276,139.5,33618093,-763522818,792,178,9180,1365,2019-05-27 20:00:00,1918",
+            "\"3\",\"28-MAY-19\",\"500100\",\"0\",\"34500000\",\"-765000000\",\"1\",\"P10A\",\"77\",\"0\",\"2019-05-28 06:15:09\",\"2001\"",
+            " 7 ,28-MAY-19, 500100 , 12 , 34500000 , -765000000 ,1, T31 , 78 ,0, 2019-05-28 06:15:09 , 2002 ",
+            "-1,28-MAY-19,-1,-1,34500000,-765000000,1,131,79,0,2019-05-28 23:59:59,2003\r",
+            "000042,28-MAY-19,1,1e3,3.45E7,-7.65E8,1,131,79,0,2019-05-28 23:59:59,2003",
+        };
+        for (String line : lines) {
+            BusDatagram expected = legacyParse(line.replace("\r", ""));
+            BusDatagram actual = parse(line);
+            assertNotNull(expected, line);
+            assertNotNull(actual, line);
+            assertFalse(parser.hasMalformedNumbers(), line);
+            assertSameFields(expected, actual);
+            assertEquals(legacyEpoch(expected.datagramDate), actual.epochSeconds, line);
+        }
+    }
+
+    @Test
+    void filaIncompletaDevuelveNull() {
+        String line = "1,28-MAY-19,501525,183,34711248,-764551116,705,110,1300,1365,2019-05-27 20:00:00";
+        assertNull(legacyParse(line));
+        assertNull(parse(line));
+        assertNull(parse(""));
+    }
+
+    @Test
+    void numerosMalFormadosQuedanEnCeroYMarcados() {
+        BusDatagram dgram = parse("x1,28-MAY-19,501525,abc,34711248,-764551116,705,110,1300,1365,2019-05-27 20:00:00,1130");
+        assertNotNull(dgram);
+        // El parser anterior descartaba la fila por el eventType; aquí se marca y decide el llamador
+        assertNull(legacyParse("x1,28-MAY-19,501525,abc,34711248,-764551116,705,110,1300,1365,2019-05-27 20:00:00,1130"));
+        assertTrue(parser.isMalformed(DatagramCsvParser.COL_EVENT_TYPE));
+        assertTrue(parser.isMalformed(DatagramCsvParser.COL_ODOMETER));
+        assertFalse(parser.isMalformed(DatagramCsvParser.COL_LATITUDE));
+        assertEquals(0, dgram.eventType);
+        assertEquals(0.0, dgram.odometer);
+        assertEquals(3.4711248, dgram.latitude, 1e-12);
+
+        dgram = parse("1,28-MAY-19,501525,183,,-764551116,705,110,1300,1365,2019-05-27 20:00:00,1130");
+        assertTrue(parser.isMalformed(DatagramCsvParser.COL_LATITUDE));
+        assertEquals(0.0, dgram.latitude);
+
+        parse("1,28-MAY-19,501525,183,34711248,-764551116,705,110,1300,1365,2019-05-27 20:00:00,1130");
+        assertFalse(parser.hasMalformedNumbers());
+    }
+
+    @Test
+    void eventTypeFueraDeRangoIntSeMarca() {
+        String[] values = {"2147483647", "-2147483648", "2147483648", "-2147483649", "99999999999", "0000000000012"};
+        for (String value : values) {
+            BusDatagram dgram = parse(value + ",28-MAY-19,1,1,34500000,-765000000,1,131,79,0,2019-05-28 10:00:00,1");
+            BusDatagram expected = legacyParse(value + ",28-MAY-19,1,1,34500000,-765000000,1,131,79,0,2019-05-28 10:00:00,1");
+            assertEquals(expected == null, parser.isMalformed(DatagramCsvParser.COL_EVENT_TYPE), value);
+            if (expected != null) {
+                assertEquals(expected.eventType, dgram.eventType, value);
+            }
+        }
+    }
+
+    @Test
+    void fechasComoLocalDateTime() {
+        String[] dates = {
+            "2019-05-27 20:14:43",
+            "2019-05-27 24:00:00",   // Hora 24
+            "2019-05-27 23:59:59",
+            "2019-02-30 10:00:00",   // Día fuera del mes
+            "2020-02-29 10:00:00",
+            "2019-02-29 10:00:00",
+            "2019-13-01 10:00:00",
+            "2019-05-27 20:60:00",
+            "2019-05-27T20:14:43",
+            "2019-5-27 20:14:43",
+            "",
+        };
+        for (String date : dates) {
+            assertEquals(legacyEpoch(date), DatagramCsvParser.parseEpochSeconds(date), date);
+        }
+    }
+
+    @Test
+    void fechaConFormatoDistintoNoSeMarcaBienFormada() {
+        parse("1,28-MAY-19,1,1,34500000,-765000000,1,131,79,0,2019-05-28 10:00:00,1");
+        assertTrue(parser.isDateWellFormed());
+        BusDatagram dgram = parse("1,28-MAY-19,1,1,34500000,-765000000,1,131,79,0,28/05/2019 10:00,1");
+        assertFalse(parser.isDateWellFormed());
+        assertEquals(0L, dgram.epochSeconds);
+        assertEquals("28/05/2019 10:00", dgram.datagramDate);
+    }
+
+    @Test
+    void formatEpochSecondsEsInversoDeParse() {
+        String[] dates = {"2019-05-27 20:14:43", "2020-02-29 00:00:00", "1999-12-31 23:59:59"};
+        for (String date : dates) {
+            assertEquals(date, DatagramCsvParser.formatEpochSeconds(DatagramCsvParser.parseEpochSeconds(date)));
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.sitm.mio.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * QuantileSketch: precisión frente a los cuantiles exactos, sola y combinada
+ */
+class QuantileSketchTest {
+
+    private static final double[] QUANTILES = {0.01, 0.1, 0.5, 0.85, 0.95, 0.99};
+
+    /**
+     * Velocidades parecidas a las reales: mezcla de tráfico lento y fluido
+     */
+    private static double[] speeds(Random random, int n) {
+        double[] values = new double[n];
+        for (int i = 0; i < n; i++) {
+            values[i] = random.nextDouble() < 0.3
+                ? Math.abs(2 + random.nextGaussian() * 1.5)
+                : Math.abs(9 + random.nextGaussian() * 3);
+        }
+        return values;
+    }
+
+    private static double exact(double[] sorted, double q) {
+        return sorted[(int) Math.min(sorted.length - 1, Math.floor(q * sorted.length))];
+    }
+
+    /**
+     * Error medido como distancia en rango: fracción de muestras entre el
+     * valor estimado y el exacto
+     */
+    private static double rankError(double[] sorted, double estimate, double q) {
+        int rank = Arrays.binarySearch(sorted, estimate);
+        if (rank < 0) {
+            rank = -rank - 1;
+        }
+        return Math.abs((double) rank / sorted.length - q);
+    }
+
+    @Test
+    void cuantilesCercaDeLosExactos() {
+        double[] values = speeds(new Random(11), 200_000);
+        QuantileSketch sketch = new QuantileSketch();
+        for (double value : values) {
+            sketch.add(value);
+        }
+        double[] sorted = values.clone();
+        Arrays.sort(sorted);
+
+        assertEquals(values.length, sketch.count());
+        assertEquals(sorted[0], sketch.quantile(0));
+        assertEquals(sorted[sorted.length - 1], sketch.quantile(1));
+        assertTrue(sketch.centroidCount() <= 2 * QuantileSketch.DEFAULT_COMPRESSION);
+        for (double q : QUANTILES) {
+            assertTrue(rankError(sorted, sketch.quantile(q), q) < 0.01,
+                "q=" + q + " estimado " + sketch.quantile(q) + " exacto " + exact(sorted, q));
+        }
+    }
+
+    @Test
+    void mergeDePartesIgualDePreciso() {
+        Random random = new Random(23);
+        double[] values = speeds(random, 120_000);
+        QuantileSketch merged = new QuantileSketch();
+        // Partes de tamaños distintos, como lotes o workers desparejos
+        int from = 0;
+        for (int size : new int[] {50, 9_950, 30_000, 80_000}) {
+            QuantileSketch part = new QuantileSketch();
+            for (int i = from; i < from + size; i++) {
+                part.add(values[i]);
+            }
+            merged.merge(part);
+            from += size;
+        }
+        double[] sorted = values.clone();
+        Arrays.sort(sorted);
+
+        assertEquals(values.length, merged.count());
+        assertEquals(sorted[0], merged.min());
+        assertEquals(sorted[sorted.length - 1], merged.max());
+        for (double q : QUANTILES) {
+            assertTrue(rankError(sorted, merged.quantile(q), q) < 0.01,
+                "q=" + q + " estimado " + merged.quantile(q) + " exacto " + exact(sorted, q));
+        }
+    }
+
+    @Test
+    void centroidesRecibidosEquivalenAlSketch() {
+        QuantileSketch source = new QuantileSketch();
+        for (double value : speeds(new Random(5), 10_000)) {
+            source.add(value);
+        }
+        QuantileSketch rebuilt = QuantileSketch.of(source.centroidMeans(), source.centroidWeights(),
+            source.min(), source.max());
+        assertEquals(source.count(), rebuilt.count());
+        for (double q : QUANTILES) {
+            assertEquals(source.quantile(q), rebuilt.quantile(q), 1e-9);
+        }
+    }
+
+    @Test
+    void encodeDecode() {
+        QuantileSketch sketch = new QuantileSketch();
+        for (double value : speeds(new Random(3), 5_000)) {
+            sketch.add(value);
+        }
+        QuantileSketch decoded = QuantileSketch.decode(sketch.encode());
+        assertEquals(sketch.count(), decoded.count());
+        assertEquals(sketch.min(), decoded.min());
+        assertEquals(sketch.max(), decoded.max());
+        for (double q : QUANTILES) {
+            assertEquals(sketch.quantile(q), decoded.quantile(q), 1e-9);
+        }
+
+        assertEquals(0, QuantileSketch.decode(null).count());
+        assertEquals(Double.NaN, QuantileSketch.decode("").quantile(0.5));
+        assertThrows(IllegalArgumentException.class, () -> QuantileSketch.decode("1.0:2.0|x:1"));
+    }
+}